@@ -0,0 +1,102 @@
+package com.dariom.wds.api.admin;
+
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
+
+import com.dariom.wds.api.admin.dto.JfrRecordingDto;
+import com.dariom.wds.api.common.ErrorResponse;
+import com.dariom.wds.exception.JfrRecordingNotFoundException;
+import com.dariom.wds.service.jfr.JfrRecordingService;
+import com.dariom.wds.service.jfr.JfrRecordingService.RecordingInfo;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/jfr")
+@Tag(name = "Admin - Flight Recorder", description = "Bounded JDK Flight Recorder recordings")
+public class AdminJfrController {
+
+  private final JfrRecordingService jfrRecordingService;
+  private final Clock clock;
+
+  @Operation(summary = "Get recording", description = "Returns the current or last flight recording.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Recording found"),
+      @ApiResponse(responseCode = "404", description = "No recording started", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  @GetMapping
+  public JfrRecordingDto getRecording() {
+    return jfrRecordingService.getRecording()
+        .map(this::toDto)
+        .orElseThrow(JfrRecordingNotFoundException::new);
+  }
+
+  @Operation(summary = "Start recording", description = "Starts a flight recording that stops on its own after the given duration (ISO-8601, capped by app.jfr.max-duration).")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Recording started"),
+      @ApiResponse(responseCode = "409", description = "A recording is already running", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  @PostMapping("/start")
+  public JfrRecordingDto startRecording(
+      @Parameter(description = "Recording duration, e.g. PT2M") @RequestParam(name = "duration", required = false) Duration duration
+  ) {
+    log.info("Admin start flight recording: duration={}", duration);
+    return toDto(jfrRecordingService.start(duration));
+  }
+
+  @Operation(summary = "Stop recording", description = "Stops the recording if still running and downloads it as a .jfr file.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Recording file"),
+      @ApiResponse(responseCode = "404", description = "No recording started", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  @PostMapping("/stop")
+  public ResponseEntity<StreamingResponseBody> stopRecording() throws IOException {
+    log.info("Admin stop flight recording");
+    var file = jfrRecordingService.stop();
+    // with a known length, a copy that fails midway shows up as a short download
+    var size = Files.size(file);
+    var filename = "wordle-duel-%d.jfr".formatted(Instant.now(clock).getEpochSecond());
+
+    StreamingResponseBody body = out -> {
+      try {
+        Files.copy(file, out);
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_OCTET_STREAM)
+        .contentLength(size)
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(filename).build().toString())
+        .body(body);
+  }
+
+  private JfrRecordingDto toDto(RecordingInfo recording) {
+    return new JfrRecordingDto(recording.name(), recording.state(), recording.startedAt(),
+        recording.duration(), recording.maxSizeBytes());
+  }
+}
@@ -2,15 +2,23 @@ package com.dariom.wds.api.admin;
 
 import com.dariom.wds.api.admin.dto.UserDto;
 import com.dariom.wds.domain.UserProfile;
+import com.dariom.wds.service.auth.RefreshTokenService;
 import com.dariom.wds.service.user.UserProfileService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -23,6 +31,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminUserController {
 
   private final UserProfileService userProfileService;
+  private final RefreshTokenService refreshTokenService;
 
   @Operation(summary = "List all users", description = "Returns a paginated list of all registered users.")
   @GetMapping
@@ -32,12 +41,25 @@ public class AdminUserController {
       @RequestParam(name = "email", required = false) String email,
       @RequestParam(name = "displayName", required = false) String displayName
   ) {
-    log.info("Admin get all users: fullName=<{}>, displayName=<{}>, email=<{}>, pageable={}",
+    log.debug("Admin get all users: fullName=<{}>, displayName=<{}>, email=<{}>, pageable={}",
         fullName, displayName, email, pageable);
     return userProfileService.getAllUserProfiles(pageable, fullName, email, displayName)
         .map(this::toDto);
   }
 
+  @Operation(summary = "Revoke user refresh tokens", description = "Revokes every refresh token of the user, signing them out on all devices once their access tokens expire.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "204", description = "Refresh tokens revoked")
+  })
+  @DeleteMapping("/{userId}/refresh-tokens")
+  public ResponseEntity<Void> revokeRefreshTokens(
+      @Parameter(description = "User identifier", required = true) @PathVariable UUID userId
+  ) {
+    log.info("Admin revoke refresh tokens of user <{}>", userId);
+    refreshTokenService.revokeAll(userId);
+    return ResponseEntity.noContent().build();
+  }
+
   private UserDto toDto(UserProfile u) {
     return new UserDto(
         u.id(), u.email(), u.fullName(), u.displayName(), u.pictureUrl(), u.createdOn()
@@ -0,0 +1,62 @@
+package com.dariom.wds.api.admin;
+
+import com.dariom.wds.exception.UserNotFoundException;
+import com.dariom.wds.service.cache.CacheAdminService;
+import com.dariom.wds.service.cache.CacheAdminService.CacheSummary;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shows size and hit statistics of the application caches and lets admins invalidate or warm them
+ * up, by cache or by key (a language for dictionaries, a user id for user caches). Uses its
+ * own id because Boot's {@code caches} endpoint only lists and clears. Restricted to admins.
+ */
+@Component
+@Endpoint(id = CacheStatsEndpoint.ID)
+@RequiredArgsConstructor
+public class CacheStatsEndpoint {
+
+  public static final String ID = "cachestats";
+
+  private final CacheAdminService cacheAdminService;
+
+  @ReadOperation
+  public List<CacheSummary> caches() {
+    return cacheAdminService.getCacheSummaries();
+  }
+
+  @ReadOperation
+  public CacheSummary cache(@Selector String cache) {
+    return cacheAdminService.getCacheSummary(cache).orElse(null);
+  }
+
+  @DeleteOperation
+  public void invalidate(@Selector String cache, @Nullable String key) {
+    try {
+      cacheAdminService.invalidate(cache, key);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+    }
+  }
+
+  @WriteOperation
+  public WarmUpResult warmUp(@Selector String cache, @Nullable String key) {
+    try {
+      return new WarmUpResult(cache, cacheAdminService.warmUp(cache, key));
+    } catch (IllegalArgumentException | UserNotFoundException e) {
+      throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+    }
+  }
+
+  public record WarmUpResult(String cache, int keysLoaded) {
+
+  }
+}
@@ -0,0 +1,35 @@
+package com.dariom.wds.api.admin;
+
+import com.dariom.wds.metrics.RoomLockMetrics;
+import com.dariom.wds.metrics.RoomLockMetrics.HotRoom;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lists the rooms with the most lock wait since the last reset, to tell whether
+ * {@code room.lock.acquire-timeout} fits the actual contention. Restricted to admins.
+ */
+@Component
+@Endpoint(id = HotRoomsEndpoint.ID)
+@RequiredArgsConstructor
+public class HotRoomsEndpoint {
+
+  public static final String ID = "hotrooms";
+  private static final int LIMIT = 20;
+
+  private final RoomLockMetrics roomLockMetrics;
+
+  @ReadOperation
+  public List<HotRoom> hotRooms() {
+    return roomLockMetrics.hotRooms(LIMIT);
+  }
+
+  @DeleteOperation
+  public void reset() {
+    roomLockMetrics.resetHotRooms();
+  }
+}
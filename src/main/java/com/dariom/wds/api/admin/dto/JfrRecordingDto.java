@@ -0,0 +1,20 @@
+package com.dariom.wds.api.admin.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Duration;
+import java.time.Instant;
+
+public record JfrRecordingDto(
+    @JsonProperty("name")
+    String name,
+    @JsonProperty("state")
+    String state,
+    @JsonProperty("startedAt")
+    Instant startedAt,
+    @JsonProperty("duration")
+    Duration duration,
+    @JsonProperty("maxSizeBytes")
+    long maxSizeBytes
+) {
+
+}
@@ -0,0 +1,35 @@
+package com.dariom.wds.api.auth;
+
+import com.dariom.wds.config.security.JwtKeys;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.Duration;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Tag(name = "Auth", description = "Authentication and token lifecycle")
+@RequiredArgsConstructor
+public class JwksController {
+
+  static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+  private final JwtKeys jwtKeys;
+
+  @Operation(summary = "JSON Web Key Set", description = "Public keys that verify access tokens, identified by the kid header of each token. Includes keys being rotated in or out.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Key set returned")
+  })
+  @GetMapping(value = "/.well-known/jwks.json", produces = "application/json")
+  public ResponseEntity<Map<String, Object>> getJwks() {
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.maxAge(MAX_AGE).cachePublic())
+        .body(jwtKeys.publicKeys().toJSONObject());
+  }
+}
@@ -21,6 +21,14 @@ public enum ErrorCode {
   INVALID_WORD,
   ROOM_CLOSED,
   ROOM_BUSY,
+  IDEMPOTENT_REQUEST_IN_PROGRESS,
+  IDEMPOTENT_RESPONSE_UNAVAILABLE,
+  IDEMPOTENCY_KEY_REUSED,
+  INVALID_IDEMPOTENCY_KEY,
+  RATE_LIMITED,
+  SERVICE_OVERLOADED,
+  JFR_RECORDING_IN_PROGRESS,
+  JFR_RECORDING_NOT_FOUND,
   DICTIONARY_EMPTY,
   GENERIC_BAD_REQUEST,
   REFRESH_TOKEN_INVALID,
@@ -1,16 +1,24 @@
 package com.dariom.wds.api.v1;
 
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
 import com.dariom.wds.api.common.ErrorResponse;
 import com.dariom.wds.api.v1.dto.CreateRoomRequest;
 import com.dariom.wds.api.v1.dto.GuessResponse;
 import com.dariom.wds.api.v1.dto.ReadyRequest;
 import com.dariom.wds.api.v1.dto.RoomDto;
+import com.dariom.wds.api.v1.dto.RoundDto;
+import com.dariom.wds.api.v1.dto.RoundHistoryPageDto;
 import com.dariom.wds.api.v1.dto.SubmitGuessRequest;
 import com.dariom.wds.api.v1.mapper.RoomMapper;
 import com.dariom.wds.config.security.AuthenticatedUserResolver;
 import com.dariom.wds.domain.Language;
+import com.dariom.wds.service.idempotency.IdempotencyService;
 import com.dariom.wds.service.room.RoomService;
+import com.dariom.wds.service.round.RoundHistoryService;
 import com.dariom.wds.service.round.RoundService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -20,6 +28,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -31,8 +41,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @Slf4j
@@ -42,10 +55,16 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 @Tag(name = "Rooms", description = "Room management and gameplay actions")
 public class RoomController {
 
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  private static final int MAX_ROUND_HISTORY_PAGE_SIZE = 100;
+
   private final RoomService roomService;
   private final RoundService roundService;
+  private final RoundHistoryService roundHistoryService;
   private final RoomMapper roomMapper;
   private final AuthenticatedUserResolver authenticatedUserResolver;
+  private final IdempotencyService idempotencyService;
+  private final ObjectMapper objectMapper;
 
   @Operation(summary = "Create room", description = "Creates a new room and joins the creator as the first player.")
   @ApiResponses({
@@ -58,7 +77,7 @@ public class RoomController {
       @AuthenticationPrincipal Jwt jwt
   ) {
     var appUserId = authenticatedUserResolver.from(jwt).userId();
-    log.info("Create room {} by user <{}>", request, appUserId);
+    log.debug("Create room in {} by user <{}>", request.language(), appUserId);
     var language = Language.valueOf(request.language().trim().toUpperCase());
     var room = roomService.createRoom(language, appUserId);
     var roomDto = roomMapper.toDto(room, appUserId);
@@ -79,7 +98,7 @@ public class RoomController {
       @AuthenticationPrincipal Jwt jwt
   ) {
     var appUserId = authenticatedUserResolver.from(jwt).userId();
-    log.info("Join room <{}> by user <{}>", roomId, appUserId);
+    log.debug("Join room <{}> by user <{}>", roomId, appUserId);
     var room = roomService.joinRoom(roomId, appUserId);
     return ResponseEntity.ok(roomMapper.toDto(room, appUserId));
   }
@@ -91,7 +110,7 @@ public class RoomController {
   @GetMapping
   public ResponseEntity<List<RoomDto>> listRooms(@AuthenticationPrincipal Jwt jwt) {
     var appUserId = authenticatedUserResolver.from(jwt).userId();
-    log.info("List rooms for user <{}>", appUserId);
+    log.debug("List rooms for user <{}>", appUserId);
 
     var rooms = roomService.listRoomsForPlayer(appUserId);
     var roomDtos = rooms.stream().map(r -> roomMapper.toDto(r, appUserId)).toList();
@@ -110,27 +129,72 @@ public class RoomController {
       @AuthenticationPrincipal Jwt jwt
   ) {
     var appUserId = authenticatedUserResolver.from(jwt).userId();
-    log.info("Get room <{}>", roomId);
+    log.debug("Get room <{}> by user <{}>", roomId, appUserId);
     var room = roomService.getRoom(roomId, appUserId);
     return ResponseEntity.ok(roomMapper.toDto(room, appUserId));
   }
 
+  @Operation(summary = "Get round history", description = "Returns a page of the finished rounds of a room, newest first, archived ones included. Pass the returned nextCursor as before to get the next page; it is null on the last page.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Rounds returned", content = @Content(schema = @Schema(implementation = RoundHistoryPageDto.class))),
+      @ApiResponse(responseCode = "403", description = "Player cannot inspect room", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "404", description = "Room not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  @GetMapping("/{roomId}/rounds")
+  public ResponseEntity<StreamingResponseBody> getRoundHistory(
+      @Parameter(description = "Room identifier", required = true) @PathVariable String roomId,
+      @Parameter(description = "Cursor: only rounds numbered below it are returned") @RequestParam(name = "before", required = false) Integer before,
+      @Parameter(description = "Maximum number of rounds, capped at " + MAX_ROUND_HISTORY_PAGE_SIZE) @RequestParam(name = "limit", defaultValue = "20") int limit,
+      @AuthenticationPrincipal Jwt jwt
+  ) {
+    var appUserId = authenticatedUserResolver.from(jwt).userId();
+    log.debug("Get round history of room <{}> before {} by user <{}>", roomId, before, appUserId);
+    roomService.ensurePlayerCanInspectRoom(roomId, appUserId);
+
+    var pageSize = Math.clamp(limit, 1, MAX_ROUND_HISTORY_PAGE_SIZE);
+    StreamingResponseBody body = out -> {
+      // closing the generator on a failed read would complete the JSON and the response, turning
+      // it into a truncated 200; left open, the client gets a 500 or a cut-off body instead
+      var json = objectMapper.createGenerator(out)
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+      json.writeStartObject();
+      json.writeArrayFieldStart("rounds");
+      var nextCursor = roundHistoryService.forEachFinishedRound(roomId, before, pageSize,
+          round -> writeRound(json, roomMapper.toRoundDto(round, appUserId)));
+      json.writeEndArray();
+      json.writeObjectField("nextCursor", nextCursor);
+      json.writeEndObject();
+      json.flush();
+    };
+
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_JSON)
+        .body(body);
+  }
+
   @Operation(summary = "Submit guess", description = "Submits a guess for a player in a room and returns the updated room state.")
   @ApiResponses({
       @ApiResponse(responseCode = "200", description = "Guess accepted", content = @Content(schema = @Schema(implementation = GuessResponse.class))),
       @ApiResponse(responseCode = "400", description = "Invalid guess", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-      @ApiResponse(responseCode = "404", description = "Room not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+      @ApiResponse(responseCode = "404", description = "Room not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "409", description = "Room busy or request with the same idempotency key in progress", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "422", description = "Idempotency key already used for a different guess", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
   })
   @PostMapping("/{roomId}/guess")
   public ResponseEntity<GuessResponse> submitGuess(
       @Parameter(description = "Room identifier", required = true) @PathVariable String roomId,
+      @Parameter(description = "Client generated key; retries with the same key replay the original response") @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
       @Valid @RequestBody SubmitGuessRequest request,
       @AuthenticationPrincipal Jwt jwt
   ) {
     var appUserId = authenticatedUserResolver.from(jwt).userId();
-    log.info("Submit guess in room <{}> by user <{}>: {}", roomId, appUserId, request);
-    var room = roundService.handleGuess(roomId, appUserId, request.word());
-    var response = new GuessResponse(roomMapper.toDto(room, appUserId));
+    log.debug("Submit guess in room <{}> by user <{}>", roomId, appUserId);
+    var response = idempotencyService.execute(appUserId, "guess:" + roomId, idempotencyKey,
+        request, GuessResponse.class, () -> {
+          var room = roundService.handleGuess(roomId, appUserId, request.word());
+          return new GuessResponse(roomMapper.toDto(room, appUserId));
+        });
     return ResponseEntity.ok(response);
   }
 
@@ -139,18 +203,25 @@ public class RoomController {
       @ApiResponse(responseCode = "200", description = "Ready accepted", content = @Content(schema = @Schema(implementation = RoomDto.class))),
       @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
       @ApiResponse(responseCode = "404", description = "Room not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-      @ApiResponse(responseCode = "409", description = "Conflict", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+      @ApiResponse(responseCode = "409", description = "Conflict", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "422", description = "Idempotency key already used for a different request", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
   })
   @PostMapping("/{roomId}/ready")
   public ResponseEntity<RoomDto> ready(
       @Parameter(description = "Room identifier", required = true) @PathVariable String roomId,
+      @Parameter(description = "Client generated key; retries with the same key replay the original response") @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
       @Valid @RequestBody ReadyRequest request,
       @AuthenticationPrincipal Jwt jwt
   ) {
     var appUserId = authenticatedUserResolver.from(jwt).userId();
-    log.info("Player ready in room <{}> by user <{}>: {}", roomId, appUserId, request);
-    var room = roundService.handleReady(roomId, appUserId, request.roundNumber());
-    return ResponseEntity.ok(roomMapper.toDto(room, appUserId));
+    log.debug("Player ready in room <{}> by user <{}>: round={}", roomId, appUserId,
+        request.roundNumber());
+    var response = idempotencyService.execute(appUserId, "ready:" + roomId, idempotencyKey,
+        request, RoomDto.class, () -> {
+          var room = roundService.handleReady(roomId, appUserId, request.roundNumber());
+          return roomMapper.toDto(room, appUserId);
+        });
+    return ResponseEntity.ok(response);
   }
 
   private static URI getRoomUri(String roomId) {
@@ -160,4 +231,12 @@ public class RoomController {
         .toUri();
   }
 
+  private static void writeRound(JsonGenerator json, RoundDto round) {
+    try {
+      json.writeObject(round);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
 }
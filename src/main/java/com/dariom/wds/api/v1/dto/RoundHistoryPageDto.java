@@ -0,0 +1,13 @@
+package com.dariom.wds.api.v1.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record RoundHistoryPageDto(
+    @JsonProperty("rounds")
+    List<RoundDto> rounds,
+    @JsonProperty("nextCursor")
+    Integer nextCursor
+) {
+
+}
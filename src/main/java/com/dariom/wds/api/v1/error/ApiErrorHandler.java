@@ -2,9 +2,15 @@ package com.dariom.wds.api.v1.error;
 
 import static com.dariom.wds.api.common.ErrorCode.DICTIONARY_EMPTY;
 import static com.dariom.wds.api.common.ErrorCode.GENERIC_BAD_REQUEST;
+import static com.dariom.wds.api.common.ErrorCode.IDEMPOTENCY_KEY_REUSED;
+import static com.dariom.wds.api.common.ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS;
+import static com.dariom.wds.api.common.ErrorCode.IDEMPOTENT_RESPONSE_UNAVAILABLE;
+import static com.dariom.wds.api.common.ErrorCode.INVALID_IDEMPOTENCY_KEY;
 import static com.dariom.wds.api.common.ErrorCode.INVALID_LANGUAGE;
 import static com.dariom.wds.api.common.ErrorCode.INVALID_ROUND_NUMBER;
 import static com.dariom.wds.api.common.ErrorCode.INVALID_WORD;
+import static com.dariom.wds.api.common.ErrorCode.JFR_RECORDING_IN_PROGRESS;
+import static com.dariom.wds.api.common.ErrorCode.JFR_RECORDING_NOT_FOUND;
 import static com.dariom.wds.api.common.ErrorCode.PLAYER_NOT_IN_ROOM;
 import static com.dariom.wds.api.common.ErrorCode.ROOM_ACCESS_DENIED;
 import static com.dariom.wds.api.common.ErrorCode.ROOM_BUSY;
@@ -19,10 +25,17 @@ import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 import com.dariom.wds.api.common.ErrorResponse;
 import com.dariom.wds.exception.DictionaryEmptyException;
+import com.dariom.wds.exception.IdempotencyKeyReusedException;
+import com.dariom.wds.exception.IdempotentRequestInProgressException;
+import com.dariom.wds.exception.IdempotentResponseUnavailableException;
 import com.dariom.wds.exception.InvalidGuessException;
+import com.dariom.wds.exception.InvalidIdempotencyKeyException;
+import com.dariom.wds.exception.JfrRecordingInProgressException;
+import com.dariom.wds.exception.JfrRecordingNotFoundException;
 import com.dariom.wds.exception.PlayerNotInRoomException;
 import com.dariom.wds.exception.RoomAccessDeniedException;
 import com.dariom.wds.exception.RoomClosedException;
@@ -94,6 +107,54 @@ public class ApiErrorHandler {
         .body(new ErrorResponse(ROOM_BUSY, ex.getMessage()));
   }
 
+  @ExceptionHandler(IdempotentRequestInProgressException.class)
+  public ResponseEntity<ErrorResponse> handleIdempotentRequestInProgress(
+      IdempotentRequestInProgressException ex) {
+    log.warn(ex.getMessage());
+    return ResponseEntity.status(CONFLICT)
+        .body(new ErrorResponse(IDEMPOTENT_REQUEST_IN_PROGRESS, ex.getMessage()));
+  }
+
+  @ExceptionHandler(IdempotentResponseUnavailableException.class)
+  public ResponseEntity<ErrorResponse> handleIdempotentResponseUnavailable(
+      IdempotentResponseUnavailableException ex) {
+    log.warn(ex.getMessage());
+    return ResponseEntity.status(CONFLICT)
+        .body(new ErrorResponse(IDEMPOTENT_RESPONSE_UNAVAILABLE, ex.getMessage()));
+  }
+
+  @ExceptionHandler(IdempotencyKeyReusedException.class)
+  public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(
+      IdempotencyKeyReusedException ex) {
+    log.warn(ex.getMessage());
+    return ResponseEntity.status(UNPROCESSABLE_ENTITY)
+        .body(new ErrorResponse(IDEMPOTENCY_KEY_REUSED, ex.getMessage()));
+  }
+
+  @ExceptionHandler(InvalidIdempotencyKeyException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidIdempotencyKey(
+      InvalidIdempotencyKeyException ex) {
+    log.warn(ex.getMessage());
+    return ResponseEntity.status(BAD_REQUEST)
+        .body(new ErrorResponse(INVALID_IDEMPOTENCY_KEY, ex.getMessage()));
+  }
+
+  @ExceptionHandler(JfrRecordingInProgressException.class)
+  public ResponseEntity<ErrorResponse> handleJfrRecordingInProgress(
+      JfrRecordingInProgressException ex) {
+    log.warn(ex.getMessage());
+    return ResponseEntity.status(CONFLICT)
+        .body(new ErrorResponse(JFR_RECORDING_IN_PROGRESS, ex.getMessage()));
+  }
+
+  @ExceptionHandler(JfrRecordingNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleJfrRecordingNotFound(
+      JfrRecordingNotFoundException ex) {
+    log.warn(ex.getMessage());
+    return ResponseEntity.status(NOT_FOUND)
+        .body(new ErrorResponse(JFR_RECORDING_NOT_FOUND, ex.getMessage()));
+  }
+
   @ExceptionHandler(PlayerNotInRoomException.class)
   public ResponseEntity<ErrorResponse> handlePlayerNotInRoom(PlayerNotInRoomException ex) {
     log.warn(ex.getMessage());
@@ -42,7 +42,7 @@ public class RoomMapper {
         .toList();
   }
 
-  private RoundDto toRoundDto(Round round, String requestingPlayerId) {
+  public RoundDto toRoundDto(Round round, String requestingPlayerId) {
     if (round == null) {
       return null;
     }
@@ -0,0 +1,96 @@
+package com.dariom.wds.config;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+import static org.springframework.core.Ordered.HIGHEST_PRECEDENCE;
+import static org.springframework.web.servlet.HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Writes one structured line per HTTP request to the {@code access} logger: method, route
+ * pattern, status and latency, with the trace id of {@link TraceIdFilter} taken from the MDC.
+ *
+ * <p>Failed and slow requests are always logged, successful ones are sampled (see
+ * {@link AccessLogProperties}). The logger is routed to its own asynchronous appender, so
+ * request threads only pay for enqueueing the event.
+ */
+@Component
+@Order(HIGHEST_PRECEDENCE + 1)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+  public static final String ACCESS_LOGGER = "access";
+
+  private static final Logger accessLog = LoggerFactory.getLogger(ACCESS_LOGGER);
+
+  private final AccessLogProperties properties;
+  private final long slowThresholdNanos;
+
+  public AccessLogFilter(AccessLogProperties properties) {
+    this.properties = properties;
+    this.slowThresholdNanos = properties.slowThreshold().toNanos();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !properties.enabled() || !accessLog.isInfoEnabled();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+    var start = System.nanoTime();
+    var failed = true;
+    try {
+      filterChain.doFilter(request, response);
+      failed = false;
+    } finally {
+      var elapsed = System.nanoTime() - start;
+      var status = failed ? 500 : response.getStatus();
+      if (shouldLog(status, elapsed)) {
+        log(request, status, elapsed);
+      }
+    }
+  }
+
+  private boolean shouldLog(int status, long elapsedNanos) {
+    return status >= 400
+        || elapsedNanos >= slowThresholdNanos
+        || ThreadLocalRandom.current().nextDouble() < properties.successSampleRate();
+  }
+
+  private static void log(HttpServletRequest request, int status, long elapsedNanos) {
+    var durationMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    var args = new Object[]{kv("method", request.getMethod()), kv("path", path(request)),
+        kv("status", status), kv("duration_ms", durationMs)};
+
+    if (status >= 500) {
+      accessLog.error("{} {} {} {}", args);
+    } else if (status >= 400) {
+      accessLog.warn("{} {} {} {}", args);
+    } else {
+      accessLog.info("{} {} {} {}", args);
+    }
+  }
+
+  // the route pattern keeps ids out of the path; fall back to the raw URI for unmapped requests
+  private static String path(HttpServletRequest request) {
+    if (request.getAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern) {
+      return pattern;
+    }
+    return request.getRequestURI();
+  }
+}
@@ -0,0 +1,18 @@
+package com.dariom.wds.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Access log sampling: failed requests (status 4xx/5xx) and requests slower than
+ * {@code slowThreshold} are always logged, the remaining ones with probability
+ * {@code successSampleRate} (0 to 1).
+ */
+@ConfigurationProperties(prefix = "app.access-log")
+public record AccessLogProperties(
+    boolean enabled,
+    double successSampleRate,
+    Duration slowThreshold
+) {
+
+}
@@ -5,7 +5,6 @@ import java.time.Duration;
 import java.util.List;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,10 +45,10 @@ public class CacheConfig {
         .recordStats();
 
     manager.setCaches(List.of(
-        new CaffeineCache(ALLOWED_GUESSES_CACHE, dictionaryBuilder.build()),
-        new CaffeineCache(ANSWER_WORDS_CACHE, dictionaryBuilder.build()),
-        new CaffeineCache(DISPLAY_NAME_CACHE, displayNameBuilder.build()),
-        new CaffeineCache(USER_PROFILE_CACHE, userProfileBuilder.build())
+        new LoadTracingCaffeineCache(ALLOWED_GUESSES_CACHE, dictionaryBuilder.build()),
+        new LoadTracingCaffeineCache(ANSWER_WORDS_CACHE, dictionaryBuilder.build()),
+        new LoadTracingCaffeineCache(DISPLAY_NAME_CACHE, displayNameBuilder.build()),
+        new LoadTracingCaffeineCache(USER_PROFILE_CACHE, userProfileBuilder.build())
     ));
 
     return manager;
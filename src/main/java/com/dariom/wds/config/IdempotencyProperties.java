@@ -0,0 +1,13 @@
+package com.dariom.wds.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(
+    Duration ttl,
+    Duration inProgressTtl,
+    long localMaxSize
+) {
+
+}
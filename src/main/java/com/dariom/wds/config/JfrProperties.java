@@ -0,0 +1,19 @@
+package com.dariom.wds.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bounds of the Flight Recorder recordings started by admins: a recording stops on its own after
+ * {@code maxDuration} and keeps at most {@code maxSize} of data. {@code settings} names the JDK
+ * configuration to start from ({@code default} or {@code profile}).
+ */
+@ConfigurationProperties(prefix = "app.jfr")
+public record JfrProperties(
+    Duration maxDuration,
+    DataSize maxSize,
+    String settings
+) {
+
+}
@@ -0,0 +1,37 @@
+package com.dariom.wds.config;
+
+import com.dariom.wds.jfr.CacheLoadEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.concurrent.Callable;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * {@link CaffeineCache} that records a {@link CacheLoadEvent} for every value loaded on a miss.
+ *
+ * <p>Only loads that go through {@link #get(Object, Callable)} are seen, which is what
+ * {@code @Cacheable(sync = true)} uses.
+ */
+class LoadTracingCaffeineCache extends CaffeineCache {
+
+  LoadTracingCaffeineCache(String name, Cache<Object, Object> cache) {
+    super(name, cache);
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    return super.get(key, () -> load(key, valueLoader));
+  }
+
+  private <T> T load(Object key, Callable<T> valueLoader) throws Exception {
+    var loadEvent = new CacheLoadEvent();
+    loadEvent.begin();
+    try {
+      var value = valueLoader.call();
+      loadEvent.emit(getName(), String.valueOf(key), true);
+      return value;
+    } catch (Exception e) {
+      loadEvent.emit(getName(), String.valueOf(key), false);
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.dariom.wds.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Pacing of the chunked deletes run by the cleanup jobs. {@code maxRunTime} must stay below the
+ * jobs' ShedLock {@code lockAtMostFor}, so a run ends while it still holds the lock.
+ */
+@ConfigurationProperties(prefix = "purge")
+public record PurgeProperties(
+    int chunkSize,
+    Duration chunkPause,
+    Duration maxRunTime
+) {
+
+}
@@ -0,0 +1,57 @@
+package com.dariom.wds.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.function.Consumer;
+
+/**
+ * Tells filters when a request is really done. For an async request (e.g. a
+ * {@code StreamingResponseBody}) the filter chain returns as soon as async processing starts,
+ * while the response is still being written on another thread.
+ */
+public final class RequestCompletion {
+
+  private RequestCompletion() {
+
+  }
+
+  /**
+   * Calls {@code onComplete} once the request completes, right away unless async processing has
+   * started. It receives whether the request failed: a 5xx status, an async error or a timeout.
+   */
+  public static void whenComplete(HttpServletRequest request, HttpServletResponse response,
+      Consumer<Boolean> onComplete) {
+    if (!request.isAsyncStarted()) {
+      onComplete.accept(response.getStatus() >= 500);
+      return;
+    }
+
+    request.getAsyncContext().addListener(new AsyncListener() {
+
+      private boolean failed;
+
+      @Override
+      public void onComplete(AsyncEvent event) {
+        onComplete.accept(failed || response.getStatus() >= 500);
+      }
+
+      @Override
+      public void onTimeout(AsyncEvent event) {
+        failed = true;
+      }
+
+      @Override
+      public void onError(AsyncEvent event) {
+        failed = true;
+      }
+
+      @Override
+      public void onStartAsync(AsyncEvent event) {
+        // a new async cycle drops the listeners of the previous one
+        event.getAsyncContext().addListener(this);
+      }
+    });
+  }
+}
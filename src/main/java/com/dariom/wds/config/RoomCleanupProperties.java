@@ -1,10 +1,14 @@
 package com.dariom.wds.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "room.cleanup")
 public record RoomCleanupProperties(
-    int retentionDays
+    boolean enabled,
+    int retentionDays,
+    Duration pollInterval,
+    int batchSize
 ) {
 
 }
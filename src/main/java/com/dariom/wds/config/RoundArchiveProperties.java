@@ -0,0 +1,15 @@
+package com.dariom.wds.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "room.round-archive")
+public record RoundArchiveProperties(
+    boolean enabled,
+    Duration pollInterval,
+    int batchSize,
+    int keepRounds,
+    Duration maxAge
+) {
+
+}
@@ -0,0 +1,11 @@
+package com.dariom.wds.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "room.metrics")
+public record RoundMetricsProperties(
+    Duration slowActionThreshold
+) {
+
+}
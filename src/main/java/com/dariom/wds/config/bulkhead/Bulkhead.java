@@ -0,0 +1,126 @@
+package com.dariom.wds.config.bulkhead;
+
+import com.dariom.wds.config.bulkhead.BulkheadProperties.BulkheadLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Isolates one class of requests: bounds how many run at once, how many may queue for a slot and
+ * how many JDBC connections they hold together.
+ *
+ * <p>The bulkhead of the request being served is bound to the current thread by
+ * {@link BulkheadFilter}, so that {@link BulkheadDataSource} can charge its connections to it.
+ */
+public class Bulkhead {
+
+  private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+  private final String name;
+  private final Semaphore requests;
+  private final Semaphore connections;
+  private final int maxConcurrentRequests;
+  private final int maxConnections;
+  private final int queueCapacity;
+  private final Duration maxWait;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final Counter rejected;
+
+  public Bulkhead(String name, BulkheadLimit limit, MeterRegistry meterRegistry) {
+    this.name = name;
+    this.maxConcurrentRequests = limit.maxConcurrentRequests();
+    this.maxConnections = limit.maxConnections();
+    this.requests = new Semaphore(maxConcurrentRequests, true);
+    this.connections = new Semaphore(maxConnections, true);
+    this.queueCapacity = limit.queueCapacity();
+    this.maxWait = limit.maxWait();
+
+    this.rejected = Counter.builder("bulkhead.requests.rejected")
+        .description("Requests rejected because the bulkhead and its queue were full")
+        .tag("bulkhead", name)
+        .register(meterRegistry);
+    Gauge.builder("bulkhead.requests.active", this, Bulkhead::activeRequests)
+        .description("Requests running in the bulkhead")
+        .tag("bulkhead", name)
+        .register(meterRegistry);
+    Gauge.builder("bulkhead.requests.waiting", waiting, AtomicInteger::get)
+        .description("Requests waiting for a slot in the bulkhead")
+        .tag("bulkhead", name)
+        .register(meterRegistry);
+    Gauge.builder("bulkhead.connections.active", this, Bulkhead::activeConnections)
+        .description("JDBC connections held by requests of the bulkhead")
+        .tag("bulkhead", name)
+        .register(meterRegistry);
+  }
+
+  public static Optional<Bulkhead> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Claims a request slot, waiting up to the configured time if there is room in the queue. On
+   * success the bulkhead is bound to the current thread until {@link #exit()}.
+   */
+  public boolean tryEnter() throws InterruptedException {
+    if (!requests.tryAcquire()) {
+      if (waiting.incrementAndGet() > queueCapacity) {
+        waiting.decrementAndGet();
+        rejected.increment();
+        return false;
+      }
+      try {
+        if (!requests.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+          rejected.increment();
+          return false;
+        }
+      } finally {
+        waiting.decrementAndGet();
+      }
+    }
+
+    CURRENT.set(this);
+    return true;
+  }
+
+  public void exit() {
+    unbind();
+    release();
+  }
+
+  /**
+   * Unbinds the bulkhead from the current thread but keeps the request slot, for a request that
+   * finishes on another thread; {@link #release()} frees the slot.
+   */
+  public void unbind() {
+    CURRENT.remove();
+  }
+
+  public void release() {
+    requests.release();
+  }
+
+  boolean tryAcquireConnection() throws InterruptedException {
+    return connections.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  void releaseConnection() {
+    connections.release();
+  }
+
+  private double activeRequests() {
+    return maxConcurrentRequests - requests.availablePermits();
+  }
+
+  private double activeConnections() {
+    return maxConnections - connections.availablePermits();
+  }
+}
@@ -0,0 +1,44 @@
+package com.dariom.wds.config.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BulkheadConfig {
+
+  public static final String ADMIN_BULKHEAD = "admin";
+  public static final String AUTH_BULKHEAD = "auth";
+
+  private static final String DATA_SOURCE_BEAN = "dataSource";
+
+  @Bean
+  Bulkhead adminBulkhead(BulkheadProperties properties, MeterRegistry meterRegistry) {
+    return new Bulkhead(ADMIN_BULKHEAD, properties.admin(), meterRegistry);
+  }
+
+  @Bean
+  Bulkhead authBulkhead(BulkheadProperties properties, MeterRegistry meterRegistry) {
+    return new Bulkhead(AUTH_BULKHEAD, properties.auth(), meterRegistry);
+  }
+
+  // only the data source the application uses: the pools behind a routing data source are reached
+  // through it and would otherwise charge the bulkhead twice
+  @Bean
+  @ConditionalOnProperty(name = "app.security.bulkhead.enabled", havingValue = "true")
+  static BeanPostProcessor bulkheadDataSourcePostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+            && !(bean instanceof BulkheadDataSource)) {
+          return new BulkheadDataSource(dataSource);
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,81 @@
+package com.dariom.wds.config.bulkhead;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Charges connections borrowed while serving a bulkhead request to that {@link Bulkhead}, so that
+ * back-office requests can only ever hold their configured share of the pool. Connections of other
+ * requests and background jobs are passed through untouched.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+  public BulkheadDataSource(DataSource targetDataSource) {
+    super(targetDataSource);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    var bulkhead = Bulkhead.current();
+    if (bulkhead.isEmpty()) {
+      return super.getConnection();
+    }
+    return charge(bulkhead.get(), super::getConnection);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    var bulkhead = Bulkhead.current();
+    if (bulkhead.isEmpty()) {
+      return super.getConnection(username, password);
+    }
+    return charge(bulkhead.get(), () -> super.getConnection(username, password));
+  }
+
+  private static Connection charge(Bulkhead bulkhead, ConnectionSupplier supplier)
+      throws SQLException {
+    try {
+      if (!bulkhead.tryAcquireConnection()) {
+        throw new SQLTransientConnectionException(
+            "Bulkhead <%s> has no JDBC connection left".formatted(bulkhead.getName()));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted waiting for a JDBC connection", e);
+    }
+
+    try {
+      return releaseOnClose(supplier.get(), bulkhead);
+    } catch (SQLException | RuntimeException e) {
+      bulkhead.releaseConnection();
+      throw e;
+    }
+  }
+
+  private static Connection releaseOnClose(Connection connection, Bulkhead bulkhead) {
+    var released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(BulkheadDataSource.class.getClassLoader(),
+        new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+          if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+            bulkhead.releaseConnection();
+          }
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+          }
+        });
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSupplier {
+
+    Connection get() throws SQLException;
+  }
+}
@@ -0,0 +1,77 @@
+package com.dariom.wds.config.bulkhead;
+
+import static com.dariom.wds.api.common.ErrorCode.SERVICE_OVERLOADED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+import com.dariom.wds.api.common.ErrorResponse;
+import com.dariom.wds.config.RequestCompletion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Runs the requests matching {@code matcher} inside a {@link Bulkhead}, rejecting them with
+ * {@code 503} when it is full. Async requests hold their slot until the async processing
+ * completes.
+ */
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+
+  private final Bulkhead bulkhead;
+  private final RequestMatcher matcher;
+  private final ObjectMapper objectMapper;
+
+  public BulkheadFilter(Bulkhead bulkhead, RequestMatcher matcher, ObjectMapper objectMapper) {
+    this.bulkhead = bulkhead;
+    this.matcher = matcher;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !matcher.matches(request);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+    if (!enter()) {
+      log.warn("Bulkhead <{}> is full, rejecting {} {}", bulkhead.getName(), request.getMethod(),
+          request.getRequestURI());
+      response.setStatus(SERVICE_UNAVAILABLE.value());
+      response.setContentType(APPLICATION_JSON_VALUE);
+      objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(SERVICE_OVERLOADED,
+          "Too many concurrent %s requests, please retry".formatted(bulkhead.getName())));
+      return;
+    }
+
+    try {
+      filterChain.doFilter(request, response);
+    } catch (IOException | ServletException | RuntimeException e) {
+      bulkhead.exit();
+      throw e;
+    }
+    // a streamed response keeps its slot until it has been written, possibly on another thread
+    bulkhead.unbind();
+    RequestCompletion.whenComplete(request, response, failed -> bulkhead.release());
+  }
+
+  private boolean enter() {
+    try {
+      return bulkhead.tryEnter();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
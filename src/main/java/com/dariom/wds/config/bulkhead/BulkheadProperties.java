@@ -0,0 +1,30 @@
+package com.dariom.wds.config.bulkhead;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulkheads for the back-office routes matched by {@code app.security.matcher.admin} and
+ * {@code app.security.matcher.auth}.
+ */
+@ConfigurationProperties(prefix = "app.security.bulkhead")
+public record BulkheadProperties(
+    boolean enabled,
+    BulkheadLimit admin,
+    BulkheadLimit auth
+) {
+
+  /**
+   * At most {@code maxConcurrentRequests} requests run at once, up to {@code queueCapacity} more
+   * wait for at most {@code maxWait}, and together they hold at most {@code maxConnections} JDBC
+   * connections.
+   */
+  public record BulkheadLimit(
+      int maxConcurrentRequests,
+      int queueCapacity,
+      Duration maxWait,
+      int maxConnections
+  ) {
+
+  }
+}
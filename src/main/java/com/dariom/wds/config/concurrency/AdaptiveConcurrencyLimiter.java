@@ -0,0 +1,82 @@
+package com.dariom.wds.config.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleUnaryOperator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps the number of API requests in flight with an AIMD (additive increase, multiplicative
+ * decrease) limit.
+ *
+ * <p>While requests complete within the latency threshold and at least half of the limit is in
+ * use, the limit grows by one; a slow or failed request shrinks it by the backoff ratio. The limit
+ * therefore settles just below the point where requests start queueing on connections and room
+ * locks. Each request may only use its share of the limit, so low priority traffic is shed first.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long latencyThresholdNanos;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private volatile double limit;
+
+  public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties,
+      MeterRegistry meterRegistry) {
+    this.minLimit = properties.minLimit();
+    this.maxLimit = properties.maxLimit();
+    this.backoffRatio = properties.backoffRatio();
+    this.latencyThresholdNanos = properties.latencyThreshold().toNanos();
+    this.limit = properties.initialLimit();
+
+    Gauge.builder("http.server.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+        .description("Current adaptive limit of concurrent API requests")
+        .register(meterRegistry);
+    Gauge.builder("http.server.concurrency.in.flight", inFlight, AtomicInteger::get)
+        .description("API requests currently in flight")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Claims a slot if fewer than {@code share} of the limit are in use. A successful call must be
+   * paired with {@link #release(long, boolean)}.
+   */
+  public boolean tryAcquire(double share) {
+    var allowed = Math.max(1, (int) (limit * share));
+    while (true) {
+      var current = inFlight.get();
+      if (current >= allowed) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  public void release(long latencyNanos, boolean failed) {
+    var inFlightBefore = inFlight.getAndDecrement();
+    if (failed || latencyNanos > latencyThresholdNanos) {
+      adjust(current -> Math.max(minLimit, current * backoffRatio));
+    } else if (inFlightBefore * 2 >= limit) {
+      adjust(current -> Math.min(maxLimit, current + 1));
+    }
+  }
+
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  private synchronized void adjust(DoubleUnaryOperator update) {
+    limit = update.applyAsDouble(limit);
+  }
+}
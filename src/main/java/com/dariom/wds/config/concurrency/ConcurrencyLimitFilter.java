@@ -0,0 +1,131 @@
+package com.dariom.wds.config.concurrency;
+
+import static com.dariom.wds.api.common.ErrorCode.SERVICE_OVERLOADED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+import com.dariom.wds.api.common.ErrorResponse;
+import com.dariom.wds.config.RequestCompletion;
+import com.dariom.wds.config.concurrency.ConcurrencyLimitProperties.PriorityClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds API requests with {@code 503} once their priority class has used up its share of the
+ * {@link AdaptiveConcurrencyLimiter} limit, instead of letting them queue for connections and
+ * room locks.
+ *
+ * <p>Runs in the API security chain before bearer token authentication, so rejected requests cost
+ * no token verification. Responses with a 5xx status count as failures for the limiter. Async
+ * requests hold their slot until the async processing completes.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private static final String DEFAULT_PRIORITY = "default";
+  private static final String RETRY_AFTER_SECONDS = "1";
+
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final ObjectMapper objectMapper;
+  private final List<Priority> priorities = new ArrayList<>();
+  private final Priority defaultPriority;
+
+  public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties,
+      AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this.limiter = limiter;
+    this.objectMapper = objectMapper;
+
+    for (var priorityClass : properties.priorities()) {
+      priorities.add(new Priority(priorityClass.name(), priorityClass.share(),
+          matcher(priorityClass), shedCounter(meterRegistry, priorityClass.name())));
+    }
+    this.defaultPriority = new Priority(DEFAULT_PRIORITY, properties.defaultShare(),
+        request -> true, shedCounter(meterRegistry, DEFAULT_PRIORITY));
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+    var priority = priorityOf(request);
+    if (!limiter.tryAcquire(priority.share())) {
+      priority.shed().increment();
+      log.warn("Shedding {} request {} {} (limit {})", priority.name(), request.getMethod(),
+          request.getRequestURI(), limiter.getLimit());
+      reject(response);
+      return;
+    }
+
+    var start = System.nanoTime();
+    try {
+      filterChain.doFilter(request, response);
+    } catch (IOException | ServletException | RuntimeException e) {
+      limiter.release(System.nanoTime() - start, true);
+      throw e;
+    }
+    // a streamed response keeps its slot until it has been written
+    RequestCompletion.whenComplete(request, response,
+        failed -> limiter.release(System.nanoTime() - start, failed));
+  }
+
+  private Priority priorityOf(HttpServletRequest request) {
+    for (var priority : priorities) {
+      if (priority.matcher().matches(request)) {
+        return priority;
+      }
+    }
+    return defaultPriority;
+  }
+
+  private void reject(HttpServletResponse response) throws IOException {
+    response.setStatus(SERVICE_UNAVAILABLE.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+    response.setContentType(APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(),
+        new ErrorResponse(SERVICE_OVERLOADED, "Server is overloaded, please retry"));
+  }
+
+  private static RequestMatcher matcher(PriorityClass priorityClass) {
+    var matchers = priorityClass.endpoints().stream()
+        .map(ConcurrencyLimitFilter::endpointMatcher)
+        .toList();
+    return new OrRequestMatcher(matchers);
+  }
+
+  // "POST /api/v1/rooms/{roomId}/guess" or "/admin/**"
+  private static RequestMatcher endpointMatcher(String endpoint) {
+    var parts = endpoint.trim().split("\\s+", 2);
+    var builder = PathPatternRequestMatcher.withDefaults();
+    return parts.length == 2
+        ? builder.matcher(HttpMethod.valueOf(parts[0]), parts[1])
+        : builder.matcher(parts[0]);
+  }
+
+  private static Counter shedCounter(MeterRegistry meterRegistry, String priority) {
+    return Counter.builder("http.server.requests.shed")
+        .description("API requests rejected by the adaptive concurrency limit")
+        .tag("priority", priority)
+        .register(meterRegistry);
+  }
+
+  private record Priority(String name, double share, RequestMatcher matcher, Counter shed) {
+
+  }
+}
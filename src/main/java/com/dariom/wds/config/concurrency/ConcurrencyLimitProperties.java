@@ -0,0 +1,34 @@
+package com.dariom.wds.config.concurrency;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public record ConcurrencyLimitProperties(
+    boolean enabled,
+    int initialLimit,
+    int minLimit,
+    int maxLimit,
+    double backoffRatio,
+    Duration latencyThreshold,
+    double defaultShare,
+    List<PriorityClass> priorities
+) {
+
+  public ConcurrencyLimitProperties {
+    priorities = priorities == null ? List.of() : List.copyOf(priorities);
+  }
+
+  /**
+   * Requests matching one of {@code endpoints} ({@code "METHOD /path"} or {@code "/path"}) may
+   * occupy up to {@code share} of the current limit. Classes are matched in order.
+   */
+  public record PriorityClass(
+      String name,
+      double share,
+      List<String> endpoints
+  ) {
+
+  }
+}
@@ -0,0 +1,24 @@
+package com.dariom.wds.config.datasource;
+
+/**
+ * Marks the current thread's reads as having to go to the primary.
+ */
+public final class ReadYourWritesContext {
+
+  private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+  private ReadYourWritesContext() {
+  }
+
+  public static boolean isPrimaryRequired() {
+    return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+  }
+
+  static void requirePrimary() {
+    PRIMARY_REQUIRED.set(true);
+  }
+
+  static void clear() {
+    PRIMARY_REQUIRED.remove();
+  }
+}
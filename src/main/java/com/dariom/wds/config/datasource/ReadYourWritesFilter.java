@@ -0,0 +1,60 @@
+package com.dariom.wds.config.datasource;
+
+import com.dariom.wds.config.security.AuthenticatedUserResolver;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Keeps the reads of users who recently wrote on the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+  private final ReadYourWritesTracker tracker;
+  private final AuthenticatedUserResolver authenticatedUserResolver;
+
+  public ReadYourWritesFilter(ReadYourWritesTracker tracker,
+      AuthenticatedUserResolver authenticatedUserResolver) {
+    this.tracker = tracker;
+    this.authenticatedUserResolver = authenticatedUserResolver;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (!(authentication instanceof JwtAuthenticationToken jwtAuthentication)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    var userId = authenticatedUserResolver.from(jwtAuthentication.getToken()).userId();
+    var write = !SAFE_METHODS.contains(request.getMethod());
+    if (write) {
+      tracker.recordWrite(userId);
+    }
+    if (write || tracker.wroteRecently(userId)) {
+      ReadYourWritesContext.requirePrimary();
+    }
+
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReadYourWritesContext.clear();
+      if (write) {
+        tracker.recordWrite(userId);
+      }
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.dariom.wds.config.datasource;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the {@link ReadYourWritesContext} of the submitting thread over to the task.
+ */
+public class ReadYourWritesTaskDecorator implements TaskDecorator {
+
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    var primaryRequired = ReadYourWritesContext.isPrimaryRequired();
+    return () -> {
+      if (primaryRequired) {
+        ReadYourWritesContext.requirePrimary();
+      }
+      try {
+        runnable.run();
+      } finally {
+        ReadYourWritesContext.clear();
+      }
+    };
+  }
+}
@@ -0,0 +1,56 @@
+package com.dariom.wds.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which users wrote within the read-your-writes window.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadYourWritesTracker {
+
+  static final String KEY_PREFIX = "recent-write:";
+  private static final long LOCAL_MAX_SIZE = 100_000;
+
+  private final StringRedisTemplate redisTemplate;
+  private final Duration window;
+  private final Cache<String, Boolean> localWriters;
+
+  public ReadYourWritesTracker(ReplicaProperties properties, StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+    this.window = properties.readYourWritesWindow();
+    this.localWriters = Caffeine.newBuilder()
+        .expireAfterWrite(window)
+        .maximumSize(LOCAL_MAX_SIZE)
+        .build();
+  }
+
+  public void recordWrite(String userId) {
+    localWriters.put(userId, true);
+    try {
+      redisTemplate.opsForValue().set(KEY_PREFIX + userId, "1", window);
+    } catch (Exception e) {
+      log.warn("Failed to record recent write of user <{}> in Redis", userId, e);
+    }
+  }
+
+  public boolean wroteRecently(String userId) {
+    if (localWriters.getIfPresent(userId) != null) {
+      return true;
+    }
+
+    try {
+      return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + userId));
+    } catch (Exception e) {
+      log.warn("Failed to look up recent writes of user <{}> in Redis", userId, e);
+      return true;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.dariom.wds.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the auto-configured {@link DataSource} with one that reads from replicas.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+  public ReplicaDataSourceConfig(@Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+    if (openInView) {
+      throw new IllegalStateException("Read replicas require spring.jpa.open-in-view=false");
+    }
+  }
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+  }
+
+  @Bean
+  ReplicaRoutingDataSource replicaRoutingDataSource(
+      @Qualifier("primaryDataSource") DataSource primaryDataSource,
+      ReplicaProperties properties,
+      Clock clock,
+      MeterRegistry meterRegistry) {
+    return new ReplicaRoutingDataSource(primaryDataSource, properties, clock, meterRegistry);
+  }
+
+  // picked up by the auto-configured application task executor, which also runs async MVC work
+  @Bean
+  ReadYourWritesTaskDecorator readYourWritesTaskDecorator() {
+    return new ReadYourWritesTaskDecorator();
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primaryDataSource,
+      ReplicaRoutingDataSource replicaRoutingDataSource) {
+    var dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+    dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+    return dataSource;
+  }
+}
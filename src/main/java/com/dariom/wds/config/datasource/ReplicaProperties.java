@@ -0,0 +1,34 @@
+package com.dariom.wds.config.datasource;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read replicas that read-only transactions are routed to.
+ */
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public record ReplicaProperties(
+    boolean enabled,
+    List<Node> nodes,
+    Duration maxLag,
+    Duration lagCheckInterval,
+    int poolSize,
+    Duration connectionTimeout
+) {
+
+  public ReplicaProperties {
+    nodes = nodes == null ? List.of() : List.copyOf(nodes);
+  }
+
+  /**
+   * How long after a write a user's reads stay on the primary.
+   */
+  public Duration readYourWritesWindow() {
+    return maxLag.plus(lagCheckInterval);
+  }
+
+  public record Node(String url, String username, String password) {
+
+  }
+}
@@ -0,0 +1,236 @@
+package com.dariom.wds.config.datasource;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.dariom.wds.config.datasource.ReplicaProperties.Node;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Hands out connections for read-only transactions from a healthy replica or the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean,
+    DisposableBean {
+
+  // a streaming standby that replayed everything it received is caught up, however old its last
+  // transaction; a disconnected one has received nothing new and its lag is unknown (null). The
+  // status of the WAL receiver is only visible with pg_read_all_stats
+  static final String LAG_QUERY = """
+      select case
+        when not exists (select 1 from pg_stat_wal_receiver where status = 'streaming') then null
+        when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+        else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+      end
+      """;
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final double maxLagSeconds;
+  private final Duration lagCheckInterval;
+  private final Clock clock;
+  private final AtomicInteger next = new AtomicInteger();
+  private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+
+  private final Counter replicaReads;
+  private final Counter readYourWritesReads;
+  private final Counter fallbackReads;
+
+  public ReplicaRoutingDataSource(DataSource primary, ReplicaProperties properties, Clock clock,
+      MeterRegistry meterRegistry) {
+    this(primary, createReplicaDataSources(properties), properties.maxLag(),
+        properties.lagCheckInterval(), clock, meterRegistry);
+  }
+
+  ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaDataSources,
+      Duration maxLag, Duration lagCheckInterval, Clock clock, MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    this.lagCheckInterval = lagCheckInterval;
+    this.clock = clock;
+
+    this.replicas = new ArrayList<>();
+    for (var dataSource : replicaDataSources) {
+      var replica = new Replica(dataSource);
+      replicas.add(replica);
+      Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+          .description("Replication lag of the replica as of the last check, NaN when unknown")
+          .tag("replica", dataSource.getPoolName())
+          .baseUnit("seconds")
+          .register(meterRegistry);
+    }
+
+    this.replicaReads = readsCounter(meterRegistry, "replica");
+    this.readYourWritesReads = readsCounter(meterRegistry, "primary_read_your_writes");
+    this.fallbackReads = readsCounter(meterRegistry, "primary_fallback");
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (ReadYourWritesContext.isPrimaryRequired()) {
+      readYourWritesReads.increment();
+      return primary.getConnection();
+    }
+
+    var start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+    for (var i = 0; i < replicas.size(); i++) {
+      var replica = replicas.get((start + i) % replicas.size());
+      if (!replica.available || replica.isStale(Instant.now(clock), lagCheckInterval)) {
+        continue;
+      }
+
+      try {
+        var connection = replica.dataSource.getConnection();
+        replicaReads.increment();
+        return connection;
+      } catch (SQLException e) {
+        log.warn("Replica <{}> unavailable, leaving it out until the next lag check",
+            replica.dataSource.getPoolName(), e);
+        replica.markUnavailable();
+      }
+    }
+
+    fallbackReads.increment();
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException(
+        "Replica connections use the configured credentials");
+  }
+
+  // not on the shared task scheduler, where a long job would hold up the checks
+  @Override
+  public void afterPropertiesSet() {
+    var period = lagCheckInterval.toNanos() / 2;
+    lagChecker.scheduleAtFixedRate(this::checkReplicaLag, 0, period, NANOSECONDS);
+  }
+
+  void checkReplicaLag() {
+    for (var replica : replicas) {
+      try (var connection = replica.dataSource.getConnection();
+          var statement = connection.createStatement();
+          var resultSet = statement.executeQuery(LAG_QUERY)) {
+        resultSet.next();
+        var lagSeconds = resultSet.getDouble(1);
+        if (resultSet.wasNull()) {
+          replica.markNotStreaming();
+        } else {
+          replica.update(lagSeconds, maxLagSeconds, Instant.now(clock));
+        }
+      } catch (SQLException | RuntimeException e) {
+        if (replica.available) {
+          log.warn("Replica <{}> lag check failed, leaving it out",
+              replica.dataSource.getPoolName(), e);
+        }
+        replica.markUnavailable();
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {
+    lagChecker.shutdownNow();
+    replicas.forEach(replica -> replica.dataSource.close());
+  }
+
+  private static List<HikariDataSource> createReplicaDataSources(ReplicaProperties properties) {
+    var dataSources = new ArrayList<HikariDataSource>();
+    for (var i = 0; i < properties.nodes().size(); i++) {
+      dataSources.add(createReplicaDataSource("replica-" + i, properties.nodes().get(i),
+          properties));
+    }
+    return dataSources;
+  }
+
+  private static HikariDataSource createReplicaDataSource(String name, Node node,
+      ReplicaProperties properties) {
+    var dataSource = new HikariDataSource();
+    dataSource.setPoolName(name);
+    dataSource.setJdbcUrl(node.url());
+    dataSource.setUsername(node.username());
+    dataSource.setPassword(node.password());
+    dataSource.setReadOnly(true);
+    dataSource.setMaximumPoolSize(properties.poolSize());
+    dataSource.setConnectionTimeout(properties.connectionTimeout().toMillis());
+    // don't fail startup on a replica that is down; the lag check keeps it out until it's back
+    dataSource.setInitializationFailTimeout(-1);
+    return dataSource;
+  }
+
+  private static Counter readsCounter(MeterRegistry meterRegistry, String route) {
+    return Counter.builder("datasource.reads")
+        .description("Read-only transactions by where they were routed")
+        .tag("route", route)
+        .register(meterRegistry);
+  }
+
+  private static final class Replica {
+
+    private final HikariDataSource dataSource;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean available;
+    private volatile Instant checkedAt;
+
+    private Replica(HikariDataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+
+    private void update(double lagSeconds, double maxLagSeconds, Instant checkedAt) {
+      var wasAvailable = available;
+      this.checkedAt = checkedAt;
+      this.lagSeconds = lagSeconds;
+      this.available = lagSeconds <= maxLagSeconds;
+      if (wasAvailable && !available) {
+        log.warn("Replica <{}> is {}s behind, over the staleness bound, reading from the primary",
+            dataSource.getPoolName(), lagSeconds);
+      } else if (!wasAvailable && available) {
+        log.info("Replica <{}> is within the staleness bound ({}s behind), routing reads to it",
+            dataSource.getPoolName(), lagSeconds);
+      }
+    }
+
+    private boolean isStale(Instant now, Duration maxAge) {
+      var stale = checkedAt == null || checkedAt.plus(maxAge).isBefore(now);
+      if (stale) {
+        log.warn("Replica <{}> was last checked at {}, leaving it out until the next check",
+            dataSource.getPoolName(), checkedAt);
+        markUnavailable();
+      }
+      return stale;
+    }
+
+    private void markNotStreaming() {
+      if (available) {
+        log.warn("Replica <{}> is not streaming from the primary, reading from the primary",
+            dataSource.getPoolName());
+      }
+      markUnavailable();
+    }
+
+    private void markUnavailable() {
+      lagSeconds = Double.NaN;
+      available = false;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.dariom.wds.config.datasource;
+
+import java.util.OptionalInt;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Which shard the current transaction talks to.
+ */
+public final class ShardContext {
+
+  public static final int HOME_SHARD = 0;
+
+  private static final Object SHARD_KEY = new Object();
+  private static final ThreadLocal<Integer> SCOPE = new ThreadLocal<>();
+
+  private ShardContext() {
+  }
+
+  /**
+   * Runs {@code action} with {@code shard} as the shard of the transactions it starts.
+   */
+  public static <T> T callInScope(int shard, Supplier<T> action) {
+    var previous = SCOPE.get();
+    SCOPE.set(shard);
+    try {
+      return action.get();
+    } finally {
+      if (previous == null) {
+        SCOPE.remove();
+      } else {
+        SCOPE.set(previous);
+      }
+    }
+  }
+
+  /**
+   * The shard of the current transaction, or else of the enclosing scope.
+   */
+  public static OptionalInt currentShard() {
+    var bound = (Integer) TransactionSynchronizationManager.getResource(SHARD_KEY);
+    if (bound != null) {
+      return OptionalInt.of(bound);
+    }
+    var scope = SCOPE.get();
+    return scope != null ? OptionalInt.of(scope) : OptionalInt.empty();
+  }
+
+  public static void pin(int shard) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Sharded data must be accessed in a transaction");
+    }
+
+    var current = currentShard();
+    if (current.isPresent() && current.getAsInt() != shard) {
+      throw new IllegalStateException("Transaction is bound to shard <%d>, can't access shard <%d>"
+          .formatted(current.getAsInt(), shard));
+    }
+    if (TransactionSynchronizationManager.getResource(SHARD_KEY) == null) {
+      bind(shard);
+    }
+  }
+
+  // called when a connection is fetched: binds a running transaction to the shard it gets
+  static int resolve() {
+    var current = currentShard();
+    var shard = current.isPresent() ? current.getAsInt() : HOME_SHARD;
+    if (TransactionSynchronizationManager.isSynchronizationActive()
+        && TransactionSynchronizationManager.getResource(SHARD_KEY) == null) {
+      bind(shard);
+    }
+    return shard;
+  }
+
+  private static void bind(int shard) {
+    TransactionSynchronizationManager.bindResource(SHARD_KEY, shard);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void suspend() {
+        TransactionSynchronizationManager.unbindResource(SHARD_KEY);
+      }
+
+      @Override
+      public void resume() {
+        TransactionSynchronizationManager.bindResource(SHARD_KEY, shard);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(SHARD_KEY);
+      }
+    });
+  }
+}
@@ -0,0 +1,87 @@
+package com.dariom.wds.config.datasource;
+
+import static java.sql.Connection.TRANSACTION_READ_COMMITTED;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the auto-configured {@link DataSource} with one that spreads rooms across shards.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.datasource.shards.enabled", havingValue = "true")
+public class ShardDataSourceConfig {
+
+  public ShardDataSourceConfig(
+      @Value("${spring.jpa.open-in-view:true}") boolean openInView,
+      @Value("${app.datasource.replicas.enabled:false}") boolean replicasEnabled,
+      @Value("${app.websocket.relay.type:redis}") String relayType) {
+    if (openInView) {
+      throw new IllegalStateException("Sharding requires spring.jpa.open-in-view=false");
+    }
+    if (replicasEnabled) {
+      throw new IllegalStateException("Read replicas can't be combined with sharding");
+    }
+    if ("postgres".equalsIgnoreCase(relayType)) {
+      throw new IllegalStateException("The postgres room event relay can't be combined with "
+          + "sharding");
+    }
+  }
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource homeDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+  }
+
+  @Bean
+  ShardRoutingDataSource shardRoutingDataSource(
+      @Qualifier("homeDataSource") DataSource homeDataSource,
+      ShardProperties properties) {
+    return new ShardRoutingDataSource(homeDataSource, properties);
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+    var dataSource = new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    // set up front, so the proxy never fetches (and routes) a connection just to read them
+    dataSource.setDefaultAutoCommit(true);
+    dataSource.setDefaultTransactionIsolation(TRANSACTION_READ_COMMITTED);
+    return dataSource;
+  }
+
+  @Bean
+  InitializingBean shardSchemaMigration(
+      ShardRoutingDataSource shardRoutingDataSource,
+      LiquibaseProperties liquibaseProperties,
+      ResourceLoader resourceLoader) {
+    return () -> {
+      for (var shard = 1; shard < shardRoutingDataSource.shardCount(); shard++) {
+        var liquibase = new SpringLiquibase();
+        liquibase.setDataSource(shardRoutingDataSource.shard(shard));
+        liquibase.setChangeLog(liquibaseProperties.getChangeLog());
+        liquibase.setDefaultSchema(liquibaseProperties.getDefaultSchema());
+        liquibase.setLiquibaseSchema(liquibaseProperties.getLiquibaseSchema());
+        liquibase.setChangeLogParameters(liquibaseProperties.getParameters());
+        liquibase.setResourceLoader(resourceLoader);
+        liquibase.afterPropertiesSet();
+      }
+    };
+  }
+}
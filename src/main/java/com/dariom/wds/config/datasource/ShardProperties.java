@@ -0,0 +1,30 @@
+package com.dariom.wds.config.datasource;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Databases rooms are spread across; shard 0 is {@code spring.datasource}.
+ */
+@ConfigurationProperties(prefix = "app.datasource.shards")
+public record ShardProperties(
+    boolean enabled,
+    List<Node> nodes,
+    int poolSize,
+    Duration connectionTimeout,
+    Duration placementRefreshInterval
+) {
+
+  public ShardProperties {
+    nodes = nodes == null ? List.of() : List.copyOf(nodes);
+  }
+
+  public int shardCount() {
+    return enabled ? nodes.size() + 1 : 1;
+  }
+
+  public record Node(String url, String username, String password) {
+
+  }
+}
@@ -0,0 +1,81 @@
+package com.dariom.wds.config.datasource;
+
+import com.dariom.wds.config.datasource.ShardProperties.Node;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections to the shard the current transaction is bound to.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  private final List<DataSource> shards;
+
+  public ShardRoutingDataSource(DataSource homeDataSource, ShardProperties properties) {
+    this(homeDataSource, createShardDataSources(properties));
+  }
+
+  ShardRoutingDataSource(DataSource homeDataSource, List<? extends DataSource> shardDataSources) {
+    this.shards = new ArrayList<>();
+    shards.add(homeDataSource);
+    shards.addAll(shardDataSources);
+
+    var targets = new HashMap<Object, Object>();
+    for (var shard = 0; shard < shards.size(); shard++) {
+      targets.put(shard, shards.get(shard));
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(homeDataSource);
+    setLenientFallback(false);
+  }
+
+  public int shardCount() {
+    return shards.size();
+  }
+
+  /**
+   * The data source of a single shard, bypassing routing.
+   */
+  public DataSource shard(int shard) {
+    return shards.get(shard);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return ShardContext.resolve();
+  }
+
+  @Override
+  public void destroy() {
+    // the home data source is a bean of its own
+    shards.stream().skip(1)
+        .filter(HikariDataSource.class::isInstance)
+        .forEach(dataSource -> ((HikariDataSource) dataSource).close());
+  }
+
+  private static List<HikariDataSource> createShardDataSources(ShardProperties properties) {
+    var dataSources = new ArrayList<HikariDataSource>();
+    for (var i = 0; i < properties.nodes().size(); i++) {
+      dataSources.add(createShardDataSource("shard-" + (i + 1), properties.nodes().get(i),
+          properties));
+    }
+    return dataSources;
+  }
+
+  private static HikariDataSource createShardDataSource(String name, Node node,
+      ShardProperties properties) {
+    var dataSource = new HikariDataSource();
+    dataSource.setPoolName(name);
+    dataSource.setJdbcUrl(node.url());
+    dataSource.setUsername(node.username());
+    dataSource.setPassword(node.password());
+    dataSource.setMaximumPoolSize(properties.poolSize());
+    dataSource.setConnectionTimeout(properties.connectionTimeout().toMillis());
+    return dataSource;
+  }
+}
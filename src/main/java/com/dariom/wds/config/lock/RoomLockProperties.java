@@ -5,7 +5,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "room.lock")
 public record RoomLockProperties(
-    Duration acquireTimeout
+    Duration acquireTimeout,
+    int stripes
 ) {
 
 }
@@ -12,8 +12,10 @@ public class CaffeineRuntimeHints implements RuntimeHintsRegistrar {
   private static final TypeReference[] CAFFEINE_TYPES = {
       TypeReference.of("com.github.benmanes.caffeine.cache.SSSW"),
       TypeReference.of("com.github.benmanes.caffeine.cache.SSSMW"),
+      TypeReference.of("com.github.benmanes.caffeine.cache.SSSMSA"),
       TypeReference.of("com.github.benmanes.caffeine.cache.PSW"),
       TypeReference.of("com.github.benmanes.caffeine.cache.PSMW"),
+      TypeReference.of("com.github.benmanes.caffeine.cache.PSAMS"),
   };
 
   @Override
@@ -3,7 +3,11 @@ package com.dariom.wds.config.nativeimage;
 import static org.springframework.aot.hint.MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS;
 import static org.springframework.aot.hint.MemberCategory.INVOKE_PUBLIC_METHODS;
 
+import com.dariom.wds.persistence.entity.PlayerRoomIndexIdEmbeddable;
 import com.dariom.wds.persistence.entity.RoomPlayerIdEmbeddable;
+import com.dariom.wds.persistence.entity.RoundArchiveIdEmbeddable;
+import com.dariom.wds.persistence.purge.PurgeKey;
+import com.dariom.wds.persistence.repository.jpa.ArchivedRoundPayload;
 import java.util.List;
 import org.springframework.aot.hint.RuntimeHints;
 import org.springframework.aot.hint.RuntimeHintsRegistrar;
@@ -42,6 +46,15 @@ public class PersistenceRuntimeHints implements RuntimeHintsRegistrar {
     hints.reflection().registerType(RoomPlayerIdEmbeddable.class,
         INVOKE_PUBLIC_CONSTRUCTORS,
         INVOKE_PUBLIC_METHODS);
+    hints.reflection().registerType(RoundArchiveIdEmbeddable.class,
+        INVOKE_PUBLIC_CONSTRUCTORS,
+        INVOKE_PUBLIC_METHODS);
+    hints.reflection().registerType(PlayerRoomIndexIdEmbeddable.class,
+        INVOKE_PUBLIC_CONSTRUCTORS,
+        INVOKE_PUBLIC_METHODS);
+    // instantiated by the purge key queries
+    hints.reflection().registerType(PurgeKey.class, INVOKE_PUBLIC_CONSTRUCTORS);
+    hints.reflection().registerType(ArchivedRoundPayload.class, INVOKE_PUBLIC_CONSTRUCTORS);
 
     for (var type : HIBERNATE_LOGGER_IMPLEMENTATIONS) {
       hints.reflection().registerType(type, INVOKE_PUBLIC_CONSTRUCTORS);
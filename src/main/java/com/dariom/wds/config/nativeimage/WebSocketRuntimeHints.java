@@ -6,6 +6,7 @@ import static org.springframework.aot.hint.MemberCategory.INVOKE_PUBLIC_METHODS;
 
 import com.dariom.wds.domain.RoundPlayerStatus;
 import com.dariom.wds.websocket.model.PlayerJoinedPayload;
+import com.dariom.wds.websocket.model.PlayerPresencePayload;
 import com.dariom.wds.websocket.model.PlayerReadyPayload;
 import com.dariom.wds.websocket.model.PlayerStatusUpdatedPayload;
 import com.dariom.wds.websocket.model.RoomEvent;
@@ -24,6 +25,7 @@ public class WebSocketRuntimeHints implements RuntimeHintsRegistrar {
     registerRecord(hints, RoomEvent.class);
     registerRecord(hints, PlayerJoinedPayload.class);
     registerRecord(hints, PlayerReadyPayload.class);
+    registerRecord(hints, PlayerPresencePayload.class);
     registerRecord(hints, PlayerStatusUpdatedPayload.class);
     registerRecord(hints, RoundStartedPayload.class);
     registerRecord(hints, RoundFinishedPayload.class);
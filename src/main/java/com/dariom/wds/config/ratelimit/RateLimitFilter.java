@@ -0,0 +1,90 @@
+package com.dariom.wds.config.ratelimit;
+
+import static com.dariom.wds.api.common.ErrorCode.RATE_LIMITED;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+import com.dariom.wds.api.common.ErrorResponse;
+import com.dariom.wds.config.security.AuthenticatedUserResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rejects requests of users that exceeded their budget for the endpoint with {@code 429} and a
+ * {@code Retry-After} header.
+ *
+ * <p>Runs in the API security chain after bearer token authentication, so requests are keyed on
+ * the JWT subject; unauthenticated requests and endpoints without a configured limit pass through.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private final RateLimiter rateLimiter;
+  private final AuthenticatedUserResolver authenticatedUserResolver;
+  private final ObjectMapper objectMapper;
+  private final Map<String, RequestMatcher> matcherPerEndpoint = new LinkedHashMap<>();
+
+  public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter,
+      AuthenticatedUserResolver authenticatedUserResolver, ObjectMapper objectMapper) {
+    this.rateLimiter = rateLimiter;
+    this.authenticatedUserResolver = authenticatedUserResolver;
+    this.objectMapper = objectMapper;
+
+    properties.endpoints().forEach((endpoint, limit) -> matcherPerEndpoint.put(endpoint,
+        PathPatternRequestMatcher.withDefaults()
+            .matcher(HttpMethod.valueOf(limit.method()), limit.path())));
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+    var endpoint = matchEndpoint(request);
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (endpoint == null || !(authentication instanceof JwtAuthenticationToken jwtAuthentication)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    var userId = authenticatedUserResolver.from(jwtAuthentication.getToken()).userId();
+    var retryAfter = rateLimiter.tryAcquire(endpoint, userId);
+    if (retryAfter.isZero()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    log.warn("Rate limited user <{}> on endpoint <{}>", userId, endpoint);
+    var retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    response.setStatus(TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    response.setContentType(APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(),
+        new ErrorResponse(RATE_LIMITED, "Too many requests, retry in %d s"
+            .formatted(retryAfterSeconds)));
+  }
+
+  private String matchEndpoint(HttpServletRequest request) {
+    for (var entry : matcherPerEndpoint.entrySet()) {
+      if (entry.getValue().matches(request)) {
+        return entry.getKey();
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,41 @@
+package com.dariom.wds.config.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+    boolean enabled,
+    Map<String, EndpointLimit> endpoints,
+    GlobalBudget global
+) {
+
+  public RateLimitProperties {
+    endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+  }
+
+  /**
+   * Token bucket for the requests of one user matching {@code method} and {@code path}: up to
+   * {@code capacity} requests in a burst, refilled at {@code refillPerSecond}.
+   */
+  public record EndpointLimit(
+      String method,
+      String path,
+      int capacity,
+      double refillPerSecond
+  ) {
+
+  }
+
+  /**
+   * Requests a user may make across all instances and rate limited endpoints per {@code window}.
+   */
+  public record GlobalBudget(
+      boolean enabled,
+      long limit,
+      Duration window
+  ) {
+
+  }
+}
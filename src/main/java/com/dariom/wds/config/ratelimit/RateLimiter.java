@@ -0,0 +1,132 @@
+package com.dariom.wds.config.ratelimit;
+
+import com.dariom.wds.config.ratelimit.RateLimitProperties.EndpointLimit;
+import com.dariom.wds.config.ratelimit.RateLimitProperties.GlobalBudget;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-user request budgets for the rate limited endpoints.
+ *
+ * <p>Every user gets one local {@link TokenBucket} per endpoint, so bursts are absorbed without any
+ * network call. Optionally, requests that pass the local bucket are also counted against a global
+ * budget per user, shared by all instances through a fixed-window counter in Redis; Redis failures
+ * let the request through. The counter is incremented and given its expiry in one Lua script, so a
+ * failure between the two cannot leave a window counter behind without a TTL. Idle buckets are
+ * evicted after {@link #BUCKET_IDLE_TIMEOUT}.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+  static final String GLOBAL_KEY_PREFIX = "rate-limit:";
+
+  // KEYS: window counter; ARGV: window millis
+  static final RedisScript<Long> INCREMENT = new DefaultRedisScript<>("""
+      local count = redis.call('INCR', KEYS[1])
+      if count == 1 then
+        redis.call('PEXPIRE', KEYS[1], ARGV[1])
+      end
+      return count
+      """, Long.class);
+
+  private static final Duration BUCKET_IDLE_TIMEOUT = Duration.ofMinutes(10);
+  private static final long BUCKETS_MAX_SIZE = 100_000;
+
+  private final Map<String, EndpointLimit> endpoints;
+  private final GlobalBudget globalBudget;
+  private final StringRedisTemplate redisTemplate;
+  private final Clock clock;
+  private final LongSupplier nanoTime;
+  private final Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+      .expireAfterAccess(BUCKET_IDLE_TIMEOUT)
+      .maximumSize(BUCKETS_MAX_SIZE)
+      .build();
+  private final Map<String, Counter> localThrottled = new HashMap<>();
+  private final Counter globalThrottled;
+
+  @Autowired
+  public RateLimiter(RateLimitProperties properties, StringRedisTemplate redisTemplate,
+      Clock clock, MeterRegistry meterRegistry) {
+    this(properties, redisTemplate, clock, meterRegistry, System::nanoTime);
+  }
+
+  RateLimiter(RateLimitProperties properties, StringRedisTemplate redisTemplate, Clock clock,
+      MeterRegistry meterRegistry, LongSupplier nanoTime) {
+    this.endpoints = properties.endpoints();
+    this.globalBudget = properties.global();
+    this.redisTemplate = redisTemplate;
+    this.clock = clock;
+    this.nanoTime = nanoTime;
+
+    endpoints.keySet().forEach(endpoint -> localThrottled.put(endpoint,
+        throttledCounter(meterRegistry, endpoint, "local")));
+    this.globalThrottled = throttledCounter(meterRegistry, "all", "global");
+  }
+
+  /**
+   * Records a request of {@code userId} to {@code endpoint}. Returns {@link Duration#ZERO} if it is
+   * allowed, otherwise how long the user should wait before retrying.
+   */
+  public Duration tryAcquire(String endpoint, String userId) {
+    var limit = endpoints.get(endpoint);
+    if (limit == null) {
+      return Duration.ZERO;
+    }
+
+    var bucket = buckets.get(endpoint + ":" + userId,
+        key -> new TokenBucket(limit.capacity(), limit.refillPerSecond(), nanoTime));
+    var waitNanos = bucket.tryConsume();
+    if (waitNanos > 0) {
+      localThrottled.get(endpoint).increment();
+      return Duration.ofNanos(waitNanos);
+    }
+
+    return tryAcquireGlobal(userId);
+  }
+
+  private Duration tryAcquireGlobal(String userId) {
+    if (globalBudget == null || !globalBudget.enabled()) {
+      return Duration.ZERO;
+    }
+
+    var windowMillis = globalBudget.window().toMillis();
+    var now = clock.millis();
+    var windowStart = now - now % windowMillis;
+    var key = GLOBAL_KEY_PREFIX + userId + ":" + windowStart;
+
+    try {
+      var count = redisTemplate.execute(INCREMENT, List.of(key), Long.toString(windowMillis));
+      if (count != null && count > globalBudget.limit()) {
+        globalThrottled.increment();
+        return Duration.ofMillis(windowStart + windowMillis - now);
+      }
+    } catch (Exception e) {
+      log.warn("Failed to check global rate limit of user <{}>, allowing request", userId, e);
+    }
+    return Duration.ZERO;
+  }
+
+  private static Counter throttledCounter(MeterRegistry meterRegistry, String endpoint,
+      String scope) {
+    return Counter.builder("http.server.requests.throttled")
+        .description("Requests rejected by the rate limiter")
+        .tag("endpoint", endpoint)
+        .tag("scope", scope)
+        .register(meterRegistry);
+  }
+}
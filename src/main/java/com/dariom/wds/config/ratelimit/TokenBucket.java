@@ -0,0 +1,48 @@
+package com.dariom.wds.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket. The state is swapped atomically, so concurrent requests of the same user
+ * never block each other; tokens are refilled lazily when the bucket is used.
+ */
+class TokenBucket {
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  private final double capacity;
+  private final double tokensPerNano;
+  private final LongSupplier nanoTime;
+  private final AtomicReference<State> state;
+
+  TokenBucket(int capacity, double refillPerSecond, LongSupplier nanoTime) {
+    this.capacity = capacity;
+    this.tokensPerNano = refillPerSecond / NANOS_PER_SECOND;
+    this.nanoTime = nanoTime;
+    this.state = new AtomicReference<>(new State(capacity, nanoTime.getAsLong()));
+  }
+
+  /**
+   * Takes one token, returning {@code 0} on success or the nanoseconds until a token is available.
+   */
+  long tryConsume() {
+    while (true) {
+      var current = state.get();
+      var now = nanoTime.getAsLong();
+      var refilled = (now - current.updatedAt()) * tokensPerNano;
+      var tokens = Math.min(capacity, current.tokens() + refilled);
+
+      if (tokens < 1) {
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+      }
+      if (state.compareAndSet(current, new State(tokens - 1, now))) {
+        return 0;
+      }
+    }
+  }
+
+  private record State(double tokens, long updatedAt) {
+
+  }
+}
@@ -0,0 +1,96 @@
+package com.dariom.wds.config.security;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Remembers tokens that the delegate decoder already verified, so that an access token reused
+ * across requests and STOMP connects pays for the signature check and claim validation once.
+ *
+ * <p>Entries are keyed by the SHA-256 of the token and expire at the token's {@code exp}; tokens
+ * without an expiry and rejected tokens are never cached. The cached {@link Jwt} still holds the
+ * raw token ({@link Jwt#getTokenValue()}), so a heap dump exposes every cached token until it
+ * expires. The cache is size-bounded; Caffeine's W-TinyLFU policy picks what to evict from both
+ * how often and how recently a token was used.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final JwtDecoder delegate;
+  private final Clock clock;
+  private final Cache<String, Jwt> verified;
+
+  public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Clock clock) {
+    this(delegate, maximumSize, clock, Ticker.systemTicker());
+  }
+
+  CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Clock clock, Ticker ticker) {
+    this.delegate = delegate;
+    this.clock = clock;
+    this.verified = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new UntilTokenExpiry(clock))
+        .ticker(ticker)
+        .recordStats()
+        .build();
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    var key = sha256(token);
+    var jwt = verified.getIfPresent(key);
+    if (jwt != null && clock.instant().isBefore(jwt.getExpiresAt())) {
+      return jwt;
+    }
+
+    jwt = delegate.decode(token);
+    if (jwt.getExpiresAt() != null) {
+      verified.put(key, jwt);
+    }
+    return jwt;
+  }
+
+  Cache<String, Jwt> cache() {
+    return verified;
+  }
+
+  private static String sha256(String token) {
+    try {
+      return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private record UntilTokenExpiry(Clock clock) implements Expiry<String, Jwt> {
+
+    @Override
+    public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+      var remaining = Duration.between(clock.instant(), jwt.getExpiresAt());
+      return Math.max(0, remaining.toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, jwt, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
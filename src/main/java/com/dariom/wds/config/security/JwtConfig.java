@@ -4,14 +4,19 @@ import static java.util.Base64.getDecoder;
 import static org.springframework.security.oauth2.jwt.JwtValidators.createDefaultWithIssuer;
 
 import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,25 +36,48 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtGra
 @RequiredArgsConstructor
 public class JwtConfig {
 
+  static final String VERIFIED_JWT_CACHE = "verifiedJwt";
+
   private final SecurityProperties securityProperties;
 
   @Bean
-  JwtEncoder jwtEncoder() {
-    var keyPair = rsaKeyPair();
-    var rsaKey = new RSAKey.Builder(keyPair.publicKey())
-        .privateKey(keyPair.privateKey())
-        .build();
-    return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey)));
+  JwtKeys jwtKeys() {
+    return JwtKeys.from(securityProperties.jwt());
+  }
+
+  @Bean
+  JwtEncoder jwtEncoder(JwtKeys jwtKeys) {
+    return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwtKeys.signingKey())));
   }
 
   @Bean
-  JwtDecoder jwtDecoder() {
+  JwtDecoder jwtDecoder(JwtKeys jwtKeys, Clock clock, MeterRegistry meterRegistry) {
+    var decoder = verifyingJwtDecoder(jwtKeys);
+    var cacheSize = securityProperties.jwt().verifiedCacheSize();
+    if (cacheSize <= 0) {
+      return decoder;
+    }
+
+    var cachingDecoder = new CachingJwtDecoder(decoder, cacheSize, clock);
+    CaffeineCacheMetrics.monitor(meterRegistry, cachingDecoder.cache(), VERIFIED_JWT_CACHE);
+    return cachingDecoder;
+  }
+
+  /**
+   * Verifies tokens signed by any configured key, selected by the {@code kid} header (or by key
+   * type for tokens issued without one).
+   */
+  JwtDecoder verifyingJwtDecoder(JwtKeys jwtKeys) {
     var props = securityProperties.jwt();
-    var keyPair = rsaKeyPair();
 
-    var decoder = NimbusJwtDecoder
-        .withPublicKey(keyPair.publicKey())
-        .build();
+    var jwtProcessor = new DefaultJWTProcessor<SecurityContext>();
+    jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+        jwtKeys.verificationAlgorithms(), new ImmutableJWKSet<>(jwtKeys.publicKeys())));
+    // claims are checked by the validators below
+    jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+    });
+
+    var decoder = new NimbusJwtDecoder(jwtProcessor);
 
     decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
         createDefaultWithIssuer(props.issuer()),
@@ -102,12 +130,7 @@ public class JwtConfig {
     }
   }
 
-  private RsaKeyPair rsaKeyPair() {
-    var jwtProperties = securityProperties.jwt();
-    return rsaKeyPairFromPem(jwtProperties.privateKeyPem(), jwtProperties.publicKeyPem());
-  }
-
-  private static byte[] decodePem(String pem, String type) {
+  static byte[] decodePem(String pem, String type) {
     var trimmedPem = pem.trim();
     var unquotedPem = trimmedPem.length() >= 2
         && ((trimmedPem.startsWith("\"") && trimmedPem.endsWith("\""))
@@ -0,0 +1,223 @@
+package com.dariom.wds.config.security;
+
+import static com.dariom.wds.config.security.JwtConfig.decodePem;
+import static com.dariom.wds.config.security.JwtConfig.rsaKeyPairFromPem;
+import static com.dariom.wds.config.security.JwtSigningAlgorithm.RS256;
+import static com.nimbusds.jose.jwk.KeyUse.SIGNATURE;
+import static java.util.stream.Collectors.toUnmodifiableSet;
+import static org.springframework.util.StringUtils.hasText;
+
+import com.dariom.wds.config.security.SecurityProperties.JwtProperties;
+import com.dariom.wds.config.security.SecurityProperties.SigningKeyProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPrivateKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The keys access tokens are signed and verified with.
+ *
+ * <p>The legacy RSA pair ({@code app.security.jwt.private-key-pem}/{@code public-key-pem}) gets
+ * its RFC 7638 thumbprint as key id; further keys are listed under {@code app.security.jwt.keys}.
+ * Tokens are signed with a single active key ({@code app.security.jwt.active-key-id}, by default
+ * the legacy key or else the first key with a private key) and carry its id in the {@code kid}
+ * header; every configured key verifies. Rotating means adding the new key, making it active,
+ * and removing the old one once the tokens it signed have expired.
+ */
+public class JwtKeys {
+
+  private final JWKSet keys;
+  private final JWK signingKey;
+  private final JwtSigningAlgorithm signingAlgorithm;
+
+  JwtKeys(List<JWK> keys, String signingKeyId) {
+    this.keys = new JWKSet(keys);
+    this.signingKey = this.keys.getKeyByKeyId(signingKeyId);
+    if (signingKey == null) {
+      throw new IllegalStateException("Unknown JWT signing key: " + signingKeyId);
+    }
+    if (!signingKey.isPrivate()) {
+      throw new IllegalStateException("JWT signing key has no private key: " + signingKeyId);
+    }
+    this.signingAlgorithm = algorithmOf(signingKey);
+  }
+
+  public static JwtKeys from(JwtProperties properties) {
+    var keys = new ArrayList<JWK>();
+    String defaultSigningKeyId = null;
+
+    var configured = properties.keys() != null
+        ? properties.keys()
+        : List.<SigningKeyProperties>of();
+    if (configured.isEmpty() || hasLegacyKey(properties)) {
+      var legacyKey = legacyRsaKey(properties);
+      keys.add(legacyKey);
+      defaultSigningKeyId = legacyKey.getKeyID();
+    }
+
+    var ids = new HashSet<String>();
+    keys.forEach(key -> ids.add(key.getKeyID()));
+    for (var keyProperties : configured) {
+      var key = parseKey(keyProperties);
+      if (!ids.add(key.getKeyID())) {
+        throw new IllegalStateException("Duplicate JWT key id: " + key.getKeyID());
+      }
+      keys.add(key);
+      if (defaultSigningKeyId == null && key.isPrivate()) {
+        defaultSigningKeyId = key.getKeyID();
+      }
+    }
+
+    var activeKeyId = properties.activeKeyId();
+    if (hasText(activeKeyId)) {
+      return new JwtKeys(keys, activeKeyId.trim());
+    }
+    if (defaultSigningKeyId == null) {
+      throw new IllegalStateException("No JWT signing key configured: set "
+          + "app.security.jwt.private-key-pem or a key with a private-key-pem in "
+          + "app.security.jwt.keys");
+    }
+    return new JwtKeys(keys, defaultSigningKeyId);
+  }
+
+  public String signingKeyId() {
+    return signingKey.getKeyID();
+  }
+
+  public JwtSigningAlgorithm signingAlgorithm() {
+    return signingAlgorithm;
+  }
+
+  /**
+   * Public parts of all keys, as published on the JWKS endpoint.
+   */
+  public JWKSet publicKeys() {
+    return keys.toPublicJWKSet();
+  }
+
+  JWK signingKey() {
+    return signingKey;
+  }
+
+  Set<JWSAlgorithm> verificationAlgorithms() {
+    return keys.getKeys().stream()
+        .map(key -> algorithmOf(key).getJwsAlgorithm())
+        .collect(toUnmodifiableSet());
+  }
+
+  static JWK parseKey(SigningKeyProperties properties) {
+    if (!hasText(properties.id())) {
+      throw new IllegalStateException("Missing required property: app.security.jwt.keys[].id");
+    }
+    if (properties.algorithm() == null) {
+      throw new IllegalStateException("Missing JWT key algorithm for key: " + properties.id());
+    }
+    if (!hasText(properties.publicKeyPem())) {
+      throw new IllegalStateException("Missing public key PEM for JWT key: " + properties.id());
+    }
+
+    var algorithm = properties.algorithm();
+    try {
+      var keyFactory = KeyFactory.getInstance(algorithm.getKeyAlgorithm());
+      var publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(
+          decodePem(properties.publicKeyPem(), "PUBLIC KEY")));
+      var privateKey = hasText(properties.privateKeyPem())
+          ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(
+          decodePem(properties.privateKeyPem(), "PRIVATE KEY")))
+          : null;
+      return toJwk(properties.id(), algorithm, publicKey, privateKey);
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException(
+          "Failed to parse %s key material for JWT key: %s".formatted(algorithm, properties.id()),
+          ex);
+    }
+  }
+
+  private static JWK toJwk(String id, JwtSigningAlgorithm algorithm, PublicKey publicKey,
+      PrivateKey privateKey) {
+    return switch (algorithm) {
+      case RS256 -> new RSAKey.Builder((RSAPublicKey) publicKey)
+          .privateKey((RSAPrivateKey) privateKey)
+          .keyID(id)
+          .algorithm(algorithm.getJwsAlgorithm())
+          .keyUse(SIGNATURE)
+          .build();
+      case ES256 -> {
+        var ecPublicKey = (ECPublicKey) publicKey;
+        if (!Curve.P_256.equals(Curve.forECParameterSpec(ecPublicKey.getParams()))) {
+          throw new IllegalStateException("ES256 JWT key is not on curve P-256: " + id);
+        }
+        yield new ECKey.Builder(Curve.P_256, ecPublicKey)
+            .privateKey((ECPrivateKey) privateKey)
+            .keyID(id)
+            .algorithm(algorithm.getJwsAlgorithm())
+            .keyUse(SIGNATURE)
+            .build();
+      }
+      case ED25519 -> {
+        var builder = new OctetKeyPair.Builder(Curve.Ed25519,
+            Base64URL.encode(rawEd25519PublicKey(publicKey)));
+        if (privateKey != null) {
+          builder.d(Base64URL.encode(((EdECPrivateKey) privateKey).getBytes().orElseThrow()));
+        }
+        yield builder
+            .keyID(id)
+            .algorithm(algorithm.getJwsAlgorithm())
+            .keyUse(SIGNATURE)
+            .build();
+      }
+    };
+  }
+
+  // an X.509 encoded Ed25519 key is a fixed 12 byte header followed by the 32 byte point
+  private static byte[] rawEd25519PublicKey(PublicKey publicKey) {
+    var encoded = publicKey.getEncoded();
+    return Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length);
+  }
+
+  private static RSAKey legacyRsaKey(JwtProperties properties) {
+    var keyPair = rsaKeyPairFromPem(properties.privateKeyPem(), properties.publicKeyPem());
+    var builder = new RSAKey.Builder(keyPair.publicKey())
+        .privateKey(keyPair.privateKey())
+        .algorithm(RS256.getJwsAlgorithm())
+        .keyUse(SIGNATURE);
+    try {
+      return builder.keyIDFromThumbprint().build();
+    } catch (JOSEException ex) {
+      throw new IllegalStateException("Failed to compute the JWT key thumbprint", ex);
+    }
+  }
+
+  private static boolean hasLegacyKey(JwtProperties properties) {
+    return hasText(properties.privateKeyPem()) || hasText(properties.publicKeyPem());
+  }
+
+  private static JwtSigningAlgorithm algorithmOf(JWK key) {
+    return Arrays.stream(JwtSigningAlgorithm.values())
+        .filter(algorithm -> algorithm.getJwsAlgorithm().equals(key.getAlgorithm()))
+        .findFirst()
+        .orElseThrow(() -> new IllegalStateException(
+            "Unsupported JWT key algorithm: " + key.getAlgorithm()));
+  }
+}
@@ -0,0 +1,29 @@
+package com.dariom.wds.config.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+
+/**
+ * Algorithms access tokens can be signed with, and the JCA key type each one expects.
+ *
+ * <p>{@code ES256} (P-256) and {@code ED25519} ({@code EdDSA} in the JWS header) sign
+ * considerably faster than {@code RS256} with a 2048-bit key and produce shorter tokens.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum JwtSigningAlgorithm implements JwsAlgorithm {
+
+  RS256(JWSAlgorithm.RS256, "RSA"),
+  ES256(JWSAlgorithm.ES256, "EC"),
+  ED25519(JWSAlgorithm.EdDSA, "Ed25519");
+
+  private final JWSAlgorithm jwsAlgorithm;
+  private final String keyAlgorithm;
+
+  @Override
+  public String getName() {
+    return jwsAlgorithm.getName();
+  }
+}
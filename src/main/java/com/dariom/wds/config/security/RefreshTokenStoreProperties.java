@@ -0,0 +1,20 @@
+package com.dariom.wds.config.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Where refresh tokens live. With {@code REDIS}, tokens expire through key TTLs and
+ * {@code auditEnabled} additionally mirrors them to the {@code refresh_token} table in the
+ * background, for reporting only.
+ */
+@ConfigurationProperties(prefix = "app.security.refresh-token-store")
+public record RefreshTokenStoreProperties(
+    StoreType type,
+    boolean auditEnabled
+) {
+
+  public enum StoreType {
+    POSTGRES,
+    REDIS
+  }
+}
@@ -6,13 +6,31 @@ import static org.springframework.security.config.http.SessionCreationPolicy.IF_
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 import static org.springframework.security.web.csrf.CookieCsrfTokenRepository.withHttpOnlyFalse;
 
+import com.dariom.wds.api.admin.CacheStatsEndpoint;
+import com.dariom.wds.api.admin.HotRoomsEndpoint;
+import com.dariom.wds.config.bulkhead.Bulkhead;
+import com.dariom.wds.config.bulkhead.BulkheadFilter;
+import com.dariom.wds.config.bulkhead.BulkheadProperties;
+import com.dariom.wds.config.concurrency.AdaptiveConcurrencyLimiter;
+import com.dariom.wds.config.concurrency.ConcurrencyLimitFilter;
+import com.dariom.wds.config.concurrency.ConcurrencyLimitProperties;
+import com.dariom.wds.config.datasource.ReadYourWritesFilter;
+import com.dariom.wds.config.datasource.ReadYourWritesTracker;
+import com.dariom.wds.config.ratelimit.RateLimitFilter;
+import com.dariom.wds.config.ratelimit.RateLimitProperties;
+import com.dariom.wds.config.ratelimit.RateLimiter;
 import com.dariom.wds.persistence.repository.UserRepository;
 import com.dariom.wds.service.auth.OAuth2RefreshCookieSuccessHandler;
 import com.dariom.wds.service.auth.OAuthUserService;
 import com.dariom.wds.service.auth.RefreshTokenCookieService;
 import com.dariom.wds.service.auth.RefreshTokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -21,11 +39,13 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.session.NullAuthenticatedSessionStrategy;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.security.web.util.matcher.OrRequestMatcher;
@@ -42,6 +62,10 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
  *   <li>CSRF is ignored for these endpoints because they are called with
  *       {@code Authorization: Bearer <JWT>} rather than browser-managed cookies.</li>
  *   <li>Authentication is performed by the OAuth2 Resource Server (JWT) support.</li>
+ *   <li>Requests beyond an adaptive concurrency limit are shed by priority
+ *       ({@code app.concurrency-limit.*}).</li>
+ *   <li>Authenticated requests are rate limited per user ({@code app.rate-limit.*}).</li>
+ *   <li>Admin requests run in their own bulkhead ({@code app.security.bulkhead.admin}).</li>
  * </ul>
  *
  * <p><b>2) Auth/OAuth filter chain</b>
@@ -52,6 +76,7 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
  *   <li>State is allowed only when required for the OAuth2 login flow ({@code SessionCreationPolicy.IF_REQUIRED}).</li>
  *   <li>CSRF is enabled using a cookie-based token repository: the browser stores a CSRF cookie and clients must
  *       send it back as a header for state-changing requests (names are configured via {@code app.security.csrf.*}).</li>
+ *   <li>Auth endpoints run in their own bulkhead ({@code app.security.bulkhead.auth}).</li>
  * </ul>
  *
  * <p>The split keeps the API strictly stateless (Bearer JWT) while still supporting browser-based OAuth2 login and
@@ -68,16 +93,30 @@ public class SecurityConfig {
   @Order(1)
   SecurityFilterChain apiSecurityFilterChain(
       HttpSecurity http,
-      JwtAuthenticationConverter jwtAuthenticationConverter
+      JwtAuthenticationConverter jwtAuthenticationConverter,
+      RateLimitProperties rateLimitProperties,
+      RateLimiter rateLimiter,
+      AuthenticatedUserResolver authenticatedUserResolver,
+      ConcurrencyLimitProperties concurrencyLimitProperties,
+      AdaptiveConcurrencyLimiter concurrencyLimiter,
+      BulkheadProperties bulkheadProperties,
+      @Qualifier("adminBulkhead") Bulkhead adminBulkhead,
+      ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry
   ) throws Exception {
     var matcher = requireMatcherProperties();
     var apiMatcher = matcher.api();
     var adminMatcher = matcher.admin();
     var apiAndAdminMatcher = apiAndAdminRequestMatcher();
+    // /actuator/** is whitelisted in the web chain, so admin-only endpoints are claimed here
+    var adminEndpointMatcher = EndpointRequest.to(HotRoomsEndpoint.ID,
+        CacheStatsEndpoint.ID);
+    var chainMatcher = new OrRequestMatcher(apiAndAdminMatcher, adminEndpointMatcher);
 
     http
-        .securityMatcher(apiAndAdminMatcher)
-        .csrf(csrf -> csrf.ignoringRequestMatchers(apiAndAdminMatcher))
+        .securityMatcher(chainMatcher)
+        .csrf(csrf -> csrf.ignoringRequestMatchers(chainMatcher))
         .sessionManagement(sm -> sm
             .sessionCreationPolicy(STATELESS)
             // Prevent Spring Security from attempting session fixation protection (changeSessionId)
@@ -86,6 +125,7 @@ public class SecurityConfig {
         )
         .authorizeHttpRequests(auth -> auth
             .requestMatchers(adminMatcher).hasRole(ADMIN.getName())
+            .requestMatchers(adminEndpointMatcher).hasRole(ADMIN.getName())
             .requestMatchers(apiMatcher).authenticated()
             .anyRequest().denyAll()
         )
@@ -97,6 +137,24 @@ public class SecurityConfig {
         )
         .logout(AbstractHttpConfigurer::disable);
 
+    // not beans, so that they only run in this chain
+    if (concurrencyLimitProperties.enabled()) {
+      http.addFilterBefore(new ConcurrencyLimitFilter(concurrencyLimitProperties,
+          concurrencyLimiter, objectMapper, meterRegistry), BearerTokenAuthenticationFilter.class);
+    }
+    if (rateLimitProperties.enabled()) {
+      http.addFilterAfter(new RateLimitFilter(rateLimitProperties, rateLimiter,
+          authenticatedUserResolver, objectMapper), BearerTokenAuthenticationFilter.class);
+    }
+    if (bulkheadProperties.enabled()) {
+      http.addFilterAfter(new BulkheadFilter(adminBulkhead,
+          PathPatternRequestMatcher.withDefaults().matcher(adminMatcher), objectMapper),
+          BearerTokenAuthenticationFilter.class);
+    }
+    readYourWritesTracker.ifAvailable(tracker -> http.addFilterAfter(
+        new ReadYourWritesFilter(tracker, authenticatedUserResolver),
+        BearerTokenAuthenticationFilter.class));
+
     return http.build();
   }
 
@@ -106,7 +164,10 @@ public class SecurityConfig {
       HttpSecurity http,
       CookieCsrfTokenRepository csrfTokenRepository,
       AuthenticationSuccessHandler oauth2SuccessHandler,
-      DelegatingOidcUserService oidcUserService
+      DelegatingOidcUserService oidcUserService,
+      BulkheadProperties bulkheadProperties,
+      @Qualifier("authBulkhead") Bulkhead authBulkhead,
+      ObjectMapper objectMapper
   ) throws Exception {
     var matcher = requireMatcherProperties();
 
@@ -134,6 +195,12 @@ public class SecurityConfig {
             .authenticationEntryPoint(new HttpStatusEntryPoint(UNAUTHORIZED))
         );
 
+    if (bulkheadProperties.enabled()) {
+      http.addFilterAfter(new BulkheadFilter(authBulkhead,
+          PathPatternRequestMatcher.withDefaults().matcher(matcher.auth()), objectMapper),
+          SecurityContextHolderFilter.class);
+    }
+
     return http.build();
   }
 
@@ -1,6 +1,7 @@
 package com.dariom.wds.config.security;
 
 import java.util.Arrays;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "app.security")
@@ -44,6 +45,22 @@ public record SecurityProperties(
       String audience,
       long version,
       String privateKeyPem,
+      String publicKeyPem,
+      int verifiedCacheSize,
+      String activeKeyId,
+      List<SigningKeyProperties> keys
+  ) {
+
+  }
+
+  /**
+   * A JWT key identified by {@code id} (the {@code kid} header). Keys without a private key only
+   * verify tokens, e.g. a retired key kept until the tokens it signed have expired.
+   */
+  public record SigningKeyProperties(
+      String id,
+      JwtSigningAlgorithm algorithm,
+      String privateKeyPem,
       String publicKeyPem
   ) {
 
@@ -1,11 +1,12 @@
 package com.dariom.wds.config.ws;
 
-import static com.dariom.wds.websocket.RedisRoomEventPublisher.ROOM_EVENTS;
+import static com.dariom.wds.websocket.RedisRoomEventRelay.ROOM_EVENTS;
 
 import com.dariom.wds.websocket.RedisRoomEventSubscriber;
 import com.dariom.wds.websocket.model.EventPayload;
 import com.dariom.wds.websocket.model.EventPayloadMixin;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -17,6 +18,8 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 public class RedisEventRelayConfig {
 
   @Bean
+  @ConditionalOnProperty(name = "app.websocket.relay.type", havingValue = "redis",
+      matchIfMissing = true)
   RedisMessageListenerContainer redisMessageListenerContainer(
       RedisConnectionFactory connectionFactory,
       RedisRoomEventSubscriber subscriber) {
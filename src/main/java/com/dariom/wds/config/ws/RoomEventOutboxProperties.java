@@ -0,0 +1,13 @@
+package com.dariom.wds.config.ws;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "room.event-outbox")
+public record RoomEventOutboxProperties(
+    int batchSize,
+    Duration pollInterval,
+    int maxAttempts
+) {
+
+}
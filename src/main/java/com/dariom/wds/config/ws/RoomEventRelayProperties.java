@@ -0,0 +1,28 @@
+package com.dariom.wds.config.ws;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.websocket.relay")
+public record RoomEventRelayProperties(
+    RelayType type,
+    PostgresProperties postgres
+) {
+
+  public enum RelayType {
+    REDIS,
+    POSTGRES
+  }
+
+  /**
+   * {@code notificationTimeout} bounds how long the listener blocks waiting for notifications
+   * before checking whether it should stop; {@code reconnectDelay} is the pause before re-opening
+   * the listener connection after a failure.
+   */
+  public record PostgresProperties(
+      Duration notificationTimeout,
+      Duration reconnectDelay
+  ) {
+
+  }
+}
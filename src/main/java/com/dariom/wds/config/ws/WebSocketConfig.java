@@ -1,12 +1,23 @@
 package com.dariom.wds.config.ws;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @RequiredArgsConstructor
@@ -15,6 +26,17 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
   private final WebSocketProperties webSocketProperties;
   private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+  private final ObjectProvider<WebSocketOutboundMetricsInterceptor> outboundMetricsInterceptor;
+  private final MeterRegistry meterRegistry;
+
+  private TaskScheduler messageBrokerTaskScheduler;
+
+  // the broker scheduler is created by this same configuration, so it has to be injected lazily
+  @Autowired
+  void setMessageBrokerTaskScheduler(
+      @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+    this.messageBrokerTaskScheduler = taskScheduler;
+  }
 
   @Override
   public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -26,14 +48,60 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     }
   }
 
+  /**
+   * Bounds what a single session can hold: a session that exceeds the send time or buffer limit is
+   * closed instead of blocking outbound threads shared with every other session.
+   */
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    var transport = webSocketProperties.transport();
+    registration
+        .setSendTimeLimit((int) transport.sendTimeLimit().toMillis())
+        .setSendBufferSizeLimit((int) transport.sendBufferSizeLimit().toBytes())
+        .setMessageSizeLimit((int) transport.messageSizeLimit().toBytes());
+  }
+
   @Override
   public void configureClientInboundChannel(ChannelRegistration registration) {
     registration.interceptors(webSocketAuthInterceptor);
   }
 
+  /**
+   * A full outbound queue makes the sending thread deliver the message itself, which slows down the
+   * fan-out instead of failing the broker send.
+   */
+  @Override
+  public void configureClientOutboundChannel(ChannelRegistration registration) {
+    var outbound = webSocketProperties.outbound();
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setRejectedExecutionHandler(countingCallerRuns());
+    registration.taskExecutor(executor)
+        .corePoolSize(outbound.corePoolSize())
+        .maxPoolSize(outbound.maxPoolSize())
+        .queueCapacity(outbound.queueCapacity());
+
+    if (outbound.metricsEnabled()) {
+      outboundMetricsInterceptor.ifAvailable(registration::interceptors);
+    }
+  }
+
   @Override
   public void configureMessageBroker(MessageBrokerRegistry registry) {
-    registry.enableSimpleBroker("/topic");
+    var heartbeatMillis = webSocketProperties.transport().heartbeat().toMillis();
+    registry.enableSimpleBroker("/topic")
+        .setHeartbeatValue(new long[]{heartbeatMillis, heartbeatMillis})
+        .setTaskScheduler(messageBrokerTaskScheduler);
     registry.setApplicationDestinationPrefixes("/app");
   }
+
+  private RejectedExecutionHandler countingCallerRuns() {
+    var rejected = Counter.builder("websocket.outbound.rejected")
+        .description("Outbound messages sent on the caller thread because the queue was full")
+        .register(meterRegistry);
+    var callerRuns = new CallerRunsPolicy();
+    return (task, executor) -> {
+      rejected.increment();
+      callerRuns.rejectedExecution(task, executor);
+    };
+  }
 }
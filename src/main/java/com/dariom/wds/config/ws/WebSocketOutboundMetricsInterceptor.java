@@ -0,0 +1,127 @@
+package com.dariom.wds.config.ws;
+
+import static org.springframework.web.socket.CloseStatus.SESSION_NOT_RELIABLE;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+/**
+ * Measures the client outbound channel.
+ *
+ * <p>Tracks how many messages are queued per STOMP session (recorded as a distribution plus the
+ * current maximum across sessions, to keep cardinality bounded), how long a message waits between
+ * broker fan-out and being written to the session, and how many sessions were closed because they
+ * could not keep up with the send time or buffer limits.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.websocket.outbound.metrics-enabled", havingValue = "true",
+    matchIfMissing = true)
+public class WebSocketOutboundMetricsInterceptor implements ExecutorChannelInterceptor {
+
+  static final String ENQUEUED_AT_HEADER = "wdsEnqueuedAt";
+
+  private final Map<String, Integer> pendingBySessionId = new ConcurrentHashMap<>();
+  private final DistributionSummary queueDepth;
+  private final Timer fanOutLatency;
+  private final Counter slowConsumerDisconnects;
+
+  public WebSocketOutboundMetricsInterceptor(MeterRegistry meterRegistry) {
+    this.queueDepth = DistributionSummary.builder("websocket.outbound.session.queue.depth")
+        .description("Messages pending for a session when a new one is queued")
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+    this.fanOutLatency = Timer.builder("websocket.outbound.fanout.latency")
+        .description("Time from broker fan-out until the message is written to the session")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.slowConsumerDisconnects = Counter.builder("websocket.sessions.slow.disconnects")
+        .description("Sessions closed for exceeding the send time or buffer size limit")
+        .register(meterRegistry);
+
+    Gauge.builder("websocket.outbound.pending", pendingBySessionId,
+            WebSocketOutboundMetricsInterceptor::total)
+        .description("Messages queued on the outbound channel across all sessions")
+        .register(meterRegistry);
+    Gauge.builder("websocket.outbound.session.pending.max", pendingBySessionId,
+            WebSocketOutboundMetricsInterceptor::max)
+        .description("Largest number of messages queued for a single session")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Message<?> preSend(Message<?> message, MessageChannel channel) {
+    var sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    if (sessionId == null) {
+      return message;
+    }
+
+    queueDepth.record(pendingBySessionId.merge(sessionId, 1, Integer::sum));
+
+    var accessor = MessageHeaderAccessor.getMutableAccessor(message);
+    accessor.setHeader(ENQUEUED_AT_HEADER, System.nanoTime());
+    return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+  }
+
+  @Override
+  public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent,
+      Exception ex) {
+    if (!sent || ex != null) {
+      release(message);
+    }
+  }
+
+  @Override
+  public void afterMessageHandled(Message<?> message, MessageChannel channel,
+      MessageHandler handler, Exception ex) {
+    if (message.getHeaders().get(ENQUEUED_AT_HEADER) instanceof Long enqueuedAt) {
+      fanOutLatency.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+    }
+    release(message);
+  }
+
+  @EventListener
+  public void onDisconnect(SessionDisconnectEvent event) {
+    pendingBySessionId.remove(event.getSessionId());
+
+    if (SESSION_NOT_RELIABLE.equals(event.getCloseStatus())) {
+      slowConsumerDisconnects.increment();
+      log.warn("Closed slow WebSocket session <{}> (user <{}>)", event.getSessionId(),
+          event.getUser() != null ? event.getUser().getName() : null);
+    }
+  }
+
+  private void release(Message<?> message) {
+    var sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    if (sessionId != null) {
+      pendingBySessionId.computeIfPresent(sessionId,
+          (id, pending) -> pending > 1 ? pending - 1 : null);
+    }
+  }
+
+  private static double total(Map<String, Integer> pendingBySessionId) {
+    return pendingBySessionId.values().stream().mapToInt(Integer::intValue).sum();
+  }
+
+  private static double max(Map<String, Integer> pendingBySessionId) {
+    return pendingBySessionId.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+  }
+}
@@ -1,11 +1,44 @@
 package com.dariom.wds.config.ws;
 
+import java.time.Duration;
 import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 @ConfigurationProperties(prefix = "app.websocket")
 public record WebSocketProperties(
-    List<String> allowedOrigins
+    List<String> allowedOrigins,
+    PresenceProperties presence,
+    TransportProperties transport,
+    OutboundProperties outbound
 ) {
 
+  public record PresenceProperties(
+      Duration ttl,
+      Duration heartbeatInterval
+  ) {
+
+  }
+
+  /**
+   * Per-session limits. A session whose pending outbound data exceeds {@code sendBufferSizeLimit},
+   * or whose current send takes longer than {@code sendTimeLimit}, is closed.
+   */
+  public record TransportProperties(
+      Duration sendTimeLimit,
+      DataSize sendBufferSizeLimit,
+      DataSize messageSizeLimit,
+      Duration heartbeat
+  ) {
+
+  }
+
+  public record OutboundProperties(
+      int corePoolSize,
+      int maxPoolSize,
+      int queueCapacity,
+      boolean metricsEnabled
+  ) {
+
+  }
 }
@@ -0,0 +1,9 @@
+package com.dariom.wds.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+  public IdempotencyKeyReusedException(String idempotencyKey) {
+    super("Idempotency key <%s> was already used with a different request"
+        .formatted(idempotencyKey));
+  }
+}
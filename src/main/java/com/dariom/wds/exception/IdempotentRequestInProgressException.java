@@ -0,0 +1,8 @@
+package com.dariom.wds.exception;
+
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+  public IdempotentRequestInProgressException(String idempotencyKey) {
+    super("Request with idempotency key <%s> is still in progress".formatted(idempotencyKey));
+  }
+}
@@ -0,0 +1,9 @@
+package com.dariom.wds.exception;
+
+public class IdempotentResponseUnavailableException extends RuntimeException {
+
+  public IdempotentResponseUnavailableException(String idempotencyKey) {
+    super("Request with idempotency key <%s> already completed, but its response is unavailable"
+        .formatted(idempotencyKey));
+  }
+}
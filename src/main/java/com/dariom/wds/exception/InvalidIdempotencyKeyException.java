@@ -0,0 +1,8 @@
+package com.dariom.wds.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+  public InvalidIdempotencyKeyException(int maxLength) {
+    super("Idempotency key must be 1 to %d letters, digits, '.', '_' or '-'".formatted(maxLength));
+  }
+}
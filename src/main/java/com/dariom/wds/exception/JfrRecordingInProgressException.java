@@ -0,0 +1,8 @@
+package com.dariom.wds.exception;
+
+public class JfrRecordingInProgressException extends RuntimeException {
+
+  public JfrRecordingInProgressException(String recordingName) {
+    super("Flight recording <%s> is already running".formatted(recordingName));
+  }
+}
@@ -0,0 +1,8 @@
+package com.dariom.wds.exception;
+
+public class JfrRecordingNotFoundException extends RuntimeException {
+
+  public JfrRecordingNotFoundException() {
+    super("No flight recording was started");
+  }
+}
@@ -0,0 +1,38 @@
+package com.dariom.wds.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Load of a missing cache entry; the event duration is the time spent in the loader.
+ */
+@Name("com.dariom.wds.CacheLoad")
+@Label("Cache Load")
+@Category({"Wordle Duel", "Caches"})
+@Description("Value loaded into an application cache after a miss")
+@StackTrace(false)
+public class CacheLoadEvent extends Event {
+
+  @Label("Cache")
+  private String cache;
+
+  @Label("Key")
+  private String key;
+
+  @Label("Succeeded")
+  private boolean succeeded;
+
+  public void emit(String cache, String key, boolean succeeded) {
+    end();
+    if (shouldCommit()) {
+      this.cache = cache;
+      this.key = key;
+      this.succeeded = succeeded;
+      commit();
+    }
+  }
+}
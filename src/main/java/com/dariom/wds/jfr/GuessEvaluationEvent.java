@@ -0,0 +1,43 @@
+package com.dariom.wds.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Validation of a guess against the dictionary and its evaluation against the target word.
+ */
+@Name("com.dariom.wds.GuessEvaluation")
+@Label("Guess Evaluation")
+@Category({"Wordle Duel", "Rounds"})
+@Description("Dictionary check and letter evaluation of a guess")
+@StackTrace(false)
+public class GuessEvaluationEvent extends Event {
+
+  @Label("Room Id")
+  private String roomId;
+
+  @Label("Language")
+  private String language;
+
+  @Label("Attempt Number")
+  private int attemptNumber;
+
+  @Label("Accepted")
+  @Description("False when the guess was rejected by validation")
+  private boolean accepted;
+
+  public void emit(String roomId, String language, int attemptNumber, boolean accepted) {
+    end();
+    if (shouldCommit()) {
+      this.roomId = roomId;
+      this.language = language;
+      this.attemptNumber = attemptNumber;
+      this.accepted = accepted;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.dariom.wds.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Publish of an outbox batch to the room event relay; the event duration is the round trip.
+ */
+@Name("com.dariom.wds.RoomEventPublish")
+@Label("Room Event Publish")
+@Category({"Wordle Duel", "Room Events"})
+@Description("Batch of room events published to the relay")
+@StackTrace(false)
+public class RoomEventPublishEvent extends Event {
+
+  @Label("Relay")
+  private String relay;
+
+  @Label("Events")
+  private int events;
+
+  @Label("Succeeded")
+  private boolean succeeded;
+
+  public void emit(String relay, int events, boolean succeeded) {
+    end();
+    if (shouldCommit()) {
+      this.relay = relay;
+      this.events = events;
+      this.succeeded = succeeded;
+      commit();
+    }
+  }
+}
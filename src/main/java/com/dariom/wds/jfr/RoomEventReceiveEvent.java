@@ -0,0 +1,46 @@
+package com.dariom.wds.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Room event received from the relay; the event duration covers decoding and the hand-off to the
+ * local STOMP subscribers.
+ */
+@Name("com.dariom.wds.RoomEventReceive")
+@Label("Room Event Receive")
+@Category({"Wordle Duel", "Room Events"})
+@Description("Room event received from the relay and dispatched to local sessions")
+@StackTrace(false)
+public class RoomEventReceiveEvent extends Event {
+
+  @Label("Room Id")
+  private String roomId;
+
+  @Label("Event Type")
+  private String eventType;
+
+  @Label("Payload Size")
+  @DataAmount
+  private int payloadSize;
+
+  @Label("Dispatched")
+  @Description("False when no local session subscribes to the room")
+  private boolean dispatched;
+
+  public void emit(String roomId, String eventType, int payloadSize, boolean dispatched) {
+    end();
+    if (shouldCommit()) {
+      this.roomId = roomId;
+      this.eventType = eventType;
+      this.payloadSize = payloadSize;
+      this.dispatched = dispatched;
+      commit();
+    }
+  }
+}
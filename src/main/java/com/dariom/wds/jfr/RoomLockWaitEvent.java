@@ -0,0 +1,39 @@
+package com.dariom.wds.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Wait for the in-process room lock or the database row lock; the event duration is the wait.
+ */
+@Name("com.dariom.wds.RoomLockWait")
+@Label("Room Lock Wait")
+@Category({"Wordle Duel", "Rooms"})
+@Description("Time spent waiting for a room lock")
+@StackTrace(false)
+public class RoomLockWaitEvent extends Event {
+
+  @Label("Room Id")
+  private String roomId;
+
+  @Label("Lock")
+  @Description("local or row")
+  private String lock;
+
+  @Label("Acquired")
+  private boolean acquired;
+
+  public void emit(String roomId, String lock, boolean acquired) {
+    end();
+    if (shouldCommit()) {
+      this.roomId = roomId;
+      this.lock = lock;
+      this.acquired = acquired;
+      commit();
+    }
+  }
+}
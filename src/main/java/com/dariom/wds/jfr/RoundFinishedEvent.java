@@ -0,0 +1,44 @@
+package com.dariom.wds.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * End of a round, with how long it was played.
+ */
+@Name("com.dariom.wds.RoundFinished")
+@Label("Round Finished")
+@Category({"Wordle Duel", "Rounds"})
+@Description("A round ended because every player is done")
+@StackTrace(false)
+public class RoundFinishedEvent extends Event {
+
+  @Label("Room Id")
+  private String roomId;
+
+  @Label("Language")
+  private String language;
+
+  @Label("Round Number")
+  private int roundNumber;
+
+  @Label("Round Duration")
+  @Timespan(Timespan.MILLISECONDS)
+  private long roundDuration;
+
+  public void emit(String roomId, String language, int roundNumber, long roundDurationMillis) {
+    end();
+    if (shouldCommit()) {
+      this.roomId = roomId;
+      this.language = language;
+      this.roundNumber = roundNumber;
+      this.roundDuration = roundDurationMillis;
+      commit();
+    }
+  }
+}
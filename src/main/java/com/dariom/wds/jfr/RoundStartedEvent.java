@@ -0,0 +1,38 @@
+package com.dariom.wds.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Start of a round; the event duration covers picking the target word and setting up the round.
+ */
+@Name("com.dariom.wds.RoundStarted")
+@Label("Round Started")
+@Category({"Wordle Duel", "Rounds"})
+@Description("A new round was started in a room")
+@StackTrace(false)
+public class RoundStartedEvent extends Event {
+
+  @Label("Room Id")
+  private String roomId;
+
+  @Label("Language")
+  private String language;
+
+  @Label("Round Number")
+  private int roundNumber;
+
+  public void emit(String roomId, String language, int roundNumber) {
+    end();
+    if (shouldCommit()) {
+      this.roomId = roomId;
+      this.language = language;
+      this.roundNumber = roundNumber;
+      commit();
+    }
+  }
+}
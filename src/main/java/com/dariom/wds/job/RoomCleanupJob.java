@@ -3,32 +3,52 @@ package com.dariom.wds.job;
 import static java.time.temporal.ChronoUnit.DAYS;
 
 import com.dariom.wds.config.RoomCleanupProperties;
+import com.dariom.wds.persistence.shard.ShardRouter;
 import com.dariom.wds.service.room.RoomService;
 import java.time.Clock;
 import java.time.Instant;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Expires rooms continuously: every {@code room.cleanup.poll-interval} it deletes at most
+ * {@code room.cleanup.batch-size} of the rooms whose last update is older than the retention
+ * period, oldest first, so expiry is spread over the day instead of running as one nightly sweep.
+ * With sharding, every shard gets its own batch, and a failing shard doesn't hold up the others.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "room.cleanup.enabled", havingValue = "true")
 public class RoomCleanupJob {
 
   private final RoomCleanupProperties properties;
   private final RoomService roomService;
+  private final ShardRouter shardRouter;
   private final Clock clock;
 
-  @Scheduled(cron = "${room.cleanup.cron}")
-  @SchedulerLock(name = "roomCleanupJob", lockAtMostFor = "PT30M")
+  @Scheduled(fixedDelayString = "${room.cleanup.poll-interval}")
+  @SchedulerLock(name = "roomCleanupJob", lockAtMostFor = "PT5M")
   public void cleanupInactiveRooms() {
     var cutoff = Instant.now(clock)
         .minus(properties.retentionDays(), DAYS);
 
-    var deletedRooms = roomService.deleteInactiveRooms(cutoff);
-    log.info("Deleted {} rooms older than {} days (cutoff = {})",
-        deletedRooms, properties.retentionDays(), cutoff);
+    var deletedRooms = 0;
+    for (var shard = 0; shard < shardRouter.shardCount(); shard++) {
+      try {
+        deletedRooms += shardRouter.onShard(shard,
+            () -> roomService.deleteInactiveRooms(cutoff, properties.batchSize()));
+      } catch (Exception e) {
+        log.warn("Failed to delete inactive rooms on shard {}", shard, e);
+      }
+    }
+    if (deletedRooms > 0) {
+      log.debug("Deleted {} rooms older than {} days (cutoff = {})",
+          deletedRooms, properties.retentionDays(), cutoff);
+    }
   }
 }
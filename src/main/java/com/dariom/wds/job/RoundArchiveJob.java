@@ -0,0 +1,51 @@
+package com.dariom.wds.job;
+
+import com.dariom.wds.config.RoundArchiveProperties;
+import com.dariom.wds.persistence.shard.ShardRouter;
+import com.dariom.wds.service.round.RoundArchiveService;
+import java.time.Clock;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Every {@code room.round-archive.poll-interval}, moves at most
+ * {@code room.round-archive.batch-size} finished rounds into the round archive: those more than
+ * {@code keep-rounds} rounds behind their room's current round or older than {@code max-age}.
+ * With sharding, every shard gets its own batch, and a failing shard doesn't hold up the others.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "room.round-archive.enabled", havingValue = "true")
+public class RoundArchiveJob {
+
+  private final RoundArchiveProperties properties;
+  private final RoundArchiveService roundArchiveService;
+  private final ShardRouter shardRouter;
+  private final Clock clock;
+
+  @Scheduled(fixedDelayString = "${room.round-archive.poll-interval}")
+  @SchedulerLock(name = "roundArchiveJob", lockAtMostFor = "PT5M")
+  public void archiveFinishedRounds() {
+    var finishedBefore = Instant.now(clock).minus(properties.maxAge());
+
+    var archivedRounds = 0;
+    for (var shard = 0; shard < shardRouter.shardCount(); shard++) {
+      try {
+        archivedRounds += shardRouter.onShard(shard, () -> roundArchiveService.archiveRounds(
+            properties.keepRounds(), finishedBefore, properties.batchSize()));
+      } catch (Exception e) {
+        log.warn("Failed to archive finished rounds on shard {}", shard, e);
+      }
+    }
+    if (archivedRounds > 0) {
+      log.debug("Archived {} finished rounds (keep rounds = {}, finished before = {})",
+          archivedRounds, properties.keepRounds(), finishedBefore);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.dariom.wds.metrics;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how long room locks are waited for and held, for both the in-process lock and the
+ * database row lock, and keeps a {@link SpaceSavingSketch} of the rooms with the most lock wait.
+ *
+ * <p>Meters are tagged by lock kind and outcome only; the contended room ids are exposed through
+ * the {@code hotrooms} actuator endpoint instead, so their number never reaches the metrics
+ * backend.
+ */
+@Component
+public class RoomLockMetrics {
+
+  public static final String LOCAL = "local";
+  public static final String ROW = "row";
+  private static final int HOT_ROOMS_CAPACITY = 64;
+
+  private final Timer localAcquiredWait;
+  private final Timer localTimedOutWait;
+  private final Timer localHold;
+  private final Timer rowAcquiredWait;
+  private final Timer rowTimedOutWait;
+  private final Timer rowCommittedHold;
+  private final Timer rowRolledBackHold;
+  private final Counter localTimeouts;
+  private final Counter rowTimeouts;
+  private final SpaceSavingSketch hotRooms = new SpaceSavingSketch(HOT_ROOMS_CAPACITY);
+
+  public RoomLockMetrics(MeterRegistry meterRegistry) {
+    this.localAcquiredWait = waitTimer(meterRegistry, LOCAL, "acquired");
+    this.localTimedOutWait = waitTimer(meterRegistry, LOCAL, "timeout");
+    this.rowAcquiredWait = waitTimer(meterRegistry, ROW, "acquired");
+    this.rowTimedOutWait = waitTimer(meterRegistry, ROW, "timeout");
+    this.localHold = holdTimer(meterRegistry, LOCAL, "released");
+    this.rowCommittedHold = holdTimer(meterRegistry, ROW, "committed");
+    this.rowRolledBackHold = holdTimer(meterRegistry, ROW, "rolled_back");
+    this.localTimeouts = timeoutCounter(meterRegistry, LOCAL);
+    this.rowTimeouts = timeoutCounter(meterRegistry, ROW);
+  }
+
+  public void localLockAcquired(String roomId, long waitNanos) {
+    localAcquiredWait.record(waitNanos, NANOSECONDS);
+    recordContention(roomId, waitNanos);
+  }
+
+  public void localLockTimedOut(String roomId, long waitNanos) {
+    localTimedOutWait.record(waitNanos, NANOSECONDS);
+    localTimeouts.increment();
+    recordContention(roomId, waitNanos);
+  }
+
+  public void localLockReleased(long holdNanos) {
+    localHold.record(holdNanos, NANOSECONDS);
+  }
+
+  public void rowLockAcquired(String roomId, long waitNanos) {
+    rowAcquiredWait.record(waitNanos, NANOSECONDS);
+    recordContention(roomId, waitNanos);
+  }
+
+  public void rowLockTimedOut(String roomId, long waitNanos) {
+    rowTimedOutWait.record(waitNanos, NANOSECONDS);
+    rowTimeouts.increment();
+    recordContention(roomId, waitNanos);
+  }
+
+  public void rowLockReleased(long holdNanos, boolean committed) {
+    (committed ? rowCommittedHold : rowRolledBackHold).record(holdNanos, NANOSECONDS);
+  }
+
+  /**
+   * Rooms with the most accumulated lock wait (in milliseconds) since the last reset, highest
+   * first.
+   */
+  public List<HotRoom> hotRooms(int limit) {
+    return hotRooms.top(limit).stream()
+        .map(entry -> new HotRoom(entry.item(), entry.count(), entry.error()))
+        .toList();
+  }
+
+  public void resetHotRooms() {
+    hotRooms.clear();
+  }
+
+  private void recordContention(String roomId, long waitNanos) {
+    var waitMillis = NANOSECONDS.toMillis(waitNanos);
+    if (waitMillis > 0) {
+      hotRooms.offer(roomId, waitMillis);
+    }
+  }
+
+  /**
+   * A contended room: {@code waitMillis} overestimates its lock wait by at most {@code errorMillis}.
+   */
+  public record HotRoom(String roomId, long waitMillis, long errorMillis) {
+
+  }
+
+  private static Timer waitTimer(MeterRegistry meterRegistry, String lock, String outcome) {
+    return Timer.builder("room.lock.%s.wait".formatted(lock))
+        .description("Time spent waiting for the %s room lock".formatted(lock))
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private static Timer holdTimer(MeterRegistry meterRegistry, String lock, String outcome) {
+    return Timer.builder("room.lock.%s.hold".formatted(lock))
+        .description("Time the %s room lock is held".formatted(lock))
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private static Counter timeoutCounter(MeterRegistry meterRegistry, String lock) {
+    return Counter.builder("room.lock.timeouts")
+        .description("Room lock acquisitions that timed out")
+        .tag("lock", lock)
+        .register(meterRegistry);
+  }
+}
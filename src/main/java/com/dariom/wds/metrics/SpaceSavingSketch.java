@@ -0,0 +1,72 @@
+package com.dariom.wds.metrics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate top-K of weighted items in constant memory (Metwally et al., "space-saving").
+ *
+ * <p>At most {@code capacity} items are tracked. An untracked item replaces the one with the lowest
+ * count and inherits that count as its error, so an item's true weight lies between
+ * {@code count - error} and {@code count}. Any item heavier than {@code total / capacity} is
+ * guaranteed to be tracked.
+ */
+class SpaceSavingSketch {
+
+  private final int capacity;
+  private final Map<String, Counter> counters;
+
+  SpaceSavingSketch(int capacity) {
+    this.capacity = capacity;
+    this.counters = HashMap.newHashMap(capacity);
+  }
+
+  synchronized void offer(String item, long weight) {
+    var counter = counters.get(item);
+    if (counter != null) {
+      counter.count += weight;
+      return;
+    }
+
+    if (counters.size() < capacity) {
+      counters.put(item, new Counter(weight, 0));
+      return;
+    }
+
+    var min = counters.entrySet().stream()
+        .min(Comparator.comparingLong(entry -> entry.getValue().count))
+        .orElseThrow();
+    counters.remove(min.getKey());
+    var minCount = min.getValue().count;
+    counters.put(item, new Counter(minCount + weight, minCount));
+  }
+
+  synchronized List<Entry> top(int limit) {
+    return counters.entrySet().stream()
+        .map(entry -> new Entry(entry.getKey(), entry.getValue().count, entry.getValue().error))
+        .sorted(Comparator.comparingLong(Entry::count).reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  synchronized void clear() {
+    counters.clear();
+  }
+
+  record Entry(String item, long count, long error) {
+
+  }
+
+  private static final class Counter {
+
+    private long count;
+    private final long error;
+
+    private Counter(long count, long error) {
+      this.count = count;
+      this.error = error;
+    }
+  }
+}
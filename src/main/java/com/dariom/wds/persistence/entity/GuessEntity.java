@@ -16,6 +16,7 @@ import jakarta.persistence.Table;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -35,7 +36,7 @@ public class GuessEntity {
   private RoundEntity round;
 
   @Column(name = "player_id")
-  private String playerId;
+  private UUID playerId;
 
   @Column(name = "word")
   private String word;
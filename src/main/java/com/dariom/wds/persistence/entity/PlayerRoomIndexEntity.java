@@ -0,0 +1,46 @@
+package com.dariom.wds.persistence.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A room a player is in, indexed by player on the home shard so that listing a player's rooms
+ * doesn't have to ask every shard.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "player_room_index")
+public class PlayerRoomIndexEntity implements Persistable<PlayerRoomIndexIdEmbeddable> {
+
+  @EmbeddedId
+  private PlayerRoomIndexIdEmbeddable id;
+
+  @Transient
+  private boolean persisted;
+
+  protected PlayerRoomIndexEntity() {
+  }
+
+  public PlayerRoomIndexEntity(PlayerRoomIndexIdEmbeddable id) {
+    this.id = id;
+  }
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostPersist
+  @PostLoad
+  void markPersisted() {
+    persisted = true;
+  }
+}
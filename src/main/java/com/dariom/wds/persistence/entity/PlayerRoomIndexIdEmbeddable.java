@@ -0,0 +1,46 @@
+package com.dariom.wds.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Embeddable
+public class PlayerRoomIndexIdEmbeddable implements Serializable {
+
+  @Column(name = "player_id")
+  private UUID playerId;
+
+  @Column(name = "room_id")
+  private UUID roomId;
+
+  public PlayerRoomIndexIdEmbeddable() {
+  }
+
+  public PlayerRoomIndexIdEmbeddable(UUID playerId, UUID roomId) {
+    this.playerId = playerId;
+    this.roomId = roomId;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PlayerRoomIndexIdEmbeddable that = (PlayerRoomIndexIdEmbeddable) o;
+    return Objects.equals(playerId, that.playerId) && Objects.equals(roomId, that.roomId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(playerId, roomId);
+  }
+}
@@ -3,6 +3,7 @@ package com.dariom.wds.persistence.entity;
 import static jakarta.persistence.CascadeType.ALL;
 import static jakarta.persistence.EnumType.STRING;
 import static jakarta.persistence.FetchType.LAZY;
+import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toUnmodifiableSet;
 
 import com.dariom.wds.domain.Language;
@@ -24,6 +25,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -35,7 +37,7 @@ public class RoomEntity {
 
   @Id
   @Column(name = "id")
-  private String id;
+  private UUID id;
 
   @Enumerated(STRING)
   @Column(name = "language")
@@ -63,18 +65,18 @@ public class RoomEntity {
   public RoomEntity() {
   }
 
-  public void addPlayer(String playerId) {
+  public void addPlayer(UUID playerId) {
     getOrCreateRoomPlayer(playerId, 0);
   }
 
-  public Set<String> getPlayerIds() {
+  public Set<UUID> getPlayerIds() {
     return roomPlayers.stream()
         .map(RoomPlayerEntity::getPlayerId)
         .collect(toUnmodifiableSet());
   }
 
-  public Map<String, Integer> getScoresByPlayerId() {
-    var scores = new HashMap<String, Integer>();
+  public Map<UUID, Integer> getScoresByPlayerId() {
+    var scores = new HashMap<UUID, Integer>();
     for (var p : roomPlayers) {
       scores.put(p.getPlayerId(), p.getScore());
     }
@@ -85,13 +87,13 @@ public class RoomEntity {
     rounds.add(round);
   }
 
-  public void setPlayerScore(String playerId, Integer score) {
+  public void setPlayerScore(UUID playerId, Integer score) {
     var normalizedScore = score != null ? score : 0;
     var player = getOrCreateRoomPlayer(playerId, normalizedScore);
     player.setScore(normalizedScore);
   }
 
-  public void setPlayerScoreIfNotSet(String playerId, Integer score) {
+  public void setPlayerScoreIfNotSet(UUID playerId, Integer score) {
     if (findRoomPlayer(playerId).isPresent()) {
       return;
     }
@@ -100,16 +102,17 @@ public class RoomEntity {
     getOrCreateRoomPlayer(playerId, normalizedScore);
   }
 
-  public void incrementPlayerScore(String playerId, int delta) {
+  public void incrementPlayerScore(UUID playerId, int delta) {
     var player = getOrCreateRoomPlayer(playerId, 0);
     player.setScore(player.getScore() + delta);
   }
 
-  public List<String> getSortedPlayerIds() {
-    return getPlayerIds().stream().sorted().toList();
+  // ordered by their textual form, the order clients see them in
+  public List<UUID> getSortedPlayerIds() {
+    return getPlayerIds().stream().sorted(comparing(UUID::toString)).toList();
   }
 
-  private RoomPlayerEntity getOrCreateRoomPlayer(String playerId, int initialScore) {
+  private RoomPlayerEntity getOrCreateRoomPlayer(UUID playerId, int initialScore) {
     var existing = findRoomPlayer(playerId);
     if (existing.isPresent()) {
       return existing.get();
@@ -120,7 +123,7 @@ public class RoomEntity {
     return created;
   }
 
-  private Optional<RoomPlayerEntity> findRoomPlayer(String playerId) {
+  private Optional<RoomPlayerEntity> findRoomPlayer(UUID playerId) {
     for (var player : roomPlayers) {
       if (Objects.equals(player.getPlayerId(), playerId)) {
         return Optional.of(player);
@@ -0,0 +1,48 @@
+package com.dariom.wds.persistence.entity;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Entity
+@Table(name = "room_event_outbox")
+public class RoomEventOutboxEntity {
+
+  @Id
+  @GeneratedValue(strategy = IDENTITY)
+  @Column(name = "id")
+  private Long id;
+
+  @Column(name = "room_id", nullable = false, length = 36)
+  private String roomId;
+
+  @Column(name = "payload", nullable = false, length = 8192)
+  private String payload;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "dead_lettered_at")
+  private Instant deadLetteredAt;
+
+  protected RoomEventOutboxEntity() {
+  }
+
+  public RoomEventOutboxEntity(String roomId, String payload, Instant createdAt) {
+    this.roomId = roomId;
+    this.payload = payload;
+    this.createdAt = createdAt;
+  }
+}
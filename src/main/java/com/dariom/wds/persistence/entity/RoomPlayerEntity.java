@@ -10,6 +10,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
 import jakarta.persistence.Table;
 import java.util.Objects;
+import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -33,14 +34,14 @@ public class RoomPlayerEntity {
   public RoomPlayerEntity() {
   }
 
-  public RoomPlayerEntity(RoomEntity room, String playerId, int score) {
+  public RoomPlayerEntity(RoomEntity room, UUID playerId, int score) {
     this.room = Objects.requireNonNull(room, "room");
     var roomId = Objects.requireNonNull(room.getId(), "room.id");
     this.id = new RoomPlayerIdEmbeddable(roomId, Objects.requireNonNull(playerId, "playerId"));
     this.score = score;
   }
 
-  public String getPlayerId() {
+  public UUID getPlayerId() {
     return id != null ? id.getPlayerId() : null;
   }
 
@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,15 +14,15 @@ import lombok.Setter;
 public class RoomPlayerIdEmbeddable implements Serializable {
 
   @Column(name = "room_id")
-  private String roomId;
+  private UUID roomId;
 
   @Column(name = "player_id")
-  private String playerId;
+  private UUID playerId;
 
   public RoomPlayerIdEmbeddable() {
   }
 
-  public RoomPlayerIdEmbeddable(String roomId, String playerId) {
+  public RoomPlayerIdEmbeddable(UUID roomId, UUID playerId) {
     this.roomId = roomId;
     this.playerId = playerId;
   }
@@ -0,0 +1,65 @@
+package com.dariom.wds.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A finished round moved out of the {@code rounds}, {@code guesses} and {@code guess_letters}
+ * tables: the whole round, guesses included, is stored as one compressed payload.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "round_archive")
+public class RoundArchiveEntity implements Persistable<RoundArchiveIdEmbeddable> {
+
+  @EmbeddedId
+  private RoundArchiveIdEmbeddable id;
+
+  @Column(name = "started_at")
+  private Instant startedAt;
+
+  @Column(name = "finished_at")
+  private Instant finishedAt;
+
+  @Column(name = "archived_at", nullable = false)
+  private Instant archivedAt;
+
+  @Column(name = "payload", nullable = false)
+  private byte[] payload;
+
+  @Transient
+  private boolean persisted;
+
+  protected RoundArchiveEntity() {
+  }
+
+  public RoundArchiveEntity(RoundArchiveIdEmbeddable id, Instant startedAt, Instant finishedAt,
+      Instant archivedAt, byte[] payload) {
+    this.id = id;
+    this.startedAt = startedAt;
+    this.finishedAt = finishedAt;
+    this.archivedAt = archivedAt;
+    this.payload = payload;
+  }
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostPersist
+  @PostLoad
+  void markPersisted() {
+    persisted = true;
+  }
+}
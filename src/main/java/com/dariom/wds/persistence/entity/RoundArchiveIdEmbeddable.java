@@ -0,0 +1,46 @@
+package com.dariom.wds.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Embeddable
+public class RoundArchiveIdEmbeddable implements Serializable {
+
+  @Column(name = "room_id")
+  private UUID roomId;
+
+  @Column(name = "round_number")
+  private int roundNumber;
+
+  public RoundArchiveIdEmbeddable() {
+  }
+
+  public RoundArchiveIdEmbeddable(UUID roomId, int roundNumber) {
+    this.roomId = roomId;
+    this.roundNumber = roundNumber;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    RoundArchiveIdEmbeddable that = (RoundArchiveIdEmbeddable) o;
+    return roundNumber == that.roundNumber && Objects.equals(roomId, that.roomId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(roomId, roundNumber);
+  }
+}
@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -58,7 +59,7 @@ public class RoundEntity {
   @MapKeyColumn(name = "player_id")
   @Column(name = "status")
   @Enumerated(STRING)
-  private Map<String, RoundPlayerStatus> statusByPlayerId = new HashMap<>();
+  private Map<UUID, RoundPlayerStatus> statusByPlayerId = new HashMap<>();
 
   @Column(name = "status", nullable = false)
   @Enumerated(STRING)
@@ -77,11 +78,11 @@ public class RoundEntity {
   public RoundEntity() {
   }
 
-  public void setPlayerStatus(String playerId, RoundPlayerStatus roundPlayerStatus) {
+  public void setPlayerStatus(UUID playerId, RoundPlayerStatus roundPlayerStatus) {
     statusByPlayerId.put(playerId, roundPlayerStatus);
   }
 
-  public RoundPlayerStatus getPlayerStatus(String playerId) {
+  public RoundPlayerStatus getPlayerStatus(UUID playerId) {
     return statusByPlayerId.get(playerId);
   }
 
@@ -89,13 +90,13 @@ public class RoundEntity {
     guesses.add(guessEntity);
   }
 
-  public int currentAttemptNumber(String playerId) {
+  public int currentAttemptNumber(UUID playerId) {
     return (int) guesses.stream()
         .filter(g -> Objects.equals(g.getPlayerId(), playerId))
         .count();
   }
 
-  public int nextAttemptNumber(String playerId) {
+  public int nextAttemptNumber(UUID playerId) {
     return currentAttemptNumber(playerId) + 1;
   }
 }
@@ -0,0 +1,37 @@
+package com.dariom.wds.persistence.purge;
+
+import com.dariom.wds.persistence.repository.jpa.RefreshTokenJpaRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refresh tokens that expired before the cutoff, in {@code (expires_at, id)} order.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpiredRefreshTokenPurgeTarget implements PurgeTarget<UUID> {
+
+  private final RefreshTokenJpaRepository refreshTokenJpaRepository;
+
+  @Override
+  public String name() {
+    return "refresh_tokens";
+  }
+
+  @Override
+  public List<PurgeKey<UUID>> findChunk(Instant cutoff, PurgeKey<UUID> after, int limit) {
+    return after == null
+        ? refreshTokenJpaRepository.findExpiredKeys(cutoff, Limit.of(limit))
+        : refreshTokenJpaRepository.findExpiredKeysAfter(cutoff, after.timestamp(), after.id(),
+            Limit.of(limit));
+  }
+
+  @Override
+  public int deleteChunk(Instant cutoff, List<UUID> ids) {
+    return refreshTokenJpaRepository.deleteExpiredByIdIn(cutoff, ids);
+  }
+}
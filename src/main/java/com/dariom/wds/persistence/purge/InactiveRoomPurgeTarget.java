@@ -0,0 +1,51 @@
+package com.dariom.wds.persistence.purge;
+
+import com.dariom.wds.persistence.repository.jpa.RoomJpaRepository;
+import com.dariom.wds.persistence.shard.PlayerRoomIndex;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rooms not updated since the cutoff, in {@code (last_updated_at, id)} order. Rounds, guesses and
+ * players go with them through the {@code ON DELETE CASCADE} foreign keys; the deleted rooms are
+ * dropped from the {@link PlayerRoomIndex}.
+ */
+@Component
+@RequiredArgsConstructor
+public class InactiveRoomPurgeTarget implements PurgeTarget<UUID> {
+
+  private final RoomJpaRepository roomJpaRepository;
+  private final PlayerRoomIndex playerRoomIndex;
+
+  @Override
+  public String name() {
+    return "rooms";
+  }
+
+  @Override
+  public List<PurgeKey<UUID>> findChunk(Instant cutoff, PurgeKey<UUID> after, int limit) {
+    return after == null
+        ? roomJpaRepository.findInactiveKeys(cutoff, Limit.of(limit))
+        : roomJpaRepository.findInactiveKeysAfter(cutoff, after.timestamp(), after.id(),
+            Limit.of(limit));
+  }
+
+  @Override
+  public int deleteChunk(Instant cutoff, List<UUID> ids) {
+    var deleted = roomJpaRepository.deleteInactiveByIdIn(cutoff, ids);
+    if (deleted == ids.size()) {
+      playerRoomIndex.removeRooms(ids);
+    } else if (deleted > 0) {
+      // rooms updated since they were found are kept
+      var deletedIds = new HashSet<>(ids);
+      roomJpaRepository.findIdsByIdIn(ids).forEach(deletedIds::remove);
+      playerRoomIndex.removeRooms(deletedIds);
+    }
+    return deleted;
+  }
+}
@@ -0,0 +1,139 @@
+package com.dariom.wds.persistence.purge;
+
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
+
+import com.dariom.wds.config.PurgeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes old rows in chunks instead of a single unbounded {@code DELETE}.
+ *
+ * <p>Each chunk selects the next {@code purge.chunk-size} keys in index order, continuing after
+ * the last key of the previous chunk so the scan never revisits deleted entries, and deletes them
+ * in its own transaction; cascades to child tables therefore stay small and WAL is written evenly.
+ * Between chunks the engine pauses for {@code purge.chunk-pause}. A run stops after
+ * {@code purge.max-run-time}; committed chunks stay deleted and the next run picks up from the
+ * oldest remaining row.
+ */
+@Slf4j
+@Component
+public class PurgeEngine {
+
+  private final TransactionTemplate transactionTemplate;
+  private final MeterRegistry meterRegistry;
+  private final int chunkSize;
+  private final Duration chunkPause;
+  private final Duration maxRunTime;
+
+  public PurgeEngine(
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      PurgeProperties properties) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+    this.meterRegistry = meterRegistry;
+    this.chunkSize = properties.chunkSize();
+    this.chunkPause = properties.chunkPause();
+    this.maxRunTime = properties.maxRunTime();
+  }
+
+  public <I> PurgeResult purge(PurgeTarget<I> target, Instant cutoff) {
+    var meters = meters(target);
+    var deadline = System.nanoTime() + maxRunTime.toNanos();
+    PurgeKey<I> cursor = null;
+    var deleted = 0L;
+    var chunks = 0;
+
+    while (true) {
+      var chunk = deleteChunk(target, cutoff, cursor, chunkSize, meters);
+      if (chunk.keys().isEmpty()) {
+        return completed(target, deleted, chunks);
+      }
+
+      chunks++;
+      deleted += chunk.deleted();
+      log.debug("Purged {} rows from {} (chunk {})", chunk.deleted(), target.name(), chunks);
+
+      if (chunk.keys().size() < chunkSize) {
+        return completed(target, deleted, chunks);
+      }
+      if (System.nanoTime() - deadline >= 0 || !pause()) {
+        log.info("Purge of {} stopped after {} chunks and {} rows, resuming next run",
+            target.name(), chunks, deleted);
+        return new PurgeResult(deleted, chunks, false);
+      }
+      cursor = chunk.keys().getLast();
+    }
+  }
+
+  /**
+   * Deletes the oldest {@code limit} rows older than {@code cutoff} in one transaction, for callers
+   * that spread purging over frequent small runs instead of a long one.
+   */
+  public <I> int purgeChunk(PurgeTarget<I> target, Instant cutoff, int limit) {
+    return deleteChunk(target, cutoff, null, limit, meters(target)).deleted();
+  }
+
+  private <I> Chunk<I> deleteChunk(PurgeTarget<I> target, Instant cutoff, PurgeKey<I> after,
+      int limit, Meters meters) {
+    var chunk = meters.chunkTimer().record(() -> transactionTemplate.execute(status -> {
+      var keys = target.findChunk(cutoff, after, limit);
+      var count = keys.isEmpty()
+          ? 0
+          : target.deleteChunk(cutoff, keys.stream().map(PurgeKey::id).toList());
+      return new Chunk<>(keys, count);
+    }));
+    if (chunk == null) {
+      return new Chunk<>(List.of(), 0);
+    }
+    meters.deletedRows().increment(chunk.deleted());
+    return chunk;
+  }
+
+  private Meters meters(PurgeTarget<?> target) {
+    var deletedRows = Counter.builder("purge.deleted")
+        .description("Rows deleted by chunked purges")
+        .tag("target", target.name())
+        .register(meterRegistry);
+    var chunkTimer = Timer.builder("purge.chunk.duration")
+        .description("Time to select and delete one purge chunk")
+        .tag("target", target.name())
+        .register(meterRegistry);
+    return new Meters(deletedRows, chunkTimer);
+  }
+
+  private static PurgeResult completed(PurgeTarget<?> target, long deleted, int chunks) {
+    log.debug("Purge of {} completed: {} rows in {} chunks", target.name(), deleted, chunks);
+    return new PurgeResult(deleted, chunks, true);
+  }
+
+  private boolean pause() {
+    if (chunkPause.isZero()) {
+      return true;
+    }
+    try {
+      Thread.sleep(chunkPause);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private record Chunk<I>(List<PurgeKey<I>> keys, int deleted) {
+
+  }
+
+  private record Meters(Counter deletedRows, Timer chunkTimer) {
+
+  }
+}
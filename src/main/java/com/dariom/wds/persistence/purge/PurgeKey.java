@@ -0,0 +1,10 @@
+package com.dariom.wds.persistence.purge;
+
+import java.time.Instant;
+
+/**
+ * Position of a row in purge order: the timestamp it is purged by, then its id as tie-breaker.
+ */
+public record PurgeKey<I>(Instant timestamp, I id) {
+
+}
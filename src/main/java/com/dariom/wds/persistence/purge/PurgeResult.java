@@ -0,0 +1,9 @@
+package com.dariom.wds.persistence.purge;
+
+/**
+ * Outcome of a purge run; {@code completed} is false when the run stopped at its time budget and
+ * left older rows for the next run.
+ */
+public record PurgeResult(long deleted, int chunks, boolean completed) {
+
+}
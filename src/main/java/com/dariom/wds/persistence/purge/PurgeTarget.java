@@ -0,0 +1,26 @@
+package com.dariom.wds.persistence.purge;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A table the {@link PurgeEngine} deletes from, ordered by a timestamp and id backed by an index.
+ */
+public interface PurgeTarget<I> {
+
+  /**
+   * Name used in logs and as the {@code target} metric tag.
+   */
+  String name();
+
+  /**
+   * Keys of up to {@code limit} rows older than {@code cutoff}, in key order, starting after
+   * {@code after} or from the oldest row when it is {@code null}.
+   */
+  List<PurgeKey<I>> findChunk(Instant cutoff, PurgeKey<I> after, int limit);
+
+  /**
+   * Deletes the rows with the given ids that are still older than {@code cutoff}.
+   */
+  int deleteChunk(Instant cutoff, List<I> ids);
+}
@@ -6,6 +6,7 @@ import static java.util.stream.Collectors.toUnmodifiableSet;
 
 import com.dariom.wds.domain.Language;
 import com.dariom.wds.persistence.repository.jpa.DictionaryWordJpaRepository;
+import com.dariom.wds.persistence.shard.ShardRouter;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
@@ -16,18 +17,21 @@ import org.springframework.stereotype.Repository;
 public class DictionaryRepository {
 
   private final DictionaryWordJpaRepository jpaRepository;
+  private final ShardRouter shardRouter;
 
-  @Cacheable(cacheNames = ALLOWED_GUESSES_CACHE, key = "#language")
+  // the dictionary is loaded into the home shard only
+  @Cacheable(cacheNames = ALLOWED_GUESSES_CACHE, key = "#language", sync = true)
   public Set<String> getAllowedGuesses(Language language) {
-    return jpaRepository.findByLanguage(language).stream()
+    return shardRouter.onHomeShard(() -> jpaRepository.findByLanguage(language).stream()
         .map(dictionaryWord -> dictionaryWord.getWord().toUpperCase())
-        .collect(toUnmodifiableSet());
+        .collect(toUnmodifiableSet()));
   }
 
-  @Cacheable(cacheNames = ANSWER_WORDS_CACHE, key = "#language")
+  @Cacheable(cacheNames = ANSWER_WORDS_CACHE, key = "#language", sync = true)
   public Set<String> getAnswerWords(Language language) {
-    return jpaRepository.findByLanguageAndAnswerTrue(language).stream()
+    return shardRouter.onHomeShard(() -> jpaRepository.findByLanguageAndAnswerTrue(language)
+        .stream()
         .map(dictionaryWord -> dictionaryWord.getWord().toUpperCase())
-        .collect(toUnmodifiableSet());
+        .collect(toUnmodifiableSet()));
   }
 }
@@ -1,20 +1,36 @@
 package com.dariom.wds.persistence.repository;
 
+import static com.dariom.wds.metrics.RoomLockMetrics.ROW;
 import static jakarta.persistence.LockModeType.PESSIMISTIC_WRITE;
 
 import com.dariom.wds.exception.RoomNotFoundException;
+import com.dariom.wds.jfr.RoomLockWaitEvent;
+import com.dariom.wds.metrics.RoomLockMetrics;
 import com.dariom.wds.persistence.entity.RoomEntity;
+import com.dariom.wds.persistence.purge.InactiveRoomPurgeTarget;
+import com.dariom.wds.persistence.purge.PurgeEngine;
 import com.dariom.wds.persistence.repository.jpa.RoomJpaRepository;
+import com.dariom.wds.persistence.shard.PlayerRoomIndex;
+import com.dariom.wds.persistence.shard.ShardPlacement;
+import com.dariom.wds.persistence.shard.ShardRouter;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Session;
+import org.hibernate.exception.LockAcquisitionException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Repository
 @Slf4j
@@ -23,14 +39,50 @@ public class RoomRepository {
 
   private final RoomJpaRepository roomJpaRepository;
   private final EntityManager entityManager;
+  private final RoomLockMetrics lockMetrics;
+  private final PurgeEngine purgeEngine;
+  private final InactiveRoomPurgeTarget inactiveRoomPurgeTarget;
+  private final ShardRouter shardRouter;
+  private final ShardPlacement shardPlacement;
+  private final PlayerRoomIndex playerRoomIndex;
+
+  public UUID newRoomId() {
+    return shardPlacement.newRoomId();
+  }
 
   public RoomEntity findWithPlayersById(String id) {
+    return findWithPlayersById(toRoomId(id));
+  }
+
+  public RoomEntity findWithPlayersById(UUID id) {
+    shardRouter.pin(id);
     return roomJpaRepository.findWithPlayersById(id)
-        .orElseThrow(() -> new RoomNotFoundException(id));
+        .orElseThrow(() -> new RoomNotFoundException(id.toString()));
   }
 
-  public List<RoomEntity> findWithPlayersByPlayerId(String playerId) {
-    return roomJpaRepository.findWithPlayersByPlayerId(playerId);
+  /**
+   * Without sharding, a single query. With sharding, the player's rooms are looked up in the
+   * {@link PlayerRoomIndex} and loaded from each shard in turn, each in its own read transaction.
+   */
+  public List<RoomEntity> findWithPlayersByPlayerId(UUID playerId) {
+    if (!shardRouter.isSharded()) {
+      return roomJpaRepository.findWithPlayersByPlayerId(playerId);
+    }
+
+    var roomIdsPerShard = shardRouter.groupByShard(playerRoomIndex.findRoomIds(playerId));
+    return roomIdsPerShard.entrySet().stream()
+        .flatMap(entry -> shardRouter.onShard(entry.getKey(),
+            () -> roomJpaRepository.findWithPlayersByIdInAndPlayerId(entry.getValue(), playerId))
+            .stream())
+        .sorted(Comparator.comparing(RoomEntity::getLastUpdatedAt).reversed())
+        .toList();
+  }
+
+  /**
+   * Records that {@code playerId} is in {@code roomId}, so sharded lookups by player find it.
+   */
+  public void indexPlayer(UUID roomId, UUID playerId) {
+    playerRoomIndex.add(playerId, roomId);
   }
 
   public RoomEntity findWithPlayersByIdForUpdate(String id, Duration lockTimeout) {
@@ -39,27 +91,48 @@ public class RoomRepository {
   }
 
   public RoomEntity save(RoomEntity room) {
+    shardRouter.pin(room.getId());
     return roomJpaRepository.save(room);
   }
 
   public void delete(RoomEntity room) {
+    shardRouter.pin(room.getId());
     roomJpaRepository.delete(room);
+    playerRoomIndex.removeRooms(List.of(room.getId()));
   }
 
-  public long deleteInactive(Instant cutoff) {
-    return roomJpaRepository.deleteInactive(cutoff);
+  public int deleteInactive(Instant cutoff, int limit) {
+    return purgeEngine.purgeChunk(inactiveRoomPurgeTarget, cutoff, limit);
   }
 
   private Optional<RoomEntity> findWithPlayersByIdForUpdateOptional(String id,
       Duration lockTimeout) {
+    var roomId = toRoomId(id);
+    shardRouter.pin(roomId);
     configureLockTimeout(lockTimeout);
 
     var query = entityManager
         .createQuery("select r from RoomEntity r where r.id = :id", RoomEntity.class)
-        .setParameter("id", id)
+        .setParameter("id", roomId)
         .setLockMode(PESSIMISTIC_WRITE);
 
-    var room = query.getResultList().stream().findFirst();
+    var waitEvent = new RoomLockWaitEvent();
+    waitEvent.begin();
+    var start = System.nanoTime();
+    Optional<RoomEntity> room;
+    try {
+      room = query.getResultList().stream().findFirst();
+    } catch (PessimisticLockException | LockTimeoutException | LockAcquisitionException |
+             PessimisticLockingFailureException e) {
+      waitEvent.emit(id, ROW, false);
+      lockMetrics.rowLockTimedOut(id, System.nanoTime() - start);
+      throw e;
+    }
+
+    waitEvent.emit(id, ROW, true);
+    var lockedAt = System.nanoTime();
+    lockMetrics.rowLockAcquired(id, lockedAt - start);
+    recordHoldTimeOnCompletion(lockedAt);
 
     // Load players after the lock has been acquired to avoid Hibernate follow-on locking
     room.ifPresent(r -> r.getRoomPlayers().size());
@@ -67,6 +140,35 @@ public class RoomRepository {
     return room;
   }
 
+  // room ids come from clients: one that isn't a UUID names no room. Only the canonical form is
+  // accepted, as locks, metrics, idempotency keys and events key on the id string as given
+  private static UUID toRoomId(String id) {
+    UUID uuid;
+    try {
+      uuid = UUID.fromString(id);
+    } catch (IllegalArgumentException e) {
+      throw new RoomNotFoundException(id);
+    }
+    if (!uuid.toString().equals(id)) {
+      throw new RoomNotFoundException(id);
+    }
+    return uuid;
+  }
+
+  // the row lock is held until the surrounding transaction ends
+  private void recordHoldTimeOnCompletion(long lockedAt) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        lockMetrics.rowLockReleased(System.nanoTime() - lockedAt, status == STATUS_COMMITTED);
+      }
+    });
+  }
+
   private void configureLockTimeout(Duration lockTimeout) {
     if (lockTimeout == null) {
       return;
@@ -0,0 +1,5 @@
+package com.dariom.wds.persistence.repository.jpa;
+
+public record ArchivedRoundPayload(int roundNumber, byte[] payload) {
+
+}
@@ -0,0 +1,22 @@
+package com.dariom.wds.persistence.repository.jpa;
+
+import com.dariom.wds.persistence.entity.PlayerRoomIndexEntity;
+import com.dariom.wds.persistence.entity.PlayerRoomIndexIdEmbeddable;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PlayerRoomIndexJpaRepository extends
+    JpaRepository<PlayerRoomIndexEntity, PlayerRoomIndexIdEmbeddable> {
+
+  @Query("select i.id.roomId from PlayerRoomIndexEntity i where i.id.playerId = :playerId")
+  List<UUID> findRoomIdsByPlayerId(@Param("playerId") UUID playerId);
+
+  @Modifying
+  @Query("delete from PlayerRoomIndexEntity i where i.id.roomId in :roomIds")
+  int deleteByRoomIdIn(@Param("roomIds") Collection<UUID> roomIds);
+}
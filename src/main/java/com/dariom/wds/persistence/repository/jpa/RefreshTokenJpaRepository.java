@@ -3,9 +3,13 @@ package com.dariom.wds.persistence.repository.jpa;
 import static jakarta.persistence.LockModeType.PESSIMISTIC_WRITE;
 
 import com.dariom.wds.persistence.entity.RefreshTokenEntity;
+import com.dariom.wds.persistence.purge.PurgeKey;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
@@ -23,8 +27,33 @@ public interface RefreshTokenJpaRepository extends JpaRepository<RefreshTokenEnt
   @Query("delete from RefreshTokenEntity rt where rt.tokenHash = :tokenHash")
   int deleteByTokenHash(@Param("tokenHash") String tokenHash);
 
-  // TODO index candidate, monitor performance
   @Modifying(clearAutomatically = true, flushAutomatically = true)
-  @Query("delete from RefreshTokenEntity rt where rt.expiresAt < :now")
-  int deleteExpired(@Param("now") Instant now);
+  @Query("delete from RefreshTokenEntity rt where rt.user.id = :userId")
+  int deleteByUserId(@Param("userId") UUID userId);
+
+  @Query("""
+      select new com.dariom.wds.persistence.purge.PurgeKey(rt.expiresAt, rt.id)
+      from RefreshTokenEntity rt
+      where rt.expiresAt < :now
+      order by rt.expiresAt, rt.id
+      """)
+  List<PurgeKey<UUID>> findExpiredKeys(@Param("now") Instant now, Limit limit);
+
+  @Query("""
+      select new com.dariom.wds.persistence.purge.PurgeKey(rt.expiresAt, rt.id)
+      from RefreshTokenEntity rt
+      where rt.expiresAt < :now
+        and (rt.expiresAt > :afterTimestamp
+          or (rt.expiresAt = :afterTimestamp and rt.id > :afterId))
+      order by rt.expiresAt, rt.id
+      """)
+  List<PurgeKey<UUID>> findExpiredKeysAfter(
+      @Param("now") Instant now,
+      @Param("afterTimestamp") Instant afterTimestamp,
+      @Param("afterId") UUID afterId,
+      Limit limit);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query("delete from RefreshTokenEntity rt where rt.id in :ids and rt.expiresAt < :now")
+  int deleteExpiredByIdIn(@Param("now") Instant now, @Param("ids") Collection<UUID> ids);
 }
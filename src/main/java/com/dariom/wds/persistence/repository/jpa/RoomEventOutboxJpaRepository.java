@@ -0,0 +1,26 @@
+package com.dariom.wds.persistence.repository.jpa;
+
+import static jakarta.persistence.LockModeType.PESSIMISTIC_WRITE;
+
+import com.dariom.wds.persistence.entity.RoomEventOutboxEntity;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+public interface RoomEventOutboxJpaRepository extends JpaRepository<RoomEventOutboxEntity, Long> {
+
+  /**
+   * Locks the oldest pending events. Relays on other instances block on the same rows until this
+   * batch is published, which keeps events of a room in commit order. Dead-lettered events are
+   * skipped.
+   */
+  @Lock(PESSIMISTIC_WRITE)
+  List<RoomEventOutboxEntity> findAllByDeadLetteredAtIsNullOrderByIdAsc(Limit limit);
+
+  long countByDeadLetteredAtIsNull();
+
+  @Lock(PESSIMISTIC_WRITE)
+  Optional<RoomEventOutboxEntity> findLockedById(Long id);
+}
@@ -1,19 +1,23 @@
 package com.dariom.wds.persistence.repository.jpa;
 
 import com.dariom.wds.persistence.entity.RoomEntity;
+import com.dariom.wds.persistence.purge.PurgeKey;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface RoomJpaRepository extends JpaRepository<RoomEntity, String> {
+public interface RoomJpaRepository extends JpaRepository<RoomEntity, UUID> {
 
   @EntityGraph(attributePaths = {"roomPlayers"})
-  Optional<RoomEntity> findWithPlayersById(String id);
+  Optional<RoomEntity> findWithPlayersById(UUID id);
 
   @EntityGraph(attributePaths = {"roomPlayers"})
   @Query("""
@@ -23,11 +27,46 @@ public interface RoomJpaRepository extends JpaRepository<RoomEntity, String> {
       where rp.id.playerId = :playerId
       order by r.lastUpdatedAt desc
       """)
-  List<RoomEntity> findWithPlayersByPlayerId(@Param("playerId") String playerId);
+  List<RoomEntity> findWithPlayersByPlayerId(@Param("playerId") UUID playerId);
 
-  // TODO index candidate, monitor performance
-  @Modifying(flushAutomatically = true, clearAutomatically = true)
-  @Query("delete from RoomEntity r where r.lastUpdatedAt < :cutoff")
-  long deleteInactive(@Param("cutoff") Instant cutoff);
+  @EntityGraph(attributePaths = {"roomPlayers"})
+  @Query("""
+      select distinct r
+      from RoomEntity r
+      join r.roomPlayers rp
+      where r.id in :ids
+        and rp.id.playerId = :playerId
+      """)
+  List<RoomEntity> findWithPlayersByIdInAndPlayerId(@Param("ids") Collection<UUID> ids,
+      @Param("playerId") UUID playerId);
 
+  @Query("select r.id from RoomEntity r where r.id in :ids")
+  List<UUID> findIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  @Query("""
+      select new com.dariom.wds.persistence.purge.PurgeKey(r.lastUpdatedAt, r.id)
+      from RoomEntity r
+      where r.lastUpdatedAt < :cutoff
+      order by r.lastUpdatedAt, r.id
+      """)
+  List<PurgeKey<UUID>> findInactiveKeys(@Param("cutoff") Instant cutoff, Limit limit);
+
+  @Query("""
+      select new com.dariom.wds.persistence.purge.PurgeKey(r.lastUpdatedAt, r.id)
+      from RoomEntity r
+      where r.lastUpdatedAt < :cutoff
+        and (r.lastUpdatedAt > :afterTimestamp
+          or (r.lastUpdatedAt = :afterTimestamp and r.id > :afterId))
+      order by r.lastUpdatedAt, r.id
+      """)
+  List<PurgeKey<UUID>> findInactiveKeysAfter(
+      @Param("cutoff") Instant cutoff,
+      @Param("afterTimestamp") Instant afterTimestamp,
+      @Param("afterId") UUID afterId,
+      Limit limit);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from RoomEntity r where r.id in :ids and r.lastUpdatedAt < :cutoff")
+  int deleteInactiveByIdIn(@Param("cutoff") Instant cutoff,
+      @Param("ids") Collection<UUID> ids);
 }
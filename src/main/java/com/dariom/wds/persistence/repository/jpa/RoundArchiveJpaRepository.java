@@ -0,0 +1,36 @@
+package com.dariom.wds.persistence.repository.jpa;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+import com.dariom.wds.persistence.entity.RoundArchiveEntity;
+import com.dariom.wds.persistence.entity.RoundArchiveIdEmbeddable;
+import jakarta.persistence.QueryHint;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface RoundArchiveJpaRepository extends
+    JpaRepository<RoundArchiveEntity, RoundArchiveIdEmbeddable> {
+
+  /**
+   * Archived rounds of a room below round {@code before}, newest first. Rows are fetched from the
+   * database in batches while the stream is consumed; the stream must be closed.
+   */
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "50"))
+  @Query("""
+      select new com.dariom.wds.persistence.repository.jpa.ArchivedRoundPayload(
+        a.id.roundNumber, a.payload)
+      from RoundArchiveEntity a
+      where a.id.roomId = :roomId
+        and a.id.roundNumber < :before
+      order by a.id.roundNumber desc
+      """)
+  Stream<ArchivedRoundPayload> streamPayloadsBefore(@Param("roomId") UUID roomId,
+      @Param("before") int before,
+      Limit limit);
+
+}
@@ -1,10 +1,16 @@
 package com.dariom.wds.persistence.repository.jpa;
 
+import com.dariom.wds.domain.RoundStatus;
 import com.dariom.wds.persistence.entity.RoundEntity;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -15,7 +21,7 @@ public interface RoundJpaRepository extends JpaRepository<RoundEntity, Long> {
       "guesses",
       "guesses.letters"
   })
-  Optional<RoundEntity> findWithDetailsByRoomIdAndRoundNumber(String roomId, int roundNumber);
+  Optional<RoundEntity> findWithDetailsByRoomIdAndRoundNumber(UUID roomId, int roundNumber);
 
   @EntityGraph(attributePaths = {
       "statusByPlayerId",
@@ -30,6 +36,57 @@ public interface RoundJpaRepository extends JpaRepository<RoundEntity, Long> {
         and room.currentRoundNumber is not null
         and r.roundNumber = room.currentRoundNumber
       """)
-  List<RoundEntity> findCurrentRoundsWithDetailsByRoomIds(@Param("roomIds") List<String> roomIds);
+  List<RoundEntity> findCurrentRoundsWithDetailsByRoomIds(@Param("roomIds") List<UUID> roomIds);
 
+  @Query("""
+      select r.roundNumber
+      from RoundEntity r
+      where r.room.id = :roomId
+        and r.roundStatus = :status
+        and r.roundNumber < :before
+      order by r.roundNumber desc
+      """)
+  List<Integer> findRoundNumbersBefore(@Param("roomId") UUID roomId,
+      @Param("status") RoundStatus status,
+      @Param("before") int before,
+      Limit limit);
+
+  @EntityGraph(attributePaths = {
+      "statusByPlayerId",
+      "guesses",
+      "guesses.letters"
+  })
+  List<RoundEntity> findWithDetailsByRoomIdAndRoundNumberIn(UUID roomId,
+      Collection<Integer> roundNumbers);
+
+  /**
+   * Ids of finished rounds that are not the current round of their room and are either more than
+   * {@code keepRounds} rounds behind it or finished before {@code finishedBefore}.
+   */
+  @Query("""
+      select r.id
+      from RoundEntity r
+      join r.room room
+      where r.roundStatus = :status
+        and r.roundNumber < room.currentRoundNumber
+        and (r.roundNumber <= room.currentRoundNumber - :keepRounds
+          or r.finishedAt < :finishedBefore)
+      order by r.id
+      """)
+  List<Long> findArchivableIds(@Param("status") RoundStatus status,
+      @Param("keepRounds") int keepRounds,
+      @Param("finishedBefore") Instant finishedBefore,
+      Limit limit);
+
+  @EntityGraph(attributePaths = {
+      "statusByPlayerId",
+      "guesses",
+      "guesses.letters"
+  })
+  List<RoundEntity> findWithDetailsByIdIn(Collection<Long> ids);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from RoundEntity r where r.id in :ids and r.roundStatus = :status")
+  int deleteByIdInAndRoundStatus(@Param("ids") Collection<Long> ids,
+      @Param("status") RoundStatus status);
 }
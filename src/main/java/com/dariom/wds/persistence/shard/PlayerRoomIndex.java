@@ -0,0 +1,71 @@
+package com.dariom.wds.persistence.shard;
+
+import static com.dariom.wds.persistence.shard.ShardRouter.HOME_SHARD;
+
+import com.dariom.wds.persistence.entity.PlayerRoomIndexEntity;
+import com.dariom.wds.persistence.entity.PlayerRoomIndexIdEmbeddable;
+import com.dariom.wds.persistence.repository.jpa.PlayerRoomIndexJpaRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The rooms of each player, kept on the home shard; may over-report, never under-report.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlayerRoomIndex {
+
+  private final PlayerRoomIndexJpaRepository jpaRepository;
+  private final ShardRouter shardRouter;
+
+  public void add(UUID playerId, UUID roomId) {
+    shardRouter.onHomeShard(() -> {
+      var id = new PlayerRoomIndexIdEmbeddable(playerId, roomId);
+      if (!jpaRepository.existsById(id)) {
+        jpaRepository.save(new PlayerRoomIndexEntity(id));
+      }
+      return null;
+    });
+  }
+
+  public List<UUID> findRoomIds(UUID playerId) {
+    return shardRouter.onHomeShard(() -> jpaRepository.findRoomIdsByPlayerId(playerId));
+  }
+
+  public void removeRooms(Collection<UUID> roomIds) {
+    if (roomIds.isEmpty()) {
+      return;
+    }
+    if (!shardRouter.isSharded()) {
+      jpaRepository.deleteByRoomIdIn(roomIds);
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      removeFromHomeShard(roomIds);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        removeFromHomeShard(roomIds);
+      }
+    });
+  }
+
+  // the rooms are gone either way: entries left behind are only skipped by readers
+  private void removeFromHomeShard(Collection<UUID> roomIds) {
+    try {
+      shardRouter.runOnShard(HOME_SHARD, () -> jpaRepository.deleteByRoomIdIn(roomIds));
+    } catch (Exception e) {
+      log.warn("Failed to remove {} deleted rooms from the player room index", roomIds.size(), e);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.dariom.wds.persistence.shard;
+
+import static com.dariom.wds.persistence.shard.ShardRouter.HOME_SHARD;
+
+import com.dariom.wds.persistence.repository.jpa.RoomJpaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Places new rooms on the shard with the fewest rooms.
+ */
+@Slf4j
+@Component
+public class ShardPlacement {
+
+  private static final long UNAVAILABLE = Long.MAX_VALUE;
+
+  private final ShardRouter shardRouter;
+  private final RoomJpaRepository roomJpaRepository;
+  private final AtomicLongArray roomCounts;
+
+  public ShardPlacement(ShardRouter shardRouter, RoomJpaRepository roomJpaRepository,
+      MeterRegistry meterRegistry) {
+    this.shardRouter = shardRouter;
+    this.roomJpaRepository = roomJpaRepository;
+    this.roomCounts = new AtomicLongArray(shardRouter.shardCount());
+
+    if (shardRouter.isSharded()) {
+      for (var shard = 0; shard < roomCounts.length(); shard++) {
+        var index = shard;
+        Gauge.builder("datasource.shard.rooms", roomCounts,
+                counts -> counts.get(index) == UNAVAILABLE ? Double.NaN : counts.get(index))
+            .description("Rooms on the shard as of the last count, plus the ones placed since, "
+                + "NaN when it can't be counted")
+            .tag("shard", String.valueOf(shard))
+            .register(meterRegistry);
+      }
+    }
+  }
+
+  public UUID newRoomId() {
+    return shardRouter.newRoomId(nextShard());
+  }
+
+  int nextShard() {
+    var shard = HOME_SHARD;
+    for (var candidate = 1; candidate < roomCounts.length(); candidate++) {
+      if (roomCounts.get(candidate) < roomCounts.get(shard)) {
+        shard = candidate;
+      }
+    }
+    if (roomCounts.get(shard) != UNAVAILABLE) {
+      roomCounts.incrementAndGet(shard);
+    }
+    return shard;
+  }
+
+  @Scheduled(fixedDelayString = "${app.datasource.shards.placement-refresh-interval}")
+  public void refreshRoomCounts() {
+    if (!shardRouter.isSharded()) {
+      return;
+    }
+
+    for (var shard = 0; shard < roomCounts.length(); shard++) {
+      try {
+        roomCounts.set(shard, shardRouter.onShard(shard, roomJpaRepository::count));
+      } catch (Exception e) {
+        log.warn("Failed to count the rooms on shard {}, placing no rooms there", shard, e);
+        roomCounts.set(shard, UNAVAILABLE);
+      }
+    }
+  }
+}
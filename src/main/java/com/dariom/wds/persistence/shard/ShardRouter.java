@@ -0,0 +1,117 @@
+package com.dariom.wds.persistence.shard;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
+
+import com.dariom.wds.config.datasource.ShardContext;
+import com.dariom.wds.config.datasource.ShardProperties;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Knows which shard a room lives on and runs work against a given shard.
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+
+  public static final int HOME_SHARD = ShardContext.HOME_SHARD;
+
+  private static final int SHARD_SHIFT = 48;
+  private static final long SHARD_MASK = 0xFFFFL << SHARD_SHIFT;
+  private static final long VERSION_MASK = 0xF000L;
+  private static final long VERSION_8 = 0x8000L;
+
+  private final int shardCount;
+  private final TransactionTemplate shardTransactionTemplate;
+
+  public ShardRouter(ShardProperties properties, PlatformTransactionManager transactionManager) {
+    this.shardCount = properties.shardCount();
+    this.shardTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.shardTransactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+  }
+
+  public boolean isSharded() {
+    return shardCount > 1;
+  }
+
+  public int shardCount() {
+    return shardCount;
+  }
+
+  public UUID newRoomId(int shard) {
+    var uuid = UUID.randomUUID();
+    if (!isSharded()) {
+      return uuid;
+    }
+
+    var mostSignificantBits = uuid.getMostSignificantBits() & ~SHARD_MASK & ~VERSION_MASK
+        | (long) shard << SHARD_SHIFT
+        | VERSION_8;
+    return new UUID(mostSignificantBits, uuid.getLeastSignificantBits());
+  }
+
+  public int shardOf(UUID roomId) {
+    if (!isSharded() || roomId.version() != 8) {
+      return HOME_SHARD;
+    }
+
+    var shard = (int) (roomId.getMostSignificantBits() >>> SHARD_SHIFT);
+    if (shard >= shardCount) {
+      log.warn("Room <{}> is on unknown shard {}, looking for it on the home shard", roomId, shard);
+      return HOME_SHARD;
+    }
+    return shard;
+  }
+
+  public Map<Integer, List<UUID>> groupByShard(Collection<UUID> roomIds) {
+    return roomIds.stream().collect(groupingBy(this::shardOf, TreeMap::new, toList()));
+  }
+
+  /**
+   * Binds the current transaction to the shard of {@code roomId}, before its first statement.
+   */
+  public void pin(UUID roomId) {
+    if (isSharded()) {
+      ShardContext.pin(shardOf(roomId));
+    }
+  }
+
+  /**
+   * Runs {@code action} in a new transaction on {@code shard}.
+   */
+  public <T> T onShard(int shard, Supplier<T> action) {
+    if (!isSharded()) {
+      return action.get();
+    }
+    return ShardContext.callInScope(shard,
+        () -> shardTransactionTemplate.execute(status -> action.get()));
+  }
+
+  public void runOnShard(int shard, Runnable action) {
+    onShard(shard, () -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * Runs home shard work in the current transaction, or in a new one on the home shard.
+   */
+  public <T> T onHomeShard(Supplier<T> action) {
+    var current = ShardContext.currentShard();
+    if (current.isEmpty() || current.getAsInt() == HOME_SHARD) {
+      return action.get();
+    }
+    return onShard(HOME_SHARD, action);
+  }
+}
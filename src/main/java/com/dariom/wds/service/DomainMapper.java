@@ -6,6 +6,7 @@ import static java.util.Comparator.comparingInt;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toUnmodifiableMap;
 
 import com.dariom.wds.domain.Guess;
 import com.dariom.wds.domain.LetterResult;
@@ -40,7 +41,7 @@ public class DomainMapper {
   public Room toRoom(RoomEntity room, Round currentRound,
       Map<String, String> displayNamePerPlayer) {
     return new Room(
-        room.getId(),
+        room.getId().toString(),
         room.getLanguage(),
         room.getStatus(),
         toPlayers(room.getRoomPlayers(), displayNamePerPlayer),
@@ -56,15 +57,17 @@ public class DomainMapper {
     var guessesByPlayerId = round.getGuesses().stream()
         .sorted(comparingInt(GuessEntity::getAttemptNumber))
         .collect(groupingBy(
-            GuessEntity::getPlayerId,
+            guess -> guess.getPlayerId().toString(),
             mapping(this::toGuess, toList())
         ));
+    var statusByPlayerId = round.getStatusByPlayerId().entrySet().stream()
+        .collect(toUnmodifiableMap(e -> e.getKey().toString(), Map.Entry::getValue));
 
     return new Round(
         round.getRoundNumber(),
         round.getMaxAttempts(),
         guessesByPlayerId,
-        Map.copyOf(round.getStatusByPlayerId()),
+        statusByPlayerId,
         round.getRoundStatus(),
         round.getTargetWord()
     );
@@ -77,11 +80,12 @@ public class DomainMapper {
     }
 
     return roomPlayers.stream()
-        .sorted(comparing(RoomPlayerEntity::getPlayerId))
+        .sorted(comparing(p -> p.getPlayerId().toString()))
         .map(p -> new Player(
-            p.getPlayerId(),
+            p.getPlayerId().toString(),
             p.getScore(),
-            displayNamePerPlayer == null ? null : displayNamePerPlayer.get(p.getPlayerId())
+            displayNamePerPlayer == null ? null
+                : displayNamePerPlayer.get(p.getPlayerId().toString())
         ))
         .toList();
   }
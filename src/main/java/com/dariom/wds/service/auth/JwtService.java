@@ -1,8 +1,8 @@
 package com.dariom.wds.service.auth;
 
-import static org.springframework.security.oauth2.jose.jws.SignatureAlgorithm.RS256;
 import static org.springframework.security.oauth2.jwt.JwtEncoderParameters.from;
 
+import com.dariom.wds.config.security.JwtKeys;
 import com.dariom.wds.config.security.SecurityProperties;
 import com.dariom.wds.domain.AccessToken;
 import com.dariom.wds.persistence.entity.AppUserEntity;
@@ -22,6 +22,7 @@ public class JwtService {
 
   private final SecurityProperties securityProperties;
   private final JwtEncoder jwtEncoder;
+  private final JwtKeys jwtKeys;
   private final Clock clock;
 
   public AccessToken createAccessToken(AppUserEntity user) {
@@ -52,7 +53,9 @@ public class JwtService {
     }
     var claims = claimsBuilder.build();
 
-    var header = JwsHeader.with(RS256).build();
+    var header = JwsHeader.with(jwtKeys.signingAlgorithm())
+        .keyId(jwtKeys.signingKeyId())
+        .build();
     var tokenValue = jwtEncoder.encode(from(header, claims)).getTokenValue();
 
     return new AccessToken(tokenValue, props.ttlSeconds());
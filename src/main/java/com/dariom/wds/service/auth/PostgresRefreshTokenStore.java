@@ -0,0 +1,73 @@
+package com.dariom.wds.service.auth;
+
+import com.dariom.wds.exception.InvalidRefreshTokenException;
+import com.dariom.wds.persistence.entity.AppUserEntity;
+import com.dariom.wds.persistence.entity.RefreshTokenEntity;
+import com.dariom.wds.persistence.purge.ExpiredRefreshTokenPurgeTarget;
+import com.dariom.wds.persistence.purge.PurgeEngine;
+import com.dariom.wds.persistence.repository.jpa.RefreshTokenJpaRepository;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores refresh tokens in the {@code refresh_token} table. Rotation locks the row of the
+ * redeemed token, so concurrent refreshes with the same token succeed only once; expired rows are
+ * removed by {@code RefreshTokenCleanupJob}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.security.refresh-token-store.type", havingValue = "postgres",
+    matchIfMissing = true)
+public class PostgresRefreshTokenStore implements RefreshTokenStore {
+
+  private final RefreshTokenJpaRepository refreshTokenRepository;
+  private final PurgeEngine purgeEngine;
+  private final ExpiredRefreshTokenPurgeTarget expiredRefreshTokenPurgeTarget;
+
+  @Override
+  @Transactional
+  public void save(AppUserEntity user, String tokenHash, Instant createdAt, Instant expiresAt) {
+    refreshTokenRepository.save(new RefreshTokenEntity(
+        UUID.randomUUID(), user, tokenHash, createdAt, expiresAt
+    ));
+  }
+
+  @Override
+  @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+  public UUID rotate(String tokenHash, String newTokenHash, Instant now, Instant expiresAt) {
+    var existingToken = refreshTokenRepository.findWithUserByTokenHash(tokenHash)
+        .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token not found in DB"));
+
+    if (!existingToken.getExpiresAt().isAfter(now)) {
+      refreshTokenRepository.delete(existingToken);
+      throw new InvalidRefreshTokenException("Refresh token expired");
+    }
+
+    var user = existingToken.getUser();
+    refreshTokenRepository.delete(existingToken);
+    save(user, newTokenHash, now, expiresAt);
+    return user.getId();
+  }
+
+  @Override
+  @Transactional
+  public void revoke(String tokenHash) {
+    refreshTokenRepository.findWithUserByTokenHash(tokenHash)
+        .ifPresent(refreshTokenRepository::delete);
+  }
+
+  @Override
+  @Transactional
+  public int revokeAll(UUID userId) {
+    return refreshTokenRepository.deleteByUserId(userId);
+  }
+
+  @Override
+  public int deleteExpired(Instant now) {
+    return (int) purgeEngine.purge(expiredRefreshTokenPurgeTarget, now).deleted();
+  }
+}
@@ -0,0 +1,137 @@
+package com.dariom.wds.service.auth;
+
+import com.dariom.wds.exception.InvalidRefreshTokenException;
+import com.dariom.wds.persistence.entity.AppUserEntity;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores refresh tokens in Redis as {@code refresh-token:<hash>} keys holding the user id, with
+ * the token's remaining lifetime as TTL, so expired tokens disappear without a cleanup job. A set
+ * per user ({@code refresh-token:user:<id>}) indexes the user's tokens for {@link #revokeAll}.
+ *
+ * <p>Rotation is a single Lua script, which Redis executes atomically: of concurrent refreshes
+ * with the same token only the first finds the key. The script looks up the token's user and
+ * derives the user index key itself, so rotating costs one round trip; that key is not declared
+ * in {@code KEYS}, which is fine on a single node but would need a hash tag on Redis Cluster.
+ * Revoking all tokens of a user is a single script too, so a token saved meanwhile is either
+ * revoked or still indexed. The user index always expires with the user's newest token, which
+ * outlives the others. When auditing is enabled, changes are mirrored to the
+ * {@code refresh_token} table by {@link RefreshTokenAuditLog}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.security.refresh-token-store.type", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+  static final String TOKEN_KEY_PREFIX = "refresh-token:";
+  static final String USER_KEY_PREFIX = "refresh-token:user:";
+
+  // KEYS: token, user; ARGV: user id, token hash, ttl millis
+  private static final RedisScript<Long> SAVE = new DefaultRedisScript<>("""
+      redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+      redis.call('SADD', KEYS[2], ARGV[2])
+      redis.call('PEXPIRE', KEYS[2], ARGV[3])
+      return 1
+      """, Long.class);
+
+  // KEYS: token, new token; ARGV: token hash, new token hash, ttl millis, user key prefix
+  private static final RedisScript<String> ROTATE = new DefaultRedisScript<>("""
+      local userId = redis.call('GET', KEYS[1])
+      if not userId then
+        return nil
+      end
+      local userKey = ARGV[4] .. userId
+      redis.call('DEL', KEYS[1])
+      redis.call('SET', KEYS[2], userId, 'PX', ARGV[3])
+      redis.call('SREM', userKey, ARGV[1])
+      redis.call('SADD', userKey, ARGV[2])
+      redis.call('PEXPIRE', userKey, ARGV[3])
+      return userId
+      """, String.class);
+
+  // KEYS: user; ARGV: token key prefix
+  private static final RedisScript<Long> REVOKE_ALL = new DefaultRedisScript<>("""
+      local revoked = 0
+      for _, tokenHash in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+        revoked = revoked + redis.call('DEL', ARGV[1] .. tokenHash)
+      end
+      redis.call('DEL', KEYS[1])
+      return revoked
+      """, Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectProvider<RefreshTokenAuditLog> auditLog;
+
+  public RedisRefreshTokenStore(
+      StringRedisTemplate redisTemplate,
+      ObjectProvider<RefreshTokenAuditLog> auditLog) {
+    this.redisTemplate = redisTemplate;
+    this.auditLog = auditLog;
+  }
+
+  @Override
+  public void save(AppUserEntity user, String tokenHash, Instant createdAt, Instant expiresAt) {
+    var ttlMillis = Duration.between(createdAt, expiresAt).toMillis();
+    redisTemplate.execute(SAVE,
+        List.of(TOKEN_KEY_PREFIX + tokenHash, USER_KEY_PREFIX + user.getId()),
+        user.getId().toString(), tokenHash, Long.toString(ttlMillis));
+
+    auditLog.ifAvailable(audit -> audit.issued(user.getId(), tokenHash, createdAt, expiresAt));
+  }
+
+  @Override
+  public UUID rotate(String tokenHash, String newTokenHash, Instant now, Instant expiresAt) {
+    var ttlMillis = Duration.between(now, expiresAt).toMillis();
+    var userId = redisTemplate.execute(ROTATE,
+        List.of(TOKEN_KEY_PREFIX + tokenHash, TOKEN_KEY_PREFIX + newTokenHash),
+        tokenHash, newTokenHash, Long.toString(ttlMillis), USER_KEY_PREFIX);
+
+    if (userId == null) {
+      // expired keys are gone, so an unknown and an expired token look the same
+      throw new InvalidRefreshTokenException("Refresh token not found in Redis");
+    }
+
+    var id = UUID.fromString(userId);
+    auditLog.ifAvailable(audit -> audit.rotated(id, tokenHash, newTokenHash, now, expiresAt));
+    return id;
+  }
+
+  @Override
+  public void revoke(String tokenHash) {
+    var userId = redisTemplate.opsForValue().getAndDelete(TOKEN_KEY_PREFIX + tokenHash);
+    if (userId == null) {
+      return;
+    }
+
+    redisTemplate.opsForSet().remove(USER_KEY_PREFIX + userId, tokenHash);
+    auditLog.ifAvailable(audit -> audit.revoked(tokenHash));
+  }
+
+  @Override
+  public int revokeAll(UUID userId) {
+    var deleted = redisTemplate.execute(REVOKE_ALL, List.of(USER_KEY_PREFIX + userId),
+        TOKEN_KEY_PREFIX);
+    var revoked = deleted != null ? deleted : 0;
+
+    log.info("Revoked {} refresh tokens of user <{}>", revoked, userId);
+    auditLog.ifAvailable(audit -> audit.revokedAll(userId));
+    return (int) revoked;
+  }
+
+  @Override
+  public int deleteExpired(Instant now) {
+    // Redis expires the tokens itself, only the audit rows need removing
+    var audit = auditLog.getIfAvailable();
+    return audit != null ? audit.deleteExpired(now) : 0;
+  }
+}
@@ -0,0 +1,112 @@
+package com.dariom.wds.service.auth;
+
+import com.dariom.wds.persistence.entity.RefreshTokenEntity;
+import com.dariom.wds.persistence.purge.ExpiredRefreshTokenPurgeTarget;
+import com.dariom.wds.persistence.purge.PurgeEngine;
+import com.dariom.wds.persistence.repository.jpa.AppUserJpaRepository;
+import com.dariom.wds.persistence.repository.jpa.RefreshTokenJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mirrors refresh tokens held in Redis to the {@code refresh_token} table, off the request path.
+ *
+ * <p>Writes run on a single background thread behind a bounded queue; when the queue is full or a
+ * write fails, the entry is dropped and counted, since the table is only a report and never read
+ * to authenticate. Rows of tokens that expired in Redis are removed by
+ * {@code RefreshTokenCleanupJob}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.security.refresh-token-store.type", havingValue = "redis")
+@ConditionalOnProperty(name = "app.security.refresh-token-store.audit-enabled",
+    havingValue = "true")
+public class RefreshTokenAuditLog {
+
+  private static final int QUEUE_CAPACITY = 10_000;
+
+  private final RefreshTokenJpaRepository refreshTokenRepository;
+  private final AppUserJpaRepository appUserRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final PurgeEngine purgeEngine;
+  private final ExpiredRefreshTokenPurgeTarget expiredRefreshTokenPurgeTarget;
+  private final ThreadPoolExecutor executor;
+  private final Counter dropped;
+
+  public RefreshTokenAuditLog(
+      RefreshTokenJpaRepository refreshTokenRepository,
+      AppUserJpaRepository appUserRepository,
+      PlatformTransactionManager transactionManager,
+      PurgeEngine purgeEngine,
+      ExpiredRefreshTokenPurgeTarget expiredRefreshTokenPurgeTarget,
+      MeterRegistry meterRegistry) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.appUserRepository = appUserRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.purgeEngine = purgeEngine;
+    this.expiredRefreshTokenPurgeTarget = expiredRefreshTokenPurgeTarget;
+    this.dropped = Counter.builder("refresh.tokens.audit.dropped")
+        .description("Refresh token audit writes dropped because the queue was full or they failed")
+        .register(meterRegistry);
+    this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+        Thread.ofPlatform().name("refresh-token-audit").daemon().factory(),
+        (task, pool) -> dropped.increment());
+  }
+
+  public void issued(UUID userId, String tokenHash, Instant createdAt, Instant expiresAt) {
+    write(() -> insert(userId, tokenHash, createdAt, expiresAt));
+  }
+
+  public void rotated(UUID userId, String tokenHash, String newTokenHash, Instant createdAt,
+      Instant expiresAt) {
+    write(() -> {
+      refreshTokenRepository.deleteByTokenHash(tokenHash);
+      insert(userId, newTokenHash, createdAt, expiresAt);
+    });
+  }
+
+  public void revoked(String tokenHash) {
+    write(() -> refreshTokenRepository.deleteByTokenHash(tokenHash));
+  }
+
+  public void revokedAll(UUID userId) {
+    write(() -> refreshTokenRepository.deleteByUserId(userId));
+  }
+
+  public int deleteExpired(Instant now) {
+    return (int) purgeEngine.purge(expiredRefreshTokenPurgeTarget, now).deleted();
+  }
+
+  private void insert(UUID userId, String tokenHash, Instant createdAt, Instant expiresAt) {
+    refreshTokenRepository.save(new RefreshTokenEntity(UUID.randomUUID(),
+        appUserRepository.getReferenceById(userId), tokenHash, createdAt, expiresAt));
+  }
+
+  private void write(Runnable write) {
+    executor.execute(() -> {
+      try {
+        transactionTemplate.executeWithoutResult(status -> write.run());
+      } catch (Exception e) {
+        dropped.increment();
+        log.warn("Failed to write refresh token audit entry", e);
+      }
+    });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -6,8 +6,7 @@ import com.dariom.wds.config.security.SecurityProperties;
 import com.dariom.wds.domain.RefreshResult;
 import com.dariom.wds.exception.InvalidRefreshTokenException;
 import com.dariom.wds.persistence.entity.AppUserEntity;
-import com.dariom.wds.persistence.entity.RefreshTokenEntity;
-import com.dariom.wds.persistence.repository.jpa.RefreshTokenJpaRepository;
+import com.dariom.wds.persistence.repository.UserRepository;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.UUID;
@@ -22,20 +21,17 @@ public class RefreshTokenService {
   private final SecurityProperties securityProperties;
   private final RefreshTokenGenerator refreshTokenGenerator;
   private final TokenHashing tokenHashing;
-  private final RefreshTokenJpaRepository refreshTokenRepository;
+  private final RefreshTokenStore refreshTokenStore;
+  private final UserRepository userRepository;
   private final JwtService jwtService;
   private final Clock clock;
 
   @Transactional
   public String createRefreshToken(AppUserEntity user) {
     var rawToken = refreshTokenGenerator.generate();
-    var hashedToken = tokenHashing.sha256Hex(rawToken);
     var now = Instant.now(clock);
-    var expiresAt = now.plus(securityProperties.refresh().ttlDays(), DAYS);
 
-    refreshTokenRepository.save(new RefreshTokenEntity(
-        UUID.randomUUID(), user, hashedToken, now, expiresAt
-    ));
+    refreshTokenStore.save(user, tokenHashing.sha256Hex(rawToken), now, expiresAt(now));
 
     return rawToken;
   }
@@ -44,33 +40,32 @@ public class RefreshTokenService {
   public RefreshResult refresh(String rawToken) {
     var now = Instant.now(clock);
     var hashedToken = tokenHashing.sha256Hex(rawToken);
-    var existingToken = refreshTokenRepository.findWithUserByTokenHash(hashedToken)
-        .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token not found in DB"));
-
-    if (!existingToken.getExpiresAt().isAfter(now)) {
-      refreshTokenRepository.delete(existingToken);
-      throw new InvalidRefreshTokenException("Refresh token expired");
-    }
-
-    var user = existingToken.getUser();
+    var newRawToken = refreshTokenGenerator.generate();
+    var newHashedToken = tokenHashing.sha256Hex(newRawToken);
 
-    refreshTokenRepository.delete(existingToken);
-
-    var refreshToken = createRefreshToken(user);
+    var userId = refreshTokenStore.rotate(hashedToken, newHashedToken, now, expiresAt(now));
+    var user = userRepository.findById(userId.toString())
+        .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token user not found"));
     var accessToken = jwtService.createAccessToken(user);
 
-    return new RefreshResult(refreshToken, accessToken);
+    return new RefreshResult(newRawToken, accessToken);
   }
 
   @Transactional
   public void revoke(String rawToken) {
-    var hashedToken = tokenHashing.sha256Hex(rawToken);
-    refreshTokenRepository.findWithUserByTokenHash(hashedToken)
-        .ifPresent(refreshTokenRepository::delete);
+    refreshTokenStore.revoke(tokenHashing.sha256Hex(rawToken));
   }
 
   @Transactional
+  public int revokeAll(UUID userId) {
+    return refreshTokenStore.revokeAll(userId);
+  }
+
   public int deleteExpiredTokens(Instant now) {
-    return refreshTokenRepository.deleteExpired(now);
+    return refreshTokenStore.deleteExpired(now);
+  }
+
+  private Instant expiresAt(Instant now) {
+    return now.plus(securityProperties.refresh().ttlDays(), DAYS);
   }
 }
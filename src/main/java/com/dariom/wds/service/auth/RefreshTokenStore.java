@@ -0,0 +1,34 @@
+package com.dariom.wds.service.auth;
+
+import com.dariom.wds.exception.InvalidRefreshTokenException;
+import com.dariom.wds.persistence.entity.AppUserEntity;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Keeps the hashes of issued refresh tokens and the user each one belongs to.
+ */
+public interface RefreshTokenStore {
+
+  void save(AppUserEntity user, String tokenHash, Instant createdAt, Instant expiresAt);
+
+  /**
+   * Atomically replaces {@code tokenHash} with {@code newTokenHash} for the same user and returns
+   * that user's id, so a token can be redeemed only once. Throws
+   * {@link InvalidRefreshTokenException} if the token is unknown or expired.
+   */
+  UUID rotate(String tokenHash, String newTokenHash, Instant now, Instant expiresAt);
+
+  void revoke(String tokenHash);
+
+  /**
+   * Revokes every refresh token of the user, signing them out on all devices once their access
+   * tokens expire. Returns how many tokens were revoked.
+   */
+  int revokeAll(UUID userId);
+
+  /**
+   * Removes tokens that expired before {@code now} and returns how many were removed.
+   */
+  int deleteExpired(Instant now);
+}
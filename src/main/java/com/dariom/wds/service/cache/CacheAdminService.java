@@ -0,0 +1,168 @@
+package com.dariom.wds.service.cache;
+
+import static com.dariom.wds.config.CacheConfig.ALLOWED_GUESSES_CACHE;
+import static com.dariom.wds.config.CacheConfig.ANSWER_WORDS_CACHE;
+import static com.dariom.wds.config.CacheConfig.DISPLAY_NAME_CACHE;
+import static com.dariom.wds.config.CacheConfig.USER_PROFILE_CACHE;
+import static java.util.Locale.ROOT;
+
+import com.dariom.wds.domain.Language;
+import com.dariom.wds.persistence.repository.DictionaryRepository;
+import com.dariom.wds.service.user.UserDetailsService;
+import com.dariom.wds.service.user.UserProfileService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy.Eviction;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+/**
+ * Inspects, invalidates and warms up the application caches.
+ *
+ * <p>Dictionary caches are keyed by language, user caches by user id. Warming up goes through the
+ * cached services, so entries are loaded exactly as a request would load them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheAdminService {
+
+  private final CacheManager cacheManager;
+  private final DictionaryRepository dictionaryRepository;
+  private final UserDetailsService userDetailsService;
+  private final UserProfileService userProfileService;
+
+  public List<CacheSummary> getCacheSummaries() {
+    return cacheManager.getCacheNames().stream()
+        .sorted()
+        .map(this::getCacheSummary)
+        .flatMap(Optional::stream)
+        .toList();
+  }
+
+  public Optional<CacheSummary> getCacheSummary(String cacheName) {
+    return findCache(cacheName).map(cache -> summarize(cacheName, cache.getNativeCache()));
+  }
+
+  /**
+   * Drops one entry, or the whole cache when {@code key} is {@code null}.
+   */
+  public void invalidate(String cacheName, String key) {
+    var cache = requireCache(cacheName);
+    if (key == null) {
+      cache.invalidate();
+      log.info("Invalidated cache <{}>", cacheName);
+      return;
+    }
+
+    cache.evictIfPresent(toCacheKey(cacheName, key));
+    log.info("Invalidated key <{}> in cache <{}>", key, cacheName);
+  }
+
+  /**
+   * Loads entries into a cache: every language for the dictionary caches when {@code key} is
+   * {@code null}, otherwise the given language or user id. Returns the number of keys loaded.
+   */
+  public int warmUp(String cacheName, String key) {
+    requireCache(cacheName);
+    var count = switch (cacheName) {
+      case ALLOWED_GUESSES_CACHE -> forLanguages(key, dictionaryRepository::getAllowedGuesses);
+      case ANSWER_WORDS_CACHE -> forLanguages(key, dictionaryRepository::getAnswerWords);
+      case DISPLAY_NAME_CACHE -> {
+        userDetailsService.getUserDisplayName(requireKey(cacheName, key));
+        yield 1;
+      }
+      case USER_PROFILE_CACHE -> {
+        userProfileService.getUserProfile(requireKey(cacheName, key));
+        yield 1;
+      }
+      default -> throw new IllegalArgumentException(
+          "Cache %s does not support warmup".formatted(cacheName));
+    };
+
+    log.info("Warmed up {} key(s) in cache <{}>", count, cacheName);
+    return count;
+  }
+
+  private Optional<CaffeineCache> findCache(String cacheName) {
+    return cacheManager.getCache(cacheName) instanceof CaffeineCache cache
+        ? Optional.of(cache)
+        : Optional.empty();
+  }
+
+  private CaffeineCache requireCache(String cacheName) {
+    return findCache(cacheName)
+        .orElseThrow(() -> new IllegalArgumentException("Unknown cache %s".formatted(cacheName)));
+  }
+
+  private static int forLanguages(String key, Consumer<Language> loader) {
+    var languages = key == null ? Arrays.asList(Language.values()) : List.of(toLanguage(key));
+    languages.forEach(loader);
+    return languages.size();
+  }
+
+  private static Object toCacheKey(String cacheName, String key) {
+    return switch (cacheName) {
+      case ALLOWED_GUESSES_CACHE, ANSWER_WORDS_CACHE -> toLanguage(key);
+      default -> key;
+    };
+  }
+
+  private static Language toLanguage(String key) {
+    try {
+      return Language.valueOf(key.toUpperCase(ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown language %s".formatted(key), e);
+    }
+  }
+
+  private static String requireKey(String cacheName, String key) {
+    if (key == null || key.isBlank()) {
+      throw new IllegalArgumentException("Cache %s needs a user id to warm up".formatted(cacheName));
+    }
+    return key;
+  }
+
+  private static CacheSummary summarize(String name, Cache<Object, Object> cache) {
+    var stats = cache.stats();
+    var eviction = cache.policy().eviction();
+    return new CacheSummary(
+        name,
+        cache.estimatedSize(),
+        eviction.map(Eviction::getMaximum).orElse(null),
+        eviction.filter(Eviction::isWeighted)
+            .map(e -> e.weightedSize().orElse(0))
+            .orElse(null),
+        stats.hitCount(),
+        stats.missCount(),
+        stats.hitRate(),
+        stats.evictionCount(),
+        stats.loadCount(),
+        stats.averageLoadPenalty() / 1_000_000);
+  }
+
+  /**
+   * Size and statistics of one cache. {@code maximumSize} and {@code weightedSize} are {@code null}
+   * for caches without a size bound or weigher.
+   */
+  public record CacheSummary(
+      String name,
+      long estimatedSize,
+      Long maximumSize,
+      Long weightedSize,
+      long hitCount,
+      long missCount,
+      double hitRate,
+      long evictionCount,
+      long loadCount,
+      double averageLoadPenaltyMillis
+  ) {
+
+  }
+}
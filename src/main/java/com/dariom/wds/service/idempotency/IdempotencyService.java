@@ -0,0 +1,209 @@
+package com.dariom.wds.service.idempotency;
+
+import com.dariom.wds.config.IdempotencyProperties;
+import com.dariom.wds.exception.IdempotencyKeyReusedException;
+import com.dariom.wds.exception.IdempotentRequestInProgressException;
+import com.dariom.wds.exception.IdempotentResponseUnavailableException;
+import com.dariom.wds.exception.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Replays the response of a request that was already executed under the same
+ * {@code Idempotency-Key}.
+ *
+ * <p>Responses are kept for the configured TTL in a local Caffeine cache, in front of Redis so
+ * that retries landing on another instance are deduplicated too. Before running, a request claims
+ * its key in Redis with a short-lived in-progress marker; a duplicate arriving while the original
+ * is still running is rejected rather than executed twice. Failed requests release their claim so
+ * the client can retry them. A request that succeeded but whose response could not be recorded
+ * keeps its key, marked as completed, so a retry is rejected instead of running the action again.
+ * If Redis is unavailable, requests run without deduplication.
+ *
+ * <p>Both the marker and the recorded response carry a SHA-256 fingerprint of the request body;
+ * reusing a key for a different body is rejected instead of replaying the unrelated response.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+  static final String KEY_PREFIX = "idempotency:";
+  static final String IN_PROGRESS = "in-progress";
+  static final String COMPLETED = "completed";
+  static final int MAX_KEY_LENGTH = 64;
+
+  private static final Pattern KEY_PATTERN = Pattern.compile(
+      "[A-Za-z0-9._-]{1,%d}".formatted(MAX_KEY_LENGTH));
+  private static final char SEPARATOR = ':';
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final Duration ttl;
+  private final Duration inProgressTtl;
+  private final Cache<String, Recorded> localResponses;
+
+  public IdempotencyService(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+      IdempotencyProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.ttl = properties.ttl();
+    this.inProgressTtl = properties.inProgressTtl();
+    this.localResponses = Caffeine.newBuilder()
+        .expireAfterWrite(properties.ttl())
+        .maximumSize(properties.localMaxSize())
+        .build();
+  }
+
+  /**
+   * Runs {@code action} once per player, scope and idempotency key, returning the recorded response
+   * for repeated calls with the same {@code request}. Without a key the action always runs.
+   */
+  public <T> T execute(String playerId, String scope, String idempotencyKey, Object request,
+      Class<T> responseType, Supplier<T> action) {
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return action.get();
+    }
+
+    var clientKey = idempotencyKey.strip();
+    if (!KEY_PATTERN.matcher(clientKey).matches()) {
+      throw new InvalidIdempotencyKeyException(MAX_KEY_LENGTH);
+    }
+
+    var key = KEY_PREFIX + playerId + ":" + scope + ":" + clientKey;
+    var fingerprint = fingerprint(request);
+    var cached = localResponses.getIfPresent(key);
+    if (cached != null && responseType.isInstance(cached.response())) {
+      ensureSameRequest(cached.fingerprint(), fingerprint, clientKey);
+      log.info("Replaying response for idempotency key <{}>", clientKey);
+      return responseType.cast(cached.response());
+    }
+
+    Boolean claimed;
+    try {
+      claimed = redisTemplate.opsForValue()
+          .setIfAbsent(key, fingerprint + SEPARATOR + IN_PROGRESS, inProgressTtl);
+    } catch (Exception e) {
+      log.warn("Failed to claim idempotency key <{}>, running without deduplication",
+          clientKey, e);
+      return action.get();
+    }
+
+    if (!Boolean.TRUE.equals(claimed)) {
+      return replay(key, clientKey, fingerprint, responseType, action);
+    }
+
+    T response;
+    try {
+      response = action.get();
+    } catch (RuntimeException e) {
+      // a claim left behind would turn every retry into a conflict until it expires
+      release(key, clientKey);
+      throw e;
+    }
+
+    // the action has committed: never release the claim from here on, a retry must not rerun it
+    record(key, clientKey, fingerprint, response);
+    return response;
+  }
+
+  private <T> T replay(String key, String clientKey, String fingerprint, Class<T> responseType,
+      Supplier<T> action) {
+    String recorded;
+    try {
+      recorded = redisTemplate.opsForValue().get(key);
+    } catch (Exception e) {
+      log.warn("Failed to read idempotency key <{}>, running without deduplication",
+          clientKey, e);
+      return action.get();
+    }
+
+    // a missing value means the original request failed in the meantime; let the client retry
+    if (recorded == null) {
+      throw new IdempotentRequestInProgressException(clientKey);
+    }
+
+    var separator = recorded.indexOf(SEPARATOR);
+    ensureSameRequest(recorded.substring(0, Math.max(separator, 0)), fingerprint, clientKey);
+    var payload = recorded.substring(separator + 1);
+    if (IN_PROGRESS.equals(payload)) {
+      throw new IdempotentRequestInProgressException(clientKey);
+    }
+    if (COMPLETED.equals(payload)) {
+      throw new IdempotentResponseUnavailableException(clientKey);
+    }
+
+    T response;
+    try {
+      response = objectMapper.readValue(payload, responseType);
+    } catch (Exception e) {
+      throw new IllegalStateException(
+          "Unreadable response recorded for idempotency key <%s>".formatted(clientKey), e);
+    }
+
+    localResponses.put(key, new Recorded(fingerprint, response));
+    log.info("Replaying response for idempotency key <{}>", clientKey);
+    return response;
+  }
+
+  private void record(String key, String clientKey, String fingerprint, Object response) {
+    localResponses.put(key, new Recorded(fingerprint, response));
+    try {
+      redisTemplate.opsForValue().set(key,
+          fingerprint + SEPARATOR + objectMapper.writeValueAsString(response), ttl);
+    } catch (Exception e) {
+      log.warn("Failed to record response for idempotency key <{}>, marking it completed",
+          clientKey, e);
+      markCompleted(key, clientKey, fingerprint);
+    }
+  }
+
+  // if this fails too, the in-progress marker stays until it expires, which is still safe
+  private void markCompleted(String key, String clientKey, String fingerprint) {
+    try {
+      redisTemplate.opsForValue().set(key, fingerprint + SEPARATOR + COMPLETED, ttl);
+    } catch (Exception e) {
+      log.warn("Failed to mark idempotency key <{}> completed", clientKey, e);
+    }
+  }
+
+  private void release(String key, String clientKey) {
+    try {
+      redisTemplate.delete(key);
+    } catch (Exception e) {
+      log.warn("Failed to release idempotency key <{}>", clientKey, e);
+    }
+  }
+
+  private String fingerprint(Object request) {
+    try {
+      var body = objectMapper.writeValueAsBytes(request);
+      return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to serialize request for idempotency check", e);
+    }
+  }
+
+  private static void ensureSameRequest(String recordedFingerprint, String fingerprint,
+      String clientKey) {
+    if (!recordedFingerprint.equals(fingerprint)) {
+      throw new IdempotencyKeyReusedException(clientKey);
+    }
+  }
+
+  private record Recorded(String fingerprint, Object response) {
+
+  }
+}
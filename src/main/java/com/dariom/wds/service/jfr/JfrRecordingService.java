@@ -0,0 +1,152 @@
+package com.dariom.wds.service.jfr;
+
+import static jdk.jfr.RecordingState.RUNNING;
+
+import com.dariom.wds.config.JfrProperties;
+import com.dariom.wds.exception.JfrRecordingInProgressException;
+import com.dariom.wds.exception.JfrRecordingNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs one bounded JDK Flight Recorder recording at a time on behalf of admins.
+ *
+ * <p>The recording is written to a temporary file when it stops, either on request or once its
+ * duration (capped at {@code app.jfr.max-duration}) elapses, and is kept until it is collected
+ * with {@link #stop()} or replaced by a new recording. Besides the JDK events of the configured
+ * settings it contains the application events in {@code com.dariom.wds.jfr}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JfrRecordingService {
+
+  static final String RECORDING_NAME = "wordle-duel";
+
+  private final JfrProperties properties;
+
+  private Recording recording;
+  private Path destination;
+
+  public synchronized RecordingInfo start(Duration requestedDuration) {
+    if (recording != null && recording.getState() == RUNNING) {
+      throw new JfrRecordingInProgressException(RECORDING_NAME);
+    }
+    discard();
+
+    var duration = boundedDuration(requestedDuration);
+    var file = createDestination();
+    var newRecording = new Recording(configuration());
+    newRecording.setName(RECORDING_NAME);
+    newRecording.setToDisk(true);
+    newRecording.setMaxSize(properties.maxSize().toBytes());
+    newRecording.setDuration(duration);
+    try {
+      newRecording.setDestination(file);
+    } catch (IOException e) {
+      newRecording.close();
+      deleteQuietly(file);
+      throw new UncheckedIOException(e);
+    }
+    newRecording.start();
+
+    recording = newRecording;
+    destination = file;
+    log.info("Started flight recording <{}> for {}", RECORDING_NAME, duration);
+    return info(newRecording);
+  }
+
+  public synchronized Optional<RecordingInfo> getRecording() {
+    return Optional.ofNullable(recording).map(JfrRecordingService::info);
+  }
+
+  /**
+   * Stops the recording if it is still running and hands over its file. The caller owns the file
+   * from then on and is expected to delete it.
+   */
+  public synchronized Path stop() {
+    if (recording == null) {
+      throw new JfrRecordingNotFoundException();
+    }
+
+    if (recording.getState() == RUNNING) {
+      recording.stop();
+    }
+    recording.close();
+
+    var file = destination;
+    recording = null;
+    destination = null;
+    log.info("Stopped flight recording <{}>", RECORDING_NAME);
+    return file;
+  }
+
+  private void discard() {
+    if (recording != null) {
+      recording.close();
+      deleteQuietly(destination);
+      recording = null;
+      destination = null;
+    }
+  }
+
+  private Duration boundedDuration(Duration requested) {
+    var max = properties.maxDuration();
+    if (requested == null || requested.isNegative() || requested.isZero()
+        || requested.compareTo(max) > 0) {
+      return max;
+    }
+    return requested;
+  }
+
+  private Configuration configuration() {
+    try {
+      return Configuration.getConfiguration(properties.settings());
+    } catch (IOException | ParseException e) {
+      throw new IllegalStateException(
+          "Invalid flight recorder settings %s".formatted(properties.settings()), e);
+    }
+  }
+
+  private static Path createDestination() {
+    try {
+      return Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Failed to delete flight recording file {}", file, e);
+    }
+  }
+
+  private static RecordingInfo info(Recording recording) {
+    return new RecordingInfo(recording.getName(), recording.getState().name(),
+        recording.getStartTime(), recording.getDuration(), recording.getMaxSize());
+  }
+
+  public record RecordingInfo(
+      String name,
+      String state,
+      Instant startedAt,
+      Duration duration,
+      long maxSizeBytes
+  ) {
+
+  }
+}
@@ -0,0 +1,106 @@
+package com.dariom.wds.service.lock;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.dariom.wds.config.lock.RoomLockProperties;
+import com.dariom.wds.exception.RoomLockedException;
+import com.dariom.wds.jfr.RoomLockWaitEvent;
+import com.dariom.wds.metrics.RoomLockMetrics;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Serializes work on the same room within this instance, before any database resources are taken.
+ *
+ * <p>Rooms are mapped onto a fixed set of fair locks (lock striping), so concurrent requests for a
+ * room queue up in memory in arrival order instead of each holding a pooled JDBC connection while
+ * waiting on the {@code PESSIMISTIC_WRITE} row lock. The row lock still guards against other
+ * instances. Unrelated rooms may share a stripe; that only costs some extra waiting.
+ *
+ * <p>The transaction must be opened (and committed) inside the locked section, so that the next
+ * waiter sees the committed state; {@link #inLockedTransaction} does both.
+ */
+@Slf4j
+@Component
+public class RoomLockManager {
+
+  private final ReentrantLock[] stripes;
+  private final Duration acquireTimeout;
+  private final RoomLockMetrics metrics;
+  private final TransactionTemplate transactionTemplate;
+
+  public RoomLockManager(RoomLockProperties properties, RoomLockMetrics metrics,
+      TransactionTemplate transactionTemplate) {
+    this.acquireTimeout = properties.acquireTimeout();
+    this.stripes = new ReentrantLock[Math.max(1, properties.stripes())];
+    for (var i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock(true);
+    }
+    this.metrics = metrics;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  /**
+   * Runs {@code action} in a transaction that commits while the lock of {@code roomId} is still
+   * held. A database row lock that cannot be acquired is reported as {@link RoomLockedException}
+   * as well.
+   */
+  public <T> T inLockedTransaction(String roomId, Supplier<T> action) {
+    return withRoomLock(roomId, () -> {
+      try {
+        return transactionTemplate.execute(status -> action.get());
+      } catch (PessimisticLockingFailureException | PessimisticLockException |
+               LockTimeoutException e) {
+        throw new RoomLockedException(roomId);
+      }
+    });
+  }
+
+  /**
+   * Runs {@code action} while holding the lock of {@code roomId}, or throws
+   * {@link RoomLockedException} if the lock cannot be acquired within the configured timeout.
+   */
+  public <T> T withRoomLock(String roomId, Supplier<T> action) {
+    var lock = stripeFor(roomId);
+    var waitEvent = new RoomLockWaitEvent();
+    waitEvent.begin();
+    var start = System.nanoTime();
+
+    boolean acquired;
+    try {
+      acquired = lock.tryLock(acquireTimeout.toNanos(), NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RoomLockedException(roomId);
+    }
+
+    var waited = System.nanoTime() - start;
+    waitEvent.emit(roomId, RoomLockMetrics.LOCAL, acquired);
+    if (!acquired) {
+      metrics.localLockTimedOut(roomId, waited);
+      log.warn("Timed out waiting for local lock of room <{}>", roomId);
+      throw new RoomLockedException(roomId);
+    }
+
+    metrics.localLockAcquired(roomId, waited);
+    var acquiredAt = System.nanoTime();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+      metrics.localLockReleased(System.nanoTime() - acquiredAt);
+    }
+  }
+
+  private ReentrantLock stripeFor(String roomId) {
+    var hash = roomId.hashCode();
+    return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+  }
+}
@@ -4,23 +4,22 @@ import static com.dariom.wds.domain.RoomStatus.IN_PROGRESS;
 import static com.dariom.wds.domain.RoomStatus.WAITING_FOR_PLAYERS;
 import static com.dariom.wds.service.room.RoomValidator.validateRoom;
 import static com.dariom.wds.websocket.model.EventType.ROOM_CREATED;
+import static java.util.stream.Collectors.toSet;
 
 import com.dariom.wds.config.lock.RoomLockProperties;
 import com.dariom.wds.domain.Language;
 import com.dariom.wds.domain.Room;
 import com.dariom.wds.domain.Round;
 import com.dariom.wds.exception.RoomAccessDeniedException;
-import com.dariom.wds.exception.RoomLockedException;
 import com.dariom.wds.persistence.entity.RoomEntity;
 import com.dariom.wds.persistence.repository.RoomRepository;
 import com.dariom.wds.service.DomainMapper;
+import com.dariom.wds.service.lock.RoomLockManager;
 import com.dariom.wds.service.round.RoundService;
 import com.dariom.wds.service.user.UserProfileService;
 import com.dariom.wds.websocket.model.PlayerJoinedPayload;
 import com.dariom.wds.websocket.model.RoomEvent;
 import com.dariom.wds.websocket.model.RoomEventToPublish;
-import jakarta.persistence.LockTimeoutException;
-import jakarta.persistence.PessimisticLockException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -28,7 +27,6 @@ import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,6 +39,7 @@ public class RoomService {
 
   private final RoomRepository roomRepository;
   private final RoomLockProperties lockProperties;
+  private final RoomLockManager roomLockManager;
   private final RoundService roundService;
   private final DomainMapper domainMapper;
   private final ApplicationEventPublisher eventPublisher;
@@ -48,33 +47,31 @@ public class RoomService {
 
   @Transactional
   public Room createRoom(Language language, String creatorPlayerId) {
+    var creatorId = UUID.fromString(creatorPlayerId);
     var room = new RoomEntity();
-    room.setId(UUID.randomUUID().toString());
+    room.setId(roomRepository.newRoomId());
     room.setLanguage(language);
     room.setStatus(WAITING_FOR_PLAYERS);
-    room.addPlayer(creatorPlayerId);
-    room.setPlayerScore(creatorPlayerId, INITIAL_SCORE);
+    room.addPlayer(creatorId);
+    room.setPlayerScore(creatorId, INITIAL_SCORE);
     room.setCurrentRoundNumber(null);
 
     var saved = roomRepository.save(room);
+    roomRepository.indexPlayer(saved.getId(), creatorId);
     var displayNamePerPlayer = getDisplayNamePerPlayer(saved);
 
-    publishRoomEvent(saved.getId(), new RoomEvent(
+    var sortedPlayerIds = saved.getSortedPlayerIds().stream().map(UUID::toString).toList();
+    publishRoomEvent(saved.getId().toString(), new RoomEvent(
         ROOM_CREATED,
-        new PlayerJoinedPayload(creatorPlayerId, saved.getSortedPlayerIds())
+        new PlayerJoinedPayload(creatorPlayerId, sortedPlayerIds)
     ));
 
     return domainMapper.toRoom(saved, null, displayNamePerPlayer);
   }
 
-  @Transactional
   public Room joinRoom(String roomId, String joiningPlayerId) {
-    try {
-      return joinRoomInTransaction(roomId, joiningPlayerId);
-    } catch (PessimisticLockingFailureException | PessimisticLockException |
-             LockTimeoutException e) {
-      throw new RoomLockedException(roomId);
-    }
+    return roomLockManager.inLockedTransaction(roomId,
+        () -> joinRoomInTransaction(roomId, joiningPlayerId));
   }
 
   @Transactional(readOnly = true)
@@ -88,9 +85,15 @@ public class RoomService {
     return domainMapper.toRoom(room, currentRound, displayNamePerPlayer);
   }
 
+  @Transactional(readOnly = true)
+  public void ensurePlayerCanInspectRoom(String roomId, String requestingPlayerId) {
+    var room = roomRepository.findWithPlayersById(roomId);
+    ensurePlayerCanInspectRoom(room, requestingPlayerId);
+  }
+
   @Transactional(readOnly = true)
   public List<Room> listRoomsForPlayer(String playerId) {
-    var rooms = roomRepository.findWithPlayersByPlayerId(playerId);
+    var rooms = roomRepository.findWithPlayersByPlayerId(UUID.fromString(playerId));
     var roomIds = rooms.stream().map(RoomEntity::getId).toList();
     var currentRoundPerRoomId = roundService.getCurrentRoundsByRoomIds(roomIds);
 
@@ -103,29 +106,27 @@ public class RoomService {
         .toList();
   }
 
-  @Transactional
-  public long deleteInactiveRooms(Instant cutoff) {
-    return roomRepository.deleteInactive(cutoff);
+  public int deleteInactiveRooms(Instant cutoff, int limit) {
+    return roomRepository.deleteInactive(cutoff, limit);
   }
 
-  @Transactional
   public void deleteRoomById(String roomId) {
-    try {
+    roomLockManager.inLockedTransaction(roomId, () -> {
       var room = roomRepository.findWithPlayersByIdForUpdate(roomId, lockProperties.acquireTimeout());
       roomRepository.delete(room);
-    } catch (PessimisticLockingFailureException | PessimisticLockException |
-             LockTimeoutException e) {
-      throw new RoomLockedException(roomId);
-    }
+      return null;
+    });
   }
 
   private Room joinRoomInTransaction(String roomId, String joiningPlayerId) {
     var room = roomRepository.findWithPlayersByIdForUpdate(roomId, lockProperties.acquireTimeout());
     validateRoom(joiningPlayerId, domainMapper.toRoom(room, null, null), MAX_PLAYERS);
 
-    addPlayerAndInitializeScore(room, joiningPlayerId);
+    var joiningId = UUID.fromString(joiningPlayerId);
+    addPlayerAndInitializeScore(room, joiningId);
     var startedRound = maybeStartRound(room);
     var savedRoom = roomRepository.save(room);
+    roomRepository.indexPlayer(savedRoom.getId(), joiningId);
     var currentRound = startedRound
         .or(() -> roundService.getCurrentRound(
             savedRoom.getId(), savedRoom.getCurrentRoundNumber()))
@@ -135,7 +136,7 @@ public class RoomService {
     return domainMapper.toRoom(savedRoom, currentRound, displayNamePerPlayer);
   }
 
-  private void addPlayerAndInitializeScore(RoomEntity room, String playerId) {
+  private void addPlayerAndInitializeScore(RoomEntity room, UUID playerId) {
     room.addPlayer(playerId);
     // don't reset score if player already in the room
     room.setPlayerScoreIfNotSet(playerId, INITIAL_SCORE);
@@ -160,7 +161,7 @@ public class RoomService {
   }
 
   private Map<String, String> getDisplayNamePerPlayer(RoomEntity room) {
-    var playerIds = room.getPlayerIds();
+    var playerIds = room.getPlayerIds().stream().map(UUID::toString).collect(toSet());
     return userProfileService.getDisplayNamePerPlayer(playerIds);
   }
 
@@ -170,9 +171,9 @@ public class RoomService {
     }
 
     var isPlayerInRoom = room.getRoomPlayers().stream()
-        .anyMatch(player -> player.getPlayerId().equals(requestingPlayerId));
+        .anyMatch(player -> player.getPlayerId().toString().equals(requestingPlayerId));
     if (!isPlayerInRoom) {
-      throw new RoomAccessDeniedException(room.getId(), requestingPlayerId);
+      throw new RoomAccessDeniedException(room.getId().toString(), requestingPlayerId);
     }
   }
 }
@@ -9,6 +9,7 @@ import static java.util.stream.Collectors.toCollection;
 import com.dariom.wds.domain.LetterResult;
 import com.dariom.wds.domain.RoundPlayerStatus;
 import com.dariom.wds.exception.InvalidGuessException;
+import com.dariom.wds.jfr.GuessEvaluationEvent;
 import com.dariom.wds.persistence.entity.GuessEntity;
 import com.dariom.wds.persistence.entity.LetterResultEmbeddable;
 import com.dariom.wds.persistence.entity.RoomEntity;
@@ -21,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -34,7 +36,7 @@ class GuessSubmissionService {
 
   public Optional<RoundPlayerStatus> applyGuess(
       String roomId,
-      String playerId,
+      UUID playerId,
       String rawGuess,
       RoomEntity room,
       RoundEntity round) {
@@ -46,9 +48,18 @@ class GuessSubmissionService {
       throw new InvalidGuessException(NO_ATTEMPTS_LEFT, "No attempts left for this round");
     }
 
-    guessValidator.validateGuess(guess, round.getTargetWord(), room.getLanguage());
-
-    var letterResults = evaluator.evaluate(round.getTargetWord(), guess);
+    var language = String.valueOf(room.getLanguage());
+    var evaluationEvent = new GuessEvaluationEvent();
+    evaluationEvent.begin();
+    List<LetterResult> letterResults;
+    try {
+      guessValidator.validateGuess(guess, round.getTargetWord(), room.getLanguage());
+      letterResults = evaluator.evaluate(round.getTargetWord(), guess);
+    } catch (RuntimeException e) {
+      evaluationEvent.emit(roomId, language, attemptNumber, false);
+      throw e;
+    }
+    evaluationEvent.emit(roomId, language, attemptNumber, true);
 
     var guessEntity = createGuessEntity(round, playerId, guess, attemptNumber, letterResults);
     round.addGuess(guessEntity);
@@ -62,7 +73,7 @@ class GuessSubmissionService {
 
   private GuessEntity createGuessEntity(
       RoundEntity round,
-      String playerId,
+      UUID playerId,
       String guess,
       int attemptNumber,
       List<LetterResult> letterResults) {
@@ -83,7 +94,7 @@ class GuessSubmissionService {
 
   private Optional<RoundPlayerStatus> updatePlayerStatusAfterGuess(
       RoundEntity round,
-      String playerId,
+      UUID playerId,
       String guess,
       int attemptNumber) {
     if (guess.equals(round.getTargetWord())) {
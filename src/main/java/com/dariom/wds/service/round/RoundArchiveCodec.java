@@ -0,0 +1,42 @@
+package com.dariom.wds.service.round;
+
+import com.dariom.wds.domain.Round;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes archived rounds as gzipped JSON. Uses its own mapper rather than the web one, so a change
+ * to the API serialization settings can't make already archived payloads unreadable.
+ */
+@Component
+@RegisterReflectionForBinding(Round.class)
+public class RoundArchiveCodec {
+
+  private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+  public byte[] encode(Round round) {
+    var bytes = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(bytes)) {
+      objectMapper.writeValue(gzip, round);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to encode round " + round.roundNumber(), e);
+    }
+    return bytes.toByteArray();
+  }
+
+  public Round decode(byte[] payload) {
+    try (var gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+      return objectMapper.readValue(gzip, Round.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to decode archived round", e);
+    }
+  }
+}
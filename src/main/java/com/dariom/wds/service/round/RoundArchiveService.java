@@ -0,0 +1,91 @@
+package com.dariom.wds.service.round;
+
+import static com.dariom.wds.domain.RoundStatus.ENDED;
+
+import com.dariom.wds.persistence.entity.RoundArchiveEntity;
+import com.dariom.wds.persistence.entity.RoundArchiveIdEmbeddable;
+import com.dariom.wds.persistence.entity.RoundEntity;
+import com.dariom.wds.persistence.repository.jpa.RoundArchiveJpaRepository;
+import com.dariom.wds.persistence.repository.jpa.RoundJpaRepository;
+import com.dariom.wds.service.DomainMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Moves finished rounds from the normalized round tables into {@code round_archive}, one
+ * compressed row per round.
+ */
+@Service
+public class RoundArchiveService {
+
+  private final RoundJpaRepository roundJpaRepository;
+  private final RoundArchiveJpaRepository roundArchiveJpaRepository;
+  private final DomainMapper domainMapper;
+  private final RoundArchiveCodec roundArchiveCodec;
+  private final Clock clock;
+
+  private final Counter archived;
+  private final DistributionSummary payloadSizes;
+
+  public RoundArchiveService(
+      RoundJpaRepository roundJpaRepository,
+      RoundArchiveJpaRepository roundArchiveJpaRepository,
+      DomainMapper domainMapper,
+      RoundArchiveCodec roundArchiveCodec,
+      Clock clock,
+      MeterRegistry meterRegistry) {
+    this.roundJpaRepository = roundJpaRepository;
+    this.roundArchiveJpaRepository = roundArchiveJpaRepository;
+    this.domainMapper = domainMapper;
+    this.roundArchiveCodec = roundArchiveCodec;
+    this.clock = clock;
+
+    this.archived = Counter.builder("rounds.archived")
+        .description("Finished rounds moved to the round archive")
+        .register(meterRegistry);
+    this.payloadSizes = DistributionSummary.builder("rounds.archive.payload.size")
+        .description("Compressed size of archived rounds")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Archives at most {@code limit} finished rounds that are more than {@code keepRounds} rounds
+   * behind their room's current round or finished before {@code finishedBefore}. The current
+   * round is never archived. Rows are written and the originals deleted in the same transaction.
+   */
+  @Transactional
+  public int archiveRounds(int keepRounds, Instant finishedBefore, int limit) {
+    var ids = roundJpaRepository.findArchivableIds(ENDED, keepRounds, finishedBefore,
+        Limit.of(limit));
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    var now = Instant.now(clock);
+    var archives = roundJpaRepository.findWithDetailsByIdIn(ids).stream()
+        .map(round -> toArchive(round, now))
+        .toList();
+    roundArchiveJpaRepository.saveAll(archives);
+    roundJpaRepository.deleteByIdInAndRoundStatus(ids, ENDED);
+
+    archived.increment(archives.size());
+    archives.forEach(archive -> payloadSizes.record(archive.getPayload().length));
+    return archives.size();
+  }
+
+  private RoundArchiveEntity toArchive(RoundEntity round, Instant archivedAt) {
+    return new RoundArchiveEntity(
+        new RoundArchiveIdEmbeddable(round.getRoom().getId(), round.getRoundNumber()),
+        round.getStartedAt(),
+        round.getFinishedAt(),
+        archivedAt,
+        roundArchiveCodec.encode(domainMapper.toRound(round)));
+  }
+}
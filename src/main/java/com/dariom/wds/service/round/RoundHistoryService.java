@@ -0,0 +1,94 @@
+package com.dariom.wds.service.round;
+
+import static com.dariom.wds.domain.RoundStatus.ENDED;
+import static java.util.Comparator.comparingInt;
+
+import com.dariom.wds.domain.Round;
+import com.dariom.wds.persistence.entity.RoundEntity;
+import com.dariom.wds.persistence.repository.jpa.RoundArchiveJpaRepository;
+import com.dariom.wds.persistence.repository.jpa.RoundJpaRepository;
+import com.dariom.wds.persistence.shard.ShardRouter;
+import com.dariom.wds.service.DomainMapper;
+import jakarta.persistence.EntityManager;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads the finished rounds of a room page by page, newest first, across the round tables and the
+ * round archive.
+ *
+ * <p>Rounds are handed to the caller one at a time instead of being collected: rounds still in the
+ * round tables are loaded in small chunks that are detached once consumed, and archived rounds are
+ * streamed with a fetch size, so memory does not grow with the size of the page or the room.
+ */
+@Service
+@RequiredArgsConstructor
+public class RoundHistoryService {
+
+  private static final int DETAIL_CHUNK_SIZE = 25;
+
+  private final RoundJpaRepository roundJpaRepository;
+  private final RoundArchiveJpaRepository roundArchiveJpaRepository;
+  private final RoundArchiveCodec roundArchiveCodec;
+  private final DomainMapper domainMapper;
+  private final EntityManager entityManager;
+  private final ShardRouter shardRouter;
+
+  /**
+   * Passes at most {@code limit} finished rounds numbered below {@code before} (all rounds when
+   * null) to {@code action}, newest first, and returns the cursor for the next page, or null when
+   * there are no more rounds.
+   */
+  @Transactional(readOnly = true)
+  public Integer forEachFinishedRound(String roomId, Integer before, int limit,
+      Consumer<Round> action) {
+    var id = UUID.fromString(roomId);
+    shardRouter.pin(id);
+    var page = new Page(before != null ? before : Integer.MAX_VALUE, limit);
+
+    // archiving always takes the oldest rounds of a room, so the rounds still in the round tables
+    // come first. The archive is read below the cursor: a round archived meanwhile is either
+    // already written or missing from the chunk and picked up there, never both
+    var roundNumbers = roundJpaRepository.findRoundNumbersBefore(id, ENDED, page.cursor,
+        Limit.of(limit));
+    for (var from = 0; from < roundNumbers.size(); from += DETAIL_CHUNK_SIZE) {
+      var chunk = roundNumbers.subList(from, Math.min(from + DETAIL_CHUNK_SIZE,
+          roundNumbers.size()));
+      roundJpaRepository.findWithDetailsByRoomIdAndRoundNumberIn(id, chunk).stream()
+          .sorted(comparingInt(RoundEntity::getRoundNumber).reversed())
+          .forEach(round -> page.accept(domainMapper.toRound(round), action));
+      entityManager.clear();
+    }
+
+    if (page.remaining > 0) {
+      try (var archived = roundArchiveJpaRepository.streamPayloadsBefore(id, page.cursor,
+          Limit.of(page.remaining))) {
+        archived.forEach(
+            round -> page.accept(roundArchiveCodec.decode(round.payload()), action));
+      }
+    }
+
+    return page.remaining == 0 ? page.cursor : null;
+  }
+
+  private static final class Page {
+
+    private int cursor;
+    private int remaining;
+
+    private Page(int cursor, int remaining) {
+      this.cursor = cursor;
+      this.remaining = remaining;
+    }
+
+    private void accept(Round round, Consumer<Round> action) {
+      action.accept(round);
+      cursor = round.roundNumber();
+      remaining--;
+    }
+  }
+}
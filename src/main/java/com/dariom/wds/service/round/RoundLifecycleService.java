@@ -12,6 +12,8 @@ import com.dariom.wds.domain.RoundStatus;
 import com.dariom.wds.exception.DictionaryEmptyException;
 import com.dariom.wds.exception.InvalidGuessException;
 import com.dariom.wds.exception.RoomNotReadyException;
+import com.dariom.wds.jfr.RoundFinishedEvent;
+import com.dariom.wds.jfr.RoundStartedEvent;
 import com.dariom.wds.persistence.entity.RoomEntity;
 import com.dariom.wds.persistence.entity.RoundEntity;
 import com.dariom.wds.persistence.repository.DictionaryRepository;
@@ -22,6 +24,7 @@ import com.dariom.wds.websocket.model.RoomEventToPublish;
 import com.dariom.wds.websocket.model.RoundFinishedPayload;
 import com.dariom.wds.websocket.model.RoundStartedPayload;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.ThreadLocalRandom;
 import lombok.RequiredArgsConstructor;
@@ -60,9 +63,12 @@ class RoundLifecycleService {
   public RoundEntity startNewRoundEntity(RoomEntity room) {
     var playerCount = room.getPlayerIds().size();
     if (playerCount != 2) {
-      throw new RoomNotReadyException(room.getId(), playerCount);
+      throw new RoomNotReadyException(room.getId().toString(), playerCount);
     }
 
+    var startedEvent = new RoundStartedEvent();
+    startedEvent.begin();
+
     var language = room.getLanguage();
     var targetWord = randomTargetWord(language);
     var nextRoundNumber =
@@ -83,11 +89,12 @@ class RoundLifecycleService {
     room.addRound(round);
     room.setCurrentRoundNumber(nextRoundNumber);
 
-    publishRoomEvent(room.getId(), new RoomEvent(
+    publishRoomEvent(room.getId().toString(), new RoomEvent(
         ROUND_STARTED,
         new RoundStartedPayload(round.getRoundNumber(), round.getMaxAttempts())
     ));
 
+    startedEvent.emit(room.getId().toString(), String.valueOf(language), nextRoundNumber);
     return round;
   }
 
@@ -101,6 +108,9 @@ class RoundLifecycleService {
   }
 
   public void finishRound(RoundEntity round, RoomEntity room) {
+    var finishedEvent = new RoundFinishedEvent();
+    finishedEvent.begin();
+
     round.setRoundStatus(ENDED);
     round.setFinishedAt(Instant.now(clock));
 
@@ -112,10 +122,20 @@ class RoundLifecycleService {
       }
     }
 
-    publishRoomEvent(room.getId(), new RoomEvent(
+    publishRoomEvent(room.getId().toString(), new RoomEvent(
         EventType.ROUND_FINISHED,
         new RoundFinishedPayload(round.getRoundNumber())
     ));
+
+    finishedEvent.emit(room.getId().toString(), String.valueOf(room.getLanguage()),
+        round.getRoundNumber(), roundDurationMillis(round));
+  }
+
+  private static long roundDurationMillis(RoundEntity round) {
+    if (round.getStartedAt() == null || round.getFinishedAt() == null) {
+      return 0;
+    }
+    return Duration.between(round.getStartedAt(), round.getFinishedAt()).toMillis();
   }
 
   private String randomTargetWord(Language language) {
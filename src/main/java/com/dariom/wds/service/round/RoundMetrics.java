@@ -0,0 +1,125 @@
+package com.dariom.wds.service.round;
+
+import com.dariom.wds.config.RoundMetricsProperties;
+import com.dariom.wds.domain.Language;
+import com.dariom.wds.exception.InvalidGuessException;
+import com.dariom.wds.exception.RoomLockedException;
+import com.dariom.wds.exception.RoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the phases of guess and ready handling.
+ *
+ * <p>Every phase is recorded in the {@code round.action.phase} timer, tagged with action, phase,
+ * room language and outcome (the error code for rejected actions), plus the whole action in
+ * {@code round.action}. Room ids are never used as tags; instead, actions slower than
+ * {@code room.metrics.slow-action-threshold} are logged with their room and phase breakdown, so
+ * hot rooms can be found in the logs without unbounded metric cardinality.
+ */
+@Slf4j
+@Component
+public class RoundMetrics {
+
+  static final String OUTCOME_OK = "OK";
+  static final String OUTCOME_ERROR = "ERROR";
+  static final String UNKNOWN_LANGUAGE = "unknown";
+
+  private final MeterRegistry meterRegistry;
+  private final long slowActionThresholdNanos;
+
+  public RoundMetrics(MeterRegistry meterRegistry, RoundMetricsProperties properties) {
+    this.meterRegistry = meterRegistry;
+    this.slowActionThresholdNanos = properties.slowActionThreshold().toNanos();
+  }
+
+  RoundTiming start(String action, String roomId) {
+    return new RoundTiming(action, roomId);
+  }
+
+  /**
+   * Phase durations of one action. Each {@link #mark(String)} closes the phase that started at the
+   * previous mark; nothing is recorded until {@link #finish(Throwable)}.
+   */
+  final class RoundTiming {
+
+    private final String action;
+    private final String roomId;
+    private final long startedAt = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>(8);
+    private long lastMark = startedAt;
+    private String language = UNKNOWN_LANGUAGE;
+
+    private RoundTiming(String action, String roomId) {
+      this.action = action;
+      this.roomId = roomId;
+    }
+
+    void language(Language language) {
+      this.language = language != null ? language.name() : UNKNOWN_LANGUAGE;
+    }
+
+    void mark(String phase) {
+      var now = System.nanoTime();
+      phases.add(new Phase(phase, now - lastMark));
+      lastMark = now;
+    }
+
+    void finish(Throwable error) {
+      var total = System.nanoTime() - startedAt;
+      var outcome = outcomeOf(error);
+
+      for (var phase : phases) {
+        timer("round.action.phase", outcome).tag("phase", phase.name())
+            .register(meterRegistry)
+            .record(phase.nanos(), TimeUnit.NANOSECONDS);
+      }
+      timer("round.action", outcome)
+          .register(meterRegistry)
+          .record(total, TimeUnit.NANOSECONDS);
+
+      if (total > slowActionThresholdNanos) {
+        log.warn("Slow {} in room <{}>: {} ms, outcome={}, phases={}", action, roomId,
+            TimeUnit.NANOSECONDS.toMillis(total), outcome, breakdown());
+      }
+    }
+
+    private Timer.Builder timer(String name, String outcome) {
+      return Timer.builder(name)
+          .tag("action", action)
+          .tag("language", language)
+          .tag("outcome", outcome)
+          .publishPercentiles(0.5, 0.95, 0.99);
+    }
+
+    private String breakdown() {
+      var breakdown = new StringBuilder();
+      for (var phase : phases) {
+        breakdown.append(phase.name()).append('=')
+            .append(TimeUnit.NANOSECONDS.toMillis(phase.nanos())).append("ms ");
+      }
+      return breakdown.toString().trim();
+    }
+  }
+
+  private static String outcomeOf(Throwable error) {
+    return switch (error) {
+      case null -> OUTCOME_OK;
+      case RoundException e -> e.getCode().name();
+      case InvalidGuessException e -> e.getCode().name();
+      case RoomLockedException e -> "ROOM_BUSY";
+      default -> error.getClass().getPackageName().startsWith("com.dariom.wds.exception")
+          ? error.getClass().getSimpleName()
+          : OUTCOME_ERROR;
+    };
+  }
+
+  private record Phase(String name, long nanos) {
+
+  }
+}
@@ -7,32 +7,35 @@ import static com.dariom.wds.domain.RoundStatus.ENDED;
 import static com.dariom.wds.domain.RoundStatus.PLAYING;
 import static com.dariom.wds.service.round.validation.RoomAccessValidator.validateRoomStatus;
 import static com.dariom.wds.websocket.model.EventType.PLAYER_STATUS_UPDATED;
+import static java.util.stream.Collectors.toSet;
 
 import com.dariom.wds.config.lock.RoomLockProperties;
 import com.dariom.wds.domain.Room;
 import com.dariom.wds.domain.Round;
 import com.dariom.wds.domain.RoundPlayerStatus;
-import com.dariom.wds.exception.RoomLockedException;
 import com.dariom.wds.exception.RoundException;
 import com.dariom.wds.persistence.entity.RoomEntity;
+import com.dariom.wds.persistence.entity.RoundEntity;
 import com.dariom.wds.persistence.repository.RoomRepository;
 import com.dariom.wds.persistence.repository.jpa.RoundJpaRepository;
+import com.dariom.wds.persistence.shard.ShardRouter;
 import com.dariom.wds.service.DomainMapper;
+import com.dariom.wds.service.lock.RoomLockManager;
+import com.dariom.wds.service.round.RoundMetrics.RoundTiming;
 import com.dariom.wds.service.user.UserProfileService;
 import com.dariom.wds.websocket.model.PlayerStatusUpdatedPayload;
 import com.dariom.wds.websocket.model.RoomEvent;
 import com.dariom.wds.websocket.model.RoomEventToPublish;
-import jakarta.persistence.LockTimeoutException;
-import jakarta.persistence.PessimisticLockException;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,77 +43,111 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class RoundService {
 
+  private static final String GUESS_ACTION = "guess";
+  private static final String READY_ACTION = "ready";
+
   private final RoomLockProperties lockProperties;
+  private final RoomLockManager roomLockManager;
   private final RoomRepository roomRepository;
   private final RoundJpaRepository roundJpaRepository;
+  private final ShardRouter shardRouter;
   private final DomainMapper domainMapper;
   private final RoundLifecycleService roundLifecycleService;
   private final GuessSubmissionService guessSubmissionService;
   private final ApplicationEventPublisher eventPublisher;
   private final UserProfileService userProfileService;
+  private final RoundMetrics roundMetrics;
   private final Clock clock;
 
   @Transactional(readOnly = true)
-  public Optional<Round> getCurrentRound(String roomId, Integer currentRoundNumber) {
+  public Optional<Round> getCurrentRound(UUID roomId, Integer currentRoundNumber) {
     if (currentRoundNumber == null) {
       return Optional.empty();
     }
 
+    shardRouter.pin(roomId);
     return roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(roomId, currentRoundNumber)
         .map(domainMapper::toRound);
   }
 
   @Transactional(readOnly = true)
-  public Map<String, Round> getCurrentRoundsByRoomIds(List<String> roomIds) {
+  public Map<UUID, Round> getCurrentRoundsByRoomIds(List<UUID> roomIds) {
     if (roomIds.isEmpty()) {
       return Map.of();
     }
 
-    var roundPerRoomId = new HashMap<String, Round>();
-    var currentRounds = roundJpaRepository.findCurrentRoundsWithDetailsByRoomIds(roomIds);
+    if (!shardRouter.isSharded()) {
+      return toRoundPerRoomId(roundJpaRepository.findCurrentRoundsWithDetailsByRoomIds(roomIds));
+    }
+
+    // rooms of several shards: one read transaction per shard
+    var roundPerRoomId = new HashMap<UUID, Round>();
+    shardRouter.groupByShard(roomIds).forEach((shard, shardRoomIds) ->
+        roundPerRoomId.putAll(shardRouter.onShard(shard, () -> toRoundPerRoomId(
+            roundJpaRepository.findCurrentRoundsWithDetailsByRoomIds(shardRoomIds)))));
+    return roundPerRoomId;
+  }
+
+  private Map<UUID, Round> toRoundPerRoomId(List<RoundEntity> currentRounds) {
+    var roundPerRoomId = new HashMap<UUID, Round>();
     for (var roundEntity : currentRounds) {
       roundPerRoomId.put(roundEntity.getRoom().getId(), domainMapper.toRound(roundEntity));
     }
-
     return roundPerRoomId;
   }
 
   @Transactional
-  public Round startNewRound(String roomId) {
+  public Round startNewRound(UUID roomId) {
     var room = roomRepository.findWithPlayersById(roomId);
     var round = roundLifecycleService.startNewRoundEntity(room);
     roomRepository.save(room);
     return domainMapper.toRound(round);
   }
 
-  @Transactional
   public Room handleGuess(String roomId, String playerId, String guess) {
-    try {
-      return handleGuessInTransaction(roomId, playerId, guess);
-    } catch (PessimisticLockingFailureException | PessimisticLockException |
-             LockTimeoutException e) {
-      throw new RoomLockedException(roomId);
-    }
+    return inLockedRoomTransaction(roomId, GUESS_ACTION,
+        timing -> handleGuessInTransaction(roomId, UUID.fromString(playerId), guess, timing));
   }
 
-  @Transactional
   public Room handleReady(String roomId, String playerId, Integer roundNumber) {
+    return inLockedRoomTransaction(roomId, READY_ACTION,
+        timing -> handleReadyInTransaction(roomId, UUID.fromString(playerId), roundNumber,
+            timing));
+  }
+
+  private Room inLockedRoomTransaction(String roomId, String action,
+      Function<RoundTiming, Room> work) {
+    var timing = roundMetrics.start(action, roomId);
     try {
-      return handleReadyInTransaction(roomId, playerId, roundNumber);
-    } catch (PessimisticLockingFailureException | PessimisticLockException |
-             LockTimeoutException e) {
-      throw new RoomLockedException(roomId);
+      var room = roomLockManager.inLockedTransaction(roomId, () -> {
+        timing.mark("lock");
+        return work.apply(timing);
+      });
+      timing.mark("commit");
+      timing.finish(null);
+      return room;
+    } catch (RuntimeException e) {
+      timing.finish(e);
+      throw e;
     }
   }
 
-  private Room handleGuessInTransaction(String roomId, String playerId, String guess) {
+  private Room handleGuessInTransaction(String roomId, UUID playerId, String guess,
+      RoundTiming timing) {
     var roomEntity = roomRepository.findWithPlayersByIdForUpdate(roomId,
         lockProperties.acquireTimeout());
+    timing.language(roomEntity.getLanguage());
+    timing.mark("load-room");
+
     validateRoomStatus(playerId, roomId, roomEntity.getStatus(), roomEntity.getPlayerIds());
+    timing.mark("validation");
 
     var roundEntity = roundLifecycleService.ensureActiveRound(roomEntity);
+    timing.mark("load-round");
+
     var statusUpdate =
         guessSubmissionService.applyGuess(roomId, playerId, guess, roomEntity, roundEntity);
+    timing.mark("evaluation");
 
     var shouldFinishRound = roundEntity.getRoundStatus() == PLAYING
         && roundLifecycleService.isRoundFinished(roomEntity, roundEntity);
@@ -120,17 +157,28 @@ public class RoundService {
     } else {
       statusUpdate.ifPresent(status -> publishPlayerStatusUpdated(roomId, status));
     }
+    timing.mark("round-update");
 
     roomEntity.setLastUpdatedAt(Instant.now(clock));
     var saved = roomRepository.save(roomEntity);
+    timing.mark("save");
+
     var displayNamePerPlayer = getDisplayNamePerPlayer(saved);
+    timing.mark("display-names");
 
-    return domainMapper.toRoom(roomEntity, domainMapper.toRound(roundEntity), displayNamePerPlayer);
+    var room = domainMapper.toRoom(roomEntity, domainMapper.toRound(roundEntity),
+        displayNamePerPlayer);
+    timing.mark("mapping");
+    return room;
   }
 
-  private Room handleReadyInTransaction(String roomId, String playerId, Integer roundNumber) {
+  private Room handleReadyInTransaction(String roomId, UUID playerId, Integer roundNumber,
+      RoundTiming timing) {
     var roomEntity = roomRepository.findWithPlayersByIdForUpdate(roomId,
         lockProperties.acquireTimeout());
+    timing.language(roomEntity.getLanguage());
+    timing.mark("load-room");
+
     validateRoomStatus(playerId, roomId, roomEntity.getStatus(), roomEntity.getPlayerIds());
 
     var currentRoundNumber = roomEntity.getCurrentRoundNumber();
@@ -139,15 +187,17 @@ public class RoundService {
           ROUND_NOT_CURRENT, "Round <%s> is not the current round".formatted(roundNumber)
       );
     }
+    timing.mark("validation");
 
     var roundEntity = roundJpaRepository
-        .findWithDetailsByRoomIdAndRoundNumber(roomId, currentRoundNumber)
+        .findWithDetailsByRoomIdAndRoundNumber(roomEntity.getId(), currentRoundNumber)
         .orElseThrow(() -> new RoundException(
             ROUND_NOT_CURRENT, "Round <%s> is not the current round".formatted(roundNumber)));
 
     if (roundEntity.getRoundStatus() != ENDED) {
       throw new RoundException(ROUND_NOT_ENDED, "Round is not ended");
     }
+    timing.mark("load-round");
 
     if (roundEntity.getPlayerStatus(playerId) != READY) {
       roundEntity.setPlayerStatus(playerId, READY);
@@ -162,13 +212,19 @@ public class RoundService {
     } else {
       publishPlayerStatusUpdated(roomId, READY);
     }
+    timing.mark("round-update");
 
     roomEntity.setLastUpdatedAt(Instant.now(clock));
     var saved = roomRepository.save(roomEntity);
+    timing.mark("save");
+
     var displayNamePerPlayer = getDisplayNamePerPlayer(saved);
+    timing.mark("display-names");
 
-    return domainMapper.toRoom(roomEntity, domainMapper.toRound(currentRoundEntity),
+    var room = domainMapper.toRoom(roomEntity, domainMapper.toRound(currentRoundEntity),
         displayNamePerPlayer);
+    timing.mark("mapping");
+    return room;
   }
 
   private void publishPlayerStatusUpdated(String roomId, RoundPlayerStatus playerStatus) {
@@ -177,7 +233,7 @@ public class RoundService {
   }
 
   private Map<String, String> getDisplayNamePerPlayer(RoomEntity room) {
-    var playerIds = room.getPlayerIds();
+    var playerIds = room.getPlayerIds().stream().map(UUID::toString).collect(toSet());
     return userProfileService.getDisplayNamePerPlayer(playerIds);
   }
 }
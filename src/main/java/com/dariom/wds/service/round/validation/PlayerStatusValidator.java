@@ -6,6 +6,7 @@ import static com.dariom.wds.domain.RoundPlayerStatus.PLAYING;
 import com.dariom.wds.domain.RoundPlayerStatus;
 import com.dariom.wds.exception.InvalidGuessException;
 import com.dariom.wds.exception.PlayerNotInRoomException;
+import java.util.UUID;
 
 public class PlayerStatusValidator {
 
@@ -14,10 +15,10 @@ public class PlayerStatusValidator {
 
   public static void validatePlayerStatus(
       String roomId,
-      String playerId,
+      UUID playerId,
       RoundPlayerStatus playerStatus) {
     if (playerStatus == null) {
-      throw new PlayerNotInRoomException(playerId, roomId);
+      throw new PlayerNotInRoomException(playerId.toString(), roomId);
     }
 
     if (playerStatus != PLAYING) {
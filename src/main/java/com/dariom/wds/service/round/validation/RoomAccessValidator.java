@@ -6,20 +6,21 @@ import com.dariom.wds.domain.RoomStatus;
 import com.dariom.wds.exception.PlayerNotInRoomException;
 import com.dariom.wds.exception.RoomNotReadyException;
 import java.util.Set;
+import java.util.UUID;
 
 public class RoomAccessValidator {
 
   private RoomAccessValidator() {
   }
 
-  public static void validateRoomStatus(String playerId, String roomId, RoomStatus status,
-      Set<String> roomPlayerIds) {
+  public static void validateRoomStatus(UUID playerId, String roomId, RoomStatus status,
+      Set<UUID> roomPlayerIds) {
     if (status != IN_PROGRESS) {
       throw new RoomNotReadyException(roomId, status, IN_PROGRESS);
     }
 
     if (!roomPlayerIds.contains(playerId)) {
-      throw new PlayerNotInRoomException(playerId, roomId);
+      throw new PlayerNotInRoomException(playerId.toString(), roomId);
     }
   }
 }
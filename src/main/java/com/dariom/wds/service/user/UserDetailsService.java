@@ -5,6 +5,7 @@ import static com.dariom.wds.util.UserUtils.ANONYMOUS;
 
 import com.dariom.wds.persistence.entity.AppUserEntity;
 import com.dariom.wds.persistence.repository.UserRepository;
+import com.dariom.wds.persistence.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -14,11 +15,13 @@ import org.springframework.stereotype.Service;
 public class UserDetailsService {
 
   private final UserRepository userRepository;
+  private final ShardRouter shardRouter;
 
-  @Cacheable(cacheNames = DISPLAY_NAME_CACHE, key = "#appUserId")
+  // users live on the home shard; room transactions on other shards look them up there
+  @Cacheable(cacheNames = DISPLAY_NAME_CACHE, key = "#appUserId", sync = true)
   public String getUserDisplayName(String appUserId) {
-    return userRepository.findById(appUserId)
+    return shardRouter.onHomeShard(() -> userRepository.findById(appUserId)
         .map(AppUserEntity::getDisplayName)
-        .orElse(ANONYMOUS);
+        .orElse(ANONYMOUS));
   }
 }
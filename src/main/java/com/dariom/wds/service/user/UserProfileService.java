@@ -28,7 +28,7 @@ public class UserProfileService {
   private final DomainMapper domainMapper;
   private final UserDetailsService userDetailsService;
 
-  @Cacheable(cacheNames = USER_PROFILE_CACHE, key = "#appUserId")
+  @Cacheable(cacheNames = USER_PROFILE_CACHE, key = "#appUserId", sync = true)
   public UserProfile getUserProfile(String appUserId) {
     var user = userRepository.findById(appUserId)
         .orElseThrow(() -> new UserNotFoundException(appUserId));
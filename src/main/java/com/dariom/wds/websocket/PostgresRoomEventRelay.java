@@ -0,0 +1,169 @@
+package com.dariom.wds.websocket;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.dariom.wds.config.ws.RoomEventRelayProperties;
+import com.dariom.wds.websocket.model.RoomEventToPublish;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Relays room events through Postgres {@code LISTEN/NOTIFY}.
+ *
+ * <p>Events are sent with {@code pg_notify} on the caller's connection, so when published from a
+ * transaction (as the outbox relay does) they are delivered only if it commits. Each instance
+ * keeps one dedicated connection, outside the pool, that {@code LISTEN}s on the channel; a
+ * background thread waits on it for notifications and hands them to the
+ * {@link RoomEventDispatcher}. Notifications sent while the listener is reconnecting are lost, as
+ * with Redis Pub/Sub; the payload limit is 8000 bytes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.websocket.relay.type", havingValue = "postgres")
+public class PostgresRoomEventRelay implements RoomEventRelay, SmartLifecycle {
+
+  public static final String ROOM_EVENTS_CHANNEL = "room_events";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DataSourceProperties dataSourceProperties;
+  private final RoomEventDispatcher roomEventDispatcher;
+  private final ObjectMapper objectMapper;
+  private final Duration notificationTimeout;
+  private final Duration reconnectDelay;
+
+  private volatile boolean running;
+  private Thread listenerThread;
+
+  public PostgresRoomEventRelay(
+      JdbcTemplate jdbcTemplate,
+      DataSourceProperties dataSourceProperties,
+      RoomEventDispatcher roomEventDispatcher,
+      @Qualifier("redisEventObjectMapper") ObjectMapper objectMapper,
+      RoomEventRelayProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.dataSourceProperties = dataSourceProperties;
+    this.roomEventDispatcher = roomEventDispatcher;
+    this.objectMapper = objectMapper;
+    this.notificationTimeout = properties.postgres().notificationTimeout();
+    this.reconnectDelay = properties.postgres().reconnectDelay();
+  }
+
+  @Override
+  public void publish(RoomEventToPublish roomEvent) {
+    try {
+      publishAll(List.of(objectMapper.writeValueAsString(roomEvent)));
+    } catch (JsonProcessingException e) {
+      log.error("Failed to serialize room event: roomId=<{}>, event={}", roomEvent.roomId(),
+          roomEvent.event(), e);
+    } catch (Exception e) {
+      log.error("Failed to notify room event: roomId=<{}>, event={}", roomEvent.roomId(),
+          roomEvent.event(), e);
+    }
+  }
+
+  /**
+   * Sends every event with a single {@code pg_notify} statement over an array of payloads.
+   */
+  @Override
+  public void publishAll(List<String> payloads) {
+    if (payloads.isEmpty()) {
+      return;
+    }
+
+    jdbcTemplate.query("select pg_notify(?, payload) from unnest(?) as t(payload)",
+        statement -> {
+          statement.setString(1, ROOM_EVENTS_CHANNEL);
+          statement.setArray(2,
+              statement.getConnection().createArrayOf("text", payloads.toArray()));
+        },
+        resultSet -> {
+        });
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    listenerThread = Thread.ofPlatform()
+        .name("room-event-relay-listener")
+        .daemon()
+        .start(this::listen);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (listenerThread != null) {
+      listenerThread.interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void listen() {
+    while (running) {
+      try (var connection = openListenerConnection()) {
+        log.info("Listening for room events on Postgres channel <{}>", ROOM_EVENTS_CHANNEL);
+        receive(connection.unwrap(PGConnection.class));
+      } catch (SQLException e) {
+        if (!running) {
+          return;
+        }
+        log.warn("Room event listener connection failed, reconnecting in {}", reconnectDelay, e);
+        pause();
+      }
+    }
+  }
+
+  private void receive(PGConnection connection) throws SQLException {
+    var timeoutMillis = (int) notificationTimeout.toMillis();
+    while (running) {
+      var notifications = connection.getNotifications(timeoutMillis);
+      if (notifications == null) {
+        continue;
+      }
+
+      for (var notification : notifications) {
+        roomEventDispatcher.dispatch(notification.getParameter().getBytes(UTF_8));
+      }
+    }
+  }
+
+  private Connection openListenerConnection() throws SQLException {
+    var connection = DriverManager.getConnection(
+        dataSourceProperties.determineUrl(),
+        dataSourceProperties.determineUsername(),
+        dataSourceProperties.determinePassword());
+    try (var statement = connection.createStatement()) {
+      statement.execute("LISTEN " + ROOM_EVENTS_CHANNEL);
+    } catch (SQLException e) {
+      connection.close();
+      throw e;
+    }
+    return connection;
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(reconnectDelay);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+}
@@ -1,29 +1,37 @@
 package com.dariom.wds.websocket;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import com.dariom.wds.websocket.model.RoomEventToPublish;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
-public class RedisRoomEventPublisher {
+@ConditionalOnProperty(name = "app.websocket.relay.type", havingValue = "redis",
+    matchIfMissing = true)
+public class RedisRoomEventRelay implements RoomEventRelay {
 
   public static final String ROOM_EVENTS = "room-events";
 
   private final StringRedisTemplate redisTemplate;
   private final ObjectMapper objectMapper;
 
-  public RedisRoomEventPublisher(
+  public RedisRoomEventRelay(
       StringRedisTemplate redisTemplate,
       @Qualifier("redisEventObjectMapper") ObjectMapper objectMapper) {
     this.redisTemplate = redisTemplate;
     this.objectMapper = objectMapper;
   }
 
+  @Override
   public void publish(RoomEventToPublish roomEvent) {
     try {
       var json = objectMapper.writeValueAsString(roomEvent);
@@ -36,4 +44,22 @@ public class RedisRoomEventPublisher {
           roomEvent.event(), e);
     }
   }
+
+  /**
+   * Pipelines one {@code PUBLISH} per event.
+   */
+  @Override
+  public void publishAll(List<String> payloads) {
+    if (payloads.isEmpty()) {
+      return;
+    }
+
+    var channel = ROOM_EVENTS.getBytes(UTF_8);
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (var payload : payloads) {
+        connection.publish(channel, payload.getBytes(UTF_8));
+      }
+      return null;
+    });
+  }
 }
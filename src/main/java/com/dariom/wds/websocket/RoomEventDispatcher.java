@@ -0,0 +1,57 @@
+package com.dariom.wds.websocket;
+
+import static com.dariom.wds.websocket.presence.RoomSessionRegistry.ROOM_TOPIC_PREFIX;
+
+import com.dariom.wds.jfr.RoomEventReceiveEvent;
+import com.dariom.wds.websocket.model.RoomEventToPublish;
+import com.dariom.wds.websocket.presence.RoomSessionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forwards room events received from the {@link RoomEventRelay} to the STOMP clients connected to
+ * this instance.
+ */
+@Slf4j
+@Component
+public class RoomEventDispatcher {
+
+  private final ObjectMapper objectMapper;
+  private final SimpMessagingTemplate messagingTemplate;
+  private final RoomSessionRegistry sessionRegistry;
+
+  public RoomEventDispatcher(
+      @Qualifier("redisEventObjectMapper") ObjectMapper objectMapper,
+      SimpMessagingTemplate messagingTemplate,
+      RoomSessionRegistry sessionRegistry) {
+    this.objectMapper = objectMapper;
+    this.messagingTemplate = messagingTemplate;
+    this.sessionRegistry = sessionRegistry;
+  }
+
+  public void dispatch(byte[] payload) {
+    var receiveEvent = new RoomEventReceiveEvent();
+    receiveEvent.begin();
+    try {
+      var roomEvent = objectMapper.readValue(payload, RoomEventToPublish.class);
+      var roomId = roomEvent.roomId();
+      var event = roomEvent.event();
+      var eventType = event != null ? String.valueOf(event.type()) : null;
+
+      if (!sessionRegistry.hasLocalSubscribers(roomId)) {
+        log.debug("Skipping {} for room <{}>: no local subscribers", event, roomId);
+        receiveEvent.emit(roomId, eventType, payload.length, false);
+        return;
+      }
+
+      log.info("Dispatching {} for room <{}>", event, roomId);
+      messagingTemplate.convertAndSend(ROOM_TOPIC_PREFIX + roomId, event);
+      receiveEvent.emit(roomId, eventType, payload.length, true);
+    } catch (Exception e) {
+      log.error("Failed to dispatch room event", e);
+    }
+  }
+}
@@ -1,31 +1,39 @@
 package com.dariom.wds.websocket;
 
 import static org.springframework.transaction.event.TransactionPhase.AFTER_COMMIT;
+import static org.springframework.transaction.event.TransactionPhase.BEFORE_COMMIT;
 
 import com.dariom.wds.websocket.model.RoomEventToPublish;
+import com.dariom.wds.websocket.outbox.RoomEventOutbox;
+import com.dariom.wds.websocket.outbox.RoomEventOutboxRelay;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
- * Listens for {@link RoomEventToPublish} application events and relays them to Redis Pub/Sub.
+ * Listens for {@link RoomEventToPublish} application events and records them in the outbox.
  *
- * <p>Events are sent {@code AFTER_COMMIT} to ensure clients only receive notifications for state
- * that was actually persisted in the database.
- * <p>Publishing is best-effort: failures are logged and do not affect the already-committed
- * transaction.
+ * <p>Events are written {@code BEFORE_COMMIT}, inside the transaction that produced them, so they
+ * are persisted if and only if the game state is. Once the transaction commits, the relay is woken
+ * up to publish them to Redis Pub/Sub in the background; the request thread does not wait for it.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RoomEventListener {
 
-  private final RedisRoomEventPublisher redisRoomEventPublisher;
+  private final RoomEventOutbox roomEventOutbox;
+  private final RoomEventOutboxRelay roomEventOutboxRelay;
 
-  @TransactionalEventListener(phase = AFTER_COMMIT, fallbackExecution = true)
+  @TransactionalEventListener(phase = BEFORE_COMMIT, fallbackExecution = true)
   public void on(RoomEventToPublish roomEvent) {
-    log.info("Publishing {} for room <{}>", roomEvent.event(), roomEvent.roomId());
-    redisRoomEventPublisher.publish(roomEvent);
+    log.info("Recording {} for room <{}>", roomEvent.event(), roomEvent.roomId());
+    roomEventOutbox.append(roomEvent);
+  }
+
+  @TransactionalEventListener(phase = AFTER_COMMIT, fallbackExecution = true)
+  public void afterCommit(RoomEventToPublish roomEvent) {
+    roomEventOutboxRelay.wakeUp();
   }
 }
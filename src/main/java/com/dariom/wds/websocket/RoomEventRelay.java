@@ -0,0 +1,25 @@
+package com.dariom.wds.websocket;
+
+import com.dariom.wds.websocket.model.RoomEventToPublish;
+import java.util.List;
+
+/**
+ * Broadcasts room events to every instance, where they are handed to the local
+ * {@link RoomEventDispatcher}.
+ *
+ * <p>The implementation is selected with {@code app.websocket.relay.type} ({@code redis} or
+ * {@code postgres}).
+ */
+public interface RoomEventRelay {
+
+  /**
+   * Best-effort publish of a single event: failures are logged, not propagated.
+   */
+  void publish(RoomEventToPublish roomEvent);
+
+  /**
+   * Publishes already serialized events in one round trip. Failures are propagated so the caller
+   * can retry.
+   */
+  void publishAll(List<String> payloads);
+}
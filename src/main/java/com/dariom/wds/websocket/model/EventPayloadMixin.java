@@ -10,6 +10,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 @JsonSubTypes({
     @Type(value = PlayerJoinedPayload.class, name = "PLAYER_JOINED"),
     @Type(value = PlayerReadyPayload.class, name = "PLAYER_READY"),
+    @Type(value = PlayerPresencePayload.class, name = "PLAYER_PRESENCE"),
     @Type(value = PlayerStatusUpdatedPayload.class, name = "PLAYER_STATUS_UPDATED"),
     @Type(value = RoundStartedPayload.class, name = "ROUND_STARTED"),
     @Type(value = RoundFinishedPayload.class, name = "ROUND_FINISHED"),
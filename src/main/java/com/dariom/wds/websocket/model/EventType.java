@@ -6,4 +6,5 @@ public enum EventType {
   ROOM_CREATED,
   SCORES_UPDATED,
   PLAYER_STATUS_UPDATED,
+  PLAYER_PRESENCE,
 }
@@ -0,0 +1,11 @@
+package com.dariom.wds.websocket.model;
+
+import java.util.List;
+
+public record PlayerPresencePayload(
+    String playerId,
+    boolean online,
+    List<String> onlinePlayerIds
+) implements EventPayload {
+
+}
@@ -0,0 +1,62 @@
+package com.dariom.wds.websocket.outbox;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.dariom.wds.persistence.entity.RoomEventOutboxEntity;
+import com.dariom.wds.persistence.repository.jpa.RoomEventOutboxJpaRepository;
+import com.dariom.wds.websocket.model.RoomEventToPublish;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores room events in the outbox table, in the transaction of the caller.
+ *
+ * <p>Events are serialized with the Redis event mapper so the relay can publish the stored JSON
+ * as-is. Payloads of {@value #MAX_PAYLOAD_BYTES} bytes or more are not stored: {@code pg_notify}
+ * rejects them, and a row the relay can't publish would hold up every event behind it.
+ */
+@Slf4j
+@Component
+public class RoomEventOutbox {
+
+  static final int MAX_PAYLOAD_BYTES = 8000;
+
+  private final RoomEventOutboxJpaRepository outboxJpaRepository;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+
+  public RoomEventOutbox(
+      RoomEventOutboxJpaRepository outboxJpaRepository,
+      @Qualifier("redisEventObjectMapper") ObjectMapper objectMapper,
+      Clock clock) {
+    this.outboxJpaRepository = outboxJpaRepository;
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+  }
+
+  public void append(RoomEventToPublish roomEvent) {
+    String payload;
+    try {
+      payload = objectMapper.writeValueAsString(roomEvent);
+    } catch (JsonProcessingException e) {
+      log.error("Failed to serialize room event: roomId=<{}>, event={}", roomEvent.roomId(),
+          roomEvent.event(), e);
+      return;
+    }
+
+    var payloadBytes = payload.getBytes(UTF_8).length;
+    if (payloadBytes >= MAX_PAYLOAD_BYTES) {
+      log.error("Room event payload too large to relay: roomId=<{}>, event={}, bytes={}",
+          roomEvent.roomId(), roomEvent.event().type(), payloadBytes);
+      return;
+    }
+
+    outboxJpaRepository.save(
+        new RoomEventOutboxEntity(roomEvent.roomId(), payload, Instant.now(clock)));
+  }
+}
@@ -0,0 +1,281 @@
+package com.dariom.wds.websocket.outbox;
+
+import com.dariom.wds.config.ws.RoomEventOutboxProperties;
+import com.dariom.wds.jfr.RoomEventPublishEvent;
+import com.dariom.wds.persistence.entity.RoomEventOutboxEntity;
+import com.dariom.wds.persistence.repository.jpa.RoomEventOutboxJpaRepository;
+import com.dariom.wds.persistence.shard.ShardRouter;
+import com.dariom.wds.websocket.RoomEventRelay;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the room event outbox to the configured {@link RoomEventRelay}.
+ *
+ * <p>Draining runs on a single background thread, triggered after every commit that wrote events
+ * and by a periodic poll that picks up anything left behind (e.g. after a relay outage or a
+ * restart). Each batch is claimed, published in one round trip and deleted in the same
+ * transaction, so a failed publish leaves the rows for the next attempt (at-least-once delivery).
+ * A batch that fails is retried one event at a time. An event the relay rejects outright (e.g. a
+ * payload that is too large) is dead-lettered at once; an event that keeps failing while others go
+ * through is dead-lettered after {@code max-attempts} tries. Dead-lettered events stay in the table
+ * for inspection but are no longer claimed, so one bad event can't hold up the whole outbox.
+ * With sharding, events are recorded on the shard of their room and every shard is drained in
+ * turn; a shard that fails is retried on the next drain without holding up the others.
+ */
+@Slf4j
+@Component
+public class RoomEventOutboxRelay {
+
+  private final RoomEventOutboxJpaRepository outboxJpaRepository;
+  private final RoomEventRelay roomEventRelay;
+  private final ShardRouter shardRouter;
+  private final TransactionTemplate transactionTemplate;
+  private final Clock clock;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final String relayName;
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(
+      Thread.ofPlatform().name("room-event-outbox-relay").daemon().factory());
+  private final AtomicBoolean drainRequested = new AtomicBoolean();
+  private final AtomicLong backlog = new AtomicLong();
+
+  private final Timer deliveryLag;
+  private final DistributionSummary batchSizes;
+  private final Counter published;
+  private final Counter failures;
+  private final Counter deadLettered;
+
+  public RoomEventOutboxRelay(
+      RoomEventOutboxJpaRepository outboxJpaRepository,
+      RoomEventRelay roomEventRelay,
+      ShardRouter shardRouter,
+      PlatformTransactionManager transactionManager,
+      Clock clock,
+      RoomEventOutboxProperties properties,
+      MeterRegistry meterRegistry) {
+    this.outboxJpaRepository = outboxJpaRepository;
+    this.roomEventRelay = roomEventRelay;
+    this.shardRouter = shardRouter;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.clock = clock;
+    this.batchSize = properties.batchSize();
+    this.maxAttempts = properties.maxAttempts();
+    this.relayName = roomEventRelay.getClass().getSimpleName();
+
+    this.deliveryLag = Timer.builder("room.events.outbox.lag")
+        .description("Time from recording a room event until it is published to the relay")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.batchSizes = DistributionSummary.builder("room.events.outbox.batch.size")
+        .description("Room events published per pipelined batch")
+        .register(meterRegistry);
+    this.published = Counter.builder("room.events.outbox.published")
+        .description("Room events published from the outbox")
+        .register(meterRegistry);
+    this.failures = Counter.builder("room.events.outbox.failures")
+        .description("Outbox batches that failed and will be retried")
+        .register(meterRegistry);
+    this.deadLettered = Counter.builder("room.events.outbox.dead.lettered")
+        .description("Room events set aside because the relay kept rejecting them")
+        .register(meterRegistry);
+    Gauge.builder("room.events.outbox.backlog", backlog, AtomicLong::get)
+        .description("Room events waiting in the outbox, as of the last poll")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Schedules a drain without blocking the caller. Requests made while a drain is already queued
+   * are coalesced into it.
+   */
+  public void wakeUp() {
+    if (drainRequested.compareAndSet(false, true)) {
+      executor.execute(() -> {
+        drainRequested.set(false);
+        drain();
+      });
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${room.event-outbox.poll-interval}")
+  public void poll() {
+    var pending = 0L;
+    var counted = true;
+    for (var shard = 0; shard < shardRouter.shardCount(); shard++) {
+      try {
+        pending += shardRouter.onShard(shard, outboxJpaRepository::countByDeadLetteredAtIsNull);
+      } catch (Exception e) {
+        counted = false;
+        log.warn("Failed to read room event outbox backlog on shard {}", shard, e);
+      }
+    }
+    if (counted) {
+      backlog.set(pending);
+    }
+    wakeUp();
+  }
+
+  void drain() {
+    for (var shard = 0; shard < shardRouter.shardCount(); shard++) {
+      drain(shard);
+    }
+  }
+
+  private void drain(int shard) {
+    try {
+      int relayed;
+      do {
+        relayed = relayBatch(shard);
+      } while (relayed == batchSize);
+    } catch (Exception e) {
+      failures.increment();
+      log.warn("Failed to relay room events from the outbox on shard {}, will retry", shard, e);
+    }
+  }
+
+  // returns the number of events taken off the outbox, relayed or dead-lettered
+  private int relayBatch(int shard) {
+    var claimedIds = new ArrayList<Long>();
+    try {
+      var count = shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+        var batch = outboxJpaRepository.findAllByDeadLetteredAtIsNullOrderByIdAsc(
+            Limit.of(batchSize));
+        batch.forEach(event -> claimedIds.add(event.getId()));
+        return relay(batch);
+      }));
+      return recordRelayed(count != null ? count : 0);
+    } catch (RuntimeException e) {
+      if (claimedIds.isEmpty()) {
+        throw e;
+      }
+      log.warn("Failed to relay {} room events on shard {}, retrying them one at a time",
+          claimedIds.size(), shard, e);
+      return relayOneAtATime(shard, claimedIds, e);
+    }
+  }
+
+  // each event gets its own transaction: on Postgres a failed statement aborts the transaction
+  private int relayOneAtATime(int shard, List<Long> ids, RuntimeException batchFailure) {
+    var relayed = 0;
+    var failedIds = new ArrayList<Long>();
+    var rejectedIds = new ArrayList<Long>();
+    for (var id : ids) {
+      try {
+        var count = shardRouter.onShard(shard, () -> transactionTemplate.execute(status ->
+            outboxJpaRepository.findLockedById(id).map(event -> relay(List.of(event))).orElse(0)));
+        relayed += count != null ? count : 0;
+      } catch (DataIntegrityViolationException e) {
+        // the payload itself is refused (e.g. too long for pg_notify), retrying won't help
+        rejectedIds.add(id);
+      } catch (RuntimeException e) {
+        failedIds.add(id);
+      }
+    }
+
+    // nothing went through: the relay itself is failing, keep everything for the next attempt
+    if (relayed == 0 && rejectedIds.isEmpty()) {
+      throw batchFailure;
+    }
+
+    var deadLetteredCount = recordFailures(shard, failedIds, rejectedIds);
+    return recordRelayed(relayed) + deadLetteredCount;
+  }
+
+  private int recordFailures(int shard, List<Long> failedIds, List<Long> rejectedIds) {
+    if (failedIds.isEmpty() && rejectedIds.isEmpty()) {
+      return 0;
+    }
+
+    var deadLetteredIds = new ArrayList<Long>();
+    shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+      var now = Instant.now(clock);
+      for (var id : failedIds) {
+        outboxJpaRepository.findLockedById(id).ifPresent(event -> {
+          event.setAttempts(event.getAttempts() + 1);
+          if (event.getAttempts() >= maxAttempts) {
+            event.setDeadLetteredAt(now);
+            deadLetteredIds.add(id);
+          }
+        });
+      }
+      for (var id : rejectedIds) {
+        outboxJpaRepository.findLockedById(id).ifPresent(event -> {
+          event.setAttempts(event.getAttempts() + 1);
+          event.setDeadLetteredAt(now);
+          deadLetteredIds.add(id);
+        });
+      }
+      return null;
+    }));
+
+    var deadLetteredCount = deadLetteredIds.size();
+    if (deadLetteredCount > 0) {
+      deadLettered.increment(deadLetteredCount);
+      backlog.updateAndGet(pending -> Math.max(0, pending - deadLetteredCount));
+      log.error("Dead-lettered room events the relay kept rejecting on shard {}: ids={}", shard,
+          deadLetteredIds);
+    }
+    return deadLetteredCount;
+  }
+
+  private int relay(List<RoomEventOutboxEntity> events) {
+    if (events.isEmpty()) {
+      return 0;
+    }
+
+    publish(events.stream().map(RoomEventOutboxEntity::getPayload).toList());
+    outboxJpaRepository.deleteAllInBatch(events);
+
+    var now = Instant.now(clock);
+    events.forEach(event -> deliveryLag.record(Duration.between(event.getCreatedAt(), now)));
+    return events.size();
+  }
+
+  private int recordRelayed(int relayed) {
+    if (relayed > 0) {
+      batchSizes.record(relayed);
+      published.increment(relayed);
+      backlog.updateAndGet(pending -> Math.max(0, pending - relayed));
+      log.debug("Relayed {} room events from the outbox", relayed);
+    }
+    return relayed;
+  }
+
+  private void publish(List<String> payloads) {
+    var publishEvent = new RoomEventPublishEvent();
+    publishEvent.begin();
+    try {
+      roomEventRelay.publishAll(payloads);
+    } catch (RuntimeException e) {
+      publishEvent.emit(relayName, payloads.size(), false);
+      throw e;
+    }
+    publishEvent.emit(relayName, payloads.size(), true);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+}
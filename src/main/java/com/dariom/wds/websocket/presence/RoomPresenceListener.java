@@ -0,0 +1,90 @@
+package com.dariom.wds.websocket.presence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+/**
+ * Maps STOMP session lifecycle events to room presence.
+ *
+ * <p>Subscribing to a room topic marks the player online in that room; unsubscribing or
+ * disconnecting marks them offline once their last session leaves. Subscriptions held by this node
+ * are refreshed periodically so that presence expires on its own if the node stops.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomPresenceListener {
+
+  private final RoomSessionRegistry sessionRegistry;
+  private final RoomPresenceService presenceService;
+
+  @EventListener
+  public void onConnected(SessionConnectedEvent event) {
+    var accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+    var playerId = playerId(event);
+    if (playerId == null) {
+      return;
+    }
+
+    sessionRegistry.registerSession(accessor.getSessionId(), playerId);
+  }
+
+  @EventListener
+  public void onSubscribe(SessionSubscribeEvent event) {
+    var accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+    var playerId = playerId(event);
+    if (playerId == null) {
+      return;
+    }
+
+    sessionRegistry.subscribe(accessor.getSessionId(), accessor.getSubscriptionId(),
+            accessor.getDestination(), playerId)
+        .ifPresent(subscription -> {
+          log.debug("Player <{}> joined room <{}> (session <{}>)", subscription.playerId(),
+              subscription.roomId(), subscription.sessionId());
+          presenceService.playerJoined(subscription);
+        });
+  }
+
+  @EventListener
+  public void onUnsubscribe(SessionUnsubscribeEvent event) {
+    var accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+    sessionRegistry.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId())
+        .ifPresent(this::leave);
+  }
+
+  @EventListener
+  public void onDisconnect(SessionDisconnectEvent event) {
+    sessionRegistry.removeSession(event.getSessionId()).forEach(this::leave);
+  }
+
+  @Scheduled(fixedDelayString = "${app.websocket.presence.heartbeat-interval}")
+  public void heartbeat() {
+    var subscriptions = sessionRegistry.getSubscriptions();
+    if (subscriptions.isEmpty()) {
+      return;
+    }
+
+    presenceService.heartbeat(subscriptions);
+  }
+
+  private void leave(RoomSubscription subscription) {
+    log.debug("Player <{}> left room <{}> (session <{}>)", subscription.playerId(),
+        subscription.roomId(), subscription.sessionId());
+    presenceService.playerLeft(subscription);
+  }
+
+  private static String playerId(AbstractSubProtocolEvent event) {
+    var user = event.getUser();
+    return user != null ? user.getName() : null;
+  }
+}
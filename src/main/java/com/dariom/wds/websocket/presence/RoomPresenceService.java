@@ -0,0 +1,164 @@
+package com.dariom.wds.websocket.presence;
+
+import static com.dariom.wds.websocket.model.EventType.PLAYER_PRESENCE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.groupingBy;
+
+import com.dariom.wds.config.ws.WebSocketProperties;
+import com.dariom.wds.websocket.RoomEventRelay;
+import com.dariom.wds.websocket.model.PlayerPresencePayload;
+import com.dariom.wds.websocket.model.RoomEvent;
+import com.dariom.wds.websocket.model.RoomEventToPublish;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tracks which players are connected to a room across all nodes.
+ *
+ * <p>Each room has a Redis sorted set whose members are {@code playerId|sessionId} and whose scores
+ * are the last heartbeat timestamp. A player is online while at least one of their sessions has
+ * been refreshed within the configured TTL, so presence self-heals when a node dies without
+ * sending disconnects.
+ * <p>Presence changes are published as {@code PLAYER_PRESENCE} room events. Redis failures are
+ * logged and never propagated to the STOMP session.
+ */
+@Slf4j
+@Service
+public class RoomPresenceService {
+
+  static final String PRESENCE_KEY_PREFIX = "room-presence:";
+  private static final String MEMBER_SEPARATOR = "|";
+
+  private final StringRedisTemplate redisTemplate;
+  private final RoomEventRelay roomEventRelay;
+  private final Clock clock;
+  private final long ttlMillis;
+
+  public RoomPresenceService(StringRedisTemplate redisTemplate,
+      RoomEventRelay roomEventRelay, Clock clock, WebSocketProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.roomEventRelay = roomEventRelay;
+    this.clock = clock;
+    this.ttlMillis = properties.presence().ttl().toMillis();
+  }
+
+  public void playerJoined(RoomSubscription subscription) {
+    var roomId = subscription.roomId();
+    try {
+      var key = presenceKey(roomId);
+      redisTemplate.opsForZSet().add(key, member(subscription), clock.millis());
+      refreshExpiry(key);
+
+      publish(roomId, subscription.playerId(), true, onlinePlayerIds(key));
+    } catch (Exception e) {
+      log.warn("Failed to record presence of player <{}> in room <{}>", subscription.playerId(),
+          roomId, e);
+    }
+  }
+
+  public void playerLeft(RoomSubscription subscription) {
+    var roomId = subscription.roomId();
+    var playerId = subscription.playerId();
+    try {
+      var key = presenceKey(roomId);
+      redisTemplate.opsForZSet().remove(key, member(subscription));
+
+      var onlinePlayerIds = onlinePlayerIds(key);
+      if (!onlinePlayerIds.contains(playerId)) {
+        publish(roomId, playerId, false, onlinePlayerIds);
+      }
+    } catch (Exception e) {
+      log.warn("Failed to remove presence of player <{}> from room <{}>", playerId, roomId, e);
+    }
+  }
+
+  /**
+   * Refreshes the heartbeat of every given subscription and prunes sessions that stopped sending
+   * heartbeats (e.g. because their node went away), publishing players left without a session as
+   * offline.
+   */
+  public void heartbeat(Collection<RoomSubscription> subscriptions) {
+    var now = clock.millis();
+    var byRoomId = subscriptions.stream().collect(groupingBy(RoomSubscription::roomId));
+
+    byRoomId.forEach((roomId, roomSubscriptions) -> {
+      try {
+        var key = presenceKey(roomId);
+        redisTemplate.opsForZSet().add(key, tuples(roomSubscriptions, now));
+        var staleMembers = redisTemplate.opsForZSet().rangeByScore(key, 0, now - ttlMillis - 1);
+        redisTemplate.opsForZSet().removeRangeByScore(key, 0, now - ttlMillis - 1);
+        refreshExpiry(key);
+        publishOffline(roomId, key, staleMembers);
+      } catch (Exception e) {
+        log.warn("Failed to refresh presence heartbeat for room <{}>", roomId, e);
+      }
+    });
+  }
+
+  private void publishOffline(String roomId, String key, Set<String> staleMembers) {
+    if (staleMembers == null || staleMembers.isEmpty()) {
+      return;
+    }
+
+    // a session refreshed in the meantime keeps its player online
+    var onlinePlayerIds = onlinePlayerIds(key);
+    staleMembers.stream()
+        .map(RoomPresenceService::playerId)
+        .distinct()
+        .filter(playerId -> !onlinePlayerIds.contains(playerId))
+        .forEach(playerId -> publish(roomId, playerId, false, onlinePlayerIds));
+  }
+
+  private List<String> onlinePlayerIds(String key) {
+    var members = redisTemplate.opsForZSet()
+        .rangeByScore(key, clock.millis() - ttlMillis, Double.POSITIVE_INFINITY);
+    if (members == null || members.isEmpty()) {
+      return List.of();
+    }
+
+    var playerIds = new LinkedHashSet<String>();
+    for (var member : members) {
+      playerIds.add(playerId(member));
+    }
+    return List.copyOf(playerIds);
+  }
+
+  private void publish(String roomId, String playerId, boolean online,
+      List<String> onlinePlayerIds) {
+    var payload = new PlayerPresencePayload(playerId, online, onlinePlayerIds);
+    roomEventRelay.publish(
+        new RoomEventToPublish(roomId, new RoomEvent(PLAYER_PRESENCE, payload)));
+  }
+
+  private void refreshExpiry(String key) {
+    redisTemplate.expire(key, ttlMillis, MILLISECONDS);
+  }
+
+  private static Set<TypedTuple<String>> tuples(List<RoomSubscription> subscriptions, long score) {
+    var tuples = new LinkedHashSet<TypedTuple<String>>();
+    for (var subscription : subscriptions) {
+      tuples.add(new DefaultTypedTuple<>(member(subscription), (double) score));
+    }
+    return tuples;
+  }
+
+  private static String presenceKey(String roomId) {
+    return PRESENCE_KEY_PREFIX + roomId;
+  }
+
+  private static String playerId(String member) {
+    return member.substring(0, member.indexOf(MEMBER_SEPARATOR));
+  }
+
+  private static String member(RoomSubscription subscription) {
+    return subscription.playerId() + MEMBER_SEPARATOR + subscription.sessionId();
+  }
+}
@@ -0,0 +1,151 @@
+package com.dariom.wds.websocket.presence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the STOMP sessions connected to this node, keyed by room.
+ *
+ * <p>A session joins a room when it subscribes to {@code /topic/rooms/{roomId}} and leaves it when
+ * its last subscription to that topic is removed (unsubscribe or disconnect). The index is local to
+ * the node: it is used to refresh presence heartbeats and to skip relayed events for rooms that
+ * nobody on this node is listening to.
+ */
+@Component
+public class RoomSessionRegistry {
+
+  public static final String ROOM_TOPIC_PREFIX = "/topic/rooms/";
+
+  private final Map<String, LocalSession> sessionsById = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> sessionIdsByRoomId = new ConcurrentHashMap<>();
+
+  public void registerSession(String sessionId, String playerId) {
+    sessionsById.putIfAbsent(sessionId, new LocalSession(playerId));
+  }
+
+  /**
+   * Records a subscription and returns the room the session joined, if this is the first
+   * subscription of the session to that room topic.
+   */
+  public Optional<RoomSubscription> subscribe(String sessionId, String subscriptionId,
+      String destination, String playerId) {
+    var roomId = roomIdFromDestination(destination);
+    if (roomId == null || subscriptionId == null) {
+      return Optional.empty();
+    }
+
+    var session = sessionsById.computeIfAbsent(sessionId, id -> new LocalSession(playerId));
+    synchronized (session) {
+      var alreadyInRoom = session.roomIdBySubscriptionId.containsValue(roomId);
+      session.roomIdBySubscriptionId.put(subscriptionId, roomId);
+      if (alreadyInRoom) {
+        return Optional.empty();
+      }
+    }
+
+    addToRoom(roomId, sessionId);
+    return Optional.of(new RoomSubscription(roomId, session.playerId, sessionId));
+  }
+
+  /**
+   * Removes a subscription and returns the room the session left, if it was the last subscription
+   * of the session to that room topic.
+   */
+  public Optional<RoomSubscription> unsubscribe(String sessionId, String subscriptionId) {
+    var session = sessionsById.get(sessionId);
+    if (session == null || subscriptionId == null) {
+      return Optional.empty();
+    }
+
+    String roomId;
+    synchronized (session) {
+      roomId = session.roomIdBySubscriptionId.remove(subscriptionId);
+      if (roomId == null || session.roomIdBySubscriptionId.containsValue(roomId)) {
+        return Optional.empty();
+      }
+    }
+
+    removeFromRoom(roomId, sessionId);
+    return Optional.of(new RoomSubscription(roomId, session.playerId, sessionId));
+  }
+
+  /**
+   * Removes the session and returns every room it was subscribed to.
+   */
+  public List<RoomSubscription> removeSession(String sessionId) {
+    var session = sessionsById.remove(sessionId);
+    if (session == null) {
+      return List.of();
+    }
+
+    List<String> roomIds;
+    synchronized (session) {
+      roomIds = session.roomIdBySubscriptionId.values().stream().distinct().toList();
+      session.roomIdBySubscriptionId.clear();
+    }
+
+    var left = new ArrayList<RoomSubscription>(roomIds.size());
+    for (var roomId : roomIds) {
+      removeFromRoom(roomId, sessionId);
+      left.add(new RoomSubscription(roomId, session.playerId, sessionId));
+    }
+    return left;
+  }
+
+  public boolean hasLocalSubscribers(String roomId) {
+    return sessionIdsByRoomId.containsKey(roomId);
+  }
+
+  public List<RoomSubscription> getSubscriptions() {
+    var subscriptions = new ArrayList<RoomSubscription>();
+    sessionsById.forEach((sessionId, session) -> {
+      synchronized (session) {
+        session.roomIdBySubscriptionId.values().stream()
+            .distinct()
+            .forEach(roomId ->
+                subscriptions.add(new RoomSubscription(roomId, session.playerId, sessionId)));
+      }
+    });
+    return subscriptions;
+  }
+
+  static String roomIdFromDestination(String destination) {
+    if (destination == null || !destination.startsWith(ROOM_TOPIC_PREFIX)) {
+      return null;
+    }
+
+    var roomId = destination.substring(ROOM_TOPIC_PREFIX.length());
+    return roomId.isBlank() || roomId.contains("/") ? null : roomId;
+  }
+
+  private void addToRoom(String roomId, String sessionId) {
+    sessionIdsByRoomId.compute(roomId, (id, sessionIds) -> {
+      var ids = sessionIds != null ? sessionIds : ConcurrentHashMap.<String>newKeySet();
+      ids.add(sessionId);
+      return ids;
+    });
+  }
+
+  private void removeFromRoom(String roomId, String sessionId) {
+    sessionIdsByRoomId.computeIfPresent(roomId, (id, sessionIds) -> {
+      sessionIds.remove(sessionId);
+      return sessionIds.isEmpty() ? null : sessionIds;
+    });
+  }
+
+  private static final class LocalSession {
+
+    private final String playerId;
+    private final Map<String, String> roomIdBySubscriptionId = new HashMap<>();
+
+    private LocalSession(String playerId) {
+      this.playerId = playerId;
+    }
+  }
+}
@@ -0,0 +1,5 @@
+package com.dariom.wds.websocket.presence;
+
+public record RoomSubscription(String roomId, String playerId, String sessionId) {
+
+}
@@ -0,0 +1,83 @@
+package com.dariom.wds.api.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.exception.JfrRecordingNotFoundException;
+import com.dariom.wds.service.jfr.JfrRecordingService;
+import com.dariom.wds.service.jfr.JfrRecordingService.RecordingInfo;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AdminJfrControllerTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+  @Mock
+  private JfrRecordingService jfrRecordingService;
+
+  private AdminJfrController controller;
+
+  @BeforeEach
+  void setUp() {
+    controller = new AdminJfrController(jfrRecordingService, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @Test
+  void startRecording_validRequest_returnsRecording() {
+    // Arrange
+    var recording = new RecordingInfo("wordle-duel", "RUNNING", NOW, Duration.ofMinutes(2), 1024);
+    when(jfrRecordingService.start(Duration.ofMinutes(2))).thenReturn(recording);
+
+    // Act
+    var dto = controller.startRecording(Duration.ofMinutes(2));
+
+    // Assert
+    assertThat(dto.state()).isEqualTo("RUNNING");
+    assertThat(dto.duration()).isEqualTo(Duration.ofMinutes(2));
+  }
+
+  @Test
+  void getRecording_noRecording_throwsJfrRecordingNotFoundException() {
+    // Arrange
+    when(jfrRecordingService.getRecording()).thenReturn(Optional.empty());
+
+    // Act
+    var thrown = catchThrowable(controller::getRecording);
+
+    // Assert
+    assertThat(thrown).isInstanceOf(JfrRecordingNotFoundException.class);
+  }
+
+  @Test
+  void stopRecording_recordingStopped_streamsAndDeletesFile() throws Exception {
+    // Arrange
+    var file = Files.createTempFile("recording-", ".jfr");
+    Files.writeString(file, "jfr-data");
+    when(jfrRecordingService.stop()).thenReturn(file);
+
+    // Act
+    var response = controller.stopRecording();
+    var out = new ByteArrayOutputStream();
+    response.getBody().writeTo(out);
+
+    // Assert
+    assertThat(response.getHeaders().getContentDisposition().getFilename())
+        .isEqualTo("wordle-duel-" + NOW.getEpochSecond() + ".jfr");
+    assertThat(response.getHeaders().getContentLength()).isEqualTo(8);
+    assertThat(out.toString()).isEqualTo("jfr-data");
+    assertThat(file).doesNotExist();
+  }
+}
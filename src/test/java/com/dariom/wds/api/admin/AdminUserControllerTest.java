@@ -8,9 +8,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.dariom.wds.domain.UserProfile;
+import com.dariom.wds.service.auth.RefreshTokenService;
 import com.dariom.wds.service.user.UserProfileService;
 import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -28,6 +30,9 @@ class AdminUserControllerTest {
   @Mock
   private UserProfileService userProfileService;
 
+  @Mock
+  private RefreshTokenService refreshTokenService;
+
   @InjectMocks
   private AdminUserController controller;
 
@@ -80,4 +85,17 @@ class AdminUserControllerTest {
     assertThat(result.getContent()).hasSize(1);
     verify(userProfileService).getAllUserProfiles(pageable, "John Smith", "example.com", "John");
   }
+
+  @Test
+  void revokeRefreshTokens_validUserId_revokesAllAndReturns204() {
+    // Arrange
+    var userId = UUID.randomUUID();
+
+    // Act
+    var response = controller.revokeRefreshTokens(userId);
+
+    // Assert
+    assertThat(response.getStatusCode().value()).isEqualTo(204);
+    verify(refreshTokenService).revokeAll(userId);
+  }
 }
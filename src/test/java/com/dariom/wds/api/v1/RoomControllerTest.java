@@ -3,14 +3,20 @@ package com.dariom.wds.api.v1;
 import static com.dariom.wds.domain.Language.IT;
 import static com.dariom.wds.domain.RoomStatus.IN_PROGRESS;
 import static com.dariom.wds.domain.RoomStatus.WAITING_FOR_PLAYERS;
+import static com.dariom.wds.domain.RoundPlayerStatus.WON;
+import static com.dariom.wds.domain.RoundStatus.ENDED;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.dariom.wds.api.v1.dto.CreateRoomRequest;
 import com.dariom.wds.api.v1.dto.ReadyRequest;
+import com.dariom.wds.api.v1.dto.RoundHistoryPageDto;
 import com.dariom.wds.api.v1.dto.SubmitGuessRequest;
 import com.dariom.wds.api.v1.mapper.RoomMapper;
 import com.dariom.wds.config.security.AuthenticatedUser;
@@ -19,17 +25,25 @@ import com.dariom.wds.domain.Language;
 import com.dariom.wds.domain.Player;
 import com.dariom.wds.domain.Room;
 import com.dariom.wds.domain.RoomStatus;
+import com.dariom.wds.domain.Round;
+import com.dariom.wds.service.idempotency.IdempotencyService;
 import com.dariom.wds.service.room.RoomService;
+import com.dariom.wds.service.round.RoundHistoryService;
 import com.dariom.wds.service.round.RoundService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -43,16 +57,21 @@ class RoomControllerTest {
   @Mock
   private RoundService roundService;
   @Mock
+  private RoundHistoryService roundHistoryService;
+  @Mock
   private AuthenticatedUserResolver authenticatedUserResolver;
+  @Mock
+  private IdempotencyService idempotencyService;
 
   private final RoomMapper roomMapper = new RoomMapper();
+  private final ObjectMapper objectMapper = new ObjectMapper();
 
   private RoomController roomController;
 
   @BeforeEach
   void setUp() {
-    roomController = new RoomController(roomService, roundService, roomMapper,
-        authenticatedUserResolver);
+    roomController = new RoomController(roomService, roundService, roundHistoryService,
+        roomMapper, authenticatedUserResolver, idempotencyService, objectMapper);
     when(authenticatedUserResolver.from(any(Jwt.class)))
         .thenAnswer(invocation -> {
           var jwt = invocation.getArgument(0, Jwt.class);
@@ -126,6 +145,50 @@ class RoomControllerTest {
     verify(roomService).listRoomsForPlayer("user-1");
   }
 
+  @Test
+  void getRoundHistory_validRequest_streamsRoundsAndNextCursor() throws Exception {
+    // Arrange
+    var round = new Round(7, 6, Map.of(), Map.of("p1", WON), ENDED, "PIZZA");
+    when(roundHistoryService.forEachFinishedRound(eq("room-1"), eq(10), eq(100), any()))
+        .thenAnswer(invocation -> {
+          invocation.<Consumer<Round>>getArgument(3).accept(round);
+          return 7;
+        });
+
+    // Act
+    var response = roomController.getRoundHistory("room-1", 10, 500, jwtWithSub("user-1"));
+    var out = new ByteArrayOutputStream();
+    response.getBody().writeTo(out);
+
+    // Assert
+    assertThat(response.getStatusCode().value()).isEqualTo(200);
+    var page = objectMapper.readValue(out.toByteArray(), RoundHistoryPageDto.class);
+    assertThat(page.rounds()).containsExactly(roomMapper.toRoundDto(round, "user-1"));
+    assertThat(page.nextCursor()).isEqualTo(7);
+
+    verify(roomService).ensurePlayerCanInspectRoom("room-1", "user-1");
+  }
+
+  @Test
+  void getRoundHistory_readFailsMidway_leavesJsonIncomplete() throws Exception {
+    // Arrange
+    var round = new Round(7, 6, Map.of(), Map.of("p1", WON), ENDED, "PIZZA");
+    when(roundHistoryService.forEachFinishedRound(eq("room-1"), isNull(), eq(20), any()))
+        .thenAnswer(invocation -> {
+          invocation.<Consumer<Round>>getArgument(3).accept(round);
+          throw new DataAccessResourceFailureException("connection lost");
+        });
+    var response = roomController.getRoundHistory("room-1", null, 20, jwtWithSub("user-1"));
+    var out = new ByteArrayOutputStream();
+
+    // Act
+    var thrown = catchThrowable(() -> response.getBody().writeTo(out));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(DataAccessResourceFailureException.class);
+    assertThat(out.toString()).doesNotContain("nextCursor");
+  }
+
   @Test
   void submitGuess_validRequest_returnsOkWithGuessResponse() {
     // Arrange
@@ -133,9 +196,11 @@ class RoomControllerTest {
     var expectedDto = roomMapper.toDto(domainRoom, "user-1");
 
     when(roundService.handleGuess(anyString(), anyString(), anyString())).thenReturn(domainRoom);
+    when(idempotencyService.execute(eq("user-1"), eq("guess:room-1"), eq("key-1"), any(), any(),
+        any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
 
     // Act
-    var response = roomController.submitGuess("room-1", new SubmitGuessRequest("pizza"),
+    var response = roomController.submitGuess("room-1", "key-1", new SubmitGuessRequest("pizza"),
         jwtWithSub("user-1"));
 
     // Assert
@@ -154,9 +219,12 @@ class RoomControllerTest {
 
     when(roundService.handleReady(anyString(), anyString(), any(Integer.class))).thenReturn(
         domainRoom);
+    when(idempotencyService.execute(eq("user-1"), eq("ready:room-1"), isNull(), any(), any(),
+        any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
 
     // Act
-    var response = roomController.ready("room-1", new ReadyRequest(1), jwtWithSub("user-1"));
+    var response = roomController.ready("room-1", null, new ReadyRequest(1),
+        jwtWithSub("user-1"));
 
     // Assert
     assertThat(response.getStatusCode().value()).isEqualTo(200);
@@ -0,0 +1,145 @@
+package com.dariom.wds.config;
+
+import static com.dariom.wds.config.AccessLogFilter.ACCESS_LOGGER;
+import static com.dariom.wds.config.TraceIdFilter.TRACE_ID_MDC_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.web.servlet.HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AccessLogFilterTest {
+
+  private final Logger accessLogger = (Logger) LoggerFactory.getLogger(ACCESS_LOGGER);
+  private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+  @BeforeEach
+  void setUp() {
+    appender.start();
+    accessLogger.addAppender(appender);
+  }
+
+  @AfterEach
+  void tearDown() {
+    accessLogger.detachAppender(appender);
+    MDC.clear();
+  }
+
+  @Test
+  void doFilter_successAlwaysSampled_logsRoutePatternStatusAndTraceId() throws Exception {
+    // Arrange
+    var filter = new AccessLogFilter(new AccessLogProperties(true, 1.0, Duration.ofSeconds(1)));
+    var request = new MockHttpServletRequest("GET", "/api/v1/rooms/ROOM-1");
+    var response = new MockHttpServletResponse();
+    MDC.put(TRACE_ID_MDC_KEY, "trace-123");
+
+    FilterChain chain = (req, res) ->
+        req.setAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/rooms/{roomId}");
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    assertThat(appender.list).singleElement().satisfies(event -> {
+      assertThat(event.getLevel()).isEqualTo(Level.INFO);
+      assertThat(event.getFormattedMessage())
+          .startsWith("method=GET path=/api/v1/rooms/{roomId} status=200 duration_ms=");
+      assertThat(event.getMDCPropertyMap()).containsEntry(TRACE_ID_MDC_KEY, "trace-123");
+    });
+  }
+
+  @Test
+  void doFilter_successNotSampled_skipsLog() throws Exception {
+    // Arrange
+    var filter = new AccessLogFilter(new AccessLogProperties(true, 0.0, Duration.ofSeconds(1)));
+    var request = new MockHttpServletRequest("GET", "/api/v1/rooms");
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response, (req, res) -> {
+    });
+
+    // Assert
+    assertThat(appender.list).isEmpty();
+  }
+
+  @Test
+  void doFilter_clientError_alwaysLogsAtWarn() throws Exception {
+    // Arrange
+    var filter = new AccessLogFilter(new AccessLogProperties(true, 0.0, Duration.ofSeconds(1)));
+    var request = new MockHttpServletRequest("POST", "/api/v1/rooms/ROOM-1/guess");
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response,
+        (req, res) -> ((MockHttpServletResponse) res).setStatus(404));
+
+    // Assert
+    assertThat(appender.list).singleElement().satisfies(event -> {
+      assertThat(event.getLevel()).isEqualTo(Level.WARN);
+      assertThat(event.getFormattedMessage()).contains("status=404");
+    });
+  }
+
+  @Test
+  void doFilter_chainThrows_logsServerErrorAndRethrows() {
+    // Arrange
+    var filter = new AccessLogFilter(new AccessLogProperties(true, 0.0, Duration.ofSeconds(1)));
+    var request = new MockHttpServletRequest("GET", "/api/v1/rooms");
+    var response = new MockHttpServletResponse();
+
+    // Act
+    var thrown = catchThrowable(() -> filter.doFilter(request, response, (req, res) -> {
+      throw new IllegalStateException("boom");
+    }));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(IllegalStateException.class);
+    assertThat(appender.list).singleElement().satisfies(event -> {
+      assertThat(event.getLevel()).isEqualTo(Level.ERROR);
+      assertThat(event.getFormattedMessage()).contains("status=500");
+    });
+  }
+
+  @Test
+  void doFilter_slowRequest_alwaysLogs() throws Exception {
+    // Arrange
+    var filter = new AccessLogFilter(new AccessLogProperties(true, 0.0, Duration.ZERO));
+    var request = new MockHttpServletRequest("GET", "/api/v1/rooms");
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response, (req, res) -> {
+    });
+
+    // Assert
+    assertThat(appender.list).hasSize(1);
+  }
+
+  @Test
+  void doFilter_disabled_skipsLog() throws Exception {
+    // Arrange
+    var filter = new AccessLogFilter(new AccessLogProperties(false, 1.0, Duration.ofSeconds(1)));
+    var request = new MockHttpServletRequest("GET", "/api/v1/rooms");
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response, (req, res) -> {
+    });
+
+    // Assert
+    assertThat(appender.list).isEmpty();
+  }
+}
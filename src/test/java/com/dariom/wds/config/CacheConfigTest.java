@@ -9,6 +9,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 @SpringJUnitConfig(CacheConfig.class)
@@ -31,4 +32,20 @@ class CacheConfigTest {
     assertThat(displayName).isNotNull();
     assertThat(userProfile).isNotNull();
   }
+
+  @Test
+  void cacheManager_allCaches_recordStatsForCacheMetrics() {
+    // Arrange
+    var displayName = (CaffeineCache) cacheManager.getCache(DISPLAY_NAME_CACHE);
+    displayName.put("user-1", "John");
+
+    // Act
+    displayName.get("user-1");
+
+    // Assert
+    assertThat(cacheManager.getCacheNames()).allSatisfy(name ->
+        assertThat(((CaffeineCache) cacheManager.getCache(name)).getNativeCache().policy()
+            .isRecordingStats()).isTrue());
+    assertThat(displayName.getNativeCache().stats().hitCount()).isEqualTo(1);
+  }
 }
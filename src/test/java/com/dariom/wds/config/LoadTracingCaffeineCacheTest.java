@@ -0,0 +1,58 @@
+package com.dariom.wds.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.file.Files;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueRetrievalException;
+
+class LoadTracingCaffeineCacheTest {
+
+  private final LoadTracingCaffeineCache cache = new LoadTracingCaffeineCache("test",
+      Caffeine.newBuilder().build());
+
+  @Test
+  void get_missingKey_loadsValueAndRecordsCacheLoadEvent() throws Exception {
+    var file = Files.createTempFile("cache-load-", ".jfr");
+    try (var recording = new Recording()) {
+      // Arrange
+      recording.enable("com.dariom.wds.CacheLoad");
+      recording.start();
+
+      // Act
+      var value = cache.get("key-1", () -> "value-1");
+      var cached = cache.get("key-1", () -> "other");
+      recording.stop();
+      recording.dump(file);
+
+      // Assert
+      assertThat(value).isEqualTo("value-1");
+      assertThat(cached).isEqualTo("value-1");
+
+      var events = RecordingFile.readAllEvents(file);
+      assertThat(events).hasSize(1);
+      assertThat(events.getFirst().getString("cache")).isEqualTo("test");
+      assertThat(events.getFirst().getString("key")).isEqualTo("key-1");
+      assertThat(events.getFirst().getBoolean("succeeded")).isTrue();
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void get_loaderFails_propagatesFailureAndCachesNothing() {
+    // Act
+    var thrown = catchThrowable(() -> cache.get("key-1", () -> {
+      throw new IllegalStateException("boom");
+    }));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(ValueRetrievalException.class)
+        .hasRootCauseInstanceOf(IllegalStateException.class);
+    assertThat(cache.get("key-1")).isNull();
+  }
+}
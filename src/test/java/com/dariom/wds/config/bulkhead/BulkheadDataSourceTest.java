@@ -0,0 +1,88 @@
+package com.dariom.wds.config.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.bulkhead.BulkheadProperties.BulkheadLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+
+  @Mock
+  private DataSource target;
+
+  private final Bulkhead bulkhead = new Bulkhead("admin",
+      new BulkheadLimit(4, 0, Duration.ofMillis(20), 1), new SimpleMeterRegistry());
+
+  private BulkheadDataSource dataSource;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new BulkheadDataSource(target);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Bulkhead.current().ifPresent(Bulkhead::exit);
+  }
+
+  @Test
+  void getConnection_outsideBulkhead_returnsTargetConnection() throws Exception {
+    // Arrange
+    var connection = mock(Connection.class);
+    when(target.getConnection()).thenReturn(connection);
+
+    // Act
+    var result = dataSource.getConnection();
+
+    // Assert
+    assertThat(result).isSameAs(connection);
+  }
+
+  @Test
+  void getConnection_bulkheadShareExhausted_throwsTransientException() throws Exception {
+    // Arrange
+    when(target.getConnection()).thenReturn(mock(Connection.class));
+    bulkhead.tryEnter();
+    dataSource.getConnection();
+
+    // Act
+    var thrown = catchThrowable(dataSource::getConnection);
+
+    // Assert
+    assertThat(thrown).isInstanceOf(SQLTransientConnectionException.class);
+  }
+
+  @Test
+  void getConnection_connectionClosed_returnsShareToBulkhead() throws Exception {
+    // Arrange
+    var connection = mock(Connection.class);
+    when(target.getConnection()).thenReturn(connection);
+    bulkhead.tryEnter();
+    var first = dataSource.getConnection();
+
+    // Act
+    first.close();
+    first.close();
+    var second = dataSource.getConnection();
+
+    // Assert
+    assertThat(second).isNotNull();
+    verify(connection, times(2)).close();
+  }
+}
@@ -0,0 +1,73 @@
+package com.dariom.wds.config.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+import com.dariom.wds.config.bulkhead.BulkheadProperties.BulkheadLimit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadFilterTest {
+
+  @Mock
+  private FilterChain chain;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private BulkheadFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    var bulkhead = new Bulkhead("admin", new BulkheadLimit(1, 0, Duration.ofMillis(50), 1),
+        meterRegistry);
+    filter = new BulkheadFilter(bulkhead, request -> true, new ObjectMapper());
+  }
+
+  @Test
+  void doFilter_requestDone_releasesSlot() throws Exception {
+    // Arrange
+    var request = new MockHttpServletRequest("GET", "/admin/rooms");
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    assertThat(activeRequests()).isZero();
+    assertThat(Bulkhead.current()).isEmpty();
+  }
+
+  @Test
+  void doFilter_asyncRequest_keepsSlotUntilAsyncCompletes() throws Exception {
+    // Arrange
+    var request = new MockHttpServletRequest("POST", "/admin/jfr/stop");
+    request.setAsyncSupported(true);
+    var response = new MockHttpServletResponse();
+    doAnswer(invocation -> request.startAsync()).when(chain).doFilter(request, response);
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    assertThat(activeRequests()).isEqualTo(1);
+    assertThat(Bulkhead.current()).isEmpty();
+    ((MockAsyncContext) request.getAsyncContext()).complete();
+    assertThat(activeRequests()).isZero();
+  }
+
+  private double activeRequests() {
+    return meterRegistry.get("bulkhead.requests.active").tag("bulkhead", "admin").gauge()
+        .value();
+  }
+}
@@ -0,0 +1,84 @@
+package com.dariom.wds.config.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dariom.wds.config.bulkhead.BulkheadProperties.BulkheadLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @AfterEach
+  void tearDown() {
+    Bulkhead.current().ifPresent(Bulkhead::exit);
+  }
+
+  @Test
+  void tryEnter_slotFree_bindsBulkheadToThread() throws Exception {
+    // Arrange
+    var bulkhead = bulkhead(1, 0);
+
+    // Act
+    var entered = bulkhead.tryEnter();
+
+    // Assert
+    assertThat(entered).isTrue();
+    assertThat(Bulkhead.current()).contains(bulkhead);
+    assertThat(meterRegistry.get("bulkhead.requests.active").tag("bulkhead", "admin").gauge()
+        .value()).isEqualTo(1);
+  }
+
+  @Test
+  void tryEnter_fullWithoutQueue_rejectsImmediately() throws Exception {
+    // Arrange
+    var bulkhead = bulkhead(1, 0);
+    bulkhead.tryEnter();
+
+    // Act
+    var entered = bulkhead.tryEnter();
+
+    // Assert
+    assertThat(entered).isFalse();
+    assertThat(meterRegistry.get("bulkhead.requests.rejected").tag("bulkhead", "admin").counter()
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void tryEnter_fullWithQueue_waitsThenRejects() throws Exception {
+    // Arrange
+    var bulkhead = bulkhead(1, 1);
+    bulkhead.tryEnter();
+
+    // Act
+    var start = System.nanoTime();
+    var entered = bulkhead.tryEnter();
+
+    // Assert
+    assertThat(entered).isFalse();
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(
+        Duration.ofMillis(40));
+  }
+
+  @Test
+  void exit_releasesSlotAndUnbindsThread() throws Exception {
+    // Arrange
+    var bulkhead = bulkhead(1, 0);
+    bulkhead.tryEnter();
+
+    // Act
+    bulkhead.exit();
+
+    // Assert
+    assertThat(Bulkhead.current()).isEmpty();
+    assertThat(bulkhead.tryEnter()).isTrue();
+  }
+
+  private Bulkhead bulkhead(int maxConcurrentRequests, int queueCapacity) {
+    return new Bulkhead("admin", new BulkheadLimit(maxConcurrentRequests, queueCapacity,
+        Duration.ofMillis(50), 1), meterRegistry);
+  }
+}
@@ -0,0 +1,115 @@
+package com.dariom.wds.config.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final long FAST = Duration.ofMillis(10).toNanos();
+  private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+      new ConcurrencyLimitProperties(true, 4, 2, 6, 0.5, Duration.ofSeconds(1), 0.5, List.of()),
+      meterRegistry);
+
+  @Test
+  void tryAcquire_belowLimit_claimsSlot() {
+    // Act
+    var acquired = limiter.tryAcquire(1.0);
+
+    // Assert
+    assertThat(acquired).isTrue();
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+  }
+
+  @Test
+  void tryAcquire_shareExhausted_rejects() {
+    // Arrange
+    limiter.tryAcquire(0.5);
+    limiter.tryAcquire(0.5);
+
+    // Act
+    var lowPriority = limiter.tryAcquire(0.5);
+    var highPriority = limiter.tryAcquire(1.0);
+
+    // Assert
+    assertThat(lowPriority).isFalse();
+    assertThat(highPriority).isTrue();
+  }
+
+  @Test
+  void release_fastRequestUnderLoad_increasesLimit() {
+    // Arrange
+    limiter.tryAcquire(1.0);
+    limiter.tryAcquire(1.0);
+
+    // Act
+    limiter.release(FAST, false);
+
+    // Assert
+    assertThat(limiter.getLimit()).isEqualTo(5);
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+  }
+
+  @Test
+  void release_fastRequestWithoutLoad_keepsLimit() {
+    // Arrange
+    limiter.tryAcquire(1.0);
+
+    // Act
+    limiter.release(FAST, false);
+
+    // Assert
+    assertThat(limiter.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  void release_slowRequest_decreasesLimitDownToMinimum() {
+    // Arrange
+    limiter.tryAcquire(1.0);
+    limiter.release(SLOW, false);
+    limiter.tryAcquire(1.0);
+
+    // Act
+    limiter.release(SLOW, false);
+
+    // Assert
+    assertThat(limiter.getLimit()).isEqualTo(2);
+    assertThat(meterRegistry.get("http.server.concurrency.limit").gauge().value()).isEqualTo(2);
+  }
+
+  @Test
+  void release_failedRequest_decreasesLimit() {
+    // Arrange
+    limiter.tryAcquire(1.0);
+
+    // Act
+    limiter.release(FAST, true);
+
+    // Assert
+    assertThat(limiter.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  void release_limitAtMaximum_doesNotGrow() {
+    // Arrange
+    for (var round = 0; round < 3; round++) {
+      for (var i = 0; i < 4; i++) {
+        limiter.tryAcquire(1.0);
+      }
+
+      // Act
+      for (var i = 0; i < 4; i++) {
+        limiter.release(FAST, false);
+      }
+    }
+
+    // Assert
+    assertThat(limiter.getLimit()).isEqualTo(6);
+  }
+}
@@ -0,0 +1,138 @@
+package com.dariom.wds.config.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.concurrency.ConcurrencyLimitProperties.PriorityClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitFilterTest {
+
+  @Mock
+  private AdaptiveConcurrencyLimiter limiter;
+
+  @Mock
+  private FilterChain chain;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private ConcurrencyLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    var properties = new ConcurrencyLimitProperties(true, 50, 10, 400, 0.9,
+        Duration.ofSeconds(1), 0.8, List.of(
+        new PriorityClass("gameplay", 1.0, List.of("POST /api/v1/rooms/{roomId}/guess")),
+        new PriorityClass("admin", 0.5, List.of("/admin/**"))));
+    filter = new ConcurrencyLimitFilter(properties, limiter, new ObjectMapper(), meterRegistry);
+  }
+
+  @Test
+  void doFilter_gameplayRequest_usesFullShareAndReleasesSlot() throws Exception {
+    // Arrange
+    var request = new MockHttpServletRequest("POST", "/api/v1/rooms/room-1/guess");
+    var response = new MockHttpServletResponse();
+    when(limiter.tryAcquire(1.0)).thenReturn(true);
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    verify(chain).doFilter(request, response);
+    verify(limiter).release(anyLong(), eq(false));
+  }
+
+  @Test
+  void doFilter_unclassifiedRequestOverShare_returnsServiceUnavailable() throws Exception {
+    // Arrange
+    var request = new MockHttpServletRequest("GET", "/api/v1/rooms");
+    var response = new MockHttpServletResponse();
+    when(limiter.tryAcquire(0.8)).thenReturn(false);
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    verifyNoInteractions(chain);
+    assertThat(response.getStatus()).isEqualTo(503);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    assertThat(response.getContentAsString()).contains("\"code\":\"SERVICE_OVERLOADED\"");
+    assertThat(meterRegistry.get("http.server.requests.shed").tag("priority", "default")
+        .counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void doFilter_adminRequest_usesAdminShare() throws Exception {
+    // Arrange
+    var request = new MockHttpServletRequest("DELETE", "/admin/rooms/room-1");
+    var response = new MockHttpServletResponse();
+    when(limiter.tryAcquire(0.5)).thenReturn(false);
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    assertThat(response.getStatus()).isEqualTo(503);
+    assertThat(meterRegistry.get("http.server.requests.shed").tag("priority", "admin")
+        .counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void doFilter_chainThrows_releasesSlotAsFailure() throws Exception {
+    // Arrange
+    var request = new MockHttpServletRequest("POST", "/api/v1/rooms/room-1/guess");
+    var response = new MockHttpServletResponse();
+    when(limiter.tryAcquire(1.0)).thenReturn(true);
+    doThrow(new ServletException("boom")).when(chain).doFilter(request, response);
+
+    // Act
+    try {
+      filter.doFilter(request, response, chain);
+    } catch (ServletException e) {
+      // expected
+    }
+
+    // Assert
+    verify(limiter).release(anyLong(), eq(true));
+  }
+
+  @Test
+  void doFilter_asyncRequest_releasesSlotWhenAsyncCompletes() throws Exception {
+    // Arrange
+    var request = new MockHttpServletRequest("GET", "/api/v1/rooms/room-1/rounds");
+    request.setAsyncSupported(true);
+    var response = new MockHttpServletResponse();
+    when(limiter.tryAcquire(0.8)).thenReturn(true);
+    doAnswer(invocation -> request.startAsync()).when(chain).doFilter(request, response);
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    verify(limiter, never()).release(anyLong(), anyBoolean());
+    ((MockAsyncContext) request.getAsyncContext()).complete();
+    verify(limiter).release(anyLong(), eq(false));
+  }
+}
@@ -0,0 +1,119 @@
+package com.dariom.wds.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.security.AuthenticatedUserResolver;
+import jakarta.servlet.FilterChain;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+@ExtendWith(MockitoExtension.class)
+class ReadYourWritesFilterTest {
+
+  @Mock
+  private ReadYourWritesTracker tracker;
+
+  @Mock
+  private FilterChain chain;
+
+  private final AtomicBoolean primaryRequiredInChain = new AtomicBoolean();
+
+  private ReadYourWritesFilter filter;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    filter = new ReadYourWritesFilter(tracker, new AuthenticatedUserResolver());
+    doAnswer(invocation -> {
+      primaryRequiredInChain.set(ReadYourWritesContext.isPrimaryRequired());
+      return null;
+    }).when(chain).doFilter(any(), any());
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void doFilter_writeRequest_recordsWriteAndRequiresPrimary() throws Exception {
+    // Arrange
+    authenticate("user-1");
+    var request = new MockHttpServletRequest("POST", "/api/v1/rooms/room-1/guess");
+
+    // Act
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    // Assert
+    assertThat(primaryRequiredInChain).isTrue();
+    assertThat(ReadYourWritesContext.isPrimaryRequired()).isFalse();
+    verify(tracker, times(2)).recordWrite("user-1");
+  }
+
+  @Test
+  void doFilter_readAfterRecentWrite_requiresPrimary() throws Exception {
+    // Arrange
+    authenticate("user-1");
+    var request = new MockHttpServletRequest("GET", "/api/v1/rooms/room-1");
+    when(tracker.wroteRecently("user-1")).thenReturn(true);
+
+    // Act
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    // Assert
+    assertThat(primaryRequiredInChain).isTrue();
+    verify(tracker, never()).recordWrite(any());
+  }
+
+  @Test
+  void doFilter_readWithoutRecentWrite_allowsReplica() throws Exception {
+    // Arrange
+    authenticate("user-1");
+    var request = new MockHttpServletRequest("GET", "/api/v1/rooms/room-1");
+    when(tracker.wroteRecently("user-1")).thenReturn(false);
+
+    // Act
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    // Assert
+    assertThat(primaryRequiredInChain).isFalse();
+  }
+
+  @Test
+  void doFilter_unauthenticated_continuesChainWithoutTracking() throws Exception {
+    // Arrange
+    var request = new MockHttpServletRequest("POST", "/api/v1/rooms");
+
+    // Act
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    // Assert
+    verify(chain).doFilter(any(), any());
+    verifyNoInteractions(tracker);
+  }
+
+  private static void authenticate(String subject) {
+    var now = Instant.now();
+    var jwt = new Jwt("token", now, now.plusSeconds(60), Map.of("alg", "none"),
+        Map.of("sub", subject));
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+  }
+}
@@ -0,0 +1,59 @@
+package com.dariom.wds.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReadYourWritesTaskDecoratorTest {
+
+  private final ReadYourWritesTaskDecorator decorator = new ReadYourWritesTaskDecorator();
+
+  @AfterEach
+  void tearDown() {
+    ReadYourWritesContext.clear();
+  }
+
+  @Test
+  void decorate_primaryRequiredOnSubmittingThread_requiresPrimaryInTask() throws Exception {
+    // Arrange
+    ReadYourWritesContext.requirePrimary();
+    var task = decorator.decorate(() -> assertThat(ReadYourWritesContext.isPrimaryRequired())
+        .isTrue());
+
+    // Act
+    var result = CompletableFuture.runAsync(task);
+
+    // Assert
+    result.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void decorate_primaryNotRequired_leavesTaskOnReplicas() throws Exception {
+    // Arrange
+    var task = decorator.decorate(() -> assertThat(ReadYourWritesContext.isPrimaryRequired())
+        .isFalse());
+
+    // Act
+    var result = CompletableFuture.runAsync(task);
+
+    // Assert
+    result.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void decorate_taskDone_clearsMarkingOfPooledThread() {
+    // Arrange
+    ReadYourWritesContext.requirePrimary();
+    var task = decorator.decorate(() -> {
+    });
+
+    // Act
+    task.run();
+
+    // Assert
+    assertThat(ReadYourWritesContext.isPrimaryRequired()).isFalse();
+  }
+}
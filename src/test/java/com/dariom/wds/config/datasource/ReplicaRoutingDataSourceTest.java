@@ -0,0 +1,202 @@
+package com.dariom.wds.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+  @Mock
+  private DataSource primary;
+  @Mock
+  private HikariDataSource replica;
+  @Mock
+  private Connection primaryConnection;
+  @Mock
+  private Connection replicaConnection;
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2025-01-10T00:00:00Z"));
+
+  private ReplicaRoutingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() {
+    when(replica.getPoolName()).thenReturn("replica-0");
+    dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(2),
+        Duration.ofSeconds(1), clock, new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReadYourWritesContext.clear();
+  }
+
+  @Test
+  void getConnection_replicaNotCheckedYet_usesPrimary() throws Exception {
+    // Arrange
+    when(primary.getConnection()).thenReturn(primaryConnection);
+
+    // Act
+    var connection = dataSource.getConnection();
+
+    // Assert
+    assertThat(connection).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void getConnection_replicaWithinStalenessBound_usesReplica() throws Exception {
+    // Arrange
+    replicaLag(0.5);
+    dataSource.checkReplicaLag();
+
+    // Act
+    var connection = dataSource.getConnection();
+
+    // Assert
+    assertThat(connection).isSameAs(replicaConnection);
+  }
+
+  @Test
+  void getConnection_lastCheckOlderThanInterval_usesPrimary() throws Exception {
+    // Arrange
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    replicaLag(0);
+    dataSource.checkReplicaLag();
+    clock.advance(Duration.ofMillis(1001));
+
+    // Act
+    var connection = dataSource.getConnection();
+
+    // Assert
+    assertThat(connection).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void getConnection_replicaTooFarBehind_usesPrimary() throws Exception {
+    // Arrange
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    replicaLag(5);
+    dataSource.checkReplicaLag();
+
+    // Act
+    var connection = dataSource.getConnection();
+
+    // Assert
+    assertThat(connection).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void getConnection_replicaNotStreaming_usesPrimary() throws Exception {
+    // Arrange
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    var resultSet = replicaLag(0);
+    when(resultSet.wasNull()).thenReturn(true);
+    dataSource.checkReplicaLag();
+
+    // Act
+    var connection = dataSource.getConnection();
+
+    // Assert
+    assertThat(connection).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void getConnection_primaryRequired_usesPrimaryEvenWithHealthyReplica() throws Exception {
+    // Arrange
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    replicaLag(0);
+    dataSource.checkReplicaLag();
+    ReadYourWritesContext.requirePrimary();
+
+    // Act
+    var connection = dataSource.getConnection();
+
+    // Assert
+    assertThat(connection).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void getConnection_replicaConnectionFails_fallsBackToPrimary() throws Exception {
+    // Arrange
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    replicaLag(0);
+    dataSource.checkReplicaLag();
+    when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+    // Act
+    var connection = dataSource.getConnection();
+
+    // Assert
+    assertThat(connection).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void getConnection_withCredentials_throwsFeatureNotSupported() {
+    // Act / Assert
+    assertThatThrownBy(() -> dataSource.getConnection("user", "secret"))
+        .isInstanceOf(SQLFeatureNotSupportedException.class);
+  }
+
+  private ResultSet replicaLag(double seconds) throws SQLException {
+    var statement = mock(Statement.class);
+    var resultSet = mock(ResultSet.class);
+    when(replica.getConnection()).thenReturn(replicaConnection);
+    when(replicaConnection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getDouble(1)).thenReturn(seconds);
+    return resultSet;
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    private void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
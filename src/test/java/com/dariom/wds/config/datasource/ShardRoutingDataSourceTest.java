@@ -0,0 +1,130 @@
+package com.dariom.wds.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class ShardRoutingDataSourceTest {
+
+  @Mock
+  private DataSource home;
+  @Mock
+  private DataSource shard1;
+  @Mock
+  private DataSource shard2;
+  @Mock
+  private Connection homeConnection;
+  @Mock
+  private Connection shard1Connection;
+  @Mock
+  private Connection shard2Connection;
+
+  private ShardRoutingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new ShardRoutingDataSource(home, List.of(shard1, shard2));
+    dataSource.afterPropertiesSet();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(0));
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void getConnection_noShardKnown_usesHomeShard() throws Exception {
+    // Arrange
+    when(home.getConnection()).thenReturn(homeConnection);
+
+    // Act
+    var connection = dataSource.getConnection();
+
+    // Assert
+    assertThat(connection).isSameAs(homeConnection);
+  }
+
+  @Test
+  void getConnection_inScope_usesShardOfScope() throws Exception {
+    // Arrange
+    when(shard2.getConnection()).thenReturn(shard2Connection);
+
+    // Act
+    var connection = ShardContext.callInScope(2, this::connection);
+
+    // Assert
+    assertThat(connection).isSameAs(shard2Connection);
+  }
+
+  @Test
+  void getConnection_transactionPinned_usesPinnedShard() throws Exception {
+    // Arrange
+    TransactionSynchronizationManager.initSynchronization();
+    when(shard1.getConnection()).thenReturn(shard1Connection);
+    ShardContext.pin(1);
+
+    // Act
+    var connection = dataSource.getConnection();
+
+    // Assert
+    assertThat(connection).isSameAs(shard1Connection);
+  }
+
+  @Test
+  void getConnection_transactionBoundOnFirstConnection_staysOnThatShard() throws Exception {
+    // Arrange
+    TransactionSynchronizationManager.initSynchronization();
+    when(shard1.getConnection()).thenReturn(shard1Connection);
+    ShardContext.callInScope(1, this::connection);
+
+    // Act
+    var connection = dataSource.getConnection();
+
+    // Assert
+    assertThat(connection).isSameAs(shard1Connection);
+    assertThat(ShardContext.currentShard()).hasValue(1);
+  }
+
+  @Test
+  void pin_transactionBoundToOtherShard_throwsIllegalStateException() {
+    // Arrange
+    TransactionSynchronizationManager.initSynchronization();
+    ShardContext.pin(1);
+
+    // Act / Assert
+    assertThatThrownBy(() -> ShardContext.pin(2))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("shard <1>");
+  }
+
+  @Test
+  void pin_noTransaction_throwsIllegalStateException() {
+    // Act / Assert
+    assertThatThrownBy(() -> ShardContext.pin(1))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private Connection connection() {
+    try {
+      return dataSource.getConnection();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.dariom.wds.config.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.ratelimit.RateLimitProperties.EndpointLimit;
+import com.dariom.wds.config.security.AuthenticatedUserResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+  @Mock
+  private RateLimiter rateLimiter;
+
+  @Mock
+  private FilterChain chain;
+
+  private RateLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    var properties = new RateLimitProperties(true,
+        Map.of("guess", new EndpointLimit("POST", "/api/v1/rooms/{roomId}/guess", 10, 2)), null);
+    filter = new RateLimitFilter(properties, rateLimiter, new AuthenticatedUserResolver(),
+        new ObjectMapper());
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void doFilter_withinLimit_continuesChain() throws Exception {
+    // Arrange
+    authenticate("user-1");
+    var request = new MockHttpServletRequest("POST", "/api/v1/rooms/room-1/guess");
+    var response = new MockHttpServletResponse();
+    when(rateLimiter.tryAcquire("guess", "user-1")).thenReturn(Duration.ZERO);
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    verify(chain).doFilter(request, response);
+    assertThat(response.getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  void doFilter_limitExceeded_returnsTooManyRequestsWithRetryAfter() throws Exception {
+    // Arrange
+    authenticate("user-1");
+    var request = new MockHttpServletRequest("POST", "/api/v1/rooms/room-1/guess");
+    var response = new MockHttpServletResponse();
+    when(rateLimiter.tryAcquire("guess", "user-1")).thenReturn(Duration.ofMillis(1_200));
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    verifyNoInteractions(chain);
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+    assertThat(response.getContentAsString()).contains("\"code\":\"RATE_LIMITED\"");
+  }
+
+  @Test
+  void doFilter_endpointWithoutLimit_continuesChain() throws Exception {
+    // Arrange
+    authenticate("user-1");
+    var request = new MockHttpServletRequest("GET", "/api/v1/rooms/room-1");
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    verify(chain).doFilter(request, response);
+    verifyNoInteractions(rateLimiter);
+  }
+
+  @Test
+  void doFilter_unauthenticated_continuesChain() throws Exception {
+    // Arrange
+    var request = new MockHttpServletRequest("POST", "/api/v1/rooms/room-1/guess");
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    verify(chain).doFilter(any(), any());
+    verifyNoInteractions(rateLimiter);
+  }
+
+  private static void authenticate(String subject) {
+    var now = Instant.now();
+    var jwt = new Jwt("token", now, now.plusSeconds(60), Map.of("alg", "none"),
+        Map.of("sub", subject));
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+  }
+}
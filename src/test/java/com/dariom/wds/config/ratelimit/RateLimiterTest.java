@@ -0,0 +1,160 @@
+package com.dariom.wds.config.ratelimit;
+
+import static com.dariom.wds.config.ratelimit.RateLimiter.INCREMENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.ratelimit.RateLimitProperties.EndpointLimit;
+import com.dariom.wds.config.ratelimit.RateLimitProperties.GlobalBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimiterTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-10T00:00:30Z");
+  private static final String GLOBAL_KEY = "rate-limit:user-1:1736467200000";
+
+  @Mock
+  private StringRedisTemplate redisTemplate;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  @Test
+  void tryAcquire_withinCapacity_allowsRequests() {
+    // Arrange
+    var rateLimiter = rateLimiter(null);
+
+    // Act
+    var first = rateLimiter.tryAcquire("guess", "user-1");
+    var second = rateLimiter.tryAcquire("guess", "user-1");
+
+    // Assert
+    assertThat(first).isZero();
+    assertThat(second).isZero();
+    verifyNoInteractions(redisTemplate);
+  }
+
+  @Test
+  void tryAcquire_bucketEmpty_returnsWaitUntilNextTokenAndCountsThrottle() {
+    // Arrange
+    var rateLimiter = rateLimiter(null);
+    rateLimiter.tryAcquire("guess", "user-1");
+    rateLimiter.tryAcquire("guess", "user-1");
+
+    // Act
+    var retryAfter = rateLimiter.tryAcquire("guess", "user-1");
+
+    // Assert
+    assertThat(retryAfter).isEqualTo(Duration.ofMillis(500));
+    assertThat(meterRegistry.get("http.server.requests.throttled")
+        .tag("endpoint", "guess").tag("scope", "local").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void tryAcquire_bucketRefilled_allowsRequest() {
+    // Arrange
+    var rateLimiter = rateLimiter(null);
+    rateLimiter.tryAcquire("guess", "user-1");
+    rateLimiter.tryAcquire("guess", "user-1");
+    nanoTime.addAndGet(Duration.ofMillis(500).toNanos());
+
+    // Act
+    var retryAfter = rateLimiter.tryAcquire("guess", "user-1");
+
+    // Assert
+    assertThat(retryAfter).isZero();
+  }
+
+  @Test
+  void tryAcquire_otherUser_usesSeparateBucket() {
+    // Arrange
+    var rateLimiter = rateLimiter(null);
+    rateLimiter.tryAcquire("guess", "user-1");
+    rateLimiter.tryAcquire("guess", "user-1");
+
+    // Act
+    var retryAfter = rateLimiter.tryAcquire("guess", "user-2");
+
+    // Assert
+    assertThat(retryAfter).isZero();
+  }
+
+  @Test
+  void tryAcquire_unknownEndpoint_allowsRequest() {
+    // Arrange
+    var rateLimiter = rateLimiter(null);
+
+    // Act
+    var retryAfter = rateLimiter.tryAcquire("other", "user-1");
+
+    // Assert
+    assertThat(retryAfter).isZero();
+  }
+
+  @Test
+  void tryAcquire_globalBudgetExceeded_returnsRemainingWindow() {
+    // Arrange
+    var rateLimiter = rateLimiter(new GlobalBudget(true, 100, Duration.ofMinutes(1)));
+    when(redisTemplate.execute(INCREMENT, List.of(GLOBAL_KEY), "60000")).thenReturn(101L);
+
+    // Act
+    var retryAfter = rateLimiter.tryAcquire("guess", "user-1");
+
+    // Assert
+    assertThat(retryAfter).isEqualTo(Duration.ofSeconds(30));
+    assertThat(meterRegistry.get("http.server.requests.throttled")
+        .tag("scope", "global").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void tryAcquire_withinGlobalBudget_countsRequestWithWindowExpiry() {
+    // Arrange
+    var rateLimiter = rateLimiter(new GlobalBudget(true, 100, Duration.ofMinutes(1)));
+    when(redisTemplate.execute(INCREMENT, List.of(GLOBAL_KEY), "60000")).thenReturn(1L);
+
+    // Act
+    var retryAfter = rateLimiter.tryAcquire("guess", "user-1");
+
+    // Assert
+    assertThat(retryAfter).isZero();
+    verify(redisTemplate).execute(INCREMENT, List.of(GLOBAL_KEY), "60000");
+  }
+
+  @Test
+  void tryAcquire_redisUnavailable_allowsRequest() {
+    // Arrange
+    var rateLimiter = rateLimiter(new GlobalBudget(true, 100, Duration.ofMinutes(1)));
+    when(redisTemplate.execute(INCREMENT, List.of(GLOBAL_KEY), "60000"))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    // Act
+    var retryAfter = rateLimiter.tryAcquire("guess", "user-1");
+
+    // Assert
+    assertThat(retryAfter).isZero();
+  }
+
+  private RateLimiter rateLimiter(GlobalBudget globalBudget) {
+    var properties = new RateLimitProperties(true,
+        Map.of("guess", new EndpointLimit("POST", "/api/v1/rooms/{roomId}/guess", 2, 2)),
+        globalBudget);
+    return new RateLimiter(properties, redisTemplate, Clock.fixed(NOW, ZoneOffset.UTC),
+        meterRegistry, nanoTime::get);
+  }
+}
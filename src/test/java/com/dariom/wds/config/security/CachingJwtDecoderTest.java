@@ -0,0 +1,129 @@
+package com.dariom.wds.config.security;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+  private final JwtDecoder delegate = mock(JwtDecoder.class);
+  private final AtomicLong nanos = new AtomicLong();
+  private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100,
+      Clock.fixed(NOW, UTC), nanos::get);
+
+  @Test
+  void decode_sameTokenTwice_verifiesOnce() {
+    // Arrange
+    var jwt = jwt("token-1", NOW.plusSeconds(900));
+    when(delegate.decode("token-1")).thenReturn(jwt);
+
+    // Act
+    var first = decoder.decode("token-1");
+    var second = decoder.decode("token-1");
+
+    // Assert
+    assertThat(first).isSameAs(jwt);
+    assertThat(second).isSameAs(jwt);
+    verify(delegate, times(1)).decode("token-1");
+  }
+
+  @Test
+  void decode_differentTokens_verifiesEach() {
+    // Arrange
+    when(delegate.decode("token-1")).thenReturn(jwt("token-1", NOW.plusSeconds(900)));
+    when(delegate.decode("token-2")).thenReturn(jwt("token-2", NOW.plusSeconds(900)));
+
+    // Act
+    var first = decoder.decode("token-1");
+    var second = decoder.decode("token-2");
+
+    // Assert
+    assertThat(first.getTokenValue()).isEqualTo("token-1");
+    assertThat(second.getTokenValue()).isEqualTo("token-2");
+    verify(delegate).decode("token-1");
+    verify(delegate).decode("token-2");
+  }
+
+  @Test
+  void decode_rejectedToken_isNotCached() {
+    // Arrange
+    when(delegate.decode("bad")).thenThrow(new BadJwtException("bad signature"));
+
+    // Act
+    var first = catchThrowable(() -> decoder.decode("bad"));
+    var second = catchThrowable(() -> decoder.decode("bad"));
+
+    // Assert
+    assertThat(first).isInstanceOf(BadJwtException.class);
+    assertThat(second).isInstanceOf(BadJwtException.class);
+    verify(delegate, times(2)).decode("bad");
+  }
+
+  @Test
+  void decode_tokenWithoutExpiry_isNotCached() {
+    // Arrange
+    when(delegate.decode("token-1")).thenReturn(jwt("token-1", null));
+
+    // Act
+    decoder.decode("token-1");
+    decoder.decode("token-1");
+
+    // Assert
+    verify(delegate, times(2)).decode("token-1");
+    assertThat(decoder.cache().estimatedSize()).isZero();
+  }
+
+  @Test
+  void decode_afterTokenExpiry_verifiesAgain() {
+    // Arrange
+    when(delegate.decode("token-1")).thenReturn(jwt("token-1", NOW.plusSeconds(60)));
+    decoder.decode("token-1");
+
+    // Act
+    nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+    decoder.decode("token-1");
+
+    // Assert
+    verify(delegate, times(2)).decode("token-1");
+  }
+
+  @Test
+  void decode_cachedKey_isHashOfToken() {
+    // Arrange
+    when(delegate.decode("token-1")).thenReturn(jwt("token-1", NOW.plusSeconds(900)));
+
+    // Act
+    decoder.decode("token-1");
+
+    // Assert
+    assertThat(decoder.cache().asMap().keySet())
+        .singleElement()
+        .satisfies(key -> assertThat(key).hasSize(64).doesNotContain("token-1"));
+  }
+
+  private static Jwt jwt(String token, Instant expiresAt) {
+    var builder = Jwt.withTokenValue(token)
+        .header("alg", "RS256")
+        .subject("user-1")
+        .issuedAt(NOW);
+    if (expiresAt != null) {
+      builder.expiresAt(expiresAt);
+    }
+    return builder.build();
+  }
+}
@@ -1,14 +1,27 @@
 package com.dariom.wds.config.security;
 
+import static com.dariom.wds.config.security.JwtKeyMaterial.jwtProperties;
+import static com.dariom.wds.config.security.JwtKeyMaterial.keyPair;
+import static com.dariom.wds.config.security.JwtKeyMaterial.signingKey;
+import static com.dariom.wds.config.security.JwtSigningAlgorithm.ES256;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.security.oauth2.jwt.JwtEncoderParameters.from;
 
+import com.dariom.wds.config.security.SecurityProperties.JwtProperties;
 import java.security.KeyPairGenerator;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
 import java.util.Base64;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtException;
 
 class JwtConfigTest {
 
@@ -106,6 +119,86 @@ class JwtConfigTest {
     assertThat(result.hasErrors()).isTrue();
   }
 
+  @ParameterizedTest
+  @EnumSource(JwtSigningAlgorithm.class)
+  void jwtDecoder_tokenSignedWithActiveKey_verifies(JwtSigningAlgorithm algorithm) {
+    // Arrange
+    var key = signingKey("key-1", algorithm, keyPair(algorithm), true);
+    var jwtConfig = jwtConfig(jwtProperties(null, null, List.of(key)));
+    var jwtKeys = jwtConfig.jwtKeys();
+    var token = sign(jwtConfig, jwtKeys, true);
+
+    // Act
+    var jwt = jwtConfig.verifyingJwtDecoder(jwtKeys).decode(token);
+
+    // Assert
+    assertThat(jwt.getSubject()).isEqualTo("user-1");
+    assertThat(jwt.getHeaders())
+        .containsEntry("alg", algorithm.getName())
+        .containsEntry("kid", "key-1");
+  }
+
+  @Test
+  void jwtDecoder_afterRotation_acceptsTokensOfPreviousKey() {
+    // Arrange
+    var legacy = JwtKeyMaterial.rsaKeyPair();
+    var before = jwtConfig(jwtProperties(legacy, null, List.of()));
+    var tokenWithoutKid = sign(before, before.jwtKeys(), false);
+    var tokenWithKid = sign(before, before.jwtKeys(), true);
+
+    var ecKey = signingKey("ec-2025", ES256, keyPair(ES256), true);
+    var after = jwtConfig(jwtProperties(legacy, "ec-2025", List.of(ecKey)));
+    var afterKeys = after.jwtKeys();
+    var decoder = after.verifyingJwtDecoder(afterKeys);
+
+    // Act
+    var oldWithoutKid = decoder.decode(tokenWithoutKid);
+    var oldWithKid = decoder.decode(tokenWithKid);
+    var rotated = decoder.decode(sign(after, afterKeys, true));
+
+    // Assert
+    assertThat(oldWithoutKid.getSubject()).isEqualTo("user-1");
+    assertThat(oldWithKid.getSubject()).isEqualTo("user-1");
+    assertThat(rotated.getHeaders()).containsEntry("alg", "ES256");
+  }
+
+  @Test
+  void jwtDecoder_tokenOfRemovedKey_isRejected() {
+    // Arrange
+    var before = jwtConfig(jwtProperties(JwtKeyMaterial.rsaKeyPair(), null, List.of()));
+    var token = sign(before, before.jwtKeys(), true);
+
+    var ecKey = signingKey("ec-2025", ES256, keyPair(ES256), true);
+    var after = jwtConfig(jwtProperties(null, null, List.of(ecKey)));
+    var decoder = after.verifyingJwtDecoder(after.jwtKeys());
+
+    // Act
+    var thrown = catchThrowable(() -> decoder.decode(token));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(JwtException.class);
+  }
+
+  private static JwtConfig jwtConfig(JwtProperties jwtProperties) {
+    return new JwtConfig(new SecurityProperties("", null, null, jwtProperties, null));
+  }
+
+  private static String sign(JwtConfig jwtConfig, JwtKeys jwtKeys, boolean withKeyId) {
+    var now = Instant.now();
+    var claims = JwtClaimsSet.builder()
+        .issuer(JwtKeyMaterial.ISSUER)
+        .issuedAt(now)
+        .expiresAt(now.plusSeconds(900))
+        .subject("user-1")
+        .audience(List.of(JwtKeyMaterial.AUDIENCE))
+        .build();
+    var header = JwsHeader.with(jwtKeys.signingAlgorithm());
+    if (withKeyId) {
+      header.keyId(jwtKeys.signingKeyId());
+    }
+    return jwtConfig.jwtEncoder(jwtKeys).encode(from(header.build(), claims)).getTokenValue();
+  }
+
   private static String toPem(String type, byte[] encoded) {
     var body = Base64.getMimeEncoder(64, "\n".getBytes())
         .encodeToString(encoded);
@@ -0,0 +1,76 @@
+package com.dariom.wds.config.security;
+
+import com.dariom.wds.config.security.SecurityProperties.JwtProperties;
+import com.dariom.wds.config.security.SecurityProperties.SigningKeyProperties;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Generates JWT key material in the PEM form the application is configured with.
+ */
+final class JwtKeyMaterial {
+
+  static final String ISSUER = "wordle-duel-service";
+  static final String AUDIENCE = "wordle-duel";
+
+  private JwtKeyMaterial() {
+
+  }
+
+  static KeyPair rsaKeyPair() {
+    return generate("RSA", null);
+  }
+
+  static KeyPair keyPair(JwtSigningAlgorithm algorithm) {
+    return switch (algorithm) {
+      case RS256 -> rsaKeyPair();
+      case ES256 -> generate("EC", "secp256r1");
+      case ED25519 -> generate("Ed25519", null);
+    };
+  }
+
+  static SigningKeyProperties signingKey(String id, JwtSigningAlgorithm algorithm,
+      KeyPair keyPair, boolean withPrivateKey) {
+    return new SigningKeyProperties(id, algorithm,
+        withPrivateKey ? privateKeyPem(keyPair) : null, publicKeyPem(keyPair));
+  }
+
+  static JwtProperties jwtProperties(KeyPair legacyRsaKeyPair, String activeKeyId,
+      List<SigningKeyProperties> keys) {
+    return new JwtProperties(ISSUER, 900, AUDIENCE, 1L,
+        legacyRsaKeyPair != null ? privateKeyPem(legacyRsaKeyPair) : null,
+        legacyRsaKeyPair != null ? publicKeyPem(legacyRsaKeyPair) : null,
+        10_000, activeKeyId, keys);
+  }
+
+  static String privateKeyPem(KeyPair keyPair) {
+    return toPem("PRIVATE KEY", keyPair.getPrivate().getEncoded());
+  }
+
+  static String publicKeyPem(KeyPair keyPair) {
+    return toPem("PUBLIC KEY", keyPair.getPublic().getEncoded());
+  }
+
+  private static KeyPair generate(String algorithm, String curve) {
+    try {
+      var generator = KeyPairGenerator.getInstance(algorithm);
+      if (curve != null) {
+        generator.initialize(new ECGenParameterSpec(curve));
+      } else if (algorithm.equals("RSA")) {
+        generator.initialize(2048);
+      }
+      return generator.generateKeyPair();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String toPem(String type, byte[] encoded) {
+    var body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(encoded);
+    return "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----";
+  }
+}
@@ -0,0 +1,163 @@
+package com.dariom.wds.config.security;
+
+import static com.dariom.wds.config.security.JwtKeyMaterial.jwtProperties;
+import static com.dariom.wds.config.security.JwtKeyMaterial.keyPair;
+import static com.dariom.wds.config.security.JwtKeyMaterial.rsaKeyPair;
+import static com.dariom.wds.config.security.JwtKeyMaterial.signingKey;
+import static com.dariom.wds.config.security.JwtSigningAlgorithm.ED25519;
+import static com.dariom.wds.config.security.JwtSigningAlgorithm.ES256;
+import static com.dariom.wds.config.security.JwtSigningAlgorithm.RS256;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.RSAKey;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JwtKeysTest {
+
+  @Test
+  void from_legacyPemOnly_signsWithRs256AndThumbprintKeyId() throws Exception {
+    // Arrange
+    var legacy = rsaKeyPair();
+
+    // Act
+    var jwtKeys = JwtKeys.from(jwtProperties(legacy, null, List.of()));
+
+    // Assert
+    var thumbprint = new RSAKey.Builder((RSAPublicKey) legacy.getPublic()).build()
+        .computeThumbprint().toString();
+    assertThat(jwtKeys.signingKeyId()).isEqualTo(thumbprint);
+    assertThat(jwtKeys.signingAlgorithm()).isEqualTo(RS256);
+    assertThat(jwtKeys.publicKeys().getKeys()).hasSize(1);
+  }
+
+  @Test
+  void from_activeKeyId_signsWithThatKeyAndVerifiesWithAll() {
+    // Arrange
+    var ecKey = signingKey("ec-2025", ES256, keyPair(ES256), true);
+    var properties = jwtProperties(rsaKeyPair(), "ec-2025", List.of(ecKey));
+
+    // Act
+    var jwtKeys = JwtKeys.from(properties);
+
+    // Assert
+    assertThat(jwtKeys.signingKeyId()).isEqualTo("ec-2025");
+    assertThat(jwtKeys.signingAlgorithm()).isEqualTo(ES256);
+    assertThat(jwtKeys.verificationAlgorithms())
+        .containsExactlyInAnyOrder(RS256.getJwsAlgorithm(), ES256.getJwsAlgorithm());
+    assertThat(jwtKeys.publicKeys().getKeys())
+        .hasSize(2)
+        .noneMatch(JWK::isPrivate);
+  }
+
+  @Test
+  void from_keysWithoutLegacyPem_signsWithFirstPrivateKey() {
+    // Arrange
+    var retired = signingKey("ed-2024", ED25519, keyPair(ED25519), false);
+    var current = signingKey("ed-2025", ED25519, keyPair(ED25519), true);
+
+    // Act
+    var jwtKeys = JwtKeys.from(jwtProperties(null, null, List.of(retired, current)));
+
+    // Assert
+    assertThat(jwtKeys.signingKeyId()).isEqualTo("ed-2025");
+    assertThat(jwtKeys.signingAlgorithm()).isEqualTo(ED25519);
+    assertThat(jwtKeys.publicKeys().getKeys()).extracting(JWK::getKeyID)
+        .containsExactly("ed-2024", "ed-2025");
+  }
+
+  @Test
+  void from_activeKeyWithoutPrivateKey_throws() {
+    // Arrange
+    var verifyOnly = signingKey("ec-2024", ES256, keyPair(ES256), false);
+    var properties = jwtProperties(rsaKeyPair(), "ec-2024", List.of(verifyOnly));
+
+    // Act
+    var thrown = catchThrowable(() -> JwtKeys.from(properties));
+
+    // Assert
+    assertThat(thrown)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("JWT signing key has no private key: ec-2024");
+  }
+
+  @Test
+  void from_unknownActiveKey_throws() {
+    // Arrange
+    var properties = jwtProperties(rsaKeyPair(), "missing", List.of());
+
+    // Act
+    var thrown = catchThrowable(() -> JwtKeys.from(properties));
+
+    // Assert
+    assertThat(thrown)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Unknown JWT signing key: missing");
+  }
+
+  @Test
+  void from_duplicateKeyIds_throws() {
+    // Arrange
+    var first = signingKey("key", ES256, keyPair(ES256), true);
+    var second = signingKey("key", ED25519, keyPair(ED25519), true);
+
+    // Act
+    var thrown = catchThrowable(() -> JwtKeys.from(jwtProperties(null, null,
+        List.of(first, second))));
+
+    // Assert
+    assertThat(thrown)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Duplicate JWT key id: key");
+  }
+
+  @Test
+  void from_noPrivateKey_throws() {
+    // Arrange
+    var verifyOnly = signingKey("ec-2024", ES256, keyPair(ES256), false);
+
+    // Act
+    var thrown = catchThrowable(() -> JwtKeys.from(jwtProperties(null, null,
+        List.of(verifyOnly))));
+
+    // Assert
+    assertThat(thrown)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageStartingWith("No JWT signing key configured");
+  }
+
+  @Test
+  void parseKey_es256KeyOnOtherCurve_throws() throws Exception {
+    // Arrange
+    var generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec("secp384r1"));
+    var key = signingKey("ec-384", ES256, generator.generateKeyPair(), true);
+
+    // Act
+    var thrown = catchThrowable(() -> JwtKeys.parseKey(key));
+
+    // Assert
+    assertThat(thrown)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("ES256 JWT key is not on curve P-256: ec-384");
+  }
+
+  @Test
+  void parseKey_keyOfOtherAlgorithm_throws() {
+    // Arrange
+    var key = signingKey("mislabelled", ES256, keyPair(ED25519), true);
+
+    // Act
+    var thrown = catchThrowable(() -> JwtKeys.parseKey(key));
+
+    // Assert
+    assertThat(thrown)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Failed to parse ES256 key material for JWT key: mislabelled");
+  }
+}
@@ -0,0 +1,80 @@
+package com.dariom.wds.config.security;
+
+import static com.dariom.wds.config.security.JwtKeyMaterial.jwtProperties;
+import static com.dariom.wds.config.security.JwtKeyMaterial.keyPair;
+import static com.dariom.wds.config.security.JwtKeyMaterial.signingKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.oauth2.jwt.JwtEncoderParameters.from;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.IntSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+
+/**
+ * Measures the CPU time of signing an access token (paid on every {@code /auth/refresh}) and of
+ * verifying it (paid on every cache miss of {@link CachingJwtDecoder}) for each supported
+ * algorithm, and the resulting token size.
+ */
+@Slf4j
+class JwtSigningAlgorithmBenchmarkIT {
+
+  private static final int WARMUP_OPERATIONS = 500;
+  private static final int MEASURED_OPERATIONS = 2_000;
+
+  @ParameterizedTest
+  @EnumSource(JwtSigningAlgorithm.class)
+  void signAndVerify_eachAlgorithm_roundTrips(JwtSigningAlgorithm algorithm) {
+    // Arrange
+    var key = signingKey("bench", algorithm, keyPair(algorithm), true);
+    var jwtConfig = new JwtConfig(new SecurityProperties("", null, null,
+        jwtProperties(null, null, List.of(key)), null));
+    var jwtKeys = jwtConfig.jwtKeys();
+    var encoder = jwtConfig.jwtEncoder(jwtKeys);
+    var decoder = jwtConfig.verifyingJwtDecoder(jwtKeys);
+    var header = JwsHeader.with(algorithm).keyId(jwtKeys.signingKeyId()).build();
+    var token = encoder.encode(from(header, claims())).getTokenValue();
+
+    // Act
+    var signNanos = cpuNanosPerOperation(
+        () -> encoder.encode(from(header, claims())).getTokenValue().length());
+    var verifyNanos = cpuNanosPerOperation(() -> decoder.decode(token).getClaims().size());
+
+    // Assert
+    log.info("{} CPU per token: sign={}us verify={}us, token length={}", algorithm,
+        signNanos / 1_000.0, verifyNanos / 1_000.0, token.length());
+    assertThat(decoder.decode(token).getSubject()).isEqualTo("user-1");
+  }
+
+  private static double cpuNanosPerOperation(IntSupplier operation) {
+    var threadMxBean = ManagementFactory.getThreadMXBean();
+    for (var i = 0; i < WARMUP_OPERATIONS; i++) {
+      operation.getAsInt();
+    }
+
+    var start = threadMxBean.getCurrentThreadCpuTime();
+    for (var i = 0; i < MEASURED_OPERATIONS; i++) {
+      operation.getAsInt();
+    }
+    return (double) (threadMxBean.getCurrentThreadCpuTime() - start) / MEASURED_OPERATIONS;
+  }
+
+  private static JwtClaimsSet claims() {
+    var now = Instant.now();
+    return JwtClaimsSet.builder()
+        .issuer(JwtKeyMaterial.ISSUER)
+        .issuedAt(now)
+        .expiresAt(now.plusSeconds(900))
+        .subject("user-1")
+        .audience(List.of(JwtKeyMaterial.AUDIENCE))
+        .claim("ver", 1L)
+        .claim("email", "player@example.com")
+        .claim("roles", List.of("USER"))
+        .build();
+  }
+}
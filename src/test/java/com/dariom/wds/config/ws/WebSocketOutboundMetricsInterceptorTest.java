@@ -0,0 +1,108 @@
+package com.dariom.wds.config.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.messaging.simp.SimpMessageType.MESSAGE;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+class WebSocketOutboundMetricsInterceptorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final WebSocketOutboundMetricsInterceptor interceptor =
+      new WebSocketOutboundMetricsInterceptor(meterRegistry);
+  private final MessageChannel channel = mock(MessageChannel.class);
+  private final MessageHandler handler = mock(MessageHandler.class);
+
+  @Test
+  void preSend_sessionMessage_tracksPendingDepthAndStampsEnqueueTime() {
+    // Act
+    interceptor.preSend(sessionMessage("session-1"), channel);
+    var second = interceptor.preSend(sessionMessage("session-1"), channel);
+    interceptor.preSend(sessionMessage("session-2"), channel);
+
+    // Assert
+    assertThat(second.getHeaders().get(WebSocketOutboundMetricsInterceptor.ENQUEUED_AT_HEADER))
+        .isInstanceOf(Long.class);
+    assertThat(gauge("websocket.outbound.pending")).isEqualTo(3);
+    assertThat(gauge("websocket.outbound.session.pending.max")).isEqualTo(2);
+    assertThat(meterRegistry.get("websocket.outbound.session.queue.depth").summary().max())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void afterMessageHandled_sessionMessage_recordsLatencyAndReleasesPending() {
+    // Arrange
+    var sent = interceptor.preSend(sessionMessage("session-1"), channel);
+
+    // Act
+    interceptor.afterMessageHandled(sent, channel, handler, null);
+
+    // Assert
+    assertThat(meterRegistry.get("websocket.outbound.fanout.latency").timer().count())
+        .isEqualTo(1);
+    assertThat(gauge("websocket.outbound.pending")).isZero();
+  }
+
+  @Test
+  void afterSendCompletion_notSent_releasesPending() {
+    // Arrange
+    var rejected = interceptor.preSend(sessionMessage("session-1"), channel);
+
+    // Act
+    interceptor.afterSendCompletion(rejected, channel, false,
+        new IllegalStateException("queue full"));
+
+    // Assert
+    assertThat(gauge("websocket.outbound.pending")).isZero();
+  }
+
+  @Test
+  void onDisconnect_sessionNotReliable_countsSlowConsumer() {
+    // Arrange
+    interceptor.preSend(sessionMessage("session-1"), channel);
+    var event = new SessionDisconnectEvent(this, sessionMessage("session-1"), "session-1",
+        CloseStatus.SESSION_NOT_RELIABLE);
+
+    // Act
+    interceptor.onDisconnect(event);
+
+    // Assert
+    assertThat(meterRegistry.get("websocket.sessions.slow.disconnects").counter().count())
+        .isEqualTo(1);
+    assertThat(gauge("websocket.outbound.pending")).isZero();
+  }
+
+  @Test
+  void onDisconnect_normalClose_doesNotCountSlowConsumer() {
+    // Arrange
+    var event = new SessionDisconnectEvent(this, sessionMessage("session-1"), "session-1",
+        CloseStatus.NORMAL);
+
+    // Act
+    interceptor.onDisconnect(event);
+
+    // Assert
+    assertThat(meterRegistry.get("websocket.sessions.slow.disconnects").counter().count())
+        .isZero();
+  }
+
+  private double gauge(String name) {
+    return meterRegistry.get(name).gauge().value();
+  }
+
+  private static Message<byte[]> sessionMessage(String sessionId) {
+    var accessor = SimpMessageHeaderAccessor.create(MESSAGE);
+    accessor.setSessionId(sessionId);
+    accessor.setDestination("/topic/rooms/room-1");
+    return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+  }
+}
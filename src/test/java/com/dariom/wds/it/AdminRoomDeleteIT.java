@@ -18,6 +18,7 @@ import jakarta.annotation.Resource;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -67,14 +68,15 @@ class AdminRoomDeleteIT extends AbstractRedisTest {
   void deleteRoomById_adminRole_deletesRoomAndChildren() throws Exception {
     // Arrange
     var adminBearer = itHelper.adminBearer();
-    var roomId = "room-cascade";
+    var roomId = UUID.randomUUID();
+    var playerId = UUID.randomUUID();
 
     var room = new RoomEntity();
     room.setId(roomId);
     room.setLanguage(IT);
     room.setStatus(WAITING_FOR_PLAYERS);
-    room.addPlayer("p1");
-    room.setPlayerScore("p1", 0);
+    room.addPlayer(playerId);
+    room.setPlayerScore(playerId, 0);
 
     var round = new RoundEntity();
     round.setRoom(room);
@@ -82,11 +84,11 @@ class AdminRoomDeleteIT extends AbstractRedisTest {
     round.setTargetWord("PIZZA");
     round.setMaxAttempts(6);
     round.setRoundStatus(RoundStatus.PLAYING);
-    round.setPlayerStatus("p1", RoundPlayerStatus.PLAYING);
+    round.setPlayerStatus(playerId, RoundPlayerStatus.PLAYING);
 
     var guess = new GuessEntity();
     guess.setRound(round);
-    guess.setPlayerId("p1");
+    guess.setPlayerId(playerId);
     guess.setWord("PIZZA");
     guess.setAttemptNumber(1);
     guess.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
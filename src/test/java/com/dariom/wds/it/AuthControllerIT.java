@@ -2,11 +2,15 @@ package com.dariom.wds.it;
 
 import static com.dariom.wds.it.IntegrationTestHelper.CSRF_HEADER_NAME;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
 import static org.springframework.http.HttpHeaders.SET_COOKIE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.dariom.wds.config.security.JwtKeys;
 import com.dariom.wds.config.security.SecurityProperties;
 import com.dariom.wds.persistence.repository.jpa.RefreshTokenJpaRepository;
 import com.dariom.wds.service.auth.RefreshTokenService;
@@ -38,6 +42,8 @@ class AuthControllerIT extends AbstractRedisTest {
   private TokenHashing tokenHashing;
   @Resource
   private RefreshTokenJpaRepository refreshTokenJpaRepository;
+  @Resource
+  private JwtKeys jwtKeys;
 
   @Test
   void refresh_validCookieAndCsrf_returns200AndRotatesRefreshToken() throws Exception {
@@ -134,4 +140,15 @@ class AuthControllerIT extends AbstractRedisTest {
         securityProperties.refresh().cookieName());
     assertThat(refreshSetCookieHeader).contains("Max-Age=0");
   }
+
+  @Test
+  void jwks_anonymous_returnsPublicSigningKeys() throws Exception {
+    // Act / Assert
+    mockMvc.perform(get("/.well-known/jwks.json"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(CACHE_CONTROL, "max-age=300, public"))
+        .andExpect(jsonPath("$.keys[0].kid").value(jwtKeys.signingKeyId()))
+        .andExpect(jsonPath("$.keys[0].alg").value("RS256"))
+        .andExpect(jsonPath("$.keys[0].d").doesNotExist());
+  }
 }
@@ -1,5 +1,6 @@
 package com.dariom.wds.it;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.anEmptyMap;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.emptyOrNullString;
@@ -13,6 +14,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.dariom.wds.it.QueryCounter.QueryCount;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.Resource;
 import java.util.Map;
@@ -79,16 +81,26 @@ class GameFlowIT extends AbstractRedisTest {
     expectRoomInProgress(roomForP2AfterP1GuessRes, "$", roomId, 1, "PLAYING", "LOST", "PLAYING");
     roomForP2AfterP1GuessRes.andExpect(jsonPath("$.currentRound.solution").doesNotExist());
 
+    // the room with its players, then the current round with its guesses
+    var roomWithOneGuessQueries = itHelper.countQueries(
+        () -> itHelper.getRoom(roomId, player2Bearer).andExpect(status().isOk()));
+    assertThat(roomWithOneGuessQueries).isEqualTo(new QueryCount(2, 0, 0, 0));
+
     // player2 submits guess
-    var player2GuessRes = itHelper.submitGuess(roomId, player2Bearer, WORD)
-        .andExpect(status().isOk());
-    expectRoomInProgress(player2GuessRes, "$.room", roomId, 1, "ENDED", "LOST", "LOST");
-    player2GuessRes.andExpect(
-        jsonPath("$.room.currentRound.solution").value(not(emptyOrNullString())));
-    player2GuessRes.andExpect(
-        jsonPath("$.room.currentRound.solution").value(hasLength(WORD.length())));
-    expectSingleGuess(player2GuessRes, "$.room", PLAYER_1_ID, WORD, 1);
-    expectSingleGuess(player2GuessRes, "$.room", PLAYER_2_ID, WORD, 1);
+    var player2GuessQueries = itHelper.countQueries(() -> {
+      var player2GuessRes = itHelper.submitGuess(roomId, player2Bearer, WORD)
+          .andExpect(status().isOk());
+      expectRoomInProgress(player2GuessRes, "$.room", roomId, 1, "ENDED", "LOST", "LOST");
+      player2GuessRes.andExpect(
+          jsonPath("$.room.currentRound.solution").value(not(emptyOrNullString())));
+      player2GuessRes.andExpect(
+          jsonPath("$.room.currentRound.solution").value(hasLength(WORD.length())));
+      expectSingleGuess(player2GuessRes, "$.room", PLAYER_1_ID, WORD, 1);
+      expectSingleGuess(player2GuessRes, "$.room", PLAYER_2_ID, WORD, 1);
+    });
+    // the locked room, its players and the round with its guesses; writes are flushed on
+    // commit, which the test transaction never reaches, so only selects are pinned
+    assertThat(player2GuessQueries.selects()).isEqualTo(3);
 
     // round is finished (both players lost)
     var roomRes = itHelper.getRoom(roomId, player1Bearer).andExpect(status().isOk());
@@ -98,6 +110,11 @@ class GameFlowIT extends AbstractRedisTest {
     expectGuessWordOnly(roomRes, "$", PLAYER_1_ID, WORD);
     expectGuessWordOnly(roomRes, "$", PLAYER_2_ID, WORD);
 
+    // loading the room doesn't issue more queries as guesses accumulate
+    var roomWithTwoGuessesQueries = itHelper.countQueries(
+        () -> itHelper.getRoom(roomId, player1Bearer).andExpect(status().isOk()));
+    assertThat(roomWithTwoGuessesQueries).isEqualTo(new QueryCount(2, 0, 0, 0));
+
     // submitting another guess is illegal once round is finished
     itHelper.submitGuess(roomId, player1Bearer, WORD)
         .andExpect(status().isBadRequest())
@@ -112,9 +129,13 @@ class GameFlowIT extends AbstractRedisTest {
         jsonPath("$.currentRound.solution").value(not(emptyOrNullString())));
 
     // player1 ready (idempotent)
-    var readyP1Res = itHelper.ready(roomId, player1Bearer, 1).andExpect(status().isOk());
-    expectRoomInProgress(readyP1Res, "$", roomId, 1, "ENDED", "READY", "LOST");
-    readyP1Res.andExpect(jsonPath("$.currentRound.solution").value(not(emptyOrNullString())));
+    var readyP1Queries = itHelper.countQueries(() -> {
+      var readyP1Res = itHelper.ready(roomId, player1Bearer, 1).andExpect(status().isOk());
+      expectRoomInProgress(readyP1Res, "$", roomId, 1, "ENDED", "READY", "LOST");
+      readyP1Res.andExpect(jsonPath("$.currentRound.solution").value(not(emptyOrNullString())));
+    });
+    // the locked room, its players and the round with its guesses
+    assertThat(readyP1Queries.selects()).isEqualTo(3);
 
     itHelper.ready(roomId, player1Bearer, 1)
         .andExpect(status().isOk())
@@ -10,12 +10,15 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 import com.dariom.wds.domain.Role;
+import com.dariom.wds.it.QueryCounter.QueryCount;
+import com.dariom.wds.it.QueryCounter.ThrowingRunnable;
 import com.dariom.wds.persistence.entity.AppUserEntity;
 import com.dariom.wds.persistence.entity.RoleEntity;
 import com.dariom.wds.persistence.repository.jpa.AppUserJpaRepository;
 import com.dariom.wds.persistence.repository.jpa.RoleJpaRepository;
 import com.dariom.wds.service.auth.JwtService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.servlet.http.Cookie;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +47,7 @@ class IntegrationTestHelper {
   private final AppUserJpaRepository appUserJpaRepository;
   private final RoleJpaRepository roleJpaRepository;
   private final CacheManager cacheManager;
+  private final EntityManager entityManager;
 
   String userBearer() {
     return bearer(USER);
@@ -105,6 +109,17 @@ class IntegrationTestHelper {
         .content(body instanceof String str ? str : objectMapper.writeValueAsString(body)));
   }
 
+  /**
+   * Counts the statements issued by {@code action}, for {@code @Transactional} tests. Pending
+   * changes are flushed and the persistence context cleared first, so entities loaded by earlier
+   * calls in the same test transaction don't hide queries the call would run in production.
+   */
+  QueryCount countQueries(ThrowingRunnable action) throws Exception {
+    entityManager.flush();
+    entityManager.clear();
+    return QueryCounter.count(action);
+  }
+
   Cookie fetchCsrfCookie() throws Exception {
     var response = mockMvc.perform(get("/actuator/health"))
         .andReturn()
@@ -0,0 +1,77 @@
+package com.dariom.wds.it;
+
+import java.util.Locale;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the calling thread while
+ * {@link #count(ThrowingRunnable)} runs, so integration tests can pin how many queries an API call
+ * issues and catch N+1 regressions on lazy collections.
+ *
+ * <p>Registered as Hibernate's statement inspector in the test configuration. Counting is per
+ * thread because MockMvc runs requests on the test thread, while background jobs (outbox poll,
+ * cleanup) keep querying on their own threads; that is why this is used instead of the global
+ * Hibernate statistics. Plain JDBC work outside Hibernate is not counted.
+ */
+public class QueryCounter implements StatementInspector {
+
+  private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+  @Override
+  public String inspect(String sql) {
+    var counts = CURRENT.get();
+    if (counts != null) {
+      counts.record(sql);
+    }
+    return sql;
+  }
+
+  static QueryCount count(ThrowingRunnable action) throws Exception {
+    var counts = new Counts();
+    CURRENT.set(counts);
+    try {
+      action.run();
+    } finally {
+      CURRENT.remove();
+    }
+    return counts.toQueryCount();
+  }
+
+  @FunctionalInterface
+  interface ThrowingRunnable {
+
+    void run() throws Exception;
+  }
+
+  record QueryCount(int selects, int inserts, int updates, int deletes) {
+
+    int total() {
+      return selects + inserts + updates + deletes;
+    }
+  }
+
+  private static final class Counts {
+
+    private int selects;
+    private int inserts;
+    private int updates;
+    private int deletes;
+
+    private void record(String sql) {
+      var statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+      if (statement.startsWith("select") || statement.startsWith("with")) {
+        selects++;
+      } else if (statement.startsWith("insert")) {
+        inserts++;
+      } else if (statement.startsWith("update")) {
+        updates++;
+      } else if (statement.startsWith("delete")) {
+        deletes++;
+      }
+    }
+
+    private QueryCount toQueryCount() {
+      return new QueryCount(selects, inserts, updates, deletes);
+    }
+  }
+}
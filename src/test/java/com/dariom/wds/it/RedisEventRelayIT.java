@@ -3,7 +3,7 @@ package com.dariom.wds.it;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
-import com.dariom.wds.websocket.RedisRoomEventPublisher;
+import com.dariom.wds.websocket.RedisRoomEventRelay;
 import com.dariom.wds.websocket.model.EventType;
 import com.dariom.wds.websocket.model.RoomEvent;
 import com.dariom.wds.websocket.model.RoomEventToPublish;
@@ -22,7 +22,7 @@ import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 class RedisEventRelayIT extends AbstractRedisTest {
 
   @Autowired
-  private RedisRoomEventPublisher publisher;
+  private RedisRoomEventRelay publisher;
 
   @Autowired
   private RedisConnectionFactory connectionFactory;
@@ -38,7 +38,7 @@ class RedisEventRelayIT extends AbstractRedisTest {
     container.addMessageListener((message, pattern) -> {
       received.add(new String(message.getBody()));
       latch.countDown();
-    }, new ChannelTopic(RedisRoomEventPublisher.ROOM_EVENTS));
+    }, new ChannelTopic(RedisRoomEventRelay.ROOM_EVENTS));
     container.afterPropertiesSet();
     container.start();
 
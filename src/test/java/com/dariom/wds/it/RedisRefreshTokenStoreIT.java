@@ -0,0 +1,150 @@
+package com.dariom.wds.it;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.dariom.wds.exception.InvalidRefreshTokenException;
+import com.dariom.wds.persistence.entity.AppUserEntity;
+import com.dariom.wds.service.auth.RedisRefreshTokenStore;
+import jakarta.annotation.Resource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@SpringBootTest(properties = {
+    "app.security.refresh-token-store.type=redis",
+    "app.security.refresh-token-store.audit-enabled=false"
+})
+class RedisRefreshTokenStoreIT extends AbstractRedisTest {
+
+  private static final Instant NOW = Instant.now();
+  private static final Instant EXPIRES_AT = NOW.plusSeconds(3600);
+
+  @Resource
+  private RedisRefreshTokenStore store;
+
+  @Resource
+  private StringRedisTemplate redisTemplate;
+
+  @Test
+  void rotate_savedToken_returnsUserIdAndRejectsReuse() {
+    // Arrange
+    var user = user();
+    var tokenHash = randomHash();
+    var newTokenHash = randomHash();
+    store.save(user, tokenHash, NOW, EXPIRES_AT);
+
+    // Act
+    var userId = store.rotate(tokenHash, newTokenHash, NOW, EXPIRES_AT);
+    var reused = catchThrowable(() -> store.rotate(tokenHash, randomHash(), NOW, EXPIRES_AT));
+
+    // Assert
+    assertThat(userId).isEqualTo(user.getId());
+    assertThat(reused).isInstanceOf(InvalidRefreshTokenException.class);
+    assertThat(redisTemplate.opsForValue().get("refresh-token:" + newTokenHash))
+        .isEqualTo(user.getId().toString());
+    assertThat(redisTemplate.getExpire("refresh-token:" + newTokenHash, SECONDS))
+        .isBetween(3500L, 3600L);
+    assertThat(redisTemplate.opsForSet().members("refresh-token:user:" + user.getId()))
+        .containsExactly(newTokenHash);
+  }
+
+  @Test
+  void rotate_concurrentRefreshesWithSameToken_succeedsOnce() throws Exception {
+    // Arrange
+    var user = user();
+    var tokenHash = randomHash();
+    store.save(user, tokenHash, NOW, EXPIRES_AT);
+
+    var threads = 8;
+    var start = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(threads);
+    var futures = new ArrayList<Future<Boolean>>();
+
+    try {
+      // Act
+      for (var i = 0; i < threads; i++) {
+        futures.add(executor.submit((Callable<Boolean>) () -> {
+          start.await();
+          try {
+            store.rotate(tokenHash, randomHash(), NOW, EXPIRES_AT);
+            return true;
+          } catch (InvalidRefreshTokenException ex) {
+            return false;
+          }
+        }));
+      }
+      start.countDown();
+
+      var succeeded = 0;
+      for (var future : futures) {
+        if (future.get(10, SECONDS)) {
+          succeeded++;
+        }
+      }
+
+      // Assert
+      assertThat(succeeded).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void revokeAll_userWithTokens_revokesEveryToken() {
+    // Arrange
+    var user = user();
+    var otherUser = user();
+    var firstHash = randomHash();
+    var secondHash = randomHash();
+    var otherHash = randomHash();
+    store.save(user, firstHash, NOW, EXPIRES_AT);
+    store.save(user, secondHash, NOW, EXPIRES_AT);
+    store.save(otherUser, otherHash, NOW, EXPIRES_AT);
+
+    // Act
+    var revoked = store.revokeAll(user.getId());
+
+    // Assert
+    assertThat(revoked).isEqualTo(2);
+    assertThat(catchThrowable(() -> store.rotate(firstHash, randomHash(), NOW, EXPIRES_AT)))
+        .isInstanceOf(InvalidRefreshTokenException.class);
+    assertThat(catchThrowable(() -> store.rotate(secondHash, randomHash(), NOW, EXPIRES_AT)))
+        .isInstanceOf(InvalidRefreshTokenException.class);
+    assertThat(redisTemplate.hasKey("refresh-token:user:" + user.getId())).isFalse();
+    assertThat(store.rotate(otherHash, randomHash(), NOW, EXPIRES_AT))
+        .isEqualTo(otherUser.getId());
+  }
+
+  @Test
+  void revoke_savedToken_removesTokenAndIndexEntry() {
+    // Arrange
+    var user = user();
+    var tokenHash = randomHash();
+    store.save(user, tokenHash, NOW, EXPIRES_AT);
+
+    // Act
+    store.revoke(tokenHash);
+
+    // Assert
+    assertThat(redisTemplate.hasKey("refresh-token:" + tokenHash)).isFalse();
+    assertThat(redisTemplate.opsForSet().isMember("refresh-token:user:" + user.getId(), tokenHash))
+        .isFalse();
+  }
+
+  private static AppUserEntity user() {
+    return new AppUserEntity(UUID.randomUUID(), "user@test.com", "google-sub", "User", null);
+  }
+
+  private static String randomHash() {
+    return UUID.randomUUID().toString().replace("-", "");
+  }
+}
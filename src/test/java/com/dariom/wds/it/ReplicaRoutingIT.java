@@ -0,0 +1,179 @@
+package com.dariom.wds.it;
+
+import static com.dariom.wds.it.config.SharedContainers.REDIS;
+import static com.dariom.wds.it.config.SharedContainers.isPostgresContainerManaged;
+import static com.dariom.wds.it.config.SharedContainers.isRedisContainerManaged;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.testcontainers.containers.wait.strategy.Wait.forListeningPort;
+import static org.testcontainers.containers.wait.strategy.Wait.forLogMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Runs the service against a primary database and a streaming replica of it, each in its own
+ * Postgres container.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.open-in-view=false",
+    "spring.sql.init.mode=always",
+    "app.datasource.replicas.enabled=true",
+    "app.datasource.replicas.max-lag=PT1S",
+    "app.datasource.replicas.lag-check-interval=PT0.5S"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIT {
+
+  private static final String PLAYER_1_ID = "11111111-1111-1111-1111-111111111111";
+  private static final String PLAYER_2_ID = "22222222-2222-2222-2222-222222222222";
+  private static final String WORD = "FUOCO";
+  private static final Duration REPLICA_READ_TIMEOUT = Duration.ofSeconds(15);
+
+  @Resource
+  private ObjectMapper objectMapper;
+
+  @Resource
+  private IntegrationTestHelper itHelper;
+
+  @Resource
+  private MeterRegistry meterRegistry;
+
+  @BeforeAll
+  static void requireContainers() {
+    assumeTrue(isPostgresContainerManaged() && isRedisContainerManaged(),
+        "Replica routing test needs Testcontainers managed Postgres and Redis");
+  }
+
+  @DynamicPropertySource
+  static void registerDatabases(DynamicPropertyRegistry registry) {
+    if (!isPostgresContainerManaged() || !isRedisContainerManaged()) {
+      return;
+    }
+
+    var primary = Databases.PRIMARY;
+    registry.add("spring.datasource.url", primary::getJdbcUrl);
+    registry.add("spring.datasource.username", primary::getUsername);
+    registry.add("spring.datasource.password", primary::getPassword);
+    registry.add("app.datasource.replicas.nodes[0].url", Databases::replicaJdbcUrl);
+    registry.add("app.datasource.replicas.nodes[0].username", primary::getUsername);
+    registry.add("app.datasource.replicas.nodes[0].password", primary::getPassword);
+
+    registry.add("spring.data.redis.host", REDIS::getHost);
+    registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+  }
+
+  @Test
+  void getRoom_readsFromReplica_untilThePlayerWrites() throws Exception {
+    // Arrange
+    var user1 = itHelper.createUser(PLAYER_1_ID, "player1@example.com", "John Smith");
+    var user2 = itHelper.createUser(PLAYER_2_ID, "player2@example.com", "Bart Simpson");
+    var player1Bearer = itHelper.bearer(user1);
+    var player2Bearer = itHelper.bearer(user2);
+
+    var roomId = createRoom(player1Bearer);
+    itHelper.joinRoom(roomId, player2Bearer).andExpect(status().isOk());
+
+    // Act / Assert: once the read-your-writes window is over, getRoom is served by the replica
+    var deadline = Instant.now().plus(REPLICA_READ_TIMEOUT);
+    var servedByReplica = false;
+    while (!servedByReplica && Instant.now().isBefore(deadline)) {
+      var replicaReads = reads("replica");
+      itHelper.getRoom(roomId, player2Bearer).andExpect(status().isOk());
+      servedByReplica = reads("replica") > replicaReads;
+      if (!servedByReplica) {
+        Thread.sleep(100);
+      }
+    }
+    assertThat(servedByReplica).isTrue();
+
+    // Act / Assert: right after a guess, the player's getRoom goes to the primary
+    itHelper.submitGuess(roomId, player2Bearer, WORD).andExpect(status().isOk());
+    var readYourWritesReads = reads("primary_read_your_writes");
+
+    itHelper.getRoom(roomId, player2Bearer).andExpect(status().isOk());
+
+    assertThat(reads("primary_read_your_writes")).isGreaterThan(readYourWritesReads);
+  }
+
+  private String createRoom(String bearer) throws Exception {
+    var createRes = itHelper.createRoom(bearer, Map.of("language", "IT"))
+        .andExpect(status().isCreated())
+        .andReturn();
+    return objectMapper.readTree(createRes.getResponse().getContentAsString()).get("id").asText();
+  }
+
+  private double reads(String route) {
+    return meterRegistry.get("datasource.reads").tag("route", route).counter().count();
+  }
+
+  // started on first use only, so the test is skipped cleanly where Docker isn't available
+  private static final class Databases {
+
+    private static final Network NETWORK = Network.newNetwork();
+    private static final PostgreSQLContainer<?> PRIMARY = startPrimary();
+    private static final GenericContainer<?> REPLICA = startReplica();
+
+    private static PostgreSQLContainer<?> startPrimary() {
+      var container = new PostgreSQLContainer<>("postgres:16-alpine")
+          .withUsername("test")
+          .withPassword("test")
+          .withDatabaseName("primary")
+          .withNetwork(NETWORK)
+          .withNetworkAliases("primary")
+          .waitingFor(forListeningPort());
+      container.start();
+      try {
+        // the image only allows replication connections from localhost
+        container.execInContainer("sh", "-c",
+            "echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\"");
+      } catch (Exception e) {
+        throw new IllegalStateException("Could not allow replication on the primary", e);
+      }
+      var jdbc = new JdbcTemplate(new DriverManagerDataSource(container.getJdbcUrl(),
+          container.getUsername(), container.getPassword()));
+      jdbc.execute("select pg_reload_conf()");
+      // Liquibase keeps its own tables in the wordle schema, so it has to exist up front
+      jdbc.execute("create schema if not exists wordle");
+      return container;
+    }
+
+    private static GenericContainer<?> startReplica() {
+      var container = new GenericContainer<>("postgres:16-alpine")
+          .withNetwork(NETWORK)
+          .withEnv("PGPASSWORD", PRIMARY.getPassword())
+          .withExposedPorts(5432)
+          .withCreateContainerCmdModifier(cmd -> cmd
+              .withUser("postgres")
+              .withEntrypoint("sh", "-c", """
+                  pg_basebackup -h primary -U %s -D "$PGDATA" -X stream -R \
+                    && chmod 700 "$PGDATA" \
+                    && exec postgres
+                  """.formatted(PRIMARY.getUsername())))
+          .waitingFor(forLogMessage(".*ready to accept read-only connections.*\\n", 1));
+      container.start();
+      return container;
+    }
+
+    private static String replicaJdbcUrl() {
+      return "jdbc:postgresql://%s:%d/primary".formatted(REPLICA.getHost(),
+          REPLICA.getMappedPort(5432));
+    }
+  }
+}
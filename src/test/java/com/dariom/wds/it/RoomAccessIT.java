@@ -1,11 +1,13 @@
 package com.dariom.wds.it;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.dariom.wds.it.QueryCounter.QueryCount;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.Resource;
 import java.util.Map;
@@ -55,10 +57,14 @@ class RoomAccessIT extends AbstractRedisTest {
 
     itHelper.joinRoom(roomId, player2Bearer).andExpect(status().isOk());
 
-    // Act / Assert
-    itHelper.getRoom(roomId, player3Bearer)
+    // Act
+    var queries = itHelper.countQueries(() -> itHelper.getRoom(roomId, player3Bearer)
         .andExpect(status().isForbidden())
         .andExpect(jsonPath("$.code").value("ROOM_ACCESS_DENIED"))
-        .andExpect(jsonPath("$.message").value(not(emptyOrNullString())));
+        .andExpect(jsonPath("$.message").value(not(emptyOrNullString()))));
+
+    // Assert
+    // access is decided on the room and its players alone, fetched together
+    assertThat(queries).isEqualTo(new QueryCount(1, 0, 0, 0));
   }
 }
@@ -0,0 +1,83 @@
+package com.dariom.wds.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import com.dariom.wds.persistence.repository.jpa.RoomEventOutboxJpaRepository;
+import com.dariom.wds.websocket.RedisRoomEventRelay;
+import com.dariom.wds.websocket.model.EventType;
+import com.dariom.wds.websocket.model.RoomEvent;
+import com.dariom.wds.websocket.model.RoomEventToPublish;
+import com.dariom.wds.websocket.model.RoundStartedPayload;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class RoomEventOutboxIT extends AbstractRedisTest {
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private RoomEventOutboxJpaRepository outboxJpaRepository;
+
+  @Autowired
+  private RedisConnectionFactory connectionFactory;
+
+  @Test
+  void publishInTransaction_committed_relaysEventToRedisAndDrainsOutbox() throws Exception {
+    // Arrange
+    var latch = new CountDownLatch(1);
+    var received = new CopyOnWriteArrayList<String>();
+
+    var container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener((message, pattern) -> {
+      received.add(new String(message.getBody()));
+      latch.countDown();
+    }, new ChannelTopic(RedisRoomEventRelay.ROOM_EVENTS));
+    container.afterPropertiesSet();
+    container.start();
+
+    var event = new RoomEvent(EventType.ROUND_STARTED, new RoundStartedPayload(1, 6));
+
+    // Act
+    new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+        eventPublisher.publishEvent(new RoomEventToPublish("room-outbox", event)));
+
+    // Assert
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(received.getFirst()).contains("room-outbox").contains("ROUND_STARTED");
+    assertThat(outboxJpaRepository.count()).isZero();
+
+    container.stop();
+  }
+
+  @Test
+  void publishInTransaction_rolledBack_doesNotStoreEvent() {
+    // Arrange
+    var event = new RoomEvent(EventType.ROUND_STARTED, new RoundStartedPayload(1, 6));
+
+    // Act
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      eventPublisher.publishEvent(new RoomEventToPublish("room-rollback", event));
+      status.setRollbackOnly();
+    });
+
+    // Assert
+    assertThat(outboxJpaRepository.count()).isZero();
+  }
+}
@@ -0,0 +1,180 @@
+package com.dariom.wds.it;
+
+import static com.dariom.wds.it.config.SharedContainers.POSTGRES;
+import static com.dariom.wds.it.config.SharedContainers.REDIS;
+import static com.dariom.wds.it.config.SharedContainers.isPostgresContainerManaged;
+import static com.dariom.wds.it.config.SharedContainers.isRedisContainerManaged;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.dariom.wds.config.ws.RoomEventRelayProperties;
+import com.dariom.wds.config.ws.RoomEventRelayProperties.PostgresProperties;
+import com.dariom.wds.config.ws.RoomEventRelayProperties.RelayType;
+import com.dariom.wds.websocket.PostgresRoomEventRelay;
+import com.dariom.wds.websocket.RedisRoomEventRelay;
+import com.dariom.wds.websocket.RedisRoomEventSubscriber;
+import com.dariom.wds.websocket.RoomEventDispatcher;
+import com.dariom.wds.websocket.RoomEventRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Compares end-to-end latency (publish until the dispatcher receives the event) of the Redis and
+ * Postgres relays. Each event is sent only after the previous one arrived, so the numbers are
+ * round-trip latencies rather than throughput.
+ */
+@Slf4j
+class RoomEventRelayLatencyIT {
+
+  private static final int WARMUP_EVENTS = 50;
+  private static final int MEASURED_EVENTS = 200;
+
+  private final LinkedBlockingQueue<String> received = new LinkedBlockingQueue<>();
+  private final RoomEventDispatcher dispatcher = capturingDispatcher();
+
+  @BeforeAll
+  static void requireContainers() {
+    assumeTrue(isPostgresContainerManaged() && isRedisContainerManaged(),
+        "Relay benchmark needs the Testcontainers managed Postgres and Redis");
+  }
+
+  @Test
+  void redisRelay_sequentialEvents_deliversEveryEvent() throws Exception {
+    // Arrange
+    var connectionFactory = new LettuceConnectionFactory(REDIS.getHost(),
+        REDIS.getMappedPort(6379));
+    connectionFactory.afterPropertiesSet();
+    connectionFactory.start();
+
+    var container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(new RedisRoomEventSubscriber(dispatcher),
+        new ChannelTopic(RedisRoomEventRelay.ROOM_EVENTS));
+    container.afterPropertiesSet();
+    container.start();
+
+    var relay = new RedisRoomEventRelay(new StringRedisTemplate(connectionFactory),
+        new ObjectMapper());
+
+    try {
+      // Act
+      var latencies = measure(relay);
+
+      // Assert
+      report("redis", latencies);
+      assertThat(latencies).hasSize(MEASURED_EVENTS);
+    } finally {
+      container.stop();
+      connectionFactory.destroy();
+    }
+  }
+
+  @Test
+  void postgresRelay_sequentialEvents_deliversEveryEvent() throws Exception {
+    // Arrange
+    var dataSourceProperties = new DataSourceProperties();
+    dataSourceProperties.setUrl(POSTGRES.getJdbcUrl());
+    dataSourceProperties.setUsername(POSTGRES.getUsername());
+    dataSourceProperties.setPassword(POSTGRES.getPassword());
+
+    var dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+        POSTGRES.getPassword());
+    var properties = new RoomEventRelayProperties(RelayType.POSTGRES,
+        new PostgresProperties(Duration.ofMillis(500), Duration.ofSeconds(1)));
+
+    var relay = new PostgresRoomEventRelay(new JdbcTemplate(dataSource), dataSourceProperties,
+        dispatcher, new ObjectMapper(), properties);
+    relay.start();
+
+    try {
+      // Act
+      var latencies = measure(relay);
+
+      // Assert
+      report("postgres", latencies);
+      assertThat(latencies).hasSize(MEASURED_EVENTS);
+    } finally {
+      relay.stop();
+    }
+  }
+
+  private long[] measure(RoomEventRelay relay) throws Exception {
+    awaitListener(relay);
+
+    for (var i = 0; i < WARMUP_EVENTS; i++) {
+      roundTrip(relay, "warmup-" + i);
+    }
+
+    var latencies = new long[MEASURED_EVENTS];
+    for (var i = 0; i < MEASURED_EVENTS; i++) {
+      latencies[i] = roundTrip(relay, "event-" + i);
+    }
+    return latencies;
+  }
+
+  // the listener subscribes asynchronously; keep probing until the first event gets through
+  private void awaitListener(RoomEventRelay relay) throws Exception {
+    for (var attempt = 0; attempt < 50; attempt++) {
+      relay.publishAll(List.of("probe"));
+      if (received.poll(200, TimeUnit.MILLISECONDS) != null) {
+        drainProbes();
+        return;
+      }
+    }
+    throw new IllegalStateException("Relay listener did not start");
+  }
+
+  private void drainProbes() throws InterruptedException {
+    while (received.poll(300, TimeUnit.MILLISECONDS) != null) {
+      // late probes
+    }
+  }
+
+  private long roundTrip(RoomEventRelay relay, String payload) throws Exception {
+    var start = System.nanoTime();
+    relay.publishAll(List.of(payload));
+    var delivered = received.poll(5, TimeUnit.SECONDS);
+    assertThat(delivered).isEqualTo(payload);
+    return System.nanoTime() - start;
+  }
+
+  private RoomEventDispatcher capturingDispatcher() {
+    var mock = mock(RoomEventDispatcher.class);
+    doAnswer(invocation -> {
+      received.put(new String(invocation.<byte[]>getArgument(0), UTF_8));
+      return null;
+    }).when(mock).dispatch(any());
+    return mock;
+  }
+
+  private static void report(String relay, long[] latencies) {
+    var sorted = latencies.clone();
+    Arrays.sort(sorted);
+    log.info("{} relay latency over {} events: p50={}us p95={}us p99={}us max={}us", relay,
+        sorted.length, micros(sorted, 0.50), micros(sorted, 0.95), micros(sorted, 0.99),
+        sorted[sorted.length - 1] / 1_000);
+  }
+
+  private static long micros(long[] sorted, double percentile) {
+    var index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1_000;
+  }
+}
@@ -1,12 +1,14 @@
 package com.dariom.wds.it;
 
 import static java.lang.Thread.sleep;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.dariom.wds.it.QueryCounter.QueryCount;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.Resource;
 import java.util.Map;
@@ -67,6 +69,51 @@ class RoomListIT extends AbstractRedisTest {
         .andExpect(jsonPath("$[*].id", contains(roomCreatedByP2, roomCreatedByP1)));
   }
 
+  @Test
+  void listRooms_moreRooms_issuesSameQueries() throws Exception {
+    // Arrange
+    var user1 = itHelper.createUser(PLAYER_1_ID, "player1@example.com", "John Smith");
+    var user2 = itHelper.createUser(PLAYER_2_ID, "player2@example.com", "Bart Simpson");
+    var user3 = itHelper.createUser(PLAYER_3_ID, "player3@example.com", "Lisa Simpson");
+
+    var player1Bearer = itHelper.bearer(user1);
+    var player2Bearer = itHelper.bearer(user2);
+    var player3Bearer = itHelper.bearer(user3);
+
+    var createReq = Map.of("language", LANGUAGE);
+
+    // one room in progress
+    var firstRoom = createRoom(player2Bearer, createReq);
+    itHelper.joinRoom(firstRoom, player1Bearer).andExpect(status().isOk());
+
+    var oneRoomQueries = itHelper.countQueries(() -> listRooms(player1Bearer, 1));
+
+    // two more rooms in progress, with other players
+    var secondRoom = createRoom(player3Bearer, createReq);
+    var joinQueries = itHelper.countQueries(
+        () -> itHelper.joinRoom(secondRoom, player1Bearer).andExpect(status().isOk()));
+    var thirdRoom = createRoom(player1Bearer, createReq);
+    itHelper.joinRoom(thirdRoom, player2Bearer).andExpect(status().isOk());
+
+    // Act
+    var threeRoomsQueries = itHelper.countQueries(() -> listRooms(player1Bearer, 3));
+
+    // Assert
+    // the rooms with their players, then the current rounds with their guesses
+    assertThat(oneRoomQueries).isEqualTo(new QueryCount(2, 0, 0, 0));
+    assertThat(threeRoomsQueries).isEqualTo(new QueryCount(2, 0, 0, 0));
+    // the locked room, its players, the room again when starting the round and the player index
+    // entry; writes are flushed on commit, which the test transaction never reaches
+    assertThat(joinQueries.selects()).isEqualTo(4);
+  }
+
+  private void listRooms(String bearer, int expectedRooms) throws Exception {
+    mockMvc.perform(get("/api/v1/rooms")
+            .header("Authorization", bearer))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(expectedRooms)));
+  }
+
   private String createRoom(String bearer, Map<String, String> createReq)
       throws Exception {
     var createRes = itHelper.createRoom(bearer, createReq)
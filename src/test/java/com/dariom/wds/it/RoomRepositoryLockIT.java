@@ -7,19 +7,29 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
 
+import com.dariom.wds.config.datasource.ShardProperties;
+import com.dariom.wds.metrics.RoomLockMetrics;
 import com.dariom.wds.persistence.entity.RoomEntity;
+import com.dariom.wds.persistence.purge.InactiveRoomPurgeTarget;
+import com.dariom.wds.persistence.purge.PurgeEngine;
 import com.dariom.wds.persistence.repository.RoomRepository;
 import com.dariom.wds.persistence.repository.jpa.RoomJpaRepository;
+import com.dariom.wds.persistence.shard.PlayerRoomIndex;
+import com.dariom.wds.persistence.shard.ShardPlacement;
+import com.dariom.wds.persistence.shard.ShardRouter;
 import jakarta.persistence.PessimisticLockException;
 import java.time.Duration;
+import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,9 +42,25 @@ import org.springframework.transaction.support.TransactionTemplate;
     "spring.jpa.properties.hibernate.default_schema=public"
 })
 @AutoConfigureTestDatabase(replace = NONE)
-@Import(RoomRepository.class)
+@Import({RoomRepository.class, ShardRouter.class})
+@EnableConfigurationProperties(ShardProperties.class)
 class RoomRepositoryLockIT extends AbstractPostgresTest {
 
+  @MockitoBean
+  private RoomLockMetrics lockMetrics;
+
+  @MockitoBean
+  private PurgeEngine purgeEngine;
+
+  @MockitoBean
+  private InactiveRoomPurgeTarget inactiveRoomPurgeTarget;
+
+  @MockitoBean
+  private ShardPlacement shardPlacement;
+
+  @MockitoBean
+  private PlayerRoomIndex playerRoomIndex;
+
   @Autowired
   private RoomRepository roomRepository;
 
@@ -49,14 +75,15 @@ class RoomRepositoryLockIT extends AbstractPostgresTest {
   void findWithPlayersByIdForUpdate_rowLocked_timesOutWithPessimisticLockingFailureException()
       throws Exception {
     // Arrange
-    var roomId = "room-1";
+    var roomId = UUID.randomUUID();
+    var playerId = UUID.randomUUID();
     var room = new RoomEntity();
     room.setId(roomId);
     room.setLanguage(IT);
     room.setStatus(WAITING_FOR_PLAYERS);
     room.setCurrentRoundNumber(null);
-    room.addPlayer("p1");
-    room.setPlayerScore("p1", 0);
+    room.addPlayer(playerId);
+    room.setPlayerScore(playerId, 0);
 
     new TransactionTemplate(transactionManager)
         .executeWithoutResult(status -> roomJpaRepository.saveAndFlush(room));
@@ -68,7 +95,7 @@ class RoomRepositoryLockIT extends AbstractPostgresTest {
     try {
       var holder = executor.submit(() -> new TransactionTemplate(transactionManager)
           .executeWithoutResult(status -> {
-            roomRepository.findWithPlayersByIdForUpdate(roomId, Duration.ofSeconds(5));
+            roomRepository.findWithPlayersByIdForUpdate(roomId.toString(), Duration.ofSeconds(5));
             locked.countDown();
             await(release);
           }));
@@ -78,7 +105,7 @@ class RoomRepositoryLockIT extends AbstractPostgresTest {
       // Act / Assert
       assertThatThrownBy(() -> new TransactionTemplate(transactionManager)
           .executeWithoutResult(status -> roomRepository.findWithPlayersByIdForUpdate(
-              roomId,
+              roomId.toString(),
               Duration.ofMillis(50)
           )))
           .isInstanceOfAny(PessimisticLockingFailureException.class,
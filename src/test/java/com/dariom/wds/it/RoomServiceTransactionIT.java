@@ -13,6 +13,7 @@ import com.dariom.wds.persistence.repository.jpa.RoomJpaRepository;
 import com.dariom.wds.service.room.RoomService;
 import com.dariom.wds.service.round.RoundService;
 import java.util.Map;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -21,9 +22,9 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 @SpringBootTest
 class RoomServiceTransactionIT extends AbstractRedisTest {
 
-  private static final String ROOM_ID = "room-1";
-  private static final String PLAYER_1 = "p1";
-  private static final String PLAYER_2 = "p2";
+  private static final UUID ROOM_ID = UUID.fromString("7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b");
+  private static final UUID PLAYER_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+  private static final UUID PLAYER_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
 
   @Autowired
   private RoomService roomService;
@@ -51,7 +52,7 @@ class RoomServiceTransactionIT extends AbstractRedisTest {
         .thenThrow(new RuntimeException("boom"));
 
     // Act
-    assertThatThrownBy(() -> roomService.joinRoom(ROOM_ID, PLAYER_2))
+    assertThatThrownBy(() -> roomService.joinRoom(ROOM_ID.toString(), PLAYER_2.toString()))
         .isInstanceOf(RuntimeException.class)
         .hasMessage("boom");
 
@@ -0,0 +1,181 @@
+package com.dariom.wds.it;
+
+import static com.dariom.wds.it.config.SharedContainers.REDIS;
+import static com.dariom.wds.it.config.SharedContainers.isPostgresContainerManaged;
+import static com.dariom.wds.it.config.SharedContainers.isRedisContainerManaged;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.testcontainers.containers.wait.strategy.Wait.forListeningPort;
+
+import com.dariom.wds.job.RoomCleanupJob;
+import com.dariom.wds.persistence.shard.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Runs the service against a home database and two room shards, each in its own Postgres
+ * container.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.open-in-view=false",
+    "spring.sql.init.mode=always",
+    "app.datasource.shards.enabled=true",
+    "room.cleanup.enabled=true",
+    "room.cleanup.poll-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class ShardingIT {
+
+  private static final String PLAYER_1_ID = "11111111-1111-1111-1111-111111111111";
+  private static final String PLAYER_2_ID = "22222222-2222-2222-2222-222222222222";
+  private static final int ROOMS = 6;
+
+  @Resource
+  private MockMvc mockMvc;
+
+  @Resource
+  private ObjectMapper objectMapper;
+
+  @Resource
+  private IntegrationTestHelper itHelper;
+
+  @Resource
+  private ShardRouter shardRouter;
+
+  @Resource
+  private RoomCleanupJob roomCleanupJob;
+
+  @BeforeAll
+  static void requireContainers() {
+    assumeTrue(isPostgresContainerManaged() && isRedisContainerManaged(),
+        "Sharding test needs Testcontainers managed Postgres and Redis");
+  }
+
+  @DynamicPropertySource
+  static void registerShards(DynamicPropertyRegistry registry) {
+    if (!isPostgresContainerManaged() || !isRedisContainerManaged()) {
+      return;
+    }
+
+    var home = Databases.ALL.getFirst();
+    registry.add("spring.datasource.url", home::getJdbcUrl);
+    registry.add("spring.datasource.username", home::getUsername);
+    registry.add("spring.datasource.password", home::getPassword);
+    for (var i = 1; i < Databases.ALL.size(); i++) {
+      var shard = Databases.ALL.get(i);
+      var prefix = "app.datasource.shards.nodes[%d].".formatted(i - 1);
+      registry.add(prefix + "url", shard::getJdbcUrl);
+      registry.add(prefix + "username", shard::getUsername);
+      registry.add(prefix + "password", shard::getPassword);
+    }
+
+    registry.add("spring.data.redis.host", REDIS::getHost);
+    registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+  }
+
+  @Test
+  void rooms_spreadAcrossShards_areListedAndExpiredOnEveryShard() throws Exception {
+    // Arrange
+    var user1 = itHelper.createUser(PLAYER_1_ID, "player1@example.com", "John Smith");
+    var user2 = itHelper.createUser(PLAYER_2_ID, "player2@example.com", "Bart Simpson");
+    var player1Bearer = itHelper.bearer(user1);
+    var player2Bearer = itHelper.bearer(user2);
+
+    var roomIds = new ArrayList<UUID>();
+    for (var i = 0; i < ROOMS; i++) {
+      roomIds.add(createRoom(player1Bearer));
+    }
+    for (var roomId : roomIds) {
+      itHelper.joinRoom(roomId.toString(), player2Bearer).andExpect(status().isOk());
+    }
+
+    // Act / Assert: every shard got rooms, and each room lives on the shard its id names
+    var shards = roomIds.stream().map(shardRouter::shardOf).toList();
+    assertThat(shards).containsOnly(0, 1, 2);
+    for (var roomId : roomIds) {
+      for (var shard = 0; shard < Databases.ALL.size(); shard++) {
+        assertThat(countRooms(shard, roomId))
+            .isEqualTo(shard == shardRouter.shardOf(roomId) ? 1 : 0);
+      }
+    }
+
+    // Act / Assert: a player's rooms are collected from all shards
+    mockMvc.perform(get("/api/v1/rooms").header("Authorization", player2Bearer))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(ROOMS)))
+        .andExpect(jsonPath("$[*].id",
+            containsInAnyOrder(roomIds.stream().map(UUID::toString).toArray())));
+
+    // Act / Assert: the cleanup job expires rooms on every shard and drops them from the index
+    for (var shard = 0; shard < Databases.ALL.size(); shard++) {
+      jdbc(shard).update("update wordle.rooms set last_updated_at = now() - interval '90 days'");
+    }
+    roomCleanupJob.cleanupInactiveRooms();
+
+    for (var shard = 0; shard < Databases.ALL.size(); shard++) {
+      assertThat(jdbc(shard).queryForObject("select count(*) from wordle.rooms", Long.class))
+          .isZero();
+    }
+    assertThat(jdbc(ShardRouter.HOME_SHARD).queryForObject(
+        "select count(*) from wordle.player_room_index", Long.class)).isZero();
+  }
+
+  private UUID createRoom(String bearer) throws Exception {
+    var createRes = itHelper.createRoom(bearer, Map.of("language", "IT"))
+        .andExpect(status().isCreated())
+        .andReturn();
+    return UUID.fromString(
+        objectMapper.readTree(createRes.getResponse().getContentAsString()).get("id").asText());
+  }
+
+  private static long countRooms(int shard, UUID roomId) {
+    return jdbc(shard).queryForObject("select count(*) from wordle.rooms where id = ?",
+        Long.class, roomId);
+  }
+
+  private static JdbcTemplate jdbc(int shard) {
+    var database = Databases.ALL.get(shard);
+    return new JdbcTemplate(new DriverManagerDataSource(database.getJdbcUrl(),
+        database.getUsername(), database.getPassword()));
+  }
+
+  // started on first use only, so the test is skipped cleanly where Docker isn't available
+  private static final class Databases {
+
+    private static final List<PostgreSQLContainer<?>> ALL = List.of(
+        start("home"), start("shard1"), start("shard2"));
+
+    private static PostgreSQLContainer<?> start(String name) {
+      var container = new PostgreSQLContainer<>("postgres:16-alpine")
+          .withUsername("test")
+          .withPassword("test")
+          .withDatabaseName(name)
+          .waitingFor(forListeningPort());
+      container.start();
+      // Liquibase keeps its own tables in the wordle schema, so it has to exist up front
+      new JdbcTemplate(new DriverManagerDataSource(container.getJdbcUrl(),
+          container.getUsername(), container.getPassword()))
+          .execute("create schema if not exists wordle");
+      return container;
+    }
+  }
+}
@@ -2,14 +2,22 @@ package com.dariom.wds.job;
 
 import static java.time.temporal.ChronoUnit.DAYS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.dariom.wds.config.RoomCleanupProperties;
+import com.dariom.wds.config.datasource.ShardProperties;
+import com.dariom.wds.config.datasource.ShardProperties.Node;
+import com.dariom.wds.persistence.shard.ShardRouter;
+import com.dariom.wds.service.NoOpTransactionManager;
 import com.dariom.wds.service.room.RoomService;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -22,21 +30,48 @@ class RoomCleanupJobTest {
   private RoomService roomService;
 
   @Test
-  void cleanupInactiveRooms_validConfig_deletesRoomsOlderThanRetentionDays() {
+  void cleanupInactiveRooms_validConfig_deletesBatchOfRoomsOlderThanRetentionDays() {
     // Arrange
     var now = Instant.parse("2025-01-10T00:00:00Z");
-    var properties = new RoomCleanupProperties(60);
+    var properties = new RoomCleanupProperties(true, 60, Duration.ofSeconds(5), 100);
     var clock = Clock.fixed(now, ZoneOffset.UTC);
-    var job = new RoomCleanupJob(properties, roomService, clock);
+    var job = new RoomCleanupJob(properties, roomService, shardRouter(false), clock);
 
-    when(roomService.deleteInactiveRooms(any())).thenReturn(2L);
+    when(roomService.deleteInactiveRooms(any(), anyInt())).thenReturn(2);
 
     // Act
     job.cleanupInactiveRooms();
 
     // Assert
     var expectedCutoff = now.minus(60, DAYS);
-    verify(roomService).deleteInactiveRooms(expectedCutoff);
+    verify(roomService).deleteInactiveRooms(expectedCutoff, 100);
+  }
+
+  @Test
+  void cleanupInactiveRooms_shardFails_deletesBatchOnEveryOtherShard() {
+    // Arrange
+    var now = Instant.parse("2025-01-10T00:00:00Z");
+    var properties = new RoomCleanupProperties(true, 60, Duration.ofSeconds(5), 100);
+    var clock = Clock.fixed(now, ZoneOffset.UTC);
+    var job = new RoomCleanupJob(properties, roomService, shardRouter(true), clock);
+
+    when(roomService.deleteInactiveRooms(any(), anyInt()))
+        .thenThrow(new IllegalStateException("shard down"))
+        .thenReturn(2);
+
+    // Act
+    job.cleanupInactiveRooms();
+
+    // Assert
+    verify(roomService, times(3)).deleteInactiveRooms(now.minus(60, DAYS), 100);
+  }
+
+  private static ShardRouter shardRouter(boolean sharded) {
+    var nodes = List.of(new Node("jdbc:postgresql://shard-1/wordle", "wordle", "wordle"),
+        new Node("jdbc:postgresql://shard-2/wordle", "wordle", "wordle"));
+    var properties = new ShardProperties(sharded, nodes, 10, Duration.ofSeconds(1),
+        Duration.ofMinutes(1));
+    return new ShardRouter(properties, new NoOpTransactionManager());
   }
 }
 
@@ -0,0 +1,49 @@
+package com.dariom.wds.job;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.RoundArchiveProperties;
+import com.dariom.wds.config.datasource.ShardProperties;
+import com.dariom.wds.persistence.shard.ShardRouter;
+import com.dariom.wds.service.NoOpTransactionManager;
+import com.dariom.wds.service.round.RoundArchiveService;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RoundArchiveJobTest {
+
+  @Mock
+  private RoundArchiveService roundArchiveService;
+
+  @Test
+  void archiveFinishedRounds_validConfig_archivesBatchOfRoundsOlderThanMaxAge() {
+    // Arrange
+    var now = Instant.parse("2025-01-10T00:00:00Z");
+    var properties = new RoundArchiveProperties(true, Duration.ofSeconds(10), 200, 5,
+        Duration.ofDays(7));
+    var clock = Clock.fixed(now, ZoneOffset.UTC);
+    var shardRouter = new ShardRouter(
+        new ShardProperties(false, List.of(), 10, Duration.ofSeconds(1), Duration.ofMinutes(1)),
+        new NoOpTransactionManager());
+    var job = new RoundArchiveJob(properties, roundArchiveService, shardRouter, clock);
+
+    when(roundArchiveService.archiveRounds(anyInt(), any(), anyInt())).thenReturn(3);
+
+    // Act
+    job.archiveFinishedRounds();
+
+    // Assert
+    verify(roundArchiveService).archiveRounds(5, now.minus(Duration.ofDays(7)), 200);
+  }
+}
@@ -0,0 +1,83 @@
+package com.dariom.wds.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dariom.wds.metrics.RoomLockMetrics.HotRoom;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class RoomLockMetricsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RoomLockMetrics metrics = new RoomLockMetrics(meterRegistry);
+
+  @Test
+  void hotRooms_contendedRooms_returnsRoomsByAccumulatedWait() {
+    // Arrange
+    metrics.localLockAcquired("room-1", MILLISECONDS.toNanos(10));
+    metrics.rowLockAcquired("room-2", MILLISECONDS.toNanos(30));
+    metrics.localLockTimedOut("room-1", MILLISECONDS.toNanos(5));
+    metrics.rowLockAcquired("room-3", 1_000);
+
+    // Act
+    var hotRooms = metrics.hotRooms(10);
+
+    // Assert
+    assertThat(hotRooms).containsExactly(
+        new HotRoom("room-2", 30, 0),
+        new HotRoom("room-1", 15, 0));
+  }
+
+  @Test
+  void hotRooms_moreRoomsThanCapacity_keepsHeaviestRoom() {
+    // Arrange
+    metrics.rowLockAcquired("hot-room", MILLISECONDS.toNanos(1_000));
+    for (var i = 0; i < 500; i++) {
+      metrics.localLockAcquired("room-" + i, MILLISECONDS.toNanos(1));
+    }
+
+    // Act
+    var hotRooms = metrics.hotRooms(1);
+
+    // Assert
+    assertThat(hotRooms).extracting(HotRoom::roomId).containsExactly("hot-room");
+    assertThat(hotRooms.getFirst().waitMillis()).isEqualTo(1_000);
+  }
+
+  @Test
+  void resetHotRooms_afterContention_clearsRooms() {
+    // Arrange
+    metrics.localLockAcquired("room-1", MILLISECONDS.toNanos(10));
+
+    // Act
+    metrics.resetHotRooms();
+
+    // Assert
+    assertThat(metrics.hotRooms(10)).isEmpty();
+  }
+
+  @Test
+  void rowLockTimedOut_anyRoom_recordsWaitAndCountsTimeout() {
+    // Act
+    metrics.rowLockTimedOut("room-1", MILLISECONDS.toNanos(50));
+
+    // Assert
+    assertThat(meterRegistry.get("room.lock.row.wait").tag("outcome", "timeout").timer().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("room.lock.timeouts").tag("lock", "row").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void rowLockReleased_rolledBack_recordsRolledBackHold() {
+    // Act
+    metrics.rowLockReleased(MILLISECONDS.toNanos(20), false);
+
+    // Assert
+    assertThat(meterRegistry.get("room.lock.row.hold").tag("outcome", "rolled_back").timer()
+        .count()).isEqualTo(1);
+    assertThat(meterRegistry.get("room.lock.row.hold").tag("outcome", "committed").timer()
+        .count()).isZero();
+  }
+}
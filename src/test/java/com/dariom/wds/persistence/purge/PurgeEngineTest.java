@@ -0,0 +1,134 @@
+package com.dariom.wds.persistence.purge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dariom.wds.config.PurgeProperties;
+import com.dariom.wds.service.NoOpTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class PurgeEngineTest {
+
+  private static final Instant CUTOFF = Instant.parse("2025-01-10T00:00:00Z");
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void purge_rowsOlderThanCutoff_deletesThemInKeyOrderedChunks() {
+    // Arrange
+    var target = new InMemoryTarget();
+    for (var i = 0; i < 5; i++) {
+      target.add("old-" + i, CUTOFF.minusSeconds(100 - i));
+    }
+    target.add("new", CUTOFF.plusSeconds(1));
+    var engine = engine(2, Duration.ofMinutes(1));
+
+    // Act
+    var result = engine.purge(target, CUTOFF);
+
+    // Assert
+    assertThat(result).isEqualTo(new PurgeResult(5, 3, true));
+    assertThat(target.rows.values()).containsExactly("new");
+    assertThat(target.cursors).containsExactly(null, "old-1", "old-3");
+    assertThat(meterRegistry.get("purge.deleted").tag("target", "test").counter().count())
+        .isEqualTo(5);
+    assertThat(meterRegistry.get("purge.chunk.duration").tag("target", "test").timer().count())
+        .isEqualTo(3);
+  }
+
+  @Test
+  void purge_chunkSizeMultiple_stopsAfterEmptyChunk() {
+    // Arrange
+    var target = new InMemoryTarget();
+    target.add("old-0", CUTOFF.minusSeconds(2));
+    target.add("old-1", CUTOFF.minusSeconds(1));
+    var engine = engine(2, Duration.ofMinutes(1));
+
+    // Act
+    var result = engine.purge(target, CUTOFF);
+
+    // Assert
+    assertThat(result).isEqualTo(new PurgeResult(2, 1, true));
+    assertThat(target.cursors).containsExactly(null, "old-1");
+  }
+
+  @Test
+  void purge_timeBudgetExceeded_stopsAndLeavesRemainingRows() {
+    // Arrange
+    var target = new InMemoryTarget();
+    for (var i = 0; i < 5; i++) {
+      target.add("old-" + i, CUTOFF.minusSeconds(100 - i));
+    }
+    var engine = engine(2, Duration.ZERO);
+
+    // Act
+    var result = engine.purge(target, CUTOFF);
+
+    // Assert
+    assertThat(result).isEqualTo(new PurgeResult(2, 1, false));
+    assertThat(target.rows).hasSize(3);
+  }
+
+  @Test
+  void purgeChunk_moreRowsThanLimit_deletesOnlyOldestRows() {
+    // Arrange
+    var target = new InMemoryTarget();
+    for (var i = 0; i < 5; i++) {
+      target.add("old-" + i, CUTOFF.minusSeconds(100 - i));
+    }
+    var engine = engine(1000, Duration.ofMinutes(1));
+
+    // Act
+    var deleted = engine.purgeChunk(target, CUTOFF, 3);
+
+    // Assert
+    assertThat(deleted).isEqualTo(3);
+    assertThat(target.rows.values()).containsExactly("old-3", "old-4");
+  }
+
+  private PurgeEngine engine(int chunkSize, Duration maxRunTime) {
+    return new PurgeEngine(new NoOpTransactionManager(), meterRegistry,
+        new PurgeProperties(chunkSize, Duration.ZERO, maxRunTime));
+  }
+
+  private static class InMemoryTarget implements PurgeTarget<String> {
+
+    private final TreeMap<PurgeKey<String>, String> rows = new TreeMap<>(
+        (a, b) -> a.timestamp().equals(b.timestamp())
+            ? a.id().compareTo(b.id())
+            : a.timestamp().compareTo(b.timestamp()));
+    private final List<String> cursors = new ArrayList<>();
+
+    void add(String id, Instant timestamp) {
+      rows.put(new PurgeKey<>(timestamp, id), id);
+    }
+
+    @Override
+    public String name() {
+      return "test";
+    }
+
+    @Override
+    public List<PurgeKey<String>> findChunk(Instant cutoff, PurgeKey<String> after, int limit) {
+      cursors.add(after != null ? after.id() : null);
+      var candidates = after != null ? rows.tailMap(after, false) : rows;
+      return candidates.keySet().stream()
+          .filter(key -> key.timestamp().isBefore(cutoff))
+          .limit(limit)
+          .toList();
+    }
+
+    @Override
+    public int deleteChunk(Instant cutoff, List<String> ids) {
+      var before = rows.size();
+      rows.entrySet().removeIf(entry -> ids.contains(entry.getValue())
+          && entry.getKey().timestamp().isBefore(cutoff));
+      return before - rows.size();
+    }
+  }
+}
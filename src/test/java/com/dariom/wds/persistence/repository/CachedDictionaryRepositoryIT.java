@@ -9,22 +9,30 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.dariom.wds.config.CacheConfig;
+import com.dariom.wds.config.datasource.ShardProperties;
 import com.dariom.wds.persistence.entity.DictionaryWordEntity;
 import com.dariom.wds.persistence.repository.jpa.DictionaryWordJpaRepository;
+import com.dariom.wds.persistence.shard.ShardRouter;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.CacheManager;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
 
-@SpringBootTest(classes = {CacheConfig.class, DictionaryRepository.class})
+@SpringBootTest(classes = {CacheConfig.class, DictionaryRepository.class, ShardRouter.class})
+@EnableConfigurationProperties(ShardProperties.class)
 class CachedDictionaryRepositoryIT {
 
   @MockitoBean
   private DictionaryWordJpaRepository jpaRepository;
 
+  @MockitoBean
+  private PlatformTransactionManager transactionManager;
+
   @Autowired
   private DictionaryRepository repository;
 
@@ -3,15 +3,19 @@ package com.dariom.wds.persistence.repository;
 import static com.dariom.wds.domain.Language.IT;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.dariom.wds.config.datasource.ShardProperties;
 import com.dariom.wds.persistence.entity.DictionaryWordEntity;
 import com.dariom.wds.persistence.repository.jpa.DictionaryWordJpaRepository;
 import com.dariom.wds.persistence.repository.jpa.JpaRepositoryIT;
+import com.dariom.wds.persistence.shard.ShardRouter;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Import;
 
 @JpaRepositoryIT
-@Import(DictionaryRepository.class)
+@Import({DictionaryRepository.class, ShardRouter.class})
+@EnableConfigurationProperties(ShardProperties.class)
 class DictionaryRepositoryJpaIT {
 
   @Autowired
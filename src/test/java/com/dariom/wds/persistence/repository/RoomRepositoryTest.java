@@ -7,31 +7,49 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.dariom.wds.config.datasource.ShardProperties;
+import com.dariom.wds.config.datasource.ShardProperties.Node;
 import com.dariom.wds.exception.RoomNotFoundException;
+import com.dariom.wds.metrics.RoomLockMetrics;
 import com.dariom.wds.persistence.entity.RoomEntity;
+import com.dariom.wds.persistence.purge.InactiveRoomPurgeTarget;
+import com.dariom.wds.persistence.purge.PurgeEngine;
 import com.dariom.wds.persistence.repository.jpa.RoomJpaRepository;
+import com.dariom.wds.persistence.shard.PlayerRoomIndex;
+import com.dariom.wds.persistence.shard.ShardPlacement;
+import com.dariom.wds.persistence.shard.ShardRouter;
+import com.dariom.wds.service.NoOpTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import org.hibernate.Session;
 import org.hibernate.jdbc.Work;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class RoomRepositoryTest {
 
+  private static final UUID ROOM_ID = UUID.fromString("7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b");
+  private static final UUID PLAYER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
   @Mock
   private RoomJpaRepository roomJpaRepository;
   @Mock
@@ -44,37 +62,83 @@ class RoomRepositoryTest {
   private Statement statement;
   @Mock
   private TypedQuery<RoomEntity> query;
+  @Mock
+  private PurgeEngine purgeEngine;
+  @Mock
+  private InactiveRoomPurgeTarget inactiveRoomPurgeTarget;
+  @Mock
+  private ShardPlacement shardPlacement;
+  @Mock
+  private PlayerRoomIndex playerRoomIndex;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
   private RoomRepository repository;
 
   @BeforeEach
   void setUp() {
-    repository = new RoomRepository(roomJpaRepository, entityManager);
+    repository = repository(shardRouter(false));
   }
 
   @Test
   void findWithPlayersById_roomExists_delegatesToJpaRepository() {
     // Arrange
     var room = new RoomEntity();
-    when(roomJpaRepository.findWithPlayersById("room-1")).thenReturn(Optional.of(room));
+    when(roomJpaRepository.findWithPlayersById(ROOM_ID)).thenReturn(Optional.of(room));
 
     // Act
-    var result = repository.findWithPlayersById("room-1");
+    var result = repository.findWithPlayersById(ROOM_ID.toString());
 
     // Assert
     assertThat(result).isSameAs(room);
-    verify(roomJpaRepository).findWithPlayersById("room-1");
+    verify(roomJpaRepository).findWithPlayersById(ROOM_ID);
+  }
+
+  @Test
+  void findWithPlayersById_idNotUuid_throwsRoomNotFoundException() {
+    // Act / Assert
+    assertThatThrownBy(() -> repository.findWithPlayersById("room-1"))
+        .isInstanceOf(RoomNotFoundException.class)
+        .hasMessageContaining("room-1");
+    verifyNoInteractions(roomJpaRepository);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "6BA7B810-9DAD-11D1-80B4-00C04FD430C8",
+      "6ba7b810-9dad-11d1-80b4-c04fd430c8",
+      "0-0-0-0-0"
+  })
+  void findWithPlayersById_idNotCanonical_throwsRoomNotFoundException(String id) {
+    // Act / Assert
+    assertThatThrownBy(() -> repository.findWithPlayersById(id))
+        .isInstanceOf(RoomNotFoundException.class)
+        .hasMessageContaining(id);
+    verifyNoInteractions(roomJpaRepository);
+  }
+
+  @Test
+  void deleteInactive_cutoffProvided_purgesOneChunkOfInactiveRooms() {
+    // Arrange
+    var cutoff = Instant.parse("2025-01-01T00:00:00Z");
+    when(purgeEngine.purgeChunk(inactiveRoomPurgeTarget, cutoff, 100)).thenReturn(7);
+
+    // Act
+    var deleted = repository.deleteInactive(cutoff, 100);
+
+    // Assert
+    assertThat(deleted).isEqualTo(7);
   }
 
   @Test
   void findWithPlayersById_roomMissing_throwsRoomNotFoundException() {
     // Arrange
-    when(roomJpaRepository.findWithPlayersById(anyString())).thenReturn(Optional.empty());
+    when(roomJpaRepository.findWithPlayersById(any(UUID.class))).thenReturn(Optional.empty());
 
     // Act / Assert
-    assertThatThrownBy(() -> repository.findWithPlayersById("room-1"))
+    assertThatThrownBy(() -> repository.findWithPlayersById(ROOM_ID.toString()))
         .isInstanceOf(RoomNotFoundException.class)
-        .hasMessageContaining("room-1");
+        .hasMessageContaining(ROOM_ID.toString());
   }
 
   @Test
@@ -91,6 +155,47 @@ class RoomRepositoryTest {
     verify(roomJpaRepository).save(room);
   }
 
+  @Test
+  void delete_roomProvided_deletesRoomAndRemovesItFromPlayerIndex() {
+    // Arrange
+    var room = new RoomEntity();
+    room.setId(ROOM_ID);
+
+    // Act
+    repository.delete(room);
+
+    // Assert
+    verify(roomJpaRepository).delete(room);
+    verify(playerRoomIndex).removeRooms(List.of(ROOM_ID));
+  }
+
+  @Test
+  void findWithPlayersByPlayerId_sharded_loadsIndexedRoomsFromEachShardMostRecentFirst() {
+    // Arrange
+    var shardRouter = shardRouter(true);
+    var shardedRepository = repository(shardRouter);
+    var homeRoom = room(UUID.randomUUID(), "2025-01-01T00:00:00Z");
+    var shard1Room = room(shardRouter.newRoomId(1), "2025-01-03T00:00:00Z");
+    var shard2Room = room(shardRouter.newRoomId(2), "2025-01-02T00:00:00Z");
+
+    when(playerRoomIndex.findRoomIds(PLAYER_ID))
+        .thenReturn(List.of(shard2Room.getId(), homeRoom.getId(), shard1Room.getId()));
+    when(roomJpaRepository.findWithPlayersByIdInAndPlayerId(List.of(homeRoom.getId()), PLAYER_ID))
+        .thenReturn(List.of(homeRoom));
+    when(roomJpaRepository.findWithPlayersByIdInAndPlayerId(List.of(shard1Room.getId()),
+        PLAYER_ID))
+        .thenReturn(List.of(shard1Room));
+    when(roomJpaRepository.findWithPlayersByIdInAndPlayerId(List.of(shard2Room.getId()),
+        PLAYER_ID))
+        .thenReturn(List.of(shard2Room));
+
+    // Act
+    var rooms = shardedRepository.findWithPlayersByPlayerId(PLAYER_ID);
+
+    // Assert
+    assertThat(rooms).containsExactly(shard1Room, shard2Room, homeRoom);
+  }
+
   @Test
   void findWithPlayersByIdForUpdate_roomExists_returnsFirstResult() throws Exception {
     // Arrange
@@ -114,13 +219,14 @@ class RoomRepositoryTest {
     }).when(session).doWork(any(Work.class));
 
     // Act
-    var result = repository.findWithPlayersByIdForUpdate("room-1", Duration.ofMillis(50));
+    var result = repository.findWithPlayersByIdForUpdate(ROOM_ID.toString(),
+        Duration.ofMillis(50));
 
     // Assert
     assertThat(result).isSameAs(room);
     verify(entityManager).createQuery("select r from RoomEntity r where r.id = :id",
         RoomEntity.class);
-    verify(query).setParameter("id", "room-1");
+    verify(query).setParameter("id", ROOM_ID);
     verify(query).setLockMode(PESSIMISTIC_WRITE);
   }
 
@@ -146,8 +252,29 @@ class RoomRepositoryTest {
 
     // Act / Assert
     assertThatThrownBy(
-        () -> repository.findWithPlayersByIdForUpdate("room-1", Duration.ofMillis(50)))
+        () -> repository.findWithPlayersByIdForUpdate(ROOM_ID.toString(), Duration.ofMillis(50)))
         .isInstanceOf(RoomNotFoundException.class)
-        .hasMessageContaining("room-1");
+        .hasMessageContaining(ROOM_ID.toString());
+  }
+
+  private RoomRepository repository(ShardRouter shardRouter) {
+    return new RoomRepository(roomJpaRepository, entityManager,
+        new RoomLockMetrics(meterRegistry), purgeEngine, inactiveRoomPurgeTarget, shardRouter,
+        shardPlacement, playerRoomIndex);
+  }
+
+  private static ShardRouter shardRouter(boolean sharded) {
+    var nodes = List.of(new Node("jdbc:postgresql://shard-1/wordle", "wordle", "wordle"),
+        new Node("jdbc:postgresql://shard-2/wordle", "wordle", "wordle"));
+    var properties = new ShardProperties(sharded, nodes, 10, Duration.ofSeconds(1),
+        Duration.ofMinutes(1));
+    return new ShardRouter(properties, new NoOpTransactionManager());
+  }
+
+  private static RoomEntity room(UUID id, String lastUpdatedAt) {
+    var room = new RoomEntity();
+    room.setId(id);
+    room.setLastUpdatedAt(Instant.parse(lastUpdatedAt));
+    return room;
   }
 }
@@ -5,10 +5,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.dariom.wds.persistence.entity.AppUserEntity;
 import com.dariom.wds.persistence.entity.RefreshTokenEntity;
 import com.dariom.wds.persistence.entity.RoleEntity;
+import com.dariom.wds.persistence.purge.PurgeKey;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 
 @JpaRepositoryIT
 class RefreshTokenJpaRepositoryIT {
@@ -53,32 +56,36 @@ class RefreshTokenJpaRepositoryIT {
   }
 
   @Test
-  void deleteExpired_deletesOnlyExpiredTokens() {
+  void findExpiredKeys_expiredTokensExist_returnsKeysInExpiryOrder() {
     // Arrange
-    var userId = UUID.randomUUID();
-    var user = userRepository.save(userEntity(userId));
+    var user = userRepository.save(userEntity(UUID.randomUUID()));
+    var now = Instant.now();
+    var expiredFirst = saveToken(user, "b".repeat(64), now.minusSeconds(60));
+    var expiredSecond = saveToken(user, "c".repeat(64), now.minusSeconds(30));
+    saveToken(user, "f".repeat(64), now.plusSeconds(3600));
+
+    // Act
+    var first = repository.findExpiredKeys(now, Limit.of(1));
+    var rest = repository.findExpiredKeysAfter(now, first.getLast().timestamp(),
+        first.getLast().id(), Limit.of(10));
+
+    // Assert
+    assertThat(first).extracting(PurgeKey::id).containsExactly(expiredFirst);
+    assertThat(rest).extracting(PurgeKey::id).containsExactly(expiredSecond);
+  }
 
+  @Test
+  void deleteExpiredByIdIn_mixedTokens_deletesOnlyExpiredTokens() {
+    // Arrange
+    var user = userRepository.save(userEntity(UUID.randomUUID()));
     var now = Instant.now();
     var expiredTokenHash = "b".repeat(64);
     var validTokenHash = "c".repeat(64);
-
-    repository.save(
-        new RefreshTokenEntity(
-            UUID.randomUUID(),
-            user,
-            expiredTokenHash,
-            now.minusSeconds(120),
-            now.minusSeconds(1)));
-    repository.save(
-        new RefreshTokenEntity(
-            UUID.randomUUID(),
-            user,
-            validTokenHash,
-            now,
-            now.plusSeconds(3600)));
+    var expiredId = saveToken(user, expiredTokenHash, now.minusSeconds(1));
+    var validId = saveToken(user, validTokenHash, now.plusSeconds(3600));
 
     // Act
-    var deleted = repository.deleteExpired(now);
+    var deleted = repository.deleteExpiredByIdIn(now, List.of(expiredId, validId));
 
     // Assert
     assertThat(deleted).isEqualTo(1);
@@ -118,6 +125,13 @@ class RefreshTokenJpaRepositoryIT {
     assertThat(repository.findWithUserByTokenHash(remainingTokenHash)).isPresent();
   }
 
+  private UUID saveToken(AppUserEntity user, String tokenHash, Instant expiresAt) {
+    var id = UUID.randomUUID();
+    repository.save(new RefreshTokenEntity(id, user, tokenHash, expiresAt.minusSeconds(120),
+        expiresAt));
+    return id;
+  }
+
   private static AppUserEntity userEntity(UUID userId) {
     return new AppUserEntity(userId, "user@test.com", "google-sub-1", "User Test", "pictureUrl");
   }
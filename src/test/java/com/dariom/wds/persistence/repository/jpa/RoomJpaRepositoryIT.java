@@ -11,15 +11,28 @@ import com.dariom.wds.persistence.entity.GuessEntity;
 import com.dariom.wds.persistence.entity.LetterResultEmbeddable;
 import com.dariom.wds.persistence.entity.RoomEntity;
 import com.dariom.wds.persistence.entity.RoundEntity;
+import com.dariom.wds.persistence.purge.PurgeKey;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 
 @JpaRepositoryIT
 class RoomJpaRepositoryIT {
 
+  private static final UUID PLAYER_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+  private static final UUID PLAYER_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+  private static final UUID ROOM_1 = UUID.fromString("7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b");
+  private static final UUID OLD_ROOM = UUID.fromString("0c9f6a8e-2d1b-4f3a-8e7c-5b4a3d2c1e0f");
+  private static final UUID NEW_ROOM = UUID.fromString("5e2d8c1a-7b6f-4a9e-b3d2-1c0f9e8d7a6b");
+  private static final UUID OTHER_ROOM = UUID.fromString("9a8b7c6d-5e4f-4a3b-9c2d-1e0f2a3b4c5d");
+  private static final UUID ROOM_A = UUID.fromString("00000000-0000-4000-8000-00000000000a");
+  private static final UUID ROOM_B = UUID.fromString("00000000-0000-4000-8000-00000000000b");
+  private static final UUID ROOM_C = UUID.fromString("00000000-0000-4000-8000-00000000000c");
+
   @Autowired
   private RoomJpaRepository repository;
 
@@ -30,26 +43,26 @@ class RoomJpaRepositoryIT {
   void findWithPlayersById_roomWithPlayers_returnsLoadedElementCollections() {
     // Arrange
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_1);
     room.setLanguage(IT);
     room.setStatus(WAITING_FOR_PLAYERS);
 
-    room.addPlayer("p2");
-    room.addPlayer("p1");
+    room.addPlayer(PLAYER_2);
+    room.addPlayer(PLAYER_1);
 
-    room.setPlayerScore("p1", 0);
-    room.setPlayerScore("p2", 1);
+    room.setPlayerScore(PLAYER_1, 0);
+    room.setPlayerScore(PLAYER_2, 1);
 
     repository.save(room);
 
     // Act
-    var found = repository.findWithPlayersById("room-1").orElseThrow();
+    var found = repository.findWithPlayersById(ROOM_1).orElseThrow();
 
     // Assert
-    assertThat(found.getSortedPlayerIds()).containsExactly("p1", "p2");
+    assertThat(found.getSortedPlayerIds()).containsExactly(PLAYER_1, PLAYER_2);
 
     var scores = found.getScoresByPlayerId();
-    assertThat(scores).containsEntry("p1", 0).containsEntry("p2", 1);
+    assertThat(scores).containsEntry(PLAYER_1, 0).containsEntry(PLAYER_2, 1);
     assertThat(scores).hasSize(2);
   }
 
@@ -57,102 +70,103 @@ class RoomJpaRepositoryIT {
   void findWithPlayersByPlayerId_playerInMultipleRooms_returnsRoomsOrderedByLastUpdatedAtDesc() {
     // Arrange
     var room1 = new RoomEntity();
-    room1.setId("room-old");
+    room1.setId(OLD_ROOM);
     room1.setLanguage(IT);
     room1.setStatus(WAITING_FOR_PLAYERS);
-    room1.addPlayer("p1");
-    room1.addPlayer("p2");
-    room1.setPlayerScore("p1", 0);
-    room1.setPlayerScore("p2", 1);
+    room1.addPlayer(PLAYER_1);
+    room1.addPlayer(PLAYER_2);
+    room1.setPlayerScore(PLAYER_1, 0);
+    room1.setPlayerScore(PLAYER_2, 1);
 
     var room2 = new RoomEntity();
-    room2.setId("room-new");
+    room2.setId(NEW_ROOM);
     room2.setLanguage(IT);
     room2.setStatus(WAITING_FOR_PLAYERS);
-    room2.addPlayer("p1");
-    room2.setPlayerScore("p1", 5);
+    room2.addPlayer(PLAYER_1);
+    room2.setPlayerScore(PLAYER_1, 5);
 
     var roomOther = new RoomEntity();
-    roomOther.setId("room-other");
+    roomOther.setId(OTHER_ROOM);
     roomOther.setLanguage(IT);
     roomOther.setStatus(WAITING_FOR_PLAYERS);
-    roomOther.addPlayer("p2");
-    roomOther.setPlayerScore("p2", 0);
+    roomOther.addPlayer(PLAYER_2);
+    roomOther.setPlayerScore(PLAYER_2, 0);
 
     repository.save(room1);
     repository.save(room2);
     repository.save(roomOther);
 
     // Act
-    var found = repository.findWithPlayersByPlayerId("p1");
+    var found = repository.findWithPlayersByPlayerId(PLAYER_1);
 
     // Assert
     assertThat(found)
         .extracting(RoomEntity::getId)
-        .containsExactly("room-new", "room-old");
+        .containsExactly(NEW_ROOM, OLD_ROOM);
 
-    assertThat(found.get(0).getSortedPlayerIds()).containsExactly("p1");
-    assertThat(found.get(0).getScoresByPlayerId()).containsEntry("p1", 5);
+    assertThat(found.get(0).getSortedPlayerIds()).containsExactly(PLAYER_1);
+    assertThat(found.get(0).getScoresByPlayerId()).containsEntry(PLAYER_1, 5);
 
-    assertThat(found.get(1).getSortedPlayerIds()).containsExactly("p1", "p2");
-    assertThat(found.get(1).getScoresByPlayerId()).containsEntry("p1", 0).containsEntry("p2", 1);
+    assertThat(found.get(1).getSortedPlayerIds()).containsExactly(PLAYER_1, PLAYER_2);
+    assertThat(found.get(1).getScoresByPlayerId())
+        .containsEntry(PLAYER_1, 0)
+        .containsEntry(PLAYER_2, 1);
   }
 
   @Test
-  void deleteInactive_oldRoomExists_deletesOnlyOldRooms() {
+  void findInactiveKeys_oldRoomsExist_returnsKeysInTimestampAndIdOrder() {
     // Arrange
-    var oldRoom = new RoomEntity();
-    oldRoom.setId("room-old");
-    oldRoom.setLanguage(IT);
-    oldRoom.setStatus(WAITING_FOR_PLAYERS);
-
-    var newRoom = new RoomEntity();
-    newRoom.setId("room-new");
-    newRoom.setLanguage(IT);
-    newRoom.setStatus(WAITING_FOR_PLAYERS);
-
-    repository.save(oldRoom);
-    repository.save(newRoom);
-    entityManager.flush();
-
     var oldTs = Instant.parse("2020-01-01T00:00:00Z");
-    var newTs = Instant.parse("2025-01-01T00:00:00Z");
+    var olderTs = Instant.parse("2019-01-01T00:00:00Z");
+    saveRoomUpdatedAt(ROOM_B, oldTs);
+    saveRoomUpdatedAt(ROOM_A, oldTs);
+    saveRoomUpdatedAt(ROOM_C, olderTs);
+    saveRoomUpdatedAt(NEW_ROOM, Instant.parse("2025-01-01T00:00:00Z"));
 
-    entityManager.createNativeQuery("update rooms set last_updated_at = :ts where id = :id")
-        .setParameter("ts", oldTs)
-        .setParameter("id", "room-old")
-        .executeUpdate();
+    var cutoff = Instant.parse("2024-01-01T00:00:00Z");
 
-    entityManager.createNativeQuery("update rooms set last_updated_at = :ts where id = :id")
-        .setParameter("ts", newTs)
-        .setParameter("id", "room-new")
-        .executeUpdate();
+    // Act
+    var first = repository.findInactiveKeys(cutoff, Limit.of(2));
+    var rest = repository.findInactiveKeysAfter(cutoff, first.getLast().timestamp(),
+        first.getLast().id(), Limit.of(2));
 
-    entityManager.flush();
-    entityManager.clear();
+    // Assert
+    assertThat(first)
+        .extracting(PurgeKey::id)
+        .containsExactly(ROOM_C, ROOM_A);
+    assertThat(rest)
+        .extracting(PurgeKey::id)
+        .containsExactly(ROOM_B);
+  }
+
+  @Test
+  void deleteInactiveByIdIn_mixedRooms_deletesOnlyRoomsOlderThanCutoff() {
+    // Arrange
+    saveRoomUpdatedAt(OLD_ROOM, Instant.parse("2020-01-01T00:00:00Z"));
+    saveRoomUpdatedAt(NEW_ROOM, Instant.parse("2025-01-01T00:00:00Z"));
 
     var cutoff = Instant.parse("2024-01-01T00:00:00Z");
 
     // Act
-    var deleted = repository.deleteInactive(cutoff);
+    var deleted = repository.deleteInactiveByIdIn(cutoff, List.of(OLD_ROOM, NEW_ROOM));
 
     // Assert
     assertThat(deleted).isEqualTo(1);
-    assertThat(repository.findById("room-old")).isEmpty();
-    assertThat(repository.findById("room-new")).isPresent();
+    assertThat(repository.findById(OLD_ROOM)).isEmpty();
+    assertThat(repository.findById(NEW_ROOM)).isPresent();
   }
 
   @Test
   void deleteById_roomWithChildren_deletesChildrenAsWell() {
     // Arrange
-    var roomId = "room-cascade";
+    var roomId = ROOM_1;
 
     var room = new RoomEntity();
     room.setId(roomId);
     room.setLanguage(IT);
     room.setStatus(WAITING_FOR_PLAYERS);
-    room.addPlayer("p1");
-    room.setPlayerScore("p1", 0);
+    room.addPlayer(PLAYER_1);
+    room.setPlayerScore(PLAYER_1, 0);
 
     var round = new RoundEntity();
     round.setRoom(room);
@@ -160,11 +174,11 @@ class RoomJpaRepositoryIT {
     round.setTargetWord("PIZZA");
     round.setMaxAttempts(6);
     round.setRoundStatus(RoundStatus.PLAYING);
-    round.setPlayerStatus("p1", RoundPlayerStatus.PLAYING);
+    round.setPlayerStatus(PLAYER_1, RoundPlayerStatus.PLAYING);
 
     var guess = new GuessEntity();
     guess.setRound(round);
-    guess.setPlayerId("p1");
+    guess.setPlayerId(PLAYER_1);
     guess.setWord("PIZZA");
     guess.setAttemptNumber(1);
     guess.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
@@ -205,5 +219,19 @@ class RoomJpaRepositoryIT {
     }
     return ((Number) query.getSingleResult()).longValue();
   }
-}
 
+  private void saveRoomUpdatedAt(UUID id, Instant lastUpdatedAt) {
+    var room = new RoomEntity();
+    room.setId(id);
+    room.setLanguage(IT);
+    room.setStatus(WAITING_FOR_PLAYERS);
+    repository.save(room);
+    entityManager.flush();
+
+    entityManager.createNativeQuery("update rooms set last_updated_at = :ts where id = :id")
+        .setParameter("ts", lastUpdatedAt)
+        .setParameter("id", id)
+        .executeUpdate();
+    entityManager.clear();
+  }
+}
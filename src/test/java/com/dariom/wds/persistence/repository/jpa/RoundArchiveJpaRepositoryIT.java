@@ -0,0 +1,58 @@
+package com.dariom.wds.persistence.repository.jpa;
+
+import static com.dariom.wds.domain.Language.IT;
+import static com.dariom.wds.domain.RoomStatus.IN_PROGRESS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dariom.wds.persistence.entity.RoomEntity;
+import com.dariom.wds.persistence.entity.RoundArchiveEntity;
+import com.dariom.wds.persistence.entity.RoundArchiveIdEmbeddable;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+
+@JpaRepositoryIT
+class RoundArchiveJpaRepositoryIT {
+
+  private static final UUID ROOM_ID = UUID.fromString("7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b");
+  private static final UUID PLAYER_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+  @Autowired
+  private RoundArchiveJpaRepository roundArchiveJpaRepository;
+
+  @Autowired
+  private RoomJpaRepository roomJpaRepository;
+
+  @Test
+  void streamPayloadsBefore_archivedRounds_streamsRoundsBelowCursorNewestFirst() {
+    // Arrange
+    var room = new RoomEntity();
+    room.setId(ROOM_ID);
+    room.setLanguage(IT);
+    room.setStatus(IN_PROGRESS);
+    room.addPlayer(PLAYER_1);
+    room.setPlayerScore(PLAYER_1, 0);
+    roomJpaRepository.save(room);
+
+    var archivedAt = Instant.parse("2025-01-10T00:00:00Z");
+    for (var roundNumber = 1; roundNumber <= 4; roundNumber++) {
+      roundArchiveJpaRepository.save(new RoundArchiveEntity(
+          new RoundArchiveIdEmbeddable(ROOM_ID, roundNumber), null, null, archivedAt,
+          new byte[]{(byte) roundNumber}));
+    }
+
+    // Act
+    try (var payloads = roundArchiveJpaRepository.streamPayloadsBefore(ROOM_ID, 4,
+        Limit.of(2))) {
+      var rounds = payloads.toList();
+
+      // Assert
+      assertThat(rounds)
+          .extracting(ArchivedRoundPayload::roundNumber)
+          .containsExactly(3, 2);
+      assertThat(rounds.getFirst().payload()).containsExactly(3);
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.dariom.wds.persistence.repository.jpa;
 import static com.dariom.wds.domain.Language.IT;
 import static com.dariom.wds.domain.LetterStatus.CORRECT;
 import static com.dariom.wds.domain.RoomStatus.IN_PROGRESS;
+import static com.dariom.wds.domain.RoundStatus.ENDED;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.dariom.wds.domain.RoundPlayerStatus;
@@ -11,13 +12,22 @@ import com.dariom.wds.persistence.entity.GuessEntity;
 import com.dariom.wds.persistence.entity.LetterResultEmbeddable;
 import com.dariom.wds.persistence.entity.RoomEntity;
 import com.dariom.wds.persistence.entity.RoundEntity;
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 
 @JpaRepositoryIT
 class RoundJpaRepositoryIT {
 
+  private static final UUID PLAYER_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+  private static final UUID PLAYER_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+  private static final UUID ROOM_1 = UUID.fromString("7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b");
+  private static final UUID ROOM_2 = UUID.fromString("5e2d8c1a-7b6f-4a9e-b3d2-1c0f9e8d7a6b");
+  private static final UUID ROOM_3 = UUID.fromString("9a8b7c6d-5e4f-4a3b-9c2d-1e0f2a3b4c5d");
+
   @Autowired
   private RoundJpaRepository roundJpaRepository;
 
@@ -28,14 +38,14 @@ class RoundJpaRepositoryIT {
   void findWithDetailsByRoomIdAndRoundNumber_existingRound_returnsGuessesAndLetters() {
     // Arrange
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_1);
     room.setLanguage(IT);
     room.setStatus(IN_PROGRESS);
 
-    room.addPlayer("p1");
-    room.addPlayer("p2");
-    room.setPlayerScore("p1", 0);
-    room.setPlayerScore("p2", 0);
+    room.addPlayer(PLAYER_1);
+    room.addPlayer(PLAYER_2);
+    room.setPlayerScore(PLAYER_1, 0);
+    room.setPlayerScore(PLAYER_2, 0);
 
     var round = new RoundEntity();
     round.setRoom(room);
@@ -44,15 +54,15 @@ class RoundJpaRepositoryIT {
     round.setMaxAttempts(6);
     round.setRoundStatus(RoundStatus.PLAYING);
 
-    round.setPlayerStatus("p1", RoundPlayerStatus.PLAYING);
-    round.setPlayerStatus("p2", RoundPlayerStatus.PLAYING);
+    round.setPlayerStatus(PLAYER_1, RoundPlayerStatus.PLAYING);
+    round.setPlayerStatus(PLAYER_2, RoundPlayerStatus.PLAYING);
 
     room.addRound(round);
     room.setCurrentRoundNumber(1);
 
     var guess = new GuessEntity();
     guess.setRound(round);
-    guess.setPlayerId("p1");
+    guess.setPlayerId(PLAYER_1);
     guess.setWord("PIZZA");
     guess.setAttemptNumber(1);
     guess.setLetters(List.of(new LetterResultEmbeddable('P', CORRECT)));
@@ -62,7 +72,8 @@ class RoundJpaRepositoryIT {
     roomJpaRepository.save(room);
 
     // Act
-    var found = roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber("room-1", 1).orElseThrow();
+    var found = roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(ROOM_1, 1)
+        .orElseThrow();
 
     // Assert
     assertThat(found.getGuesses()).hasSize(1);
@@ -78,11 +89,11 @@ class RoundJpaRepositoryIT {
   void findCurrentRoundsWithDetailsByRoomIds_roomsHaveCurrentRounds_returnsOnlyCurrentRounds() {
     // Arrange
     var room1 = new RoomEntity();
-    room1.setId("room-1");
+    room1.setId(ROOM_1);
     room1.setLanguage(IT);
     room1.setStatus(IN_PROGRESS);
-    room1.addPlayer("p1");
-    room1.setPlayerScore("p1", 0);
+    room1.addPlayer(PLAYER_1);
+    room1.setPlayerScore(PLAYER_1, 0);
 
     var round1 = new RoundEntity();
     round1.setRoom(room1);
@@ -95,18 +106,18 @@ class RoundJpaRepositoryIT {
 
     var guess1 = new GuessEntity();
     guess1.setRound(round1);
-    guess1.setPlayerId("p1");
+    guess1.setPlayerId(PLAYER_1);
     guess1.setWord("PIZZA");
     guess1.setAttemptNumber(1);
     guess1.setLetters(List.of(new LetterResultEmbeddable('P', CORRECT)));
     round1.addGuess(guess1);
 
     var room2 = new RoomEntity();
-    room2.setId("room-2");
+    room2.setId(ROOM_2);
     room2.setLanguage(IT);
     room2.setStatus(IN_PROGRESS);
-    room2.addPlayer("p1");
-    room2.setPlayerScore("p1", 0);
+    room2.addPlayer(PLAYER_1);
+    room2.setPlayerScore(PLAYER_1, 0);
 
     var oldRound = new RoundEntity();
     oldRound.setRoom(room2);
@@ -128,18 +139,18 @@ class RoundJpaRepositoryIT {
 
     var guess2 = new GuessEntity();
     guess2.setRound(currentRound);
-    guess2.setPlayerId("p1");
+    guess2.setPlayerId(PLAYER_1);
     guess2.setWord("PIZZA");
     guess2.setAttemptNumber(1);
     guess2.setLetters(List.of(new LetterResultEmbeddable('P', CORRECT)));
     currentRound.addGuess(guess2);
 
     var roomNoCurrent = new RoomEntity();
-    roomNoCurrent.setId("room-no-current");
+    roomNoCurrent.setId(ROOM_3);
     roomNoCurrent.setLanguage(IT);
     roomNoCurrent.setStatus(IN_PROGRESS);
-    roomNoCurrent.addPlayer("p1");
-    roomNoCurrent.setPlayerScore("p1", 0);
+    roomNoCurrent.addPlayer(PLAYER_1);
+    roomNoCurrent.setPlayerScore(PLAYER_1, 0);
 
     var roomNoCurrentRound = new RoundEntity();
     roomNoCurrentRound.setRoom(roomNoCurrent);
@@ -155,18 +166,133 @@ class RoundJpaRepositoryIT {
 
     // Act
     var found = roundJpaRepository.findCurrentRoundsWithDetailsByRoomIds(
-        List.of("room-1", "room-2", "room-no-current"));
+        List.of(ROOM_1, ROOM_2, ROOM_3));
 
     // Assert
     assertThat(found)
         .extracting(r -> r.getRoom().getId() + ":" + r.getRoundNumber())
-        .containsExactlyInAnyOrder("room-1:1", "room-2:2");
+        .containsExactlyInAnyOrder(ROOM_1 + ":1", ROOM_2 + ":2");
 
     var foundRoom1Round = found.stream()
-        .filter(r -> r.getRoom().getId().equals("room-1"))
+        .filter(r -> r.getRoom().getId().equals(ROOM_1))
         .findFirst()
         .orElseThrow();
     assertThat(foundRoom1Round.getGuesses()).hasSize(1);
     assertThat(foundRoom1Round.getGuesses().getFirst().getLetters()).hasSize(1);
   }
+
+  @Test
+  void findArchivableIds_finishedRounds_returnsRoundsBehindKeepWindowOrTooOldButNeverCurrent() {
+    // Arrange
+    var recent = Instant.parse("2025-01-10T00:00:00Z");
+    var old = Instant.parse("2025-01-01T00:00:00Z");
+
+    var room = new RoomEntity();
+    room.setId(ROOM_1);
+    room.setLanguage(IT);
+    room.setStatus(IN_PROGRESS);
+    room.addPlayer(PLAYER_1);
+    room.setPlayerScore(PLAYER_1, 0);
+
+    endedRound(room, 1, recent);
+    endedRound(room, 2, old);
+    endedRound(room, 3, recent);
+    endedRound(room, 4, old);
+    room.setCurrentRoundNumber(4);
+
+    roomJpaRepository.save(room);
+
+    // Act
+    var ids = roundJpaRepository.findArchivableIds(ENDED, 2, Instant.parse("2025-01-05T00:00:00Z"),
+        Limit.of(10));
+
+    // Assert
+    assertThat(roundJpaRepository.findAllById(ids))
+        .extracting(RoundEntity::getRoundNumber)
+        .containsExactlyInAnyOrder(1, 2);
+  }
+
+  @Test
+  void deleteByIdInAndRoundStatus_endedRounds_deletesRoundsWithTheirGuesses() {
+    // Arrange
+    var room = new RoomEntity();
+    room.setId(ROOM_1);
+    room.setLanguage(IT);
+    room.setStatus(IN_PROGRESS);
+    room.addPlayer(PLAYER_1);
+    room.setPlayerScore(PLAYER_1, 0);
+
+    var round1 = endedRound(room, 1, Instant.parse("2025-01-01T00:00:00Z"));
+    var guess = new GuessEntity();
+    guess.setRound(round1);
+    guess.setPlayerId(PLAYER_1);
+    guess.setWord("PIZZA");
+    guess.setAttemptNumber(1);
+    guess.setLetters(List.of(new LetterResultEmbeddable('P', CORRECT)));
+    round1.addGuess(guess);
+
+    endedRound(room, 2, Instant.parse("2025-01-02T00:00:00Z"));
+    room.setCurrentRoundNumber(2);
+
+    roomJpaRepository.save(room);
+    var roundId = roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(ROOM_1, 1)
+        .orElseThrow()
+        .getId();
+
+    // Act
+    var deleted = roundJpaRepository.deleteByIdInAndRoundStatus(List.of(roundId), ENDED);
+
+    // Assert
+    assertThat(deleted).isEqualTo(1);
+    assertThat(roundJpaRepository.findAll())
+        .extracting(RoundEntity::getRoundNumber)
+        .containsExactly(2);
+  }
+
+  @Test
+  void findRoundNumbersBefore_endedRounds_returnsNumbersBelowCursorNewestFirst() {
+    // Arrange
+    var room = new RoomEntity();
+    room.setId(ROOM_1);
+    room.setLanguage(IT);
+    room.setStatus(IN_PROGRESS);
+    room.addPlayer(PLAYER_1);
+    room.setPlayerScore(PLAYER_1, 0);
+
+    for (var roundNumber = 1; roundNumber <= 4; roundNumber++) {
+      endedRound(room, roundNumber, Instant.parse("2025-01-01T00:00:00Z"));
+    }
+    var current = new RoundEntity();
+    current.setRoom(room);
+    current.setRoundNumber(5);
+    current.setTargetWord("PIZZA");
+    current.setMaxAttempts(6);
+    current.setRoundStatus(RoundStatus.PLAYING);
+    room.addRound(current);
+    room.setCurrentRoundNumber(5);
+
+    roomJpaRepository.save(room);
+
+    // Act
+    var firstPage = roundJpaRepository.findRoundNumbersBefore(ROOM_1, ENDED, Integer.MAX_VALUE,
+        Limit.of(2));
+    var secondPage = roundJpaRepository.findRoundNumbersBefore(ROOM_1, ENDED, 3, Limit.of(2));
+
+    // Assert
+    assertThat(firstPage).containsExactly(4, 3);
+    assertThat(secondPage).containsExactly(2, 1);
+  }
+
+  private static RoundEntity endedRound(RoomEntity room, int roundNumber, Instant finishedAt) {
+    var round = new RoundEntity();
+    round.setRoom(room);
+    round.setRoundNumber(roundNumber);
+    round.setTargetWord("PIZZA");
+    round.setMaxAttempts(6);
+    round.setRoundStatus(ENDED);
+    round.setPlayerStatus(PLAYER_1, RoundPlayerStatus.WON);
+    round.setFinishedAt(finishedAt);
+    room.addRound(round);
+    return round;
+  }
 }
@@ -0,0 +1,71 @@
+package com.dariom.wds.persistence.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.datasource.ShardProperties;
+import com.dariom.wds.config.datasource.ShardProperties.Node;
+import com.dariom.wds.persistence.repository.jpa.RoomJpaRepository;
+import com.dariom.wds.service.NoOpTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ShardPlacementTest {
+
+  @Mock
+  private RoomJpaRepository roomJpaRepository;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private ShardPlacement placement;
+
+  @BeforeEach
+  void setUp() {
+    var nodes = List.of(new Node("jdbc:postgresql://shard-1/wordle", "wordle", "wordle"),
+        new Node("jdbc:postgresql://shard-2/wordle", "wordle", "wordle"));
+    var shardRouter = new ShardRouter(new ShardProperties(true, nodes, 10, Duration.ofSeconds(1),
+        Duration.ofMinutes(1)), new NoOpTransactionManager());
+    placement = new ShardPlacement(shardRouter, roomJpaRepository, meterRegistry);
+  }
+
+  @Test
+  void nextShard_afterRefresh_fillsLeastLoadedShardFirst() {
+    // Arrange
+    when(roomJpaRepository.count()).thenReturn(5L, 3L, 4L);
+    placement.refreshRoomCounts();
+
+    // Act
+    var shards = List.of(placement.nextShard(), placement.nextShard(), placement.nextShard(),
+        placement.nextShard());
+
+    // Assert
+    assertThat(shards).containsExactly(1, 1, 2, 0);
+    assertThat(meterRegistry.get("datasource.shard.rooms").tag("shard", "1").gauge().value())
+        .isEqualTo(5);
+  }
+
+  @Test
+  void nextShard_shardCannotBeCounted_placesNoRoomsThere() {
+    // Arrange
+    when(roomJpaRepository.count())
+        .thenReturn(5L)
+        .thenThrow(new IllegalStateException("shard down"))
+        .thenReturn(7L);
+    placement.refreshRoomCounts();
+
+    // Act
+    var shard = placement.nextShard();
+
+    // Assert
+    assertThat(shard).isZero();
+    assertThat(meterRegistry.get("datasource.shard.rooms").tag("shard", "1").gauge().value())
+        .isNaN();
+  }
+}
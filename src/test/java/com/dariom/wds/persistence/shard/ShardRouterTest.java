@@ -0,0 +1,103 @@
+package com.dariom.wds.persistence.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dariom.wds.config.datasource.ShardContext;
+import com.dariom.wds.config.datasource.ShardProperties;
+import com.dariom.wds.config.datasource.ShardProperties.Node;
+import com.dariom.wds.service.NoOpTransactionManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ShardRouterTest {
+
+  private final ShardRouter shardRouter = shardRouter(true);
+
+  @Test
+  void newRoomId_sharded_encodesShardInVersion8Uuid() {
+    // Act
+    var roomId = shardRouter.newRoomId(2);
+
+    // Assert
+    assertThat(roomId.version()).isEqualTo(8);
+    assertThat(roomId.variant()).isEqualTo(2);
+    assertThat(shardRouter.shardOf(roomId)).isEqualTo(2);
+  }
+
+  @Test
+  void newRoomId_notSharded_returnsRandomUuid() {
+    // Arrange
+    var unsharded = shardRouter(false);
+
+    // Act
+    var roomId = unsharded.newRoomId(ShardRouter.HOME_SHARD);
+
+    // Assert
+    assertThat(roomId.version()).isEqualTo(4);
+    assertThat(unsharded.shardOf(roomId)).isEqualTo(ShardRouter.HOME_SHARD);
+  }
+
+  @Test
+  void shardOf_roomCreatedBeforeSharding_returnsHomeShard() {
+    // Act / Assert
+    assertThat(shardRouter.shardOf(UUID.randomUUID())).isEqualTo(ShardRouter.HOME_SHARD);
+  }
+
+  @Test
+  void shardOf_unknownShard_returnsHomeShard() {
+    // Arrange
+    var roomId = shardRouter(true, 5).newRoomId(4);
+
+    // Act
+    var shard = shardRouter.shardOf(roomId);
+
+    // Assert
+    assertThat(shard).isEqualTo(ShardRouter.HOME_SHARD);
+  }
+
+  @Test
+  void groupByShard_roomsOfSeveralShards_groupsThemInShardOrder() {
+    // Arrange
+    var first = shardRouter.newRoomId(2);
+    var second = shardRouter.newRoomId(1);
+    var third = shardRouter.newRoomId(2);
+    var legacy = UUID.randomUUID();
+
+    // Act
+    var grouped = shardRouter.groupByShard(List.of(first, second, legacy, third));
+
+    // Assert
+    assertThat(grouped).containsExactly(
+        Map.entry(0, List.of(legacy)),
+        Map.entry(1, List.of(second)),
+        Map.entry(2, List.of(first, third)));
+  }
+
+  @Test
+  void onHomeShard_inScopeOfOtherShard_runsInScopeOfHomeShard() {
+    // Act
+    var shard = ShardContext.callInScope(2,
+        () -> shardRouter.onHomeShard(ShardContext::currentShard));
+
+    // Assert
+    assertThat(shard).hasValue(ShardRouter.HOME_SHARD);
+  }
+
+  private static ShardRouter shardRouter(boolean sharded) {
+    return shardRouter(sharded, 2);
+  }
+
+  private static ShardRouter shardRouter(boolean sharded, int nodeCount) {
+    var nodes = IntStream.rangeClosed(1, nodeCount)
+        .mapToObj(i -> new Node("jdbc:postgresql://shard-%d/wordle".formatted(i), "wordle",
+            "wordle"))
+        .toList();
+    var properties = new ShardProperties(sharded, nodes, 10, Duration.ofSeconds(1),
+        Duration.ofMinutes(1));
+    return new ShardRouter(properties, new NoOpTransactionManager());
+  }
+}
@@ -23,6 +23,10 @@ import org.junit.jupiter.api.Test;
 
 class DomainMapperTest {
 
+  private static final UUID ROOM_ID = UUID.fromString("7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b");
+  private static final UUID PLAYER_A = UUID.fromString("aaaaaaaa-aaaa-4aaa-aaaa-aaaaaaaaaaaa");
+  private static final UUID PLAYER_B = UUID.fromString("bbbbbbbb-bbbb-4bbb-bbbb-bbbbbbbbbbbb");
+
   private final DomainMapper mapper = new DomainMapper();
 
   @Test
@@ -49,23 +53,23 @@ class DomainMapperTest {
   void toRoom_unsortedPlayers_returnsSortedPlayersAndScores() {
     // Arrange
     var entity = new RoomEntity();
-    entity.setId("room-1");
+    entity.setId(ROOM_ID);
     entity.setLanguage(IT);
     entity.setStatus(WAITING_FOR_PLAYERS);
 
-    entity.addPlayer("b");
-    entity.addPlayer("a");
+    entity.addPlayer(PLAYER_B);
+    entity.addPlayer(PLAYER_A);
 
-    entity.setPlayerScore("b", 1);
-    entity.setPlayerScore("a", 2);
+    entity.setPlayerScore(PLAYER_B, 1);
+    entity.setPlayerScore(PLAYER_A, 2);
 
-    var displayNamePerPlayer = Map.of("a", "John", "b", "Bart");
+    var displayNamePerPlayer = Map.of(PLAYER_A.toString(), "John", PLAYER_B.toString(), "Bart");
 
     // Act
     var room = mapper.toRoom(entity, null, displayNamePerPlayer);
 
     // Assert
-    assertThat(room.id()).isEqualTo("room-1");
+    assertThat(room.id()).isEqualTo(ROOM_ID.toString());
     assertThat(room.language()).isEqualTo(IT);
     assertThat(room.status()).isEqualTo(WAITING_FOR_PLAYERS);
     assertThat(room.currentRound()).isNull();
@@ -73,8 +77,8 @@ class DomainMapperTest {
     assertThat(room.players())
         .extracting(Player::id, Player::score, Player::displayName)
         .containsExactly(
-            tuple("a", 2, "John"),
-            tuple("b", 1, "Bart")
+            tuple(PLAYER_A.toString(), 2, "John"),
+            tuple(PLAYER_B.toString(), 1, "Bart")
         );
   }
 
@@ -82,15 +86,15 @@ class DomainMapperTest {
   void toRoom_displayNameMapNull_stillMapsPlayersAndScores() {
     // Arrange
     var entity = new RoomEntity();
-    entity.setId("room-1");
+    entity.setId(ROOM_ID);
     entity.setLanguage(IT);
     entity.setStatus(WAITING_FOR_PLAYERS);
 
-    entity.addPlayer("b");
-    entity.addPlayer("a");
+    entity.addPlayer(PLAYER_B);
+    entity.addPlayer(PLAYER_A);
 
-    entity.setPlayerScore("b", 1);
-    entity.setPlayerScore("a", 2);
+    entity.setPlayerScore(PLAYER_B, 1);
+    entity.setPlayerScore(PLAYER_A, 2);
 
     // Act
     var room = mapper.toRoom(entity, null, null);
@@ -99,8 +103,8 @@ class DomainMapperTest {
     assertThat(room.players())
         .extracting(Player::id, Player::score, Player::displayName)
         .containsExactly(
-            tuple("a", 2, null),
-            tuple("b", 1, null)
+            tuple(PLAYER_A.toString(), 2, null),
+            tuple(PLAYER_B.toString(), 1, null)
         );
   }
 
@@ -110,12 +114,12 @@ class DomainMapperTest {
     var roundEntity = new RoundEntity();
     roundEntity.setRoundNumber(1);
     roundEntity.setMaxAttempts(6);
-    roundEntity.setPlayerStatus("p1", PLAYING);
+    roundEntity.setPlayerStatus(PLAYER_A, PLAYING);
 
-    var guess2 = guess(roundEntity, "p1", "PIZZA", 2, List.of(
+    var guess2 = guess(roundEntity, PLAYER_A, "PIZZA", 2, List.of(
         new LetterResultEmbeddable('P', CORRECT)
     ));
-    var guess1 = guess(roundEntity, "p1", "PASTA", 1, List.of(
+    var guess1 = guess(roundEntity, PLAYER_A, "PASTA", 1, List.of(
         new LetterResultEmbeddable('P', ABSENT)
     ));
 
@@ -126,12 +130,12 @@ class DomainMapperTest {
     var round = mapper.toRound(roundEntity);
 
     // Assert
-    assertThat(round.guessesByPlayerId()).containsKey("p1");
-    assertThat(round.guessesByPlayerId().get("p1"))
+    assertThat(round.guessesByPlayerId()).containsKey(PLAYER_A.toString());
+    assertThat(round.guessesByPlayerId().get(PLAYER_A.toString()))
         .extracting(Guess::attemptNumber)
         .containsExactly(1, 2);
 
-    assertThat(round.guessesByPlayerId().get("p1").getFirst().letters())
+    assertThat(round.guessesByPlayerId().get(PLAYER_A.toString()).getFirst().letters())
         .extracting(lr -> "%s:%s".formatted(lr.letter(), lr.status()))
         .containsExactly("P:ABSENT");
   }
@@ -142,7 +146,7 @@ class DomainMapperTest {
     var roundEntity = new RoundEntity();
     roundEntity.setRoundNumber(1);
     roundEntity.setMaxAttempts(6);
-    roundEntity.setPlayerStatus("p1", PLAYING);
+    roundEntity.setPlayerStatus(PLAYER_A, PLAYING);
     roundEntity.setRoundStatus(RoundStatus.PLAYING);
     roundEntity.setTargetWord("PIZZA");
 
@@ -155,7 +159,7 @@ class DomainMapperTest {
 
   private static GuessEntity guess(
       RoundEntity round,
-      String playerId,
+      UUID playerId,
       String word,
       int attemptNumber,
       List<LetterResultEmbeddable> letters
@@ -1,5 +1,6 @@
 package com.dariom.wds.service.auth;
 
+import static com.dariom.wds.config.security.JwtSigningAlgorithm.ES256;
 import static com.dariom.wds.config.security.SecurityProperties.JwtProperties;
 import static java.time.ZoneOffset.UTC;
 import static java.util.Map.of;
@@ -8,6 +9,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.dariom.wds.config.security.JwtKeys;
 import com.dariom.wds.config.security.SecurityProperties;
 import com.dariom.wds.persistence.entity.AppUserEntity;
 import com.dariom.wds.persistence.entity.RoleEntity;
@@ -33,17 +35,21 @@ class JwtServiceTest {
   @Mock
   private JwtEncoder jwtEncoder;
 
+  @Mock
+  private JwtKeys jwtKeys;
+
   private JwtService jwtService;
 
   @BeforeEach
   void setUp() {
     var securityProperties = new SecurityProperties(
         "", null, null,
-        new JwtProperties("test-issuer", 900, "wordle-duel", 1L, "private-key", "public-key"),
+        new JwtProperties("test-issuer", 900, "wordle-duel", 1L, "private-key", "public-key",
+            10_000, null, null),
         null
     );
 
-    jwtService = new JwtService(securityProperties, jwtEncoder, clock);
+    jwtService = new JwtService(securityProperties, jwtEncoder, jwtKeys, clock);
   }
 
   @Test
@@ -54,6 +60,8 @@ class JwtServiceTest {
     user.addRole(new RoleEntity("USER"));
     user.addRole(new RoleEntity("ADMIN"));
 
+    when(jwtKeys.signingAlgorithm()).thenReturn(ES256);
+    when(jwtKeys.signingKeyId()).thenReturn("key-2025");
     when(jwtEncoder.encode(any(JwtEncoderParameters.class)))
         .thenReturn(new Jwt(
             "encoded-jwt",
@@ -79,7 +87,8 @@ class JwtServiceTest {
     assertThat(claims.getClaimAsString("email")).isEqualTo("user@test.com");
     assertThat(claims.getClaimAsString("name")).isEqualTo("User Test");
     assertThat(claims.getClaimAsString("picture")).isEqualTo("pictureUrl");
-    assertThat(captor.getValue().getJwsHeader().getAlgorithm().getName()).isEqualTo("RS256");
+    assertThat(captor.getValue().getJwsHeader().getAlgorithm().getName()).isEqualTo("ES256");
+    assertThat(captor.getValue().getJwsHeader().getKeyId()).isEqualTo("key-2025");
   }
 
   private static AppUserEntity userEntity(UUID userId) {
@@ -0,0 +1,182 @@
+package com.dariom.wds.service.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.exception.InvalidRefreshTokenException;
+import com.dariom.wds.persistence.entity.AppUserEntity;
+import com.dariom.wds.persistence.entity.RefreshTokenEntity;
+import com.dariom.wds.persistence.purge.ExpiredRefreshTokenPurgeTarget;
+import com.dariom.wds.persistence.purge.PurgeEngine;
+import com.dariom.wds.persistence.purge.PurgeResult;
+import com.dariom.wds.persistence.repository.jpa.RefreshTokenJpaRepository;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresRefreshTokenStoreTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+  private static final Instant EXPIRES_AT = NOW.plusSeconds(3600);
+
+  @Mock
+  private RefreshTokenJpaRepository refreshTokenRepository;
+  @Mock
+  private PurgeEngine purgeEngine;
+  @Mock
+  private ExpiredRefreshTokenPurgeTarget expiredRefreshTokenPurgeTarget;
+
+  private PostgresRefreshTokenStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = new PostgresRefreshTokenStore(refreshTokenRepository, purgeEngine,
+        expiredRefreshTokenPurgeTarget);
+  }
+
+  @Test
+  void save_validUser_savesEntity() {
+    // Arrange
+    var user = userEntity();
+
+    // Act
+    store.save(user, "hash", NOW, EXPIRES_AT);
+
+    // Assert
+    var captor = ArgumentCaptor.forClass(RefreshTokenEntity.class);
+    verify(refreshTokenRepository).save(captor.capture());
+
+    var saved = captor.getValue();
+    assertThat(saved.getId()).isNotNull();
+    assertThat(saved.getUser()).isEqualTo(user);
+    assertThat(saved.getTokenHash()).isEqualTo("hash");
+    assertThat(saved.getCreatedAt()).isEqualTo(NOW);
+    assertThat(saved.getExpiresAt()).isEqualTo(EXPIRES_AT);
+  }
+
+  @Test
+  void rotate_validToken_replacesTokenAndReturnsUserId() {
+    // Arrange
+    var user = userEntity();
+    var existing = refreshToken(user, "old-hash", NOW.plusSeconds(60));
+    when(refreshTokenRepository.findWithUserByTokenHash("old-hash"))
+        .thenReturn(Optional.of(existing));
+
+    // Act
+    var userId = store.rotate("old-hash", "new-hash", NOW, EXPIRES_AT);
+
+    // Assert
+    assertThat(userId).isEqualTo(user.getId());
+    verify(refreshTokenRepository).delete(existing);
+
+    var captor = ArgumentCaptor.forClass(RefreshTokenEntity.class);
+    verify(refreshTokenRepository).save(captor.capture());
+    assertThat(captor.getValue().getUser()).isEqualTo(user);
+    assertThat(captor.getValue().getTokenHash()).isEqualTo("new-hash");
+    assertThat(captor.getValue().getExpiresAt()).isEqualTo(EXPIRES_AT);
+  }
+
+  @Test
+  void rotate_expiredToken_deletesAndThrows() {
+    // Arrange
+    var existing = refreshToken(userEntity(), "old-hash", NOW);
+    when(refreshTokenRepository.findWithUserByTokenHash("old-hash"))
+        .thenReturn(Optional.of(existing));
+
+    // Act
+    var thrown = catchThrowable(() -> store.rotate("old-hash", "new-hash", NOW, EXPIRES_AT));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(InvalidRefreshTokenException.class);
+    verify(refreshTokenRepository).findWithUserByTokenHash("old-hash");
+    verify(refreshTokenRepository).delete(existing);
+    verifyNoMoreInteractions(refreshTokenRepository);
+  }
+
+  @Test
+  void rotate_unknownToken_throwsAndDoesNotDelete() {
+    // Arrange
+    when(refreshTokenRepository.findWithUserByTokenHash("old-hash")).thenReturn(Optional.empty());
+
+    // Act
+    var thrown = catchThrowable(() -> store.rotate("old-hash", "new-hash", NOW, EXPIRES_AT));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(InvalidRefreshTokenException.class);
+    verify(refreshTokenRepository).findWithUserByTokenHash("old-hash");
+    verifyNoMoreInteractions(refreshTokenRepository);
+  }
+
+  @Test
+  void revoke_existingToken_deletes() {
+    // Arrange
+    var existing = refreshToken(userEntity(), "hash", NOW.plusSeconds(60));
+    when(refreshTokenRepository.findWithUserByTokenHash("hash")).thenReturn(Optional.of(existing));
+
+    // Act
+    store.revoke("hash");
+
+    // Assert
+    verify(refreshTokenRepository).delete(existing);
+  }
+
+  @Test
+  void revoke_unknownToken_doesNothing() {
+    // Arrange
+    when(refreshTokenRepository.findWithUserByTokenHash("hash")).thenReturn(Optional.empty());
+
+    // Act
+    store.revoke("hash");
+
+    // Assert
+    verify(refreshTokenRepository).findWithUserByTokenHash("hash");
+    verifyNoMoreInteractions(refreshTokenRepository);
+  }
+
+  @Test
+  void revokeAll_userId_deletesUserTokens() {
+    // Arrange
+    var userId = UUID.randomUUID();
+    when(refreshTokenRepository.deleteByUserId(userId)).thenReturn(2);
+
+    // Act
+    var revoked = store.revokeAll(userId);
+
+    // Assert
+    assertThat(revoked).isEqualTo(2);
+  }
+
+  @Test
+  void deleteExpired_nowProvided_purgesExpiredRows() {
+    // Arrange
+    when(purgeEngine.purge(expiredRefreshTokenPurgeTarget, NOW))
+        .thenReturn(new PurgeResult(4, 1, true));
+
+    // Act
+    var deleted = store.deleteExpired(NOW);
+
+    // Assert
+    assertThat(deleted).isEqualTo(4);
+  }
+
+  private static RefreshTokenEntity refreshToken(AppUserEntity user, String tokenHash,
+      Instant expiresAt) {
+    return new RefreshTokenEntity(UUID.randomUUID(), user, tokenHash, NOW.minusSeconds(60),
+        expiresAt);
+  }
+
+  private static AppUserEntity userEntity() {
+    return new AppUserEntity(UUID.randomUUID(), "user@test.com", "google-sub-1", "User Test",
+        "pictureUrl");
+  }
+}
@@ -34,7 +34,8 @@ class RefreshTokenCookieServiceTest {
   void setUp() {
     var securityProperties = new SecurityProperties(
         "", null, null,
-        new JwtProperties("issuer", 900, "wordle-duel", 1L, "private-key", "public-key"),
+        new JwtProperties("issuer", 900, "wordle-duel", 1L, "private-key", "public-key",
+            10_000, null, null),
         new RefreshProperties(7, "wd_refresh", "Lax", "/", false)
     );
 
@@ -4,7 +4,6 @@ import static com.dariom.wds.config.security.SecurityProperties.RefreshPropertie
 import static java.time.ZoneOffset.UTC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -14,8 +13,7 @@ import com.dariom.wds.config.security.SecurityProperties;
 import com.dariom.wds.domain.AccessToken;
 import com.dariom.wds.exception.InvalidRefreshTokenException;
 import com.dariom.wds.persistence.entity.AppUserEntity;
-import com.dariom.wds.persistence.entity.RefreshTokenEntity;
-import com.dariom.wds.persistence.repository.jpa.RefreshTokenJpaRepository;
+import com.dariom.wds.persistence.repository.UserRepository;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.Optional;
@@ -23,7 +21,6 @@ import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -32,6 +29,8 @@ class RefreshTokenServiceTest {
 
   private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
   private static final int REFRESH_TOKEN_DURATION_DAYS = 7;
+  private static final Instant EXPIRES_AT =
+      NOW.plusSeconds(REFRESH_TOKEN_DURATION_DAYS * 24L * 60L * 60L);
 
   private final Clock clock = Clock.fixed(NOW, UTC);
 
@@ -40,7 +39,9 @@ class RefreshTokenServiceTest {
   @Mock
   private TokenHashing tokenHashing;
   @Mock
-  private RefreshTokenJpaRepository refreshTokenRepository;
+  private RefreshTokenStore refreshTokenStore;
+  @Mock
+  private UserRepository userRepository;
   @Mock
   private JwtService jwtService;
 
@@ -57,7 +58,8 @@ class RefreshTokenServiceTest {
         securityProperties,
         refreshTokenGenerator,
         tokenHashing,
-        refreshTokenRepository,
+        refreshTokenStore,
+        userRepository,
         jwtService,
         clock
     );
@@ -81,24 +83,13 @@ class RefreshTokenServiceTest {
 
     verify(refreshTokenGenerator).generate();
     verify(tokenHashing).sha256Hex(rawToken);
-
-    var captor = ArgumentCaptor.forClass(RefreshTokenEntity.class);
-    verify(refreshTokenRepository).save(captor.capture());
-
-    var saved = captor.getValue();
-    assertThat(saved.getId()).isNotNull();
-    assertThat(saved.getUser()).isEqualTo(user);
-    assertThat(saved.getTokenHash()).isEqualTo(tokenHash);
-    assertThat(saved.getCreatedAt()).isEqualTo(NOW);
-    assertThat(saved.getExpiresAt())
-        .isEqualTo(NOW.plusSeconds(REFRESH_TOKEN_DURATION_DAYS * 24L * 60L * 60L));
-
-    verifyNoMoreInteractions(refreshTokenGenerator, tokenHashing, refreshTokenRepository,
-        jwtService);
+    verify(refreshTokenStore).save(user, tokenHash, NOW, EXPIRES_AT);
+    verifyNoMoreInteractions(refreshTokenGenerator, tokenHashing, refreshTokenStore,
+        userRepository, jwtService);
   }
 
   @Test
-  void refresh_validToken_deletesOldCreatesNewAndReturnsResult() {
+  void refresh_validToken_rotatesAndReturnsResult() {
     // Arrange
     var user = userEntity();
     var inputRawToken = "old-raw";
@@ -106,20 +97,13 @@ class RefreshTokenServiceTest {
     var newRawToken = "new-raw";
     var newHash = "new-hash";
 
-    var existing = new RefreshTokenEntity(
-        UUID.randomUUID(),
-        user,
-        existingHash,
-        NOW.minusSeconds(60),
-        NOW.plusSeconds(60)
-    );
-
-    when(tokenHashing.sha256Hex(anyString())).thenReturn(existingHash, newHash);
-    when(refreshTokenRepository.findWithUserByTokenHash(existingHash)).thenReturn(
-        Optional.of(existing));
+    when(tokenHashing.sha256Hex(inputRawToken)).thenReturn(existingHash);
+    when(tokenHashing.sha256Hex(newRawToken)).thenReturn(newHash);
     when(refreshTokenGenerator.generate()).thenReturn(newRawToken);
-    when(jwtService.createAccessToken(any(AppUserEntity.class)))
-        .thenReturn(new AccessToken("access", 900));
+    when(refreshTokenStore.rotate(existingHash, newHash, NOW, EXPIRES_AT))
+        .thenReturn(user.getId());
+    when(userRepository.findById(user.getId().toString())).thenReturn(Optional.of(user));
+    when(jwtService.createAccessToken(user)).thenReturn(new AccessToken("access", 900));
 
     // Act
     var result = service.refresh(inputRawToken);
@@ -128,139 +112,96 @@ class RefreshTokenServiceTest {
     assertThat(result.refreshToken()).isEqualTo(newRawToken);
     assertThat(result.accessToken()).isEqualTo(new AccessToken("access", 900));
 
-    verify(tokenHashing).sha256Hex(inputRawToken);
-    verify(refreshTokenRepository).findWithUserByTokenHash(existingHash);
-    verify(refreshTokenRepository).delete(existing);
-
-    verify(refreshTokenGenerator).generate();
-    verify(tokenHashing).sha256Hex(newRawToken);
-
-    var saveCaptor = ArgumentCaptor.forClass(RefreshTokenEntity.class);
-    verify(refreshTokenRepository).save(saveCaptor.capture());
-
-    var saved = saveCaptor.getValue();
-    assertThat(saved.getUser()).isEqualTo(user);
-    assertThat(saved.getTokenHash()).isEqualTo(newHash);
-    assertThat(saved.getCreatedAt()).isEqualTo(NOW);
-
+    verify(refreshTokenStore).rotate(existingHash, newHash, NOW, EXPIRES_AT);
+    verify(userRepository).findById(user.getId().toString());
     verify(jwtService).createAccessToken(user);
-    verifyNoMoreInteractions(refreshTokenGenerator, tokenHashing, refreshTokenRepository,
-        jwtService);
   }
 
   @Test
-  void refresh_expiredToken_deletesAndThrows() {
+  void refresh_rejectedToken_throwsWithoutIssuingAccessToken() {
     // Arrange
-    var user = userEntity();
     var inputRawToken = "old-raw";
     var existingHash = "old-hash";
+    var newRawToken = "new-raw";
+    var newHash = "new-hash";
 
-    var existing = new RefreshTokenEntity(
-        UUID.randomUUID(),
-        user,
-        existingHash,
-        NOW.minusSeconds(60),
-        NOW
-    );
-
-    when(tokenHashing.sha256Hex(anyString())).thenReturn(existingHash);
-    when(refreshTokenRepository.findWithUserByTokenHash(existingHash)).thenReturn(
-        Optional.of(existing));
+    when(tokenHashing.sha256Hex(inputRawToken)).thenReturn(existingHash);
+    when(tokenHashing.sha256Hex(newRawToken)).thenReturn(newHash);
+    when(refreshTokenGenerator.generate()).thenReturn(newRawToken);
+    when(refreshTokenStore.rotate(existingHash, newHash, NOW, EXPIRES_AT))
+        .thenThrow(new InvalidRefreshTokenException("Refresh token expired"));
 
     // Act
     var thrown = catchThrowable(() -> service.refresh(inputRawToken));
 
     // Assert
     assertThat(thrown).isInstanceOf(InvalidRefreshTokenException.class);
-
-    verify(tokenHashing).sha256Hex(inputRawToken);
-    verify(refreshTokenRepository).findWithUserByTokenHash(existingHash);
-    verify(refreshTokenRepository).delete(existing);
-    verifyNoMoreInteractions(refreshTokenGenerator, tokenHashing, refreshTokenRepository,
-        jwtService);
+    verifyNoMoreInteractions(userRepository, jwtService);
   }
 
   @Test
-  void refresh_unknownToken_throwsAndDoesNotDelete() {
+  void refresh_unknownUser_throws() {
     // Arrange
-    var inputRawToken = "old-raw";
-    var existingHash = "old-hash";
+    var userId = UUID.randomUUID();
 
-    when(tokenHashing.sha256Hex(anyString())).thenReturn(existingHash);
-    when(refreshTokenRepository.findWithUserByTokenHash(existingHash)).thenReturn(Optional.empty());
+    when(tokenHashing.sha256Hex(anyString())).thenReturn("old-hash", "new-hash");
+    when(refreshTokenGenerator.generate()).thenReturn("new-raw");
+    when(refreshTokenStore.rotate("old-hash", "new-hash", NOW, EXPIRES_AT)).thenReturn(userId);
+    when(userRepository.findById(userId.toString())).thenReturn(Optional.empty());
 
     // Act
-    var thrown = catchThrowable(() -> service.refresh(inputRawToken));
+    var thrown = catchThrowable(() -> service.refresh("old-raw"));
 
     // Assert
     assertThat(thrown).isInstanceOf(InvalidRefreshTokenException.class);
-
-    verify(tokenHashing).sha256Hex(inputRawToken);
-    verify(refreshTokenRepository).findWithUserByTokenHash(existingHash);
-    verifyNoMoreInteractions(refreshTokenGenerator, tokenHashing, refreshTokenRepository,
-        jwtService);
+    verifyNoMoreInteractions(jwtService);
   }
 
   @Test
-  void revoke_existingToken_deletes() {
+  void revoke_rawToken_revokesHash() {
     // Arrange
     var rawToken = "raw-token";
     var tokenHash = "hash";
-    var existing = new RefreshTokenEntity(
-        UUID.randomUUID(),
-        userEntity(),
-        tokenHash,
-        NOW.minusSeconds(60),
-        NOW.plusSeconds(60)
-    );
 
     when(tokenHashing.sha256Hex(anyString())).thenReturn(tokenHash);
-    when(refreshTokenRepository.findWithUserByTokenHash(tokenHash)).thenReturn(
-        Optional.of(existing));
 
     // Act
     service.revoke(rawToken);
 
     // Assert
     verify(tokenHashing).sha256Hex(rawToken);
-    verify(refreshTokenRepository).findWithUserByTokenHash(tokenHash);
-    verify(refreshTokenRepository).delete(existing);
-    verifyNoMoreInteractions(refreshTokenGenerator, tokenHashing, refreshTokenRepository,
-        jwtService);
+    verify(refreshTokenStore).revoke(tokenHash);
+    verifyNoMoreInteractions(refreshTokenGenerator, tokenHashing, refreshTokenStore,
+        userRepository, jwtService);
   }
 
   @Test
-  void revoke_unknownToken_doesNothing() {
+  void revokeAll_userId_revokesEveryToken() {
     // Arrange
-    var rawToken = "raw-token";
-    var tokenHash = "hash";
-
-    when(tokenHashing.sha256Hex(anyString())).thenReturn(tokenHash);
-    when(refreshTokenRepository.findWithUserByTokenHash(tokenHash)).thenReturn(Optional.empty());
+    var userId = UUID.randomUUID();
+    when(refreshTokenStore.revokeAll(userId)).thenReturn(3);
 
     // Act
-    service.revoke(rawToken);
+    var revoked = service.revokeAll(userId);
 
     // Assert
-    verify(tokenHashing).sha256Hex(rawToken);
-    verify(refreshTokenRepository).findWithUserByTokenHash(tokenHash);
-    verifyNoMoreInteractions(refreshTokenGenerator, tokenHashing, refreshTokenRepository,
-        jwtService);
+    assertThat(revoked).isEqualTo(3);
+    verify(refreshTokenStore).revokeAll(userId);
   }
 
   @Test
   void deleteExpiredTokens_nowProvided_deletesExpiredTokens() {
     // Arrange
-    when(refreshTokenRepository.deleteExpired(NOW)).thenReturn(2);
+    when(refreshTokenStore.deleteExpired(NOW)).thenReturn(2);
 
     // Act
     var deleted = service.deleteExpiredTokens(NOW);
 
     // Assert
     assertThat(deleted).isEqualTo(2);
-    verify(refreshTokenRepository).deleteExpired(NOW);
-    verifyNoMoreInteractions(refreshTokenGenerator, tokenHashing, refreshTokenRepository,
-        jwtService);
+    verify(refreshTokenStore).deleteExpired(NOW);
+    verifyNoMoreInteractions(refreshTokenGenerator, tokenHashing, refreshTokenStore,
+        userRepository, jwtService);
   }
 
   private static AppUserEntity userEntity() {
@@ -0,0 +1,162 @@
+package com.dariom.wds.service.cache;
+
+import static com.dariom.wds.config.CacheConfig.ALLOWED_GUESSES_CACHE;
+import static com.dariom.wds.config.CacheConfig.DISPLAY_NAME_CACHE;
+import static com.dariom.wds.config.CacheConfig.USER_PROFILE_CACHE;
+import static com.dariom.wds.domain.Language.IT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.dariom.wds.persistence.repository.DictionaryRepository;
+import com.dariom.wds.service.user.UserDetailsService;
+import com.dariom.wds.service.user.UserProfileService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class CacheAdminServiceTest {
+
+  @Mock
+  private DictionaryRepository dictionaryRepository;
+  @Mock
+  private UserDetailsService userDetailsService;
+  @Mock
+  private UserProfileService userProfileService;
+
+  private final CaffeineCache allowedGuesses = new CaffeineCache(ALLOWED_GUESSES_CACHE,
+      Caffeine.newBuilder().recordStats().build());
+  private final CaffeineCache displayNames = new CaffeineCache(DISPLAY_NAME_CACHE,
+      Caffeine.newBuilder().maximumSize(100).recordStats().build());
+
+  private CacheAdminService service;
+
+  @BeforeEach
+  void setUp() {
+    var cacheManager = new SimpleCacheManager();
+    cacheManager.setCaches(List.of(allowedGuesses, displayNames));
+    cacheManager.afterPropertiesSet();
+
+    service = new CacheAdminService(cacheManager, dictionaryRepository, userDetailsService,
+        userProfileService);
+  }
+
+  @Test
+  void getCacheSummaries_cachesWithEntries_returnsSizeAndStatsSortedByName() {
+    // Arrange
+    displayNames.put("user-1", "John");
+    displayNames.get("user-1");
+    displayNames.get("user-2");
+
+    // Act
+    var summaries = service.getCacheSummaries();
+
+    // Assert
+    assertThat(summaries).extracting(CacheAdminService.CacheSummary::name)
+        .containsExactly(ALLOWED_GUESSES_CACHE, DISPLAY_NAME_CACHE);
+
+    var displayNameSummary = summaries.get(1);
+    assertThat(displayNameSummary.estimatedSize()).isEqualTo(1);
+    assertThat(displayNameSummary.maximumSize()).isEqualTo(100);
+    assertThat(displayNameSummary.weightedSize()).isNull();
+    assertThat(displayNameSummary.hitCount()).isEqualTo(1);
+    assertThat(displayNameSummary.missCount()).isEqualTo(1);
+    assertThat(summaries.getFirst().maximumSize()).isNull();
+  }
+
+  @Test
+  void getCacheSummary_unknownCache_returnsEmpty() {
+    // Act
+    var summary = service.getCacheSummary("unknown");
+
+    // Assert
+    assertThat(summary).isEmpty();
+  }
+
+  @Test
+  void invalidate_languageKey_evictsOnlyThatLanguage() {
+    // Arrange
+    allowedGuesses.put(IT, "words");
+    allowedGuesses.put("other", "entry");
+
+    // Act
+    service.invalidate(ALLOWED_GUESSES_CACHE, "it");
+
+    // Assert
+    assertThat(allowedGuesses.get(IT)).isNull();
+    assertThat(allowedGuesses.get("other")).isNotNull();
+  }
+
+  @Test
+  void invalidate_noKey_clearsCache() {
+    // Arrange
+    displayNames.put("user-1", "John");
+    displayNames.put("user-2", "Jane");
+
+    // Act
+    service.invalidate(DISPLAY_NAME_CACHE, null);
+
+    // Assert
+    assertThat(displayNames.getNativeCache().estimatedSize()).isZero();
+  }
+
+  @Test
+  void invalidate_unknownCache_throwsIllegalArgumentException() {
+    // Act
+    var thrown = catchThrowable(() -> service.invalidate("unknown", null));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("unknown");
+  }
+
+  @Test
+  void warmUp_dictionaryCacheWithoutKey_loadsEveryLanguage() {
+    // Act
+    var loaded = service.warmUp(ALLOWED_GUESSES_CACHE, null);
+
+    // Assert
+    assertThat(loaded).isEqualTo(1);
+    verify(dictionaryRepository).getAllowedGuesses(IT);
+  }
+
+  @Test
+  void warmUp_displayNameCacheWithUserId_loadsDisplayName() {
+    // Act
+    var loaded = service.warmUp(DISPLAY_NAME_CACHE, "user-1");
+
+    // Assert
+    assertThat(loaded).isEqualTo(1);
+    verify(userDetailsService).getUserDisplayName("user-1");
+  }
+
+  @Test
+  void warmUp_userCacheWithoutKey_throwsIllegalArgumentException() {
+    // Act
+    var thrown = catchThrowable(() -> service.warmUp(DISPLAY_NAME_CACHE, null));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("user id");
+    verifyNoInteractions(userDetailsService);
+  }
+
+  @Test
+  void warmUp_cacheNotConfigured_throwsIllegalArgumentException() {
+    // Act
+    var thrown = catchThrowable(() -> service.warmUp(USER_PROFILE_CACHE, "user-1"));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining(USER_PROFILE_CACHE);
+    verifyNoInteractions(userProfileService);
+  }
+}
@@ -0,0 +1,238 @@
+package com.dariom.wds.service.idempotency;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.IdempotencyProperties;
+import com.dariom.wds.exception.IdempotencyKeyReusedException;
+import com.dariom.wds.exception.IdempotentRequestInProgressException;
+import com.dariom.wds.exception.IdempotentResponseUnavailableException;
+import com.dariom.wds.exception.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+  private static final Duration TTL = Duration.ofMinutes(10);
+  private static final Duration IN_PROGRESS_TTL = Duration.ofSeconds(30);
+  private static final String KEY = "idempotency:player-1:guess:room-1:key-1";
+  private static final String REQUEST = "pizza";
+  private static final String FINGERPRINT = sha256("\"pizza\"");
+  private static final String MARKER = FINGERPRINT + ":in-progress";
+
+  @Mock
+  private StringRedisTemplate redisTemplate;
+
+  @Mock
+  private ValueOperations<String, String> valueOperations;
+
+  private final AtomicInteger executions = new AtomicInteger();
+
+  private IdempotencyService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new IdempotencyService(redisTemplate, new ObjectMapper(),
+        new IdempotencyProperties(TTL, IN_PROGRESS_TTL, 100));
+  }
+
+  @Test
+  void execute_noKey_runsActionWithoutRedis() {
+    // Act
+    var response = service.execute("player-1", "guess:room-1", " ", REQUEST, String.class,
+        this::action);
+
+    // Assert
+    assertThat(response).isEqualTo("response-1");
+    verifyNoInteractions(redisTemplate);
+  }
+
+  @Test
+  void execute_newKey_runsActionAndRecordsResponse() {
+    // Arrange
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(KEY, MARKER, IN_PROGRESS_TTL)).thenReturn(true);
+
+    // Act
+    var response = service.execute("player-1", "guess:room-1", "key-1", REQUEST, String.class,
+        this::action);
+
+    // Assert
+    assertThat(response).isEqualTo("response-1");
+    verify(valueOperations).set(KEY, FINGERPRINT + ":\"response-1\"", TTL);
+  }
+
+  @Test
+  void execute_repeatedKeyOnSameInstance_replaysFromLocalCache() {
+    // Arrange
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(KEY, MARKER, IN_PROGRESS_TTL)).thenReturn(true);
+    service.execute("player-1", "guess:room-1", "key-1", REQUEST, String.class, this::action);
+
+    // Act
+    var response = service.execute("player-1", "guess:room-1", "key-1", REQUEST, String.class,
+        this::action);
+
+    // Assert
+    assertThat(response).isEqualTo("response-1");
+    assertThat(executions).hasValue(1);
+  }
+
+  @Test
+  void execute_keyRecordedByAnotherInstance_replaysFromRedis() {
+    // Arrange
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(KEY, MARKER, IN_PROGRESS_TTL)).thenReturn(false);
+    when(valueOperations.get(KEY)).thenReturn(FINGERPRINT + ":\"recorded\"");
+
+    // Act
+    var response = service.execute("player-1", "guess:room-1", "key-1", REQUEST, String.class,
+        this::action);
+
+    // Assert
+    assertThat(response).isEqualTo("recorded");
+    assertThat(executions).hasValue(0);
+  }
+
+  @Test
+  void execute_originalStillRunning_throwsInProgress() {
+    // Arrange
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(KEY, MARKER, IN_PROGRESS_TTL)).thenReturn(false);
+    when(valueOperations.get(KEY)).thenReturn(MARKER);
+
+    // Act
+    var thrown = catchThrowable(() -> service.execute("player-1", "guess:room-1", "key-1",
+        REQUEST, String.class, this::action));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(IdempotentRequestInProgressException.class);
+    assertThat(executions).hasValue(0);
+  }
+
+  @Test
+  void execute_actionFails_releasesKey() {
+    // Arrange
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(KEY, MARKER, IN_PROGRESS_TTL)).thenReturn(true);
+
+    // Act
+    var thrown = catchThrowable(() -> service.execute("player-1", "guess:room-1", "key-1",
+        REQUEST, String.class, () -> {
+          throw new IllegalStateException("boom");
+        }));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(IllegalStateException.class);
+    verify(redisTemplate).delete(KEY);
+    verify(valueOperations, never()).set(KEY, FINGERPRINT + ":\"response-1\"", TTL);
+  }
+
+  @Test
+  void execute_keyReusedForDifferentRequest_throwsKeyReused() {
+    // Arrange
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(KEY, MARKER, IN_PROGRESS_TTL)).thenReturn(false);
+    when(valueOperations.get(KEY)).thenReturn(sha256("\"pasta\"") + ":\"recorded\"");
+
+    // Act
+    var thrown = catchThrowable(() -> service.execute("player-1", "guess:room-1", "key-1",
+        REQUEST, String.class, this::action));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(IdempotencyKeyReusedException.class);
+    assertThat(executions).hasValue(0);
+  }
+
+  @Test
+  void execute_keyWithInvalidCharacters_throwsInvalidKey() {
+    // Act
+    var thrown = catchThrowable(() -> service.execute("player-1", "guess:room-1", "key 1*",
+        REQUEST, String.class, this::action));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(InvalidIdempotencyKeyException.class);
+    verifyNoInteractions(redisTemplate);
+  }
+
+  @Test
+  void execute_responseCannotBeRecorded_keepsKeyMarkedCompleted() {
+    // Arrange
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(KEY, MARKER, IN_PROGRESS_TTL)).thenReturn(true);
+    doThrow(new RedisConnectionFailureException("down"))
+        .when(valueOperations).set(KEY, FINGERPRINT + ":\"response-1\"", TTL);
+
+    // Act
+    var response = service.execute("player-1", "guess:room-1", "key-1", REQUEST, String.class,
+        this::action);
+
+    // Assert
+    assertThat(response).isEqualTo("response-1");
+    verify(valueOperations).set(KEY, FINGERPRINT + ":completed", TTL);
+    verify(redisTemplate, never()).delete(KEY);
+  }
+
+  @Test
+  void execute_completedWithoutResponseOnAnotherInstance_throwsResponseUnavailable() {
+    // Arrange
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(KEY, MARKER, IN_PROGRESS_TTL)).thenReturn(false);
+    when(valueOperations.get(KEY)).thenReturn(FINGERPRINT + ":completed");
+
+    // Act
+    var thrown = catchThrowable(() -> service.execute("player-1", "guess:room-1", "key-1",
+        REQUEST, String.class, this::action));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(IdempotentResponseUnavailableException.class);
+    assertThat(executions).hasValue(0);
+  }
+
+  @Test
+  void execute_redisUnavailable_runsAction() {
+    // Arrange
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(KEY, MARKER, IN_PROGRESS_TTL))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    // Act
+    var response = service.execute("player-1", "guess:room-1", "key-1", REQUEST, String.class,
+        this::action);
+
+    // Assert
+    assertThat(response).isEqualTo("response-1");
+  }
+
+  private String action() {
+    return "response-" + executions.incrementAndGet();
+  }
+
+  private static String sha256(String value) {
+    try {
+      return HexFormat.of().formatHex(
+          MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
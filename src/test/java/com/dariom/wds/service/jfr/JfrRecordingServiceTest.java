@@ -0,0 +1,79 @@
+package com.dariom.wds.service.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.dariom.wds.config.JfrProperties;
+import com.dariom.wds.exception.JfrRecordingInProgressException;
+import com.dariom.wds.exception.JfrRecordingNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class JfrRecordingServiceTest {
+
+  private final JfrRecordingService service = new JfrRecordingService(
+      new JfrProperties(Duration.ofMinutes(1), DataSize.ofMegabytes(10), "default"));
+
+  private Path file;
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if (service.getRecording().isPresent()) {
+      file = service.stop();
+    }
+    if (file != null) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void start_noRecording_startsBoundedRecording() {
+    // Act
+    var recording = service.start(Duration.ofHours(1));
+
+    // Assert
+    assertThat(recording.state()).isEqualTo("RUNNING");
+    assertThat(recording.duration()).isEqualTo(Duration.ofMinutes(1));
+    assertThat(recording.maxSizeBytes()).isEqualTo(DataSize.ofMegabytes(10).toBytes());
+    assertThat(service.getRecording()).contains(recording);
+  }
+
+  @Test
+  void start_recordingRunning_throwsJfrRecordingInProgressException() {
+    // Arrange
+    service.start(Duration.ofSeconds(30));
+
+    // Act
+    var thrown = catchThrowable(() -> service.start(Duration.ofSeconds(30)));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(JfrRecordingInProgressException.class);
+  }
+
+  @Test
+  void stop_recordingRunning_returnsRecordingFile() throws Exception {
+    // Arrange
+    service.start(Duration.ofSeconds(30));
+
+    // Act
+    file = service.stop();
+
+    // Assert
+    assertThat(file).exists();
+    assertThat(Files.size(file)).isPositive();
+    assertThat(service.getRecording()).isEmpty();
+  }
+
+  @Test
+  void stop_noRecording_throwsJfrRecordingNotFoundException() {
+    // Act
+    var thrown = catchThrowable(service::stop);
+
+    // Assert
+    assertThat(thrown).isInstanceOf(JfrRecordingNotFoundException.class);
+  }
+}
@@ -0,0 +1,94 @@
+package com.dariom.wds.service.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.dariom.wds.config.lock.RoomLockProperties;
+import com.dariom.wds.exception.RoomLockedException;
+import com.dariom.wds.metrics.RoomLockMetrics;
+import com.dariom.wds.service.NoOpTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class RoomLockManagerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RoomLockManager lockManager = new RoomLockManager(
+      new RoomLockProperties(Duration.ofMillis(100), 16), new RoomLockMetrics(meterRegistry),
+      new TransactionTemplate(new NoOpTransactionManager()));
+
+  @Test
+  void withRoomLock_lockFree_runsActionAndRecordsWait() {
+    // Act
+    var result = lockManager.withRoomLock("room-1", () -> "done");
+
+    // Assert
+    assertThat(result).isEqualTo("done");
+    assertThat(meterRegistry.get("room.lock.local.wait").tag("outcome", "acquired").timer()
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void withRoomLock_sameRoomHeldByAnotherThread_throwsRoomLockedException() throws Exception {
+    // Arrange
+    var locked = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var holder = CompletableFuture.runAsync(() -> lockManager.withRoomLock("room-1", () -> {
+      locked.countDown();
+      await(release);
+      return null;
+    }));
+    assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // Act
+    var thrown = catchThrowable(() -> lockManager.withRoomLock("room-1", () -> "never"));
+
+    // Assert
+    release.countDown();
+    holder.get(5, TimeUnit.SECONDS);
+
+    assertThat(thrown).isInstanceOf(RoomLockedException.class);
+    assertThat(meterRegistry.get("room.lock.local.wait").tag("outcome", "timeout").timer()
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void withRoomLock_actionThrows_releasesLock() {
+    // Arrange
+    catchThrowable(() -> lockManager.withRoomLock("room-1", () -> {
+      throw new IllegalStateException("boom");
+    }));
+
+    // Act
+    var result = lockManager.withRoomLock("room-1", () -> "done");
+
+    // Assert
+    assertThat(result).isEqualTo("done");
+  }
+
+  @Test
+  void inLockedTransaction_rowLockTimesOut_throwsRoomLockedException() {
+    // Act
+    var thrown = catchThrowable(() -> lockManager.inLockedTransaction("room-1", () -> {
+      throw new PessimisticLockingFailureException("row locked");
+    }));
+
+    // Assert
+    assertThat(thrown).isInstanceOf(RoomLockedException.class);
+    assertThat(lockManager.inLockedTransaction("room-1", () -> "done")).isEqualTo("done");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
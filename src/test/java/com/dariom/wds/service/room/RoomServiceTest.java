@@ -25,20 +25,25 @@ import com.dariom.wds.exception.RoomAccessDeniedException;
 import com.dariom.wds.exception.RoomFullException;
 import com.dariom.wds.exception.RoomLockedException;
 import com.dariom.wds.exception.RoomNotFoundException;
+import com.dariom.wds.metrics.RoomLockMetrics;
 import com.dariom.wds.persistence.entity.RoomEntity;
 import com.dariom.wds.persistence.repository.RoomRepository;
 import com.dariom.wds.service.DomainMapper;
+import com.dariom.wds.service.NoOpTransactionManager;
+import com.dariom.wds.service.lock.RoomLockManager;
 import com.dariom.wds.service.round.RoundService;
 import com.dariom.wds.service.user.UserProfileService;
 import com.dariom.wds.websocket.model.PlayerJoinedPayload;
 import com.dariom.wds.websocket.model.RoomEvent;
 import com.dariom.wds.websocket.model.RoomEventToPublish;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,13 +52,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class RoomServiceTest {
 
+  private static final String ROOM_1 = "7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b";
+  private static final String ROOM_2 = "5e2d8c1a-7b6f-4a9e-b3d2-1c0f9e8d7a6b";
+  private static final String PLAYER_1 = "11111111-1111-1111-1111-111111111111";
+  private static final String PLAYER_2 = "22222222-2222-2222-2222-222222222222";
+  private static final String PLAYER_3 = "33333333-3333-3333-3333-333333333333";
+
   private final RoomLockProperties lockProperties = new RoomLockProperties(
-      Duration.ofSeconds(3)
+      Duration.ofSeconds(3), 16
   );
+  private final RoomLockManager roomLockManager = new RoomLockManager(lockProperties,
+      new RoomLockMetrics(new SimpleMeterRegistry()),
+      new TransactionTemplate(new NoOpTransactionManager()));
   private final DomainMapper domainMapper = new DomainMapper();
 
   @Mock
@@ -72,6 +87,7 @@ class RoomServiceTest {
     roomService = new RoomService(
         roomRepository,
         lockProperties,
+        roomLockManager,
         roundService,
         domainMapper,
         eventPublisher,
@@ -82,15 +98,17 @@ class RoomServiceTest {
   @Test
   void createRoom_validInput_returnsPersistedRoomAndPublishesRoomCreatedEvent() {
     // Arrange
+    when(roomRepository.newRoomId()).thenReturn(id(ROOM_1));
     when(roomRepository.save(any(RoomEntity.class))).thenAnswer(inv -> inv.getArgument(0));
 
     // Act
-    var room = roomService.createRoom(IT, "p1");
+    var room = roomService.createRoom(IT, PLAYER_1);
 
     // Assert
-    assertThat(room.id()).isNotBlank();
+    assertThat(room.id()).isEqualTo(ROOM_1);
+    verify(roomRepository).indexPlayer(id(ROOM_1), id(PLAYER_1));
     assertThat(room.status()).isEqualTo(WAITING_FOR_PLAYERS);
-    assertThat(room.players()).extracting(Player::id).containsExactly("p1");
+    assertThat(room.players()).extracting(Player::id).containsExactly(PLAYER_1);
     assertThat(room.players()).singleElement().satisfies(p -> assertThat(p.score()).isEqualTo(0));
 
     var eventCaptor = ArgumentCaptor.forClass(RoomEventToPublish.class);
@@ -104,25 +122,25 @@ class RoomServiceTest {
     assertThat(event.payload()).isInstanceOf(PlayerJoinedPayload.class);
 
     var payload = (PlayerJoinedPayload) event.payload();
-    assertThat(payload.playerId()).isEqualTo("p1");
-    assertThat(payload.players()).containsExactly("p1");
+    assertThat(payload.playerId()).isEqualTo(PLAYER_1);
+    assertThat(payload.players()).containsExactly(PLAYER_1);
   }
 
   @Test
   void getRoom_roomNotFound_throwsRoomNotFoundException() {
     // Arrange
     when(roomRepository.findWithPlayersById(anyString())).thenThrow(
-        new RoomNotFoundException("room-1"));
+        new RoomNotFoundException(ROOM_1));
 
     // Act
-    var thrown = catchThrowable(() -> roomService.getRoom("room-1", "player-1"));
+    var thrown = catchThrowable(() -> roomService.getRoom(ROOM_1, PLAYER_2));
 
     // Assert
     assertThat(thrown)
         .isInstanceOf(RoomNotFoundException.class)
-        .hasMessageContaining("room-1");
+        .hasMessageContaining(ROOM_1);
 
-    verify(roomRepository).findWithPlayersById("room-1");
+    verify(roomRepository).findWithPlayersById(ROOM_1);
     verifyNoInteractions(roundService, eventPublisher);
   }
 
@@ -130,17 +148,17 @@ class RoomServiceTest {
   void joinRoom_roomNotFound_throwsRoomNotFoundException() {
     // Arrange
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any()))
-        .thenThrow(new RoomNotFoundException("room-1"));
+        .thenThrow(new RoomNotFoundException(ROOM_1));
 
     // Act
-    var thrown = catchThrowable(() -> roomService.joinRoom("room-1", "p2"));
+    var thrown = catchThrowable(() -> roomService.joinRoom(ROOM_1, PLAYER_2));
 
     // Assert
     assertThat(thrown)
         .isInstanceOf(RoomNotFoundException.class)
-        .hasMessageContaining("room-1");
+        .hasMessageContaining(ROOM_1);
 
-    verify(roomRepository).findWithPlayersByIdForUpdate("room-1", lockProperties.acquireTimeout());
+    verify(roomRepository).findWithPlayersByIdForUpdate(ROOM_1, lockProperties.acquireTimeout());
     verify(roomRepository, never()).save(any(RoomEntity.class));
     verifyNoInteractions(roundService, eventPublisher);
   }
@@ -152,32 +170,32 @@ class RoomServiceTest {
         .thenThrow(new PessimisticLockingFailureException("locked"));
 
     // Act
-    var thrown = catchThrowable(() -> roomService.joinRoom("room-1", "p2"));
+    var thrown = catchThrowable(() -> roomService.joinRoom(ROOM_1, PLAYER_2));
 
     // Assert
     assertThat(thrown)
         .isInstanceOf(RoomLockedException.class)
-        .hasMessageContaining("room-1");
+        .hasMessageContaining(ROOM_1);
   }
 
   @Test
   void joinRoom_roomFull_throwsRoomFullException() {
     // Arrange
-    var room = waitingRoom("room-1", "p1");
-    room.addPlayer("p2");
-    room.setPlayerScore("p2", 0);
+    var room = waitingRoom(ROOM_1, PLAYER_1);
+    room.addPlayer(id(PLAYER_2));
+    room.setPlayerScore(id(PLAYER_2), 0);
 
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any())).thenReturn(room);
 
     // Act
-    var thrown = catchThrowable(() -> roomService.joinRoom("room-1", "p3"));
+    var thrown = catchThrowable(() -> roomService.joinRoom(ROOM_1, PLAYER_3));
 
     // Assert
     assertThat(thrown)
         .isInstanceOf(RoomFullException.class)
-        .hasMessageContaining("room-1");
+        .hasMessageContaining(ROOM_1);
 
-    verify(roomRepository).findWithPlayersByIdForUpdate("room-1", lockProperties.acquireTimeout());
+    verify(roomRepository).findWithPlayersByIdForUpdate(ROOM_1, lockProperties.acquireTimeout());
     verifyNoMoreInteractions(roomRepository);
     verifyNoInteractions(roundService, eventPublisher);
   }
@@ -185,77 +203,78 @@ class RoomServiceTest {
   @Test
   void joinRoom_secondPlayerJoins_returnsInProgressRoom() {
     // Arrange
-    var entity = waitingRoom("room-1", "p1");
+    var entity = waitingRoom(ROOM_1, PLAYER_1);
 
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any())).thenReturn(entity);
     when(roomRepository.save(any(RoomEntity.class))).thenAnswer(inv -> inv.getArgument(0));
 
-    when(roundService.startNewRound("room-1")).thenReturn(
+    when(roundService.startNewRound(id(ROOM_1))).thenReturn(
         new Round(1, 6, Map.of(), Map.of(), PLAYING, null));
 
     // Act
-    var room = roomService.joinRoom("room-1", "p2");
+    var room = roomService.joinRoom(ROOM_1, PLAYER_2);
 
     // Assert
     assertThat(room.status()).isEqualTo(IN_PROGRESS);
-    assertThat(room.players()).extracting(Player::id).containsExactly("p1", "p2");
+    assertThat(room.players()).extracting(Player::id).containsExactly(PLAYER_1, PLAYER_2);
     assertThat(room.players())
-        .filteredOn(p -> p.id().equals("p2"))
+        .filteredOn(p -> p.id().equals(PLAYER_2))
         .singleElement()
         .satisfies(p -> assertThat(p.score()).isEqualTo(0));
     assertThat(room.currentRound()).isNotNull();
 
-    verify(roundService).startNewRound("room-1");
+    verify(roundService).startNewRound(id(ROOM_1));
+    verify(roomRepository).indexPlayer(id(ROOM_1), id(PLAYER_2));
     verifyNoInteractions(eventPublisher);
   }
 
   @Test
   void joinRoom_playerAlreadyInRoom_returnsRoomWithoutResettingScoreOrStartingRound() {
     // Arrange
-    var entity = waitingRoom("room-1", "p1");
-    entity.setPlayerScore("p1", 5);
+    var entity = waitingRoom(ROOM_1, PLAYER_1);
+    entity.setPlayerScore(id(PLAYER_1), 5);
 
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any())).thenReturn(entity);
     when(roomRepository.save(any(RoomEntity.class))).thenAnswer(inv -> inv.getArgument(0));
-    when(roundService.getCurrentRound(anyString(), any())).thenReturn(Optional.empty());
+    when(roundService.getCurrentRound(any(), any())).thenReturn(Optional.empty());
 
     // Act
-    var room = roomService.joinRoom("room-1", "p1");
+    var room = roomService.joinRoom(ROOM_1, PLAYER_1);
 
     // Assert
-    assertThat(room.players()).extracting(Player::id).containsExactly("p1");
+    assertThat(room.players()).extracting(Player::id).containsExactly(PLAYER_1);
     assertThat(room.players()).singleElement().satisfies(p -> assertThat(p.score()).isEqualTo(5));
 
-    verify(roundService, never()).startNewRound(anyString());
+    verify(roundService, never()).startNewRound(any());
   }
 
   @Test
   void getRoom_currentRoundIsNull_returnsRoomWithoutCurrentRound() {
     // Arrange
-    var entity = waitingRoom("room-1", "p1");
+    var entity = waitingRoom(ROOM_1, PLAYER_1);
 
     when(roomRepository.findWithPlayersById(anyString())).thenReturn(
         entity);
-    when(roundService.getCurrentRound(anyString(), any())).thenReturn(Optional.empty());
+    when(roundService.getCurrentRound(any(), any())).thenReturn(Optional.empty());
 
     // Act
-    var room = roomService.getRoom("room-1", "player-1");
+    var room = roomService.getRoom(ROOM_1, PLAYER_2);
 
     // Assert
     assertThat(room.status()).isEqualTo(WAITING_FOR_PLAYERS);
-    assertThat(room.players()).extracting(Player::id).containsExactly("p1");
+    assertThat(room.players()).extracting(Player::id).containsExactly(PLAYER_1);
     assertThat(room.players()).singleElement().satisfies(p -> assertThat(p.score()).isEqualTo(0));
-    assertThat(room.id()).isEqualTo("room-1");
+    assertThat(room.id()).isEqualTo(ROOM_1);
     assertThat(room.language()).isEqualTo(IT);
     assertThat(room.currentRound()).isNull();
 
-    verify(roundService).getCurrentRound("room-1", null);
+    verify(roundService).getCurrentRound(id(ROOM_1), null);
   }
 
   @Test
   void getRoom_currentRoundExists_returnsRoomWithCurrentRound() {
     // Arrange
-    var entity = waitingRoom("room-1", "p1");
+    var entity = waitingRoom(ROOM_1, PLAYER_1);
     entity.setStatus(IN_PROGRESS);
     entity.setCurrentRoundNumber(1);
 
@@ -263,112 +282,112 @@ class RoomServiceTest {
 
     when(roomRepository.findWithPlayersById(anyString()))
         .thenReturn(entity);
-    when(roundService.getCurrentRound(anyString(), any()))
+    when(roundService.getCurrentRound(any(), any()))
         .thenReturn(Optional.of(currentRound));
 
     // Act
-    var room = roomService.getRoom("room-1", "player-1");
+    var room = roomService.getRoom(ROOM_1, PLAYER_2);
 
     // Assert
     assertThat(room.status()).isEqualTo(IN_PROGRESS);
     assertThat(room.currentRound()).isEqualTo(currentRound);
 
-    verify(roundService).getCurrentRound("room-1", 1);
+    verify(roundService).getCurrentRound(id(ROOM_1), 1);
   }
 
   @Test
   void getRoom_roomNotFull_allowsNonMemberInspection() {
     // Arrange
-    var entity = waitingRoom("room-1", "p1");
+    var entity = waitingRoom(ROOM_1, PLAYER_1);
 
     when(roomRepository.findWithPlayersById(anyString()))
         .thenReturn(entity);
-    when(roundService.getCurrentRound(anyString(), any())).thenReturn(Optional.empty());
+    when(roundService.getCurrentRound(any(), any())).thenReturn(Optional.empty());
 
     // Act
-    var room = roomService.getRoom("room-1", "p2");
+    var room = roomService.getRoom(ROOM_1, PLAYER_2);
 
     // Assert
-    assertThat(room.id()).isEqualTo("room-1");
-    assertThat(room.players()).extracting(Player::id).containsExactly("p1");
+    assertThat(room.id()).isEqualTo(ROOM_1);
+    assertThat(room.players()).extracting(Player::id).containsExactly(PLAYER_1);
 
-    verify(roundService).getCurrentRound("room-1", null);
+    verify(roundService).getCurrentRound(id(ROOM_1), null);
   }
 
   @Test
   void getRoom_roomFullAndRequestingPlayerNotInRoom_throwsRoomAccessDeniedException() {
     // Arrange
-    var entity = waitingRoom("room-1", "p1");
-    entity.addPlayer("p2");
-    entity.setPlayerScore("p2", 0);
+    var entity = waitingRoom(ROOM_1, PLAYER_1);
+    entity.addPlayer(id(PLAYER_2));
+    entity.setPlayerScore(id(PLAYER_2), 0);
 
     when(roomRepository.findWithPlayersById(anyString()))
         .thenReturn(entity);
 
     // Act
-    var thrown = catchThrowable(() -> roomService.getRoom("room-1", "p3"));
+    var thrown = catchThrowable(() -> roomService.getRoom(ROOM_1, PLAYER_3));
 
     // Assert
     assertThat(thrown)
         .isInstanceOf(RoomAccessDeniedException.class)
-        .hasMessage("Player <p3> cannot inspect room <room-1>");
+        .hasMessage("Player <%s> cannot inspect room <%s>".formatted(PLAYER_3, ROOM_1));
 
-    verify(roomRepository).findWithPlayersById("room-1");
+    verify(roomRepository).findWithPlayersById(ROOM_1);
     verifyNoInteractions(roundService, userProfileService, eventPublisher);
   }
 
   @Test
   void getRoom_roomFullAndRequestingPlayerInRoom_returnsRoom() {
     // Arrange
-    var entity = waitingRoom("room-1", "p1");
-    entity.addPlayer("p2");
-    entity.setPlayerScore("p2", 0);
+    var entity = waitingRoom(ROOM_1, PLAYER_1);
+    entity.addPlayer(id(PLAYER_2));
+    entity.setPlayerScore(id(PLAYER_2), 0);
 
     when(roomRepository.findWithPlayersById(anyString()))
         .thenReturn(entity);
-    when(roundService.getCurrentRound(anyString(), any())).thenReturn(Optional.empty());
+    when(roundService.getCurrentRound(any(), any())).thenReturn(Optional.empty());
 
     // Act
-    var room = roomService.getRoom("room-1", "p1");
+    var room = roomService.getRoom(ROOM_1, PLAYER_1);
 
     // Assert
-    assertThat(room.id()).isEqualTo("room-1");
-    assertThat(room.players()).extracting(Player::id).containsExactly("p1", "p2");
+    assertThat(room.id()).isEqualTo(ROOM_1);
+    assertThat(room.players()).extracting(Player::id).containsExactly(PLAYER_1, PLAYER_2);
 
-    verify(roundService).getCurrentRound("room-1", null);
+    verify(roundService).getCurrentRound(id(ROOM_1), null);
   }
 
   @Test
   void listRoomsForPlayer_roomsExist_returnsRoomsWithCurrentRoundsWhenPresent() {
     // Arrange
-    var waitingRoom = waitingRoom("room-1", "p1");
+    var waitingRoom = waitingRoom(ROOM_1, PLAYER_1);
 
-    var inProgressRoom = waitingRoom("room-2", "p1");
+    var inProgressRoom = waitingRoom(ROOM_2, PLAYER_1);
     inProgressRoom.setStatus(IN_PROGRESS);
     inProgressRoom.setCurrentRoundNumber(1);
 
     var currentRound = new Round(1, 6, Map.of(), Map.of(), PLAYING, null);
 
-    when(roomRepository.findWithPlayersByPlayerId("p1"))
+    when(roomRepository.findWithPlayersByPlayerId(id(PLAYER_1)))
         .thenReturn(List.of(waitingRoom, inProgressRoom));
-    when(roundService.getCurrentRoundsByRoomIds(List.of("room-1", "room-2")))
-        .thenReturn(Map.of("room-2", currentRound));
+    when(roundService.getCurrentRoundsByRoomIds(List.of(id(ROOM_1), id(ROOM_2))))
+        .thenReturn(Map.of(id(ROOM_2), currentRound));
     when(userProfileService.getDisplayNamePerPlayer(any())).thenReturn(Map.of());
 
     // Act
-    var rooms = roomService.listRoomsForPlayer("p1");
+    var rooms = roomService.listRoomsForPlayer(PLAYER_1);
 
     // Assert
     assertThat(rooms).hasSize(2);
     assertThat(rooms)
         .extracting(Room::id)
-        .containsExactly("room-1", "room-2");
+        .containsExactly(ROOM_1, ROOM_2);
     assertThat(rooms.get(0).currentRound()).isNull();
     assertThat(rooms.get(1).currentRound()).isEqualTo(currentRound);
 
-    verify(roomRepository).findWithPlayersByPlayerId("p1");
-    verify(roundService).getCurrentRoundsByRoomIds(List.of("room-1", "room-2"));
-    verify(userProfileService, times(2)).getDisplayNamePerPlayer(Set.of("p1"));
+    verify(roomRepository).findWithPlayersByPlayerId(id(PLAYER_1));
+    verify(roundService).getCurrentRoundsByRoomIds(List.of(id(ROOM_1), id(ROOM_2)));
+    verify(userProfileService, times(2)).getDisplayNamePerPlayer(Set.of(PLAYER_1));
     verifyNoMoreInteractions(roomRepository, roundService, userProfileService);
   }
 
@@ -376,27 +395,27 @@ class RoomServiceTest {
   void deleteInactiveRooms_cutoffProvided_deletesOldRooms() {
     // Arrange
     var cutoff = Instant.parse("2025-01-01T12:00:00Z");
-    when(roomRepository.deleteInactive(cutoff)).thenReturn(3L);
+    when(roomRepository.deleteInactive(cutoff, 100)).thenReturn(3);
 
     // Act
-    var deleted = roomService.deleteInactiveRooms(cutoff);
+    var deleted = roomService.deleteInactiveRooms(cutoff, 100);
 
     // Assert
-    assertThat(deleted).isEqualTo(3L);
-    verify(roomRepository).deleteInactive(cutoff);
+    assertThat(deleted).isEqualTo(3);
+    verify(roomRepository).deleteInactive(cutoff, 100);
   }
 
   @Test
   void deleteRoomById_roomExists_deletesRoom() {
     // Arrange
-    var room = waitingRoom("room-1", "p1");
-    when(roomRepository.findWithPlayersByIdForUpdate(eq("room-1"), any())).thenReturn(room);
+    var room = waitingRoom(ROOM_1, PLAYER_1);
+    when(roomRepository.findWithPlayersByIdForUpdate(eq(ROOM_1), any())).thenReturn(room);
 
     // Act
-    roomService.deleteRoomById("room-1");
+    roomService.deleteRoomById(ROOM_1);
 
     // Assert
-    verify(roomRepository).findWithPlayersByIdForUpdate("room-1", lockProperties.acquireTimeout());
+    verify(roomRepository).findWithPlayersByIdForUpdate(ROOM_1, lockProperties.acquireTimeout());
     verify(roomRepository).delete(room);
   }
 
@@ -404,30 +423,34 @@ class RoomServiceTest {
   void deleteRoomById_roomMissing_throwsRoomNotFoundException() {
     // Arrange
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any()))
-        .thenThrow(new RoomNotFoundException("room-1"));
+        .thenThrow(new RoomNotFoundException(ROOM_1));
 
     // Act
-    var thrown = catchThrowable(() -> roomService.deleteRoomById("room-1"));
+    var thrown = catchThrowable(() -> roomService.deleteRoomById(ROOM_1));
 
     // Assert
     assertThat(thrown)
         .isInstanceOf(RoomNotFoundException.class)
-        .hasMessage("Room <room-1> not found");
-    verify(roomRepository).findWithPlayersByIdForUpdate("room-1", lockProperties.acquireTimeout());
+        .hasMessage("Room <%s> not found".formatted(ROOM_1));
+    verify(roomRepository).findWithPlayersByIdForUpdate(ROOM_1, lockProperties.acquireTimeout());
     verify(roomRepository, never()).delete(any());
   }
 
   private static RoomEntity waitingRoom(String roomId, String playerId) {
     var room = new RoomEntity();
-    room.setId(roomId);
+    room.setId(id(roomId));
     room.setLanguage(IT);
     room.setStatus(WAITING_FOR_PLAYERS);
     room.setCurrentRoundNumber(null);
 
-    room.addPlayer(playerId);
-    room.setPlayerScore(playerId, 0);
+    room.addPlayer(id(playerId));
+    room.setPlayerScore(id(playerId), 0);
 
     return room;
   }
 
+  private static UUID id(String id) {
+    return UUID.fromString(id);
+  }
+
 }
@@ -24,6 +24,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +34,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class GuessSubmissionServiceTest {
 
+  private static final String ROOM_ID = "7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b";
+  private static final UUID PLAYER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
   @Mock
   private GuessValidator guessValidator;
   @Mock
@@ -55,7 +59,7 @@ class GuessSubmissionServiceTest {
     var round = new RoundEntity();
     round.setTargetWord("PIZZA");
     round.setMaxAttempts(6);
-    round.setPlayerStatus("p1", PLAYING);
+    round.setPlayerStatus(PLAYER_ID, PLAYING);
 
     var evaluated = List.of(
         new LetterResult('P', CORRECT),
@@ -67,7 +71,7 @@ class GuessSubmissionServiceTest {
     when(evaluator.evaluate(anyString(), anyString())).thenReturn(evaluated);
 
     // Act
-    var statusUpdate = service.applyGuess("room-1", "p1", "  pizza  ", room, round);
+    var statusUpdate = service.applyGuess(ROOM_ID, PLAYER_ID, "  pizza  ", room, round);
 
     // Assert
     verify(guessValidator).validateGuess("PIZZA", "PIZZA", IT);
@@ -83,7 +87,7 @@ class GuessSubmissionServiceTest {
     assertThat(stored.getLetters())
         .extracting(l -> "%s:%s".formatted(l.getLetter(), l.getStatus()))
         .containsExactly("P:CORRECT", "I:CORRECT", "Z:CORRECT", "Z:CORRECT", "A:CORRECT");
-    assertThat(round.getPlayerStatus("p1")).isEqualTo(WON);
+    assertThat(round.getPlayerStatus(PLAYER_ID)).isEqualTo(WON);
   }
 
   @Test
@@ -95,12 +99,12 @@ class GuessSubmissionServiceTest {
     var round = new RoundEntity();
     round.setTargetWord("PIZZA");
     round.setMaxAttempts(1);
-    round.setPlayerStatus("p1", PLAYING);
+    round.setPlayerStatus(PLAYER_ID, PLAYING);
 
-    round.addGuess(previousGuess(round, "p1", 1));
+    round.addGuess(previousGuess(round, PLAYER_ID, 1));
 
     // Act
-    var thrown = catchThrowable(() -> service.applyGuess("room-1", "p1", "pizza", room, round));
+    var thrown = catchThrowable(() -> service.applyGuess(ROOM_ID, PLAYER_ID, "pizza", room, round));
 
     // Assert
     assertThat(thrown)
@@ -118,21 +122,21 @@ class GuessSubmissionServiceTest {
     var round = new RoundEntity();
     round.setTargetWord("PIZZA");
     round.setMaxAttempts(1);
-    round.setPlayerStatus("p1", PLAYING);
+    round.setPlayerStatus(PLAYER_ID, PLAYING);
 
     when(evaluator.evaluate(anyString(), anyString())).thenReturn(List.of(
         new LetterResult('P', PRESENT)
     ));
 
     // Act
-    var statusUpdate = service.applyGuess("room-1", "p1", "pasta", room, round);
+    var statusUpdate = service.applyGuess(ROOM_ID, PLAYER_ID, "pasta", room, round);
 
     // Assert
     assertThat(statusUpdate).contains(LOST);
-    assertThat(round.getPlayerStatus("p1")).isEqualTo(LOST);
+    assertThat(round.getPlayerStatus(PLAYER_ID)).isEqualTo(LOST);
   }
 
-  private static GuessEntity previousGuess(RoundEntity round, String playerId, int attemptNumber) {
+  private static GuessEntity previousGuess(RoundEntity round, UUID playerId, int attemptNumber) {
     var guess = new GuessEntity();
     guess.setRound(round);
     guess.setPlayerId(playerId);
@@ -0,0 +1,131 @@
+package com.dariom.wds.service.round;
+
+import static com.dariom.wds.domain.LetterStatus.ABSENT;
+import static com.dariom.wds.domain.LetterStatus.CORRECT;
+import static com.dariom.wds.domain.RoundPlayerStatus.WON;
+import static com.dariom.wds.domain.RoundStatus.ENDED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.persistence.entity.GuessEntity;
+import com.dariom.wds.persistence.entity.LetterResultEmbeddable;
+import com.dariom.wds.persistence.entity.RoomEntity;
+import com.dariom.wds.persistence.entity.RoundArchiveEntity;
+import com.dariom.wds.persistence.entity.RoundArchiveIdEmbeddable;
+import com.dariom.wds.persistence.entity.RoundEntity;
+import com.dariom.wds.persistence.repository.jpa.RoundArchiveJpaRepository;
+import com.dariom.wds.persistence.repository.jpa.RoundJpaRepository;
+import com.dariom.wds.service.DomainMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+class RoundArchiveServiceTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-10T00:00:00Z");
+  private static final UUID ROOM_ID = UUID.fromString("7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b");
+  private static final UUID PLAYER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+  @Mock
+  private RoundJpaRepository roundJpaRepository;
+  @Mock
+  private RoundArchiveJpaRepository roundArchiveJpaRepository;
+  @Captor
+  private ArgumentCaptor<List<RoundArchiveEntity>> archivesCaptor;
+
+  private final DomainMapper domainMapper = new DomainMapper();
+  private final RoundArchiveCodec roundArchiveCodec = new RoundArchiveCodec();
+
+  private RoundArchiveService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new RoundArchiveService(roundJpaRepository, roundArchiveJpaRepository, domainMapper,
+        roundArchiveCodec, Clock.fixed(NOW, ZoneOffset.UTC), new SimpleMeterRegistry());
+  }
+
+  @Test
+  void archiveRounds_archivableRounds_savesCompressedRoundsAndDeletesOriginals() {
+    // Arrange
+    var finishedBefore = NOW.minusSeconds(3600);
+    var round = endedRound();
+
+    when(roundJpaRepository.findArchivableIds(ENDED, 5, finishedBefore, Limit.of(100)))
+        .thenReturn(List.of(7L));
+    when(roundJpaRepository.findWithDetailsByIdIn(List.of(7L))).thenReturn(List.of(round));
+
+    // Act
+    var archived = service.archiveRounds(5, finishedBefore, 100);
+
+    // Assert
+    assertThat(archived).isEqualTo(1);
+
+    verify(roundArchiveJpaRepository).saveAll(archivesCaptor.capture());
+    var archive = archivesCaptor.getValue().getFirst();
+    assertThat(archive.getId()).isEqualTo(new RoundArchiveIdEmbeddable(ROOM_ID, 3));
+    assertThat(archive.getFinishedAt()).isEqualTo(round.getFinishedAt());
+    assertThat(archive.getArchivedAt()).isEqualTo(NOW);
+    assertThat(roundArchiveCodec.decode(archive.getPayload()))
+        .isEqualTo(domainMapper.toRound(round));
+
+    verify(roundJpaRepository).deleteByIdInAndRoundStatus(List.of(7L), ENDED);
+  }
+
+  @Test
+  void archiveRounds_nothingToArchive_returnsZeroWithoutWriting() {
+    // Arrange
+    when(roundJpaRepository.findArchivableIds(any(), anyInt(), any(), any()))
+        .thenReturn(List.of());
+
+    // Act
+    var archived = service.archiveRounds(5, NOW, 100);
+
+    // Assert
+    assertThat(archived).isZero();
+    verify(roundArchiveJpaRepository, never()).saveAll(any());
+    verify(roundJpaRepository, never()).deleteByIdInAndRoundStatus(any(), any());
+  }
+
+  private static RoundEntity endedRound() {
+    var room = new RoomEntity();
+    room.setId(ROOM_ID);
+
+    var round = new RoundEntity();
+    round.setRoom(room);
+    round.setRoundNumber(3);
+    round.setTargetWord("PIZZA");
+    round.setMaxAttempts(6);
+    round.setRoundStatus(ENDED);
+    round.setPlayerStatus(PLAYER_ID, WON);
+    round.setStartedAt(NOW.minusSeconds(7200));
+    round.setFinishedAt(NOW.minusSeconds(7000));
+
+    var guess = new GuessEntity();
+    guess.setRound(round);
+    guess.setPlayerId(PLAYER_ID);
+    guess.setWord("PIZZA");
+    guess.setAttemptNumber(1);
+    guess.setLetters(List.of(
+        new LetterResultEmbeddable('P', CORRECT),
+        new LetterResultEmbeddable('X', ABSENT)));
+    round.addGuess(guess);
+
+    return round;
+  }
+}
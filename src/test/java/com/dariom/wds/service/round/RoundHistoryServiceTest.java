@@ -0,0 +1,144 @@
+package com.dariom.wds.service.round;
+
+import static com.dariom.wds.domain.RoundPlayerStatus.WON;
+import static com.dariom.wds.domain.RoundStatus.ENDED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.datasource.ShardProperties;
+import com.dariom.wds.domain.Round;
+import com.dariom.wds.persistence.entity.RoomEntity;
+import com.dariom.wds.persistence.entity.RoundEntity;
+import com.dariom.wds.persistence.repository.jpa.ArchivedRoundPayload;
+import com.dariom.wds.persistence.repository.jpa.RoundArchiveJpaRepository;
+import com.dariom.wds.persistence.repository.jpa.RoundJpaRepository;
+import com.dariom.wds.persistence.shard.ShardRouter;
+import com.dariom.wds.service.DomainMapper;
+import com.dariom.wds.service.NoOpTransactionManager;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+class RoundHistoryServiceTest {
+
+  private static final String ROOM_ID = "7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b";
+  private static final String PLAYER_ID = "11111111-1111-1111-1111-111111111111";
+
+  @Mock
+  private RoundJpaRepository roundJpaRepository;
+  @Mock
+  private RoundArchiveJpaRepository roundArchiveJpaRepository;
+  @Mock
+  private EntityManager entityManager;
+
+  private final DomainMapper domainMapper = new DomainMapper();
+  private final RoundArchiveCodec roundArchiveCodec = new RoundArchiveCodec();
+  private final ShardRouter shardRouter = new ShardRouter(
+      new ShardProperties(false, List.of(), 10, Duration.ofSeconds(1), Duration.ofMinutes(1)),
+      new NoOpTransactionManager());
+
+  private RoundHistoryService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new RoundHistoryService(roundJpaRepository, roundArchiveJpaRepository,
+        roundArchiveCodec, domainMapper, entityManager, shardRouter);
+  }
+
+  @Test
+  void forEachFinishedRound_hotAndArchivedRounds_passesRoundsNewestFirstAndReturnsCursor() {
+    // Arrange
+    var archivedRound = new Round(3, 6, Map.of(), Map.of(PLAYER_ID, WON), ENDED, "PIZZA");
+
+    when(roundJpaRepository.findRoundNumbersBefore(id(ROOM_ID), ENDED, Integer.MAX_VALUE,
+        Limit.of(3))).thenReturn(List.of(5, 4));
+    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumberIn(id(ROOM_ID), List.of(5, 4)))
+        .thenReturn(List.of(endedRound(4), endedRound(5)));
+    when(roundArchiveJpaRepository.streamPayloadsBefore(id(ROOM_ID), 4, Limit.of(1)))
+        .thenReturn(Stream.of(
+            new ArchivedRoundPayload(3, roundArchiveCodec.encode(archivedRound))));
+
+    var rounds = new ArrayList<Round>();
+
+    // Act
+    var nextCursor = service.forEachFinishedRound(ROOM_ID, null, 3, rounds::add);
+
+    // Assert
+    assertThat(rounds)
+        .extracting(Round::roundNumber)
+        .containsExactly(5, 4, 3);
+    assertThat(rounds.getLast()).isEqualTo(archivedRound);
+    assertThat(nextCursor).isEqualTo(3);
+    verify(entityManager).clear();
+  }
+
+  @Test
+  void forEachFinishedRound_fewerRoundsThanLimit_returnsNullCursor() {
+    // Arrange
+    when(roundJpaRepository.findRoundNumbersBefore(id(ROOM_ID), ENDED, 10, Limit.of(20)))
+        .thenReturn(List.of());
+    when(roundArchiveJpaRepository.streamPayloadsBefore(id(ROOM_ID), 10, Limit.of(20)))
+        .thenReturn(Stream.empty());
+
+    var rounds = new ArrayList<Round>();
+
+    // Act
+    var nextCursor = service.forEachFinishedRound(ROOM_ID, 10, 20, rounds::add);
+
+    // Assert
+    assertThat(rounds).isEmpty();
+    assertThat(nextCursor).isNull();
+  }
+
+  @Test
+  void forEachFinishedRound_pageFilledByHotRounds_doesNotReadArchive() {
+    // Arrange
+    when(roundJpaRepository.findRoundNumbersBefore(any(), any(), anyInt(), any()))
+        .thenReturn(List.of(9));
+    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumberIn(id(ROOM_ID), List.of(9)))
+        .thenReturn(List.of(endedRound(9)));
+
+    var rounds = new ArrayList<Round>();
+
+    // Act
+    var nextCursor = service.forEachFinishedRound(ROOM_ID, null, 1, rounds::add);
+
+    // Assert
+    assertThat(rounds).extracting(Round::roundNumber).containsExactly(9);
+    assertThat(nextCursor).isEqualTo(9);
+    verifyNoInteractions(roundArchiveJpaRepository);
+  }
+
+  private static RoundEntity endedRound(int roundNumber) {
+    var room = new RoomEntity();
+    room.setId(id(ROOM_ID));
+
+    var round = new RoundEntity();
+    round.setRoom(room);
+    round.setRoundNumber(roundNumber);
+    round.setTargetWord("PIZZA");
+    round.setMaxAttempts(6);
+    round.setRoundStatus(ENDED);
+    round.setPlayerStatus(id(PLAYER_ID), WON);
+    return round;
+  }
+
+  private static UUID id(String id) {
+    return UUID.fromString(id);
+  }
+}
@@ -12,7 +12,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -39,6 +38,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,8 +50,9 @@ import org.springframework.context.ApplicationEventPublisher;
 @ExtendWith(MockitoExtension.class)
 class RoundLifecycleServiceTest {
 
-  private static final String PLAYER_1 = "p1";
-  private static final String PLAYER_2 = "p2";
+  private static final UUID ROOM_ID = UUID.fromString("7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b");
+  private static final UUID PLAYER_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+  private static final UUID PLAYER_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
 
   @Mock
   private DictionaryRepository dictionaryRepository;
@@ -76,7 +77,7 @@ class RoundLifecycleServiceTest {
   void startNewRoundEntity_notTwoPlayers_throwsRoomNotReadyException() {
     // Arrange
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_ID);
     room.setLanguage(IT);
     room.addPlayer(PLAYER_1);
 
@@ -86,7 +87,7 @@ class RoundLifecycleServiceTest {
     // Assert
     assertThat(thrown)
         .isInstanceOf(RoomNotReadyException.class)
-        .hasMessageContaining("room-1")
+        .hasMessageContaining(ROOM_ID.toString())
         .hasMessageContaining("1");
   }
 
@@ -94,7 +95,7 @@ class RoundLifecycleServiceTest {
   void startNewRoundEntity_twoPlayers_initializesRoundAndPublishesEvent() {
     // Arrange
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_ID);
     room.setLanguage(IT);
     room.addPlayer(PLAYER_2);
     room.addPlayer(PLAYER_1);
@@ -119,7 +120,7 @@ class RoundLifecycleServiceTest {
     verify(eventPublisher).publishEvent(eventCaptor.capture());
 
     var published = eventCaptor.getValue();
-    assertThat(published.roomId()).isEqualTo("room-1");
+    assertThat(published.roomId()).isEqualTo(ROOM_ID.toString());
 
     RoomEvent roomEvent = published.event();
     assertThat(roomEvent.type()).isEqualTo(ROUND_STARTED);
@@ -134,7 +135,7 @@ class RoundLifecycleServiceTest {
   void startNewRoundEntity_twoPlayers_dictionaryEmpty_throwsDictionaryEmptyException() {
     // Arrange
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_ID);
     room.setLanguage(IT);
     room.addPlayer(PLAYER_1);
     room.addPlayer(PLAYER_2);
@@ -158,7 +159,7 @@ class RoundLifecycleServiceTest {
   void ensureActiveRound_currentRoundNumberIsNull_startsNewRound() {
     // Arrange
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_ID);
     room.setLanguage(IT);
     room.addPlayer(PLAYER_1);
     room.addPlayer(PLAYER_2);
@@ -179,14 +180,14 @@ class RoundLifecycleServiceTest {
     var spied = spy(service);
 
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_ID);
     room.setLanguage(IT);
     room.setCurrentRoundNumber(1);
 
     var existingRound = new RoundEntity();
     existingRound.setRoundStatus(RoundStatus.PLAYING);
 
-    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(anyString(), anyInt()))
+    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(any(), anyInt()))
         .thenReturn(Optional.of(existingRound));
 
     // Act
@@ -195,7 +196,7 @@ class RoundLifecycleServiceTest {
     // Assert
     assertThat(actual).isSameAs(existingRound);
     verify(spied, never()).startNewRoundEntity(any(RoomEntity.class));
-    verify(roundJpaRepository).findWithDetailsByRoomIdAndRoundNumber("room-1", 1);
+    verify(roundJpaRepository).findWithDetailsByRoomIdAndRoundNumber(ROOM_ID, 1);
   }
 
   @Test
@@ -204,14 +205,14 @@ class RoundLifecycleServiceTest {
     var spied = spy(service);
 
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_ID);
     room.setLanguage(IT);
     room.setCurrentRoundNumber(1);
 
     var finishedRound = new RoundEntity();
     finishedRound.setRoundStatus(ENDED);
 
-    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(anyString(), anyInt()))
+    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(any(), anyInt()))
         .thenReturn(Optional.of(finishedRound));
 
     // Act
@@ -225,7 +226,7 @@ class RoundLifecycleServiceTest {
         );
 
     verify(spied, never()).startNewRoundEntity(any(RoomEntity.class));
-    verify(roundJpaRepository).findWithDetailsByRoomIdAndRoundNumber("room-1", 1);
+    verify(roundJpaRepository).findWithDetailsByRoomIdAndRoundNumber(ROOM_ID, 1);
   }
 
   @Test
@@ -243,7 +244,7 @@ class RoundLifecycleServiceTest {
     ));
 
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_ID);
     room.addPlayer(PLAYER_1);
     room.addPlayer(PLAYER_2);
 
@@ -257,7 +258,7 @@ class RoundLifecycleServiceTest {
     assertThat(room.getScoresByPlayerId().get(PLAYER_2)).isEqualTo(0);
 
     verify(eventPublisher).publishEvent(
-        new RoomEventToPublish("room-1", new RoomEvent(
+        new RoomEventToPublish(ROOM_ID.toString(), new RoomEvent(
             EventType.ROUND_FINISHED,
             new RoundFinishedPayload(1)
         )));
@@ -267,7 +268,7 @@ class RoundLifecycleServiceTest {
   void isRoundFinished_playerIsPlaying_returnFalse() {
     // Arrange
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_ID);
     room.addPlayer(PLAYER_1);
     room.addPlayer(PLAYER_2);
 
@@ -286,7 +287,7 @@ class RoundLifecycleServiceTest {
   void isRoundFinished_NoPlayerIsPlaying_returnTrue() {
     // Arrange
     var room = new RoomEntity();
-    room.setId("room-1");
+    room.setId(ROOM_ID);
     room.addPlayer(PLAYER_1);
     room.addPlayer(PLAYER_2);
 
@@ -301,7 +302,7 @@ class RoundLifecycleServiceTest {
     assertThat(finished).isTrue();
   }
 
-  private static GuessEntity guess(String playerId, int attemptNumber) {
+  private static GuessEntity guess(UUID playerId, int attemptNumber) {
     var guess = new GuessEntity();
     guess.setPlayerId(playerId);
     guess.setAttemptNumber(attemptNumber);
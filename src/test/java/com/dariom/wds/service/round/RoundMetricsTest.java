@@ -0,0 +1,81 @@
+package com.dariom.wds.service.round;
+
+import static com.dariom.wds.api.common.ErrorCode.ROUND_NOT_ENDED;
+import static com.dariom.wds.domain.Language.IT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dariom.wds.config.RoundMetricsProperties;
+import com.dariom.wds.exception.RoomLockedException;
+import com.dariom.wds.exception.RoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class RoundMetricsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RoundMetrics roundMetrics = new RoundMetrics(meterRegistry,
+      new RoundMetricsProperties(Duration.ofSeconds(1)));
+
+  @Test
+  void finish_successfulAction_recordsEveryPhaseAndTotal() {
+    // Arrange
+    var timing = roundMetrics.start("guess", "room-1");
+    timing.language(IT);
+    timing.mark("load-room");
+    timing.mark("evaluation");
+
+    // Act
+    timing.finish(null);
+
+    // Assert
+    assertThat(meterRegistry.get("round.action.phase")
+        .tags("action", "guess", "language", "IT", "outcome", "OK", "phase", "load-room")
+        .timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("round.action.phase").tag("phase", "evaluation")
+        .timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("round.action").tags("action", "guess", "outcome", "OK")
+        .timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void finish_rejectedAction_tagsErrorCode() {
+    // Arrange
+    var timing = roundMetrics.start("ready", "room-1");
+    timing.mark("load-room");
+
+    // Act
+    timing.finish(new RoundException(ROUND_NOT_ENDED, "Round is not ended"));
+
+    // Assert
+    assertThat(meterRegistry.get("round.action")
+        .tags("action", "ready", "language", "unknown", "outcome", "ROUND_NOT_ENDED")
+        .timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void finish_roomBusy_tagsRoomBusy() {
+    // Arrange
+    var timing = roundMetrics.start("guess", "room-1");
+
+    // Act
+    timing.finish(new RoomLockedException("room-1"));
+
+    // Assert
+    assertThat(meterRegistry.get("round.action").tag("outcome", "ROOM_BUSY").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void finish_unexpectedError_tagsError() {
+    // Arrange
+    var timing = roundMetrics.start("guess", "room-1");
+
+    // Act
+    timing.finish(new IllegalStateException("boom"));
+
+    // Assert
+    assertThat(meterRegistry.get("round.action").tag("outcome", "ERROR").timer().count())
+        .isEqualTo(1);
+  }
+}
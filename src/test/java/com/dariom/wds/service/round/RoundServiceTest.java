@@ -21,21 +21,28 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.dariom.wds.config.RoundMetricsProperties;
+import com.dariom.wds.config.datasource.ShardProperties;
 import com.dariom.wds.config.lock.RoomLockProperties;
 import com.dariom.wds.domain.RoundPlayerStatus;
 import com.dariom.wds.domain.RoundStatus;
 import com.dariom.wds.exception.PlayerNotInRoomException;
 import com.dariom.wds.exception.RoomLockedException;
 import com.dariom.wds.exception.RoundException;
+import com.dariom.wds.metrics.RoomLockMetrics;
 import com.dariom.wds.persistence.entity.RoomEntity;
 import com.dariom.wds.persistence.entity.RoundEntity;
 import com.dariom.wds.persistence.repository.RoomRepository;
 import com.dariom.wds.persistence.repository.jpa.RoundJpaRepository;
+import com.dariom.wds.persistence.shard.ShardRouter;
 import com.dariom.wds.service.DomainMapper;
+import com.dariom.wds.service.NoOpTransactionManager;
+import com.dariom.wds.service.lock.RoomLockManager;
 import com.dariom.wds.service.user.UserProfileService;
 import com.dariom.wds.websocket.model.PlayerStatusUpdatedPayload;
 import com.dariom.wds.websocket.model.RoomEvent;
 import com.dariom.wds.websocket.model.RoomEventToPublish;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -44,6 +51,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -51,13 +59,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class RoundServiceTest {
 
-  private static final String ROOM_ID = "room-1";
-  private static final String PLAYER_1 = "p1";
-  private static final String PLAYER_2 = "p2";
+  private static final String ROOM_ID = "7f1c2b9e-4a3d-4e8f-9b2a-6c5d4e3f2a1b";
+  private static final String ROOM_2_ID = "5e2d8c1a-7b6f-4a9e-b3d2-1c0f9e8d7a6b";
+  private static final String PLAYER_1 = "11111111-1111-1111-1111-111111111111";
+  private static final String PLAYER_2 = "22222222-2222-2222-2222-222222222222";
   private static final int MAX_ATTEMPTS = 6;
 
   @Mock
@@ -74,9 +84,17 @@ class RoundServiceTest {
   private UserProfileService userProfileService;
 
   private final RoomLockProperties lockProperties = new RoomLockProperties(
-      Duration.ofSeconds(3)
+      Duration.ofSeconds(3), 16
   );
+  private final RoomLockManager roomLockManager = new RoomLockManager(lockProperties,
+      new RoomLockMetrics(new SimpleMeterRegistry()),
+      new TransactionTemplate(new NoOpTransactionManager()));
+  private final ShardRouter shardRouter = new ShardRouter(
+      new ShardProperties(false, List.of(), 10, Duration.ofSeconds(1), Duration.ofMinutes(1)),
+      new NoOpTransactionManager());
   private final DomainMapper domainMapper = new DomainMapper();
+  private final RoundMetrics roundMetrics = new RoundMetrics(new SimpleMeterRegistry(),
+      new RoundMetricsProperties(Duration.ofSeconds(1)));
   private final Clock clock = Clock.fixed(Instant.parse("2025-01-01T12:00:00Z"), ZoneOffset.UTC);
 
   private RoundService service;
@@ -85,13 +103,16 @@ class RoundServiceTest {
   void setUp() {
     service = new RoundService(
         lockProperties,
+        roomLockManager,
         roomRepository,
         roundJpaRepository,
+        shardRouter,
         domainMapper,
         roundLifecycleService,
         guessSubmissionService,
         eventPublisher,
         userProfileService,
+        roundMetrics,
         clock
     );
   }
@@ -99,12 +120,11 @@ class RoundServiceTest {
   @Test
   void getCurrentRound_currentRoundNumberIsNull_returnsEmpty() {
     // Act
-    var result = service.getCurrentRound(ROOM_ID, null);
+    var result = service.getCurrentRound(id(ROOM_ID), null);
 
     // Assert
     assertThat(result).isEmpty();
-    verify(roundJpaRepository, never()).findWithDetailsByRoomIdAndRoundNumber(anyString(),
-        anyInt());
+    verify(roundJpaRepository, never()).findWithDetailsByRoomIdAndRoundNumber(any(), anyInt());
   }
 
   @Test
@@ -120,8 +140,8 @@ class RoundServiceTest {
   @Test
   void getCurrentRoundsByRoomIds_roomsHaveCurrentRounds_returnsMapByRoomId() {
     // Arrange
-    var room1 = inProgressRoom("room-1", 1, PLAYER_1, PLAYER_2);
-    var room2 = inProgressRoom("room-2", 2, PLAYER_1, PLAYER_2);
+    var room1 = inProgressRoom(ROOM_ID, 1, PLAYER_1, PLAYER_2);
+    var room2 = inProgressRoom(ROOM_2_ID, 2, PLAYER_1, PLAYER_2);
 
     var round1 = round(1, PLAYING);
     round1.setRoom(room1);
@@ -129,18 +149,19 @@ class RoundServiceTest {
     var round2 = round(2, ENDED);
     round2.setRoom(room2);
 
-    when(roundJpaRepository.findCurrentRoundsWithDetailsByRoomIds(List.of("room-1", "room-2")))
+    var roomIds = List.of(id(ROOM_ID), id(ROOM_2_ID));
+    when(roundJpaRepository.findCurrentRoundsWithDetailsByRoomIds(roomIds))
         .thenReturn(List.of(round1, round2));
 
     // Act
-    var result = service.getCurrentRoundsByRoomIds(List.of("room-1", "room-2"));
+    var result = service.getCurrentRoundsByRoomIds(roomIds);
 
     // Assert
     assertThat(result).hasSize(2);
-    assertThat(result.get("room-1")).isEqualTo(domainMapper.toRound(round1));
-    assertThat(result.get("room-2")).isEqualTo(domainMapper.toRound(round2));
+    assertThat(result.get(id(ROOM_ID))).isEqualTo(domainMapper.toRound(round1));
+    assertThat(result.get(id(ROOM_2_ID))).isEqualTo(domainMapper.toRound(round2));
 
-    verify(roundJpaRepository).findCurrentRoundsWithDetailsByRoomIds(List.of("room-1", "room-2"));
+    verify(roundJpaRepository).findCurrentRoundsWithDetailsByRoomIds(roomIds);
   }
 
   @Test
@@ -148,17 +169,17 @@ class RoundServiceTest {
     // Arrange
     var roomEntity = room(ROOM_ID);
 
-    when(roomRepository.findWithPlayersById(anyString())).thenReturn(roomEntity);
+    when(roomRepository.findWithPlayersById(any(UUID.class))).thenReturn(roomEntity);
 
     var roundEntity = round(1, PLAYING);
     when(roundLifecycleService.startNewRoundEntity(roomEntity)).thenReturn(roundEntity);
 
     // Act
-    var result = service.startNewRound(ROOM_ID);
+    var result = service.startNewRound(id(ROOM_ID));
 
     // Assert
     assertThat(result).isEqualTo(domainMapper.toRound(roundEntity));
-    verify(roomRepository).findWithPlayersById(ROOM_ID);
+    verify(roomRepository).findWithPlayersById(id(ROOM_ID));
     verify(roomRepository).save(roomEntity);
   }
 
@@ -187,7 +208,7 @@ class RoundServiceTest {
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any())).thenReturn(roomEntity);
     when(roomRepository.save(any())).thenReturn(roomEntity);
     when(roundLifecycleService.ensureActiveRound(roomEntity)).thenReturn(roundEntity);
-    when(guessSubmissionService.applyGuess(ROOM_ID, PLAYER_1, "pizza", roomEntity, roundEntity))
+    when(guessSubmissionService.applyGuess(ROOM_ID, id(PLAYER_1), "pizza", roomEntity, roundEntity))
         .thenReturn(Optional.empty());
     when(roundLifecycleService.isRoundFinished(roomEntity, roundEntity)).thenReturn(false);
     when(userProfileService.getDisplayNamePerPlayer(any())).thenReturn(displayNamePerPlayer);
@@ -203,7 +224,8 @@ class RoundServiceTest {
     assertThat(result.players().get(1).displayName()).isEqualTo("Mark");
     assertThat(roomEntity.getLastUpdatedAt()).isAfter(initialLastUpdatedAt);
 
-    verify(guessSubmissionService).applyGuess(ROOM_ID, PLAYER_1, "pizza", roomEntity, roundEntity);
+    verify(guessSubmissionService)
+        .applyGuess(ROOM_ID, id(PLAYER_1), "pizza", roomEntity, roundEntity);
     verify(roomRepository).findWithPlayersByIdForUpdate(ROOM_ID, lockProperties.acquireTimeout());
     verify(roomRepository).save(roomEntity);
     verify(userProfileService).getDisplayNamePerPlayer(Set.of(PLAYER_1, PLAYER_2));
@@ -219,7 +241,7 @@ class RoundServiceTest {
     when(roomRepository.save(any())).thenReturn(roomEntity);
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any())).thenReturn(roomEntity);
     when(roundLifecycleService.ensureActiveRound(roomEntity)).thenReturn(roundEntity);
-    when(guessSubmissionService.applyGuess(ROOM_ID, PLAYER_1, "pizza", roomEntity, roundEntity))
+    when(guessSubmissionService.applyGuess(ROOM_ID, id(PLAYER_1), "pizza", roomEntity, roundEntity))
         .thenReturn(Optional.of(WON));
     when(roundLifecycleService.isRoundFinished(roomEntity, roundEntity)).thenReturn(false);
     when(userProfileService.getDisplayNamePerPlayer(any())).thenReturn(displayNamePerPlayer);
@@ -243,7 +265,7 @@ class RoundServiceTest {
     when(roomRepository.save(any())).thenReturn(roomEntity);
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any())).thenReturn(roomEntity);
     when(roundLifecycleService.ensureActiveRound(roomEntity)).thenReturn(roundEntity);
-    when(guessSubmissionService.applyGuess(ROOM_ID, PLAYER_1, "pizza", roomEntity, roundEntity))
+    when(guessSubmissionService.applyGuess(ROOM_ID, id(PLAYER_1), "pizza", roomEntity, roundEntity))
         .thenReturn(Optional.of(LOST));
     when(roundLifecycleService.isRoundFinished(roomEntity, roundEntity)).thenReturn(true);
 
@@ -265,7 +287,7 @@ class RoundServiceTest {
     // Act / Assert
     assertThatThrownBy(() -> service.handleReady(ROOM_ID, PLAYER_2, 1))
         .isInstanceOf(PlayerNotInRoomException.class)
-        .hasMessage("Player <p2> is not in room <room-1>");
+        .hasMessage("Player <%s> is not in room <%s>".formatted(PLAYER_2, ROOM_ID));
 
     verify(roomRepository).findWithPlayersByIdForUpdate(ROOM_ID, lockProperties.acquireTimeout());
     verifyNoMoreInteractions(roomRepository);
@@ -287,8 +309,7 @@ class RoundServiceTest {
         .satisfies(ex -> assertThat(((RoundException) ex).getCode()).isEqualTo(ROUND_NOT_CURRENT));
 
     verify(roomRepository).findWithPlayersByIdForUpdate(ROOM_ID, lockProperties.acquireTimeout());
-    verify(roundJpaRepository, never()).findWithDetailsByRoomIdAndRoundNumber(
-        anyString(), anyInt());
+    verify(roundJpaRepository, never()).findWithDetailsByRoomIdAndRoundNumber(any(), anyInt());
     verify(roomRepository, never()).save(roomEntity);
     verifyNoInteractions(eventPublisher);
   }
@@ -300,7 +321,7 @@ class RoundServiceTest {
     var roundEntity = round(1, PLAYING, Map.of(PLAYER_1, WON));
 
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any())).thenReturn(roomEntity);
-    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(ROOM_ID, 1))
+    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(id(ROOM_ID), 1))
         .thenReturn(Optional.of(roundEntity));
 
     // Act / Assert
@@ -328,7 +349,7 @@ class RoundServiceTest {
 
     when(roomRepository.save(any())).thenReturn(roomEntity);
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any())).thenReturn(roomEntity);
-    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(ROOM_ID, 1))
+    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(id(ROOM_ID), 1))
         .thenReturn(Optional.of(roundEntity));
     when(userProfileService.getDisplayNamePerPlayer(any())).thenReturn(displayNamePerPlayer);
 
@@ -367,7 +388,7 @@ class RoundServiceTest {
 
     when(roomRepository.save(any())).thenReturn(roomEntity);
     when(roomRepository.findWithPlayersByIdForUpdate(anyString(), any())).thenReturn(roomEntity);
-    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(ROOM_ID, 1))
+    when(roundJpaRepository.findWithDetailsByRoomIdAndRoundNumber(id(ROOM_ID), 1))
         .thenReturn(Optional.of(roundEntity));
     when(roundLifecycleService.startNewRoundEntity(roomEntity)).thenReturn(newRoundEntity);
     when(userProfileService.getDisplayNamePerPlayer(any())).thenReturn(displayNamePerPlayer);
@@ -390,7 +411,7 @@ class RoundServiceTest {
 
   private static RoomEntity room(String roomId) {
     var room = new RoomEntity();
-    room.setId(roomId);
+    room.setId(id(roomId));
     return room;
   }
 
@@ -405,7 +426,7 @@ class RoundServiceTest {
     room.setStatus(IN_PROGRESS);
 
     for (var playerId : playerIds) {
-      room.addPlayer(playerId);
+      room.addPlayer(id(playerId));
     }
 
     if (currentRoundNumber != null) {
@@ -430,9 +451,13 @@ class RoundServiceTest {
     round.setRoundStatus(roundStatus);
 
     if (statusByPlayerId != null) {
-      statusByPlayerId.forEach(round::setPlayerStatus);
+      statusByPlayerId.forEach((playerId, status) -> round.setPlayerStatus(id(playerId), status));
     }
 
     return round;
   }
+
+  private static UUID id(String id) {
+    return UUID.fromString(id);
+  }
 }
@@ -8,6 +8,7 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 
 import com.dariom.wds.exception.InvalidGuessException;
 import com.dariom.wds.exception.PlayerNotInRoomException;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
 class PlayerStatusValidatorTest {
@@ -16,7 +17,7 @@ class PlayerStatusValidatorTest {
   void validatePlayerStatus_playerStatusNull_throwsPlayerNotInRoomException() {
     // Arrange
     var roomId = "room-1";
-    var playerId = "p1";
+    var playerId = UUID.fromString("11111111-1111-1111-1111-111111111111");
 
     // Act
     var thrown = catchThrowable(
@@ -25,7 +26,7 @@ class PlayerStatusValidatorTest {
     // Assert
     assertThat(thrown)
         .isInstanceOf(PlayerNotInRoomException.class)
-        .hasMessageContaining(playerId)
+        .hasMessageContaining(playerId.toString())
         .hasMessageContaining(roomId);
   }
 
@@ -33,7 +34,7 @@ class PlayerStatusValidatorTest {
   void validatePlayerStatus_playerAlreadyFinished_throwsInvalidGuessException() {
     // Arrange
     var roomId = "room-1";
-    var playerId = "p1";
+    var playerId = UUID.fromString("11111111-1111-1111-1111-111111111111");
 
     // Act
     var thrown = catchThrowable(
@@ -50,7 +51,7 @@ class PlayerStatusValidatorTest {
   void validatePlayerStatus_playerIsPlaying_doesNotThrow() {
     // Arrange
     var roomId = "room-1";
-    var playerId = "p1";
+    var playerId = UUID.fromString("11111111-1111-1111-1111-111111111111");
 
     // Act
     PlayerStatusValidator.validatePlayerStatus(roomId, playerId, PLAYING);
@@ -13,21 +13,25 @@ import com.dariom.wds.exception.PlayerNotInRoomException;
 import com.dariom.wds.exception.RoomNotReadyException;
 import java.util.Arrays;
 import java.util.Set;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
 class RoomAccessValidatorTest {
 
+  private static final UUID PLAYER_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+  private static final UUID PLAYER_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
   @Test
   void validateRoomStatus_roomNotInProgress_throwsRoomNotReadyException() {
     // Arrange
-    var room = room(WAITING_FOR_PLAYERS, "p1");
+    var room = room(WAITING_FOR_PLAYERS, PLAYER_1);
 
     // Act
     var thrown = catchThrowable(() -> RoomAccessValidator.validateRoomStatus(
-        "p1",
+        PLAYER_1,
         room.id(),
         room.status(),
-        Set.of("p1")
+        Set.of(PLAYER_1)
     ));
 
     // Assert
@@ -40,43 +44,43 @@ class RoomAccessValidatorTest {
   @Test
   void validateRoomStatus_playerNotInRoom_throwsPlayerNotInRoomException() {
     // Arrange
-    var room = room(IN_PROGRESS, "p1");
+    var room = room(IN_PROGRESS, PLAYER_1);
 
     // Act
     var thrown = catchThrowable(() -> RoomAccessValidator.validateRoomStatus(
-        "p2",
+        PLAYER_2,
         room.id(),
         room.status(),
-        Set.of("p1")
+        Set.of(PLAYER_1)
     ));
 
     // Assert
     assertThat(thrown)
         .isInstanceOf(PlayerNotInRoomException.class)
-        .hasMessageContaining("p2")
+        .hasMessageContaining(PLAYER_2.toString())
         .hasMessageContaining("room-1");
   }
 
   @Test
   void validateRoomStatus_roomInProgressAndPlayerInRoom_doesNotThrow() {
     // Arrange
-    var room = room(IN_PROGRESS, "p1");
+    var room = room(IN_PROGRESS, PLAYER_1);
 
     // Act
     RoomAccessValidator.validateRoomStatus(
-        "p1",
+        PLAYER_1,
         room.id(),
         room.status(),
-        Set.of("p1")
+        Set.of(PLAYER_1)
     );
   }
 
-  private static Room room(RoomStatus status, String... playerIds) {
+  private static Room room(RoomStatus status, UUID... playerIds) {
     return new Room(
         "room-1",
         IT,
         status,
-        Arrays.stream(playerIds).map(pid -> new Player(pid, 0, "John" + pid)).toList(),
+        Arrays.stream(playerIds).map(pid -> new Player(pid.toString(), 0, "John" + pid)).toList(),
         null
     );
   }
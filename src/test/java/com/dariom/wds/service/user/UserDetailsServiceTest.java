@@ -5,13 +5,18 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.dariom.wds.config.datasource.ShardProperties;
 import com.dariom.wds.persistence.entity.AppUserEntity;
 import com.dariom.wds.persistence.repository.UserRepository;
+import com.dariom.wds.persistence.shard.ShardRouter;
+import com.dariom.wds.service.NoOpTransactionManager;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -21,9 +26,16 @@ class UserDetailsServiceTest {
   @Mock
   private UserRepository userRepository;
 
-  @InjectMocks
   private UserDetailsService userDetailsService;
 
+  @BeforeEach
+  void setUp() {
+    var shardRouter = new ShardRouter(
+        new ShardProperties(false, List.of(), 10, Duration.ofSeconds(1), Duration.ofMinutes(1)),
+        new NoOpTransactionManager());
+    userDetailsService = new UserDetailsService(userRepository, shardRouter);
+  }
+
   @Test
   void getUserDisplayName_userHasDisplayName_returnsDisplayName() {
     // Arrange
@@ -7,6 +7,7 @@ import com.dariom.wds.websocket.model.EventPayload;
 import com.dariom.wds.websocket.model.EventPayloadMixin;
 import com.dariom.wds.websocket.model.EventType;
 import com.dariom.wds.websocket.model.PlayerJoinedPayload;
+import com.dariom.wds.websocket.model.PlayerPresencePayload;
 import com.dariom.wds.websocket.model.PlayerReadyPayload;
 import com.dariom.wds.websocket.model.PlayerStatusUpdatedPayload;
 import com.dariom.wds.websocket.model.RoomEvent;
@@ -39,7 +40,9 @@ class EventPayloadSerializationTest {
         roomEvent(EventType.SCORES_UPDATED, new ScoresUpdatedPayload(Map.of("p1", 10, "p2", 5))),
         roomEvent(EventType.PLAYER_STATUS_UPDATED,
             new PlayerStatusUpdatedPayload(RoundPlayerStatus.WON)),
-        roomEvent(EventType.ROOM_CREATED, new PlayerReadyPayload("player-1"))
+        roomEvent(EventType.ROOM_CREATED, new PlayerReadyPayload("player-1")),
+        roomEvent(EventType.PLAYER_PRESENCE,
+            new PlayerPresencePayload("player-1", true, List.of("player-1", "player-2")))
     );
   }
 
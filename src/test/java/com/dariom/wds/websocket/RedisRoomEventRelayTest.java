@@ -1,6 +1,6 @@
 package com.dariom.wds.websocket;
 
-import static com.dariom.wds.websocket.RedisRoomEventPublisher.ROOM_EVENTS;
+import static com.dariom.wds.websocket.RedisRoomEventRelay.ROOM_EVENTS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
@@ -21,7 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 @ExtendWith(MockitoExtension.class)
-class RedisRoomEventPublisherTest {
+class RedisRoomEventRelayTest {
 
   @Mock
   private StringRedisTemplate redisTemplate;
@@ -30,7 +30,7 @@ class RedisRoomEventPublisherTest {
   private ObjectMapper objectMapper;
 
   @InjectMocks
-  private RedisRoomEventPublisher publisher;
+  private RedisRoomEventRelay publisher;
 
   @Test
   void publish_validEvent_sendsToRedisChannel() throws Exception {
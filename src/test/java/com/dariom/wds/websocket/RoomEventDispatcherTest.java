@@ -0,0 +1,98 @@
+package com.dariom.wds.websocket;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.websocket.model.EventType;
+import com.dariom.wds.websocket.model.RoomEvent;
+import com.dariom.wds.websocket.model.RoomEventToPublish;
+import com.dariom.wds.websocket.model.RoundStartedPayload;
+import com.dariom.wds.websocket.presence.RoomSessionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class RoomEventDispatcherTest {
+
+  @Mock
+  private ObjectMapper objectMapper;
+
+  @Mock
+  private SimpMessagingTemplate messagingTemplate;
+
+  @Mock
+  private RoomSessionRegistry sessionRegistry;
+
+  @InjectMocks
+  private RoomEventDispatcher dispatcher;
+
+  @Test
+  void dispatch_validMessage_sendsToStompTopic() throws Exception {
+    // Arrange
+    var event = new RoomEvent(EventType.ROUND_STARTED, new RoundStartedPayload(1, 6));
+    var roomEvent = new RoomEventToPublish("room-1", event);
+    var json = "{\"roomId\":\"room-1\"}".getBytes();
+    when(objectMapper.readValue(json, RoomEventToPublish.class)).thenReturn(roomEvent);
+    when(sessionRegistry.hasLocalSubscribers("room-1")).thenReturn(true);
+
+    // Act
+    dispatcher.dispatch(json);
+
+    // Assert
+    verify(messagingTemplate).convertAndSend("/topic/rooms/room-1", event);
+  }
+
+  @Test
+  void dispatch_deserializationFails_doesNotPropagateException() throws Exception {
+    // Arrange
+    var json = "invalid".getBytes();
+    when(objectMapper.readValue(json, RoomEventToPublish.class))
+        .thenThrow(new RuntimeException("parse error"));
+
+    // Act
+    dispatcher.dispatch(json);
+
+    // Assert
+    verify(messagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+  }
+
+  @Test
+  void dispatch_stompSendFails_doesNotPropagateException() throws Exception {
+    // Arrange
+    var event = new RoomEvent(EventType.ROUND_STARTED, new RoundStartedPayload(1, 6));
+    var roomEvent = new RoomEventToPublish("room-1", event);
+    var json = "{\"roomId\":\"room-1\"}".getBytes();
+    when(objectMapper.readValue(json, RoomEventToPublish.class)).thenReturn(roomEvent);
+    when(sessionRegistry.hasLocalSubscribers("room-1")).thenReturn(true);
+    doThrow(new RuntimeException("stomp error"))
+        .when(messagingTemplate).convertAndSend(eq("/topic/rooms/room-1"), any(Object.class));
+
+    // Act
+    dispatcher.dispatch(json);
+  }
+
+  @Test
+  void dispatch_noLocalSubscribers_skipsStompSend() throws Exception {
+    // Arrange
+    var event = new RoomEvent(EventType.ROUND_STARTED, new RoundStartedPayload(1, 6));
+    var roomEvent = new RoomEventToPublish("room-1", event);
+    var json = "{\"roomId\":\"room-1\"}".getBytes();
+    when(objectMapper.readValue(json, RoomEventToPublish.class)).thenReturn(roomEvent);
+    when(sessionRegistry.hasLocalSubscribers("room-1")).thenReturn(false);
+
+    // Act
+    dispatcher.dispatch(json);
+
+    // Assert
+    verify(messagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+  }
+}
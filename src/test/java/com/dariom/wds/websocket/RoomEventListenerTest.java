@@ -6,6 +6,8 @@ import com.dariom.wds.websocket.model.EventType;
 import com.dariom.wds.websocket.model.RoomEvent;
 import com.dariom.wds.websocket.model.RoomEventToPublish;
 import com.dariom.wds.websocket.model.RoundStartedPayload;
+import com.dariom.wds.websocket.outbox.RoomEventOutbox;
+import com.dariom.wds.websocket.outbox.RoomEventOutboxRelay;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -16,13 +18,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class RoomEventListenerTest {
 
   @Mock
-  private RedisRoomEventPublisher redisRoomEventPublisher;
+  private RoomEventOutbox roomEventOutbox;
+
+  @Mock
+  private RoomEventOutboxRelay roomEventOutboxRelay;
 
   @InjectMocks
   private RoomEventListener roomEventListener;
 
   @Test
-  void on_validEvent_publishesToRedis() {
+  void on_validEvent_appendsToOutbox() {
     // Arrange
     var event = new RoomEvent(
         EventType.ROUND_STARTED,
@@ -34,6 +39,19 @@ class RoomEventListenerTest {
     roomEventListener.on(toPublish);
 
     // Assert
-    verify(redisRoomEventPublisher).publish(toPublish);
+    verify(roomEventOutbox).append(toPublish);
+  }
+
+  @Test
+  void afterCommit_validEvent_wakesUpRelay() {
+    // Arrange
+    var toPublish = new RoomEventToPublish("room-1",
+        new RoomEvent(EventType.ROUND_STARTED, new RoundStartedPayload(1, 6)));
+
+    // Act
+    roomEventListener.afterCommit(toPublish);
+
+    // Assert
+    verify(roomEventOutboxRelay).wakeUp();
   }
 }
@@ -0,0 +1,269 @@
+package com.dariom.wds.websocket.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.datasource.ShardProperties;
+import com.dariom.wds.config.datasource.ShardProperties.Node;
+import com.dariom.wds.config.ws.RoomEventOutboxProperties;
+import com.dariom.wds.persistence.entity.RoomEventOutboxEntity;
+import com.dariom.wds.persistence.repository.jpa.RoomEventOutboxJpaRepository;
+import com.dariom.wds.persistence.shard.ShardRouter;
+import com.dariom.wds.service.NoOpTransactionManager;
+import com.dariom.wds.websocket.RoomEventRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+class RoomEventOutboxRelayTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-10T00:00:00Z");
+
+  @Mock
+  private RoomEventOutboxJpaRepository outboxJpaRepository;
+
+  @Mock
+  private RoomEventRelay roomEventRelay;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private RoomEventOutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    relay = relay(List.of());
+  }
+
+  @Test
+  void drain_pendingEvents_publishesBatchesUntilOutboxIsEmpty() {
+    // Arrange
+    var first = List.of(outboxEvent("e1", 500), outboxEvent("e2", 400));
+    var second = List.of(outboxEvent("e3", 100));
+    when(outboxJpaRepository.findAllByDeadLetteredAtIsNullOrderByIdAsc(Limit.of(2)))
+        .thenReturn(first, second);
+
+    // Act
+    relay.drain();
+
+    // Assert
+    verify(roomEventRelay).publishAll(List.of("e1", "e2"));
+    verify(roomEventRelay).publishAll(List.of("e3"));
+    verify(outboxJpaRepository).deleteAllInBatch(first);
+    verify(outboxJpaRepository).deleteAllInBatch(second);
+    assertThat(meterRegistry.get("room.events.outbox.published").counter().count())
+        .isEqualTo(3);
+    assertThat(meterRegistry.get("room.events.outbox.lag").timer().count()).isEqualTo(3);
+  }
+
+  @Test
+  void drain_publishFails_keepsEventsForRetry() {
+    // Arrange
+    var event = outboxEvent(1L, "e1", 100);
+    when(outboxJpaRepository.findAllByDeadLetteredAtIsNullOrderByIdAsc(Limit.of(2)))
+        .thenReturn(List.of(event));
+    when(outboxJpaRepository.findLockedById(1L)).thenReturn(Optional.of(event));
+    doThrow(new RuntimeException("redis down"))
+        .when(roomEventRelay).publishAll(anyList());
+
+    // Act
+    relay.drain();
+
+    // Assert
+    verify(outboxJpaRepository, never()).deleteAllInBatch(anyList());
+    assertThat(meterRegistry.get("room.events.outbox.failures").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void drain_eventRejectedByRelay_relaysOthersAndDeadLettersIt() {
+    // Arrange
+    var accepted = outboxEvent(1L, "e1", 100);
+    var rejected = outboxEvent(2L, "e2", 100);
+    when(outboxJpaRepository.findAllByDeadLetteredAtIsNullOrderByIdAsc(Limit.of(2)))
+        .thenReturn(List.of(accepted, rejected), List.of());
+    when(outboxJpaRepository.findLockedById(1L)).thenReturn(Optional.of(accepted));
+    when(outboxJpaRepository.findLockedById(2L)).thenReturn(Optional.of(rejected));
+    doThrow(new DataIntegrityViolationException("payload string too long"))
+        .when(roomEventRelay).publishAll(List.of("e1", "e2"));
+    doThrow(new DataIntegrityViolationException("payload string too long"))
+        .when(roomEventRelay).publishAll(List.of("e2"));
+    doNothing().when(roomEventRelay).publishAll(List.of("e1"));
+
+    // Act
+    relay.drain();
+
+    // Assert
+    verify(roomEventRelay).publishAll(List.of("e1"));
+    verify(outboxJpaRepository).deleteAllInBatch(List.of(accepted));
+    verify(outboxJpaRepository, never()).deleteAllInBatch(List.of(rejected));
+    assertThat(rejected.getDeadLetteredAt()).isEqualTo(NOW);
+    assertThat(meterRegistry.get("room.events.outbox.published").counter().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("room.events.outbox.dead.lettered").counter().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("room.events.outbox.failures").counter().count()).isZero();
+  }
+
+  @Test
+  void drain_singleEventRejectedByRelay_deadLettersIt() {
+    // Arrange
+    var rejected = outboxEvent(1L, "e1", 100);
+    when(outboxJpaRepository.findAllByDeadLetteredAtIsNullOrderByIdAsc(Limit.of(2)))
+        .thenReturn(List.of(rejected), List.of());
+    when(outboxJpaRepository.findLockedById(1L)).thenReturn(Optional.of(rejected));
+    doThrow(new DataIntegrityViolationException("payload string too long"))
+        .when(roomEventRelay).publishAll(List.of("e1"));
+
+    // Act
+    relay.drain();
+
+    // Assert
+    assertThat(rejected.getDeadLetteredAt()).isEqualTo(NOW);
+    assertThat(meterRegistry.get("room.events.outbox.dead.lettered").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void drain_eventFailsWhileOthersGoThrough_countsAttemptAndKeepsItForRetry() {
+    // Arrange
+    var accepted = outboxEvent(1L, "e1", 100);
+    var failing = outboxEvent(2L, "e2", 100);
+    when(outboxJpaRepository.findAllByDeadLetteredAtIsNullOrderByIdAsc(Limit.of(2)))
+        .thenReturn(List.of(accepted, failing));
+    when(outboxJpaRepository.findLockedById(1L)).thenReturn(Optional.of(accepted));
+    when(outboxJpaRepository.findLockedById(2L)).thenReturn(Optional.of(failing));
+    doThrow(new RuntimeException("timeout"))
+        .when(roomEventRelay).publishAll(List.of("e1", "e2"));
+    doThrow(new RuntimeException("timeout"))
+        .when(roomEventRelay).publishAll(List.of("e2"));
+    doNothing().when(roomEventRelay).publishAll(List.of("e1"));
+
+    // Act
+    relay.drain();
+
+    // Assert
+    verify(outboxJpaRepository).deleteAllInBatch(List.of(accepted));
+    verify(outboxJpaRepository, never()).deleteAllInBatch(List.of(failing));
+    assertThat(failing.getAttempts()).isEqualTo(1);
+    assertThat(failing.getDeadLetteredAt()).isNull();
+    assertThat(meterRegistry.get("room.events.outbox.dead.lettered").counter().count())
+        .isZero();
+  }
+
+  @Test
+  void drain_eventFailsOnLastAttempt_deadLettersIt() {
+    // Arrange
+    var accepted = outboxEvent(1L, "e1", 100);
+    var failing = outboxEvent(2L, "e2", 100);
+    failing.setAttempts(2);
+    when(outboxJpaRepository.findAllByDeadLetteredAtIsNullOrderByIdAsc(Limit.of(2)))
+        .thenReturn(List.of(accepted, failing), List.of());
+    when(outboxJpaRepository.findLockedById(1L)).thenReturn(Optional.of(accepted));
+    when(outboxJpaRepository.findLockedById(2L)).thenReturn(Optional.of(failing));
+    doThrow(new RuntimeException("timeout"))
+        .when(roomEventRelay).publishAll(List.of("e1", "e2"));
+    doThrow(new RuntimeException("timeout"))
+        .when(roomEventRelay).publishAll(List.of("e2"));
+    doNothing().when(roomEventRelay).publishAll(List.of("e1"));
+
+    // Act
+    relay.drain();
+
+    // Assert
+    assertThat(failing.getAttempts()).isEqualTo(3);
+    assertThat(failing.getDeadLetteredAt()).isEqualTo(NOW);
+    assertThat(meterRegistry.get("room.events.outbox.dead.lettered").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void drain_everyEventFailsOnItsOwn_keepsEventsForRetry() {
+    // Arrange
+    var first = outboxEvent(1L, "e1", 100);
+    var second = outboxEvent(2L, "e2", 100);
+    when(outboxJpaRepository.findAllByDeadLetteredAtIsNullOrderByIdAsc(Limit.of(2)))
+        .thenReturn(List.of(first, second));
+    when(outboxJpaRepository.findLockedById(1L)).thenReturn(Optional.of(first));
+    when(outboxJpaRepository.findLockedById(2L)).thenReturn(Optional.of(second));
+    doThrow(new RuntimeException("redis down"))
+        .when(roomEventRelay).publishAll(anyList());
+
+    // Act
+    relay.drain();
+
+    // Assert
+    verify(outboxJpaRepository, never()).deleteAllInBatch(anyList());
+    assertThat(first.getAttempts()).isZero();
+    assertThat(second.getAttempts()).isZero();
+    assertThat(meterRegistry.get("room.events.outbox.failures").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void drain_emptyOutbox_doesNotPublish() {
+    // Arrange
+    when(outboxJpaRepository.findAllByDeadLetteredAtIsNullOrderByIdAsc(Limit.of(2)))
+        .thenReturn(List.of());
+
+    // Act
+    relay.drain();
+
+    // Assert
+    verify(roomEventRelay, never()).publishAll(anyList());
+  }
+
+  @Test
+  void drain_shardFails_drainsRemainingShards() {
+    // Arrange
+    var shardedRelay = relay(List.of(new Node("jdbc:postgresql://shard-1/wordle", "wordle",
+        "wordle")));
+    var batch = List.of(outboxEvent("e1", 100));
+    when(outboxJpaRepository.findAllByDeadLetteredAtIsNullOrderByIdAsc(Limit.of(2)))
+        .thenThrow(new RuntimeException("shard down"))
+        .thenReturn(batch);
+
+    // Act
+    shardedRelay.drain();
+
+    // Assert
+    verify(roomEventRelay).publishAll(List.of("e1"));
+    verify(outboxJpaRepository).deleteAllInBatch(batch);
+    assertThat(meterRegistry.get("room.events.outbox.failures").counter().count())
+        .isEqualTo(1);
+  }
+
+  private RoomEventOutboxRelay relay(List<Node> shardNodes) {
+    var shardRouter = new ShardRouter(new ShardProperties(!shardNodes.isEmpty(), shardNodes, 10,
+        Duration.ofSeconds(1), Duration.ofMinutes(1)), new NoOpTransactionManager());
+    return new RoomEventOutboxRelay(outboxJpaRepository, roomEventRelay, shardRouter,
+        new NoOpTransactionManager(), Clock.fixed(NOW, ZoneOffset.UTC),
+        new RoomEventOutboxProperties(2, Duration.ofSeconds(1), 3), meterRegistry);
+  }
+
+  private static RoomEventOutboxEntity outboxEvent(String payload, long ageMillis) {
+    return new RoomEventOutboxEntity("room-1", payload, NOW.minusMillis(ageMillis));
+  }
+
+  private static RoomEventOutboxEntity outboxEvent(Long id, String payload, long ageMillis) {
+    var event = outboxEvent(payload, ageMillis);
+    event.setId(id);
+    return event;
+  }
+}
@@ -0,0 +1,78 @@
+package com.dariom.wds.websocket.outbox;
+
+import static com.dariom.wds.websocket.outbox.RoomEventOutbox.MAX_PAYLOAD_BYTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.persistence.entity.RoomEventOutboxEntity;
+import com.dariom.wds.persistence.repository.jpa.RoomEventOutboxJpaRepository;
+import com.dariom.wds.websocket.model.EventType;
+import com.dariom.wds.websocket.model.RoomEvent;
+import com.dariom.wds.websocket.model.RoomEventToPublish;
+import com.dariom.wds.websocket.model.RoundStartedPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RoomEventOutboxTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-10T00:00:00Z");
+  private static final RoomEventToPublish ROOM_EVENT = new RoomEventToPublish("room-1",
+      new RoomEvent(EventType.ROUND_STARTED, new RoundStartedPayload(1, 6)));
+
+  @Mock
+  private RoomEventOutboxJpaRepository outboxJpaRepository;
+
+  @Mock
+  private ObjectMapper objectMapper;
+
+  @Captor
+  private ArgumentCaptor<RoomEventOutboxEntity> entityCaptor;
+
+  private RoomEventOutbox outbox;
+
+  @BeforeEach
+  void setUp() {
+    outbox = new RoomEventOutbox(outboxJpaRepository, objectMapper,
+        Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @Test
+  void append_validEvent_storesSerializedPayload() throws Exception {
+    // Arrange
+    when(objectMapper.writeValueAsString(ROOM_EVENT)).thenReturn("{\"roomId\":\"room-1\"}");
+
+    // Act
+    outbox.append(ROOM_EVENT);
+
+    // Assert
+    verify(outboxJpaRepository).save(entityCaptor.capture());
+    assertThat(entityCaptor.getValue().getRoomId()).isEqualTo("room-1");
+    assertThat(entityCaptor.getValue().getPayload()).isEqualTo("{\"roomId\":\"room-1\"}");
+    assertThat(entityCaptor.getValue().getCreatedAt()).isEqualTo(NOW);
+  }
+
+  @Test
+  void append_payloadOverNotifyLimit_doesNotStoreEvent() throws Exception {
+    // Arrange
+    when(objectMapper.writeValueAsString(ROOM_EVENT)).thenReturn("x".repeat(MAX_PAYLOAD_BYTES));
+
+    // Act
+    outbox.append(ROOM_EVENT);
+
+    // Assert
+    verify(outboxJpaRepository, never()).save(any());
+  }
+}
@@ -0,0 +1,131 @@
+package com.dariom.wds.websocket.presence;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.messaging.simp.stomp.StompCommand.DISCONNECT;
+import static org.springframework.messaging.simp.stomp.StompCommand.SUBSCRIBE;
+import static org.springframework.messaging.simp.stomp.StompCommand.UNSUBSCRIBE;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+@ExtendWith(MockitoExtension.class)
+class RoomPresenceListenerTest {
+
+  private static final RoomSubscription SUBSCRIPTION =
+      new RoomSubscription("room-1", "player-1", "session-1");
+
+  @Mock
+  private RoomSessionRegistry sessionRegistry;
+
+  @Mock
+  private RoomPresenceService presenceService;
+
+  @InjectMocks
+  private RoomPresenceListener listener;
+
+  @Test
+  void onSubscribe_firstRoomSubscription_marksPlayerOnline() {
+    // Arrange
+    var user = new TestingAuthenticationToken("player-1", null);
+    var event = new SessionSubscribeEvent(this, stompMessage(SUBSCRIBE), user);
+    when(sessionRegistry.subscribe("session-1", "sub-1", "/topic/rooms/room-1", "player-1"))
+        .thenReturn(Optional.of(SUBSCRIPTION));
+
+    // Act
+    listener.onSubscribe(event);
+
+    // Assert
+    verify(presenceService).playerJoined(SUBSCRIPTION);
+  }
+
+  @Test
+  void onSubscribe_noUser_ignoresSubscription() {
+    // Arrange
+    var event = new SessionSubscribeEvent(this, stompMessage(SUBSCRIBE), null);
+
+    // Act
+    listener.onSubscribe(event);
+
+    // Assert
+    verify(presenceService, never()).playerJoined(any());
+  }
+
+  @Test
+  void onUnsubscribe_lastRoomSubscription_marksPlayerOffline() {
+    // Arrange
+    var event = new SessionUnsubscribeEvent(this, stompMessage(UNSUBSCRIBE));
+    when(sessionRegistry.unsubscribe("session-1", "sub-1")).thenReturn(Optional.of(SUBSCRIPTION));
+
+    // Act
+    listener.onUnsubscribe(event);
+
+    // Assert
+    verify(presenceService).playerLeft(SUBSCRIPTION);
+  }
+
+  @Test
+  void onDisconnect_sessionInRooms_marksPlayerOfflineInEveryRoom() {
+    // Arrange
+    var other = new RoomSubscription("room-2", "player-1", "session-1");
+    var event = new SessionDisconnectEvent(this, stompMessage(DISCONNECT),
+        "session-1", CloseStatus.NORMAL);
+    when(sessionRegistry.removeSession("session-1")).thenReturn(List.of(SUBSCRIPTION, other));
+
+    // Act
+    listener.onDisconnect(event);
+
+    // Assert
+    verify(presenceService).playerLeft(SUBSCRIPTION);
+    verify(presenceService).playerLeft(other);
+  }
+
+  @Test
+  void heartbeat_localSubscriptions_refreshesPresence() {
+    // Arrange
+    when(sessionRegistry.getSubscriptions()).thenReturn(List.of(SUBSCRIPTION));
+
+    // Act
+    listener.heartbeat();
+
+    // Assert
+    verify(presenceService).heartbeat(List.of(SUBSCRIPTION));
+  }
+
+  @Test
+  void heartbeat_noLocalSubscriptions_skipsRedis() {
+    // Arrange
+    when(sessionRegistry.getSubscriptions()).thenReturn(List.of());
+
+    // Act
+    listener.heartbeat();
+
+    // Assert
+    verify(presenceService, never()).heartbeat(anyList());
+  }
+
+  private static Message<byte[]> stompMessage(StompCommand command) {
+    var accessor = StompHeaderAccessor.create(command);
+    accessor.setSessionId("session-1");
+    accessor.setSubscriptionId("sub-1");
+    accessor.setDestination("/topic/rooms/room-1");
+    return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+  }
+}
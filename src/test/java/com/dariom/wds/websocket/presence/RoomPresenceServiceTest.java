@@ -0,0 +1,180 @@
+package com.dariom.wds.websocket.presence;
+
+import static com.dariom.wds.websocket.model.EventType.PLAYER_PRESENCE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dariom.wds.config.ws.WebSocketProperties;
+import com.dariom.wds.config.ws.WebSocketProperties.PresenceProperties;
+import com.dariom.wds.websocket.RoomEventRelay;
+import com.dariom.wds.websocket.model.PlayerPresencePayload;
+import com.dariom.wds.websocket.model.RoomEventToPublish;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+@ExtendWith(MockitoExtension.class)
+class RoomPresenceServiceTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-10T00:00:00Z");
+  private static final long TTL_MILLIS = 45_000;
+  private static final String KEY = "room-presence:room-1";
+
+  @Mock
+  private StringRedisTemplate redisTemplate;
+
+  @Mock
+  private ZSetOperations<String, String> zSetOperations;
+
+  @Mock
+  private RoomEventRelay roomEventRelay;
+
+  private RoomPresenceService service;
+
+  @BeforeEach
+  void setUp() {
+    var properties = new WebSocketProperties(List.of(),
+        new PresenceProperties(Duration.ofMillis(TTL_MILLIS), Duration.ofSeconds(15)), null, null);
+    service = new RoomPresenceService(redisTemplate, roomEventRelay,
+        Clock.fixed(NOW, ZoneOffset.UTC), properties);
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+  }
+
+  @Test
+  void playerJoined_validSubscription_recordsSessionAndPublishesOnline() {
+    // Arrange
+    var subscription = new RoomSubscription("room-1", "player-1", "session-1");
+    when(zSetOperations.rangeByScore(KEY, NOW.toEpochMilli() - TTL_MILLIS,
+        Double.POSITIVE_INFINITY))
+        .thenReturn(members("player-1|session-1", "player-2|session-9"));
+
+    // Act
+    service.playerJoined(subscription);
+
+    // Assert
+    verify(zSetOperations).add(KEY, "player-1|session-1", NOW.toEpochMilli());
+    verify(redisTemplate).expire(KEY, TTL_MILLIS, MILLISECONDS);
+    assertThat(publishedPayload())
+        .isEqualTo(new PlayerPresencePayload("player-1", true, List.of("player-1", "player-2")));
+  }
+
+  @Test
+  void playerLeft_lastSessionOfPlayer_publishesOffline() {
+    // Arrange
+    var subscription = new RoomSubscription("room-1", "player-1", "session-1");
+    when(zSetOperations.rangeByScore(KEY, NOW.toEpochMilli() - TTL_MILLIS,
+        Double.POSITIVE_INFINITY))
+        .thenReturn(members("player-2|session-9"));
+
+    // Act
+    service.playerLeft(subscription);
+
+    // Assert
+    verify(zSetOperations).remove(KEY, "player-1|session-1");
+    assertThat(publishedPayload())
+        .isEqualTo(new PlayerPresencePayload("player-1", false, List.of("player-2")));
+  }
+
+  @Test
+  void playerLeft_otherSessionStillOnline_doesNotPublish() {
+    // Arrange
+    var subscription = new RoomSubscription("room-1", "player-1", "session-1");
+    when(zSetOperations.rangeByScore(KEY, NOW.toEpochMilli() - TTL_MILLIS,
+        Double.POSITIVE_INFINITY))
+        .thenReturn(members("player-1|session-2"));
+
+    // Act
+    service.playerLeft(subscription);
+
+    // Assert
+    verify(roomEventRelay, never()).publish(any());
+  }
+
+  @Test
+  void playerJoined_redisFails_doesNotPropagateException() {
+    // Arrange
+    var subscription = new RoomSubscription("room-1", "player-1", "session-1");
+    when(zSetOperations.add(anyString(), anyString(), anyDouble()))
+        .thenThrow(new RuntimeException("redis down"));
+
+    // Act
+    service.playerJoined(subscription);
+
+    // Assert
+    verify(roomEventRelay, never()).publish(any());
+  }
+
+  @Test
+  void heartbeat_subscriptions_refreshesScoresAndPrunesStaleSessions() {
+    // Arrange
+    var subscriptions = List.of(
+        new RoomSubscription("room-1", "player-1", "session-1"),
+        new RoomSubscription("room-1", "player-2", "session-2"));
+
+    // Act
+    service.heartbeat(subscriptions);
+
+    // Assert
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Set<ZSetOperations.TypedTuple<String>>> tuples =
+        ArgumentCaptor.forClass(Set.class);
+    verify(zSetOperations).add(eq(KEY), tuples.capture());
+    assertThat(tuples.getValue())
+        .extracting(ZSetOperations.TypedTuple::getValue)
+        .containsExactly("player-1|session-1", "player-2|session-2");
+    verify(zSetOperations).removeRangeByScore(KEY, 0, NOW.toEpochMilli() - TTL_MILLIS - 1);
+    verify(redisTemplate).expire(KEY, TTL_MILLIS, MILLISECONDS);
+    verify(roomEventRelay, never()).publish(any());
+  }
+
+  @Test
+  void heartbeat_staleSessionOfCrashedNode_publishesPlayerOffline() {
+    // Arrange
+    var subscriptions = List.of(new RoomSubscription("room-1", "player-1", "session-1"));
+    when(zSetOperations.rangeByScore(KEY, 0, NOW.toEpochMilli() - TTL_MILLIS - 1))
+        .thenReturn(members("player-2|session-9"));
+    when(zSetOperations.rangeByScore(KEY, NOW.toEpochMilli() - TTL_MILLIS,
+        Double.POSITIVE_INFINITY))
+        .thenReturn(members("player-1|session-1"));
+
+    // Act
+    service.heartbeat(subscriptions);
+
+    // Assert
+    verify(zSetOperations).removeRangeByScore(KEY, 0, NOW.toEpochMilli() - TTL_MILLIS - 1);
+    assertThat(publishedPayload())
+        .isEqualTo(new PlayerPresencePayload("player-2", false, List.of("player-1")));
+  }
+
+  private PlayerPresencePayload publishedPayload() {
+    var captor = ArgumentCaptor.forClass(RoomEventToPublish.class);
+    verify(roomEventRelay).publish(captor.capture());
+    var published = captor.getValue();
+    assertThat(published.roomId()).isEqualTo("room-1");
+    assertThat(published.event().type()).isEqualTo(PLAYER_PRESENCE);
+    return (PlayerPresencePayload) published.event().payload();
+  }
+
+  private static Set<String> members(String... members) {
+    return new LinkedHashSet<>(List.of(members));
+  }
+}
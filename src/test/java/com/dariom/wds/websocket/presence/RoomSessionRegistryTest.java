@@ -0,0 +1,90 @@
+package com.dariom.wds.websocket.presence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RoomSessionRegistryTest {
+
+  private final RoomSessionRegistry registry = new RoomSessionRegistry();
+
+  @Test
+  void subscribe_firstRoomSubscription_returnsJoinedRoom() {
+    // Arrange
+    registry.registerSession("session-1", "player-1");
+
+    // Act
+    var joined = registry.subscribe("session-1", "sub-1", "/topic/rooms/room-1", "player-1");
+
+    // Assert
+    assertThat(joined).contains(new RoomSubscription("room-1", "player-1", "session-1"));
+    assertThat(registry.hasLocalSubscribers("room-1")).isTrue();
+  }
+
+  @Test
+  void subscribe_secondSubscriptionToSameRoom_returnsEmpty() {
+    // Arrange
+    registry.subscribe("session-1", "sub-1", "/topic/rooms/room-1", "player-1");
+
+    // Act
+    var joined = registry.subscribe("session-1", "sub-2", "/topic/rooms/room-1", "player-1");
+
+    // Assert
+    assertThat(joined).isEmpty();
+  }
+
+  @Test
+  void subscribe_nonRoomDestination_returnsEmpty() {
+    // Act
+    var joined = registry.subscribe("session-1", "sub-1", "/topic/other", "player-1");
+
+    // Assert
+    assertThat(joined).isEmpty();
+    assertThat(registry.getSubscriptions()).isEmpty();
+  }
+
+  @Test
+  void unsubscribe_lastSubscriptionToRoom_returnsLeftRoom() {
+    // Arrange
+    registry.subscribe("session-1", "sub-1", "/topic/rooms/room-1", "player-1");
+    registry.subscribe("session-1", "sub-2", "/topic/rooms/room-1", "player-1");
+
+    // Act
+    var firstLeft = registry.unsubscribe("session-1", "sub-1");
+    var secondLeft = registry.unsubscribe("session-1", "sub-2");
+
+    // Assert
+    assertThat(firstLeft).isEmpty();
+    assertThat(secondLeft).contains(new RoomSubscription("room-1", "player-1", "session-1"));
+    assertThat(registry.hasLocalSubscribers("room-1")).isFalse();
+  }
+
+  @Test
+  void removeSession_subscribedToRooms_returnsEveryRoom() {
+    // Arrange
+    registry.subscribe("session-1", "sub-1", "/topic/rooms/room-1", "player-1");
+    registry.subscribe("session-1", "sub-2", "/topic/rooms/room-2", "player-1");
+    registry.subscribe("session-2", "sub-1", "/topic/rooms/room-1", "player-2");
+
+    // Act
+    var left = registry.removeSession("session-1");
+
+    // Assert
+    assertThat(left).containsExactlyInAnyOrder(
+        new RoomSubscription("room-1", "player-1", "session-1"),
+        new RoomSubscription("room-2", "player-1", "session-1"));
+    assertThat(registry.hasLocalSubscribers("room-1")).isTrue();
+    assertThat(registry.hasLocalSubscribers("room-2")).isFalse();
+    assertThat(registry.getSubscriptions())
+        .containsExactly(new RoomSubscription("room-1", "player-2", "session-2"));
+  }
+
+  @Test
+  void removeSession_unknownSession_returnsEmpty() {
+    // Act
+    var left = registry.removeSession("unknown");
+
+    // Assert
+    assertThat(left).isEmpty();
+  }
+}